@@ -9,11 +9,13 @@ import ai.labs.core.bootstrap.CoreModule;
 import ai.labs.expressions.bootstrap.ExpressionModule;
 import ai.labs.facebookmessenger.bootstrap.FacebookMessengerModule;
 import ai.labs.httpclient.guice.HttpClientModule;
+import ai.labs.memory.IConversationArchiver;
 import ai.labs.memory.bootstrap.ConversationMemoryModule;
 import ai.labs.normalizer.bootstrap.NormalizerModule;
 import ai.labs.output.bootstrap.OutputGenerationModule;
 import ai.labs.parser.bootstrap.SemanticParserModule;
 import ai.labs.permission.bootstrap.PermissionModule;
+import ai.labs.persistence.IIndexManager;
 import ai.labs.persistence.bootstrap.PersistenceModule;
 import ai.labs.property.bootstrap.PropertyDisposerModule;
 import ai.labs.resources.bootstrap.RepositoryModule;
@@ -68,7 +70,7 @@ public class ApiServer {
                 new RestInterfaceModule(),
                 new SerializationModule(),
                 new PersistenceModule(new FileInputStream(configDir + "mongodb.properties")),
-                new ConversationMemoryModule(),
+                new ConversationMemoryModule(new FileInputStream(configDir + "conversationMemory.properties")),
                 new PermissionModule(),
                 new ExpressionModule(),
                 new RepositoryModule(),
@@ -82,8 +84,8 @@ public class ApiServer {
                 new PropertyDisposerModule(),
                 new AutomatedtestingModule(),
                 new StaticResourcesModule(),
-                new HttpClientModule(),
-                new ConversationCallbackModule(new FileInputStream(configDir + "httpClient.properties")),
+                new HttpClientModule(new FileInputStream(configDir + "httpClient.properties")),
+                new ConversationCallbackModule(),
                 new CoreModule(),
                 new SwaggerModule(new FileInputStream(configDir + "swagger.properties")),
                 new ServerRuntimeModule(new FileInputStream(configDir + "webServer.properties")),
@@ -96,6 +98,12 @@ public class ApiServer {
         //init modules
         final DependencyInjector injector = DependencyInjector.init(environment, modules);
 
+        //create missing indexes before any store is queried
+        injector.getInstance(IIndexManager.class).reconcileIndexes();
+
+        //archive expired conversations periodically
+        injector.getInstance(IConversationArchiver.class).start();
+
         //init webserver
         injector.getInstance(IServerRuntime.class).startup(() -> {
             //auto re-deploy bots
@@ -1,6 +1,7 @@
 package ai.labs.testing;
 
 import ai.labs.persistence.IResourceStore;
+import ai.labs.persistence.mongo.ConsistencySettings;
 import ai.labs.serialization.IJsonSerialization;
 import ai.labs.testing.model.TestCase;
 import ai.labs.testing.model.TestCaseState;
@@ -26,8 +27,9 @@ public class TestCaseStore implements ITestCaseStore, IResourceStore<TestCase> {
     private IJsonSerialization jsonSerialization;
 
     @Inject
-    public TestCaseStore(MongoDatabase database, IJsonSerialization jsonSerialization) {
-        testcaseCollection = database.getCollection(TESTCASE_COLLECTION);
+    public TestCaseStore(MongoDatabase database, IJsonSerialization jsonSerialization,
+                         ConsistencySettings consistencySettings) {
+        testcaseCollection = consistencySettings.apply(database.getCollection(TESTCASE_COLLECTION), TESTCASE_COLLECTION);
         this.jsonSerialization = jsonSerialization;
     }
 
@@ -3,6 +3,7 @@ package ai.labs.testing.descriptor.impl;
 import ai.labs.group.IGroupStore;
 import ai.labs.permission.IPermissionStore;
 import ai.labs.persistence.DescriptorStore;
+import ai.labs.persistence.mongo.ConsistencySettings;
 import ai.labs.serialization.IDocumentBuilder;
 import ai.labs.testing.descriptor.ITestCaseDescriptorStore;
 import ai.labs.testing.descriptor.model.TestCaseDescriptor;
@@ -17,7 +18,8 @@ import javax.inject.Inject;
 public class TestCaseDescriptorStore extends DescriptorStore<TestCaseDescriptor> implements ITestCaseDescriptorStore {
     @Inject
     public TestCaseDescriptorStore(MongoDatabase database, IDocumentBuilder documentBuilder,
-                                   IPermissionStore permissionStore, IUserStore userStore, IGroupStore groupStore) {
-        super(database, permissionStore, userStore, groupStore, documentBuilder, TestCaseDescriptor.class);
+                                   IPermissionStore permissionStore, IUserStore userStore, IGroupStore groupStore,
+                                   ConsistencySettings consistencySettings) {
+        super(database, permissionStore, userStore, groupStore, documentBuilder, consistencySettings, TestCaseDescriptor.class);
     }
 }
@@ -32,10 +32,19 @@ public class BehaviorDeserialization implements IBehaviorDeserialization {
     @Override
     public BehaviorSet deserialize(String json) throws DeserializationException {
         try {
-            BehaviorSet behaviorSet = new BehaviorSet();
             BehaviorConfiguration behaviorJson = objectMapper.readerFor(BehaviorConfiguration.class).readValue(json);
+            return deserialize(behaviorJson);
+        } catch (IOException e) {
+            throw new DeserializationException(e.getLocalizedMessage(), e);
+        }
+    }
 
-            behaviorSet.getBehaviorGroups().addAll(behaviorJson.getBehaviorGroups().stream().map(
+    @Override
+    public BehaviorSet deserialize(BehaviorConfiguration behaviorConfiguration) throws DeserializationException {
+        try {
+            BehaviorSet behaviorSet = new BehaviorSet();
+
+            behaviorSet.getBehaviorGroups().addAll(behaviorConfiguration.getBehaviorGroups().stream().map(
                     groupConfiguration -> {
                         BehaviorGroup behaviorGroup = new BehaviorGroup();
                         behaviorGroup.setName(groupConfiguration.getName());
@@ -53,8 +62,10 @@ public class BehaviorDeserialization implements IBehaviorDeserialization {
                     }
             ).collect(Collectors.toList()));
 
+            behaviorSet.checkForInfiniteLoops();
+
             return behaviorSet;
-        } catch (IOException e) {
+        } catch (BehaviorRule.InfiniteLoopException e) {
             throw new DeserializationException(e.getLocalizedMessage(), e);
         }
     }
@@ -26,39 +26,42 @@ public class BehaviorRule implements Cloneable {
         this.name = name;
     }
 
-    public IBehaviorExtension.ExecutionState execute(IConversationMemory memory, List<BehaviorRule> trace)
+    /**
+     * @param trace the trace to record the evaluation path into, null if no trace has been requested.
+     *              Cycles between behavior rules are rejected while configuring, hence they are only
+     *              checked here again if a trace is recorded.
+     */
+    public IBehaviorExtension.ExecutionState execute(IConversationMemory memory, BehaviorRuleTrace trace)
             throws InfiniteLoopException {
-        if (trace.contains(this)) {
-            // this is an infinite loop, thus throw error
-            throw throwInfiniteLoopError(trace);
-        } else {
-            trace.add(this);
-
-            IBehaviorExtension.ExecutionState state = IBehaviorExtension.ExecutionState.NOT_EXECUTED;
-            for (IBehaviorExtension extension : extensions) {
-                extension.execute(memory, trace);
-                if (extension.getExecutionState() == IBehaviorExtension.ExecutionState.FAIL) {
-                    state = IBehaviorExtension.ExecutionState.FAIL;
-                    break;
-                } else if (extension.getExecutionState() == IBehaviorExtension.ExecutionState.ERROR) {
-                    state = IBehaviorExtension.ExecutionState.ERROR;
-                    break;
-                }
+        if (trace != null) {
+            if (trace.contains(this)) {
+                // this is an infinite loop, thus throw error
+                throw throwInfiniteLoopError(trace.getPath());
             }
 
-            List<BehaviorRule> tmp = new LinkedList<>(trace);
-            trace.clear();
-            trace.addAll(tmp.subList(0, tmp.indexOf(this)));
+            trace.enter(this);
+        }
 
-            if (state != IBehaviorExtension.ExecutionState.NOT_EXECUTED)
-                return state;
+        IBehaviorExtension.ExecutionState state = IBehaviorExtension.ExecutionState.SUCCESS;
+        for (IBehaviorExtension extension : extensions) {
+            IBehaviorExtension.ExecutionState stateOfExtension = extension.execute(memory, trace);
+            if (stateOfExtension == IBehaviorExtension.ExecutionState.FAIL) {
+                state = IBehaviorExtension.ExecutionState.FAIL;
+                break;
+            } else if (stateOfExtension == IBehaviorExtension.ExecutionState.ERROR) {
+                state = IBehaviorExtension.ExecutionState.ERROR;
+                break;
+            }
+        }
 
-            return IBehaviorExtension.ExecutionState.SUCCESS;
+        if (trace != null) {
+            trace.exit(state);
         }
+
+        return state;
     }
 
-    private InfiniteLoopException throwInfiniteLoopError(List<BehaviorRule> trace)
-            throws InfiniteLoopException {
+    InfiniteLoopException throwInfiniteLoopError(List<BehaviorRule> trace) {
         StringBuilder errorMessage = new StringBuilder();
 
         errorMessage.append("reached infinite  loop:\n");
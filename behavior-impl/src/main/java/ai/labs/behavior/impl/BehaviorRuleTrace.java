@@ -0,0 +1,37 @@
+package ai.labs.behavior.impl;
+
+import ai.labs.behavior.impl.extensions.IBehaviorExtension;
+import lombok.Getter;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Records the evaluation path of behavior rules. Only created if tracing has been requested,
+ * otherwise behavior rules are executed without any trace.
+ *
+ * @author ginccc
+ */
+public class BehaviorRuleTrace {
+    private final LinkedList<BehaviorRule> path = new LinkedList<>();
+    @Getter
+    private final List<String> records = new LinkedList<>();
+
+    boolean contains(BehaviorRule behaviorRule) {
+        return path.contains(behaviorRule);
+    }
+
+    List<BehaviorRule> getPath() {
+        return path;
+    }
+
+    void enter(BehaviorRule behaviorRule) {
+        path.addLast(behaviorRule);
+    }
+
+    void exit(IBehaviorExtension.ExecutionState state) {
+        records.add(path.stream().map(BehaviorRule::getName).collect(Collectors.joining(" -> ")) + ": " + state);
+        path.removeLast();
+    }
+}
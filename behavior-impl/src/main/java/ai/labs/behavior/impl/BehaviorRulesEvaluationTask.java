@@ -3,6 +3,7 @@ package ai.labs.behavior.impl;
 import ai.labs.lifecycle.ILifecycleTask;
 import ai.labs.lifecycle.LifecycleException;
 import ai.labs.lifecycle.PackageConfigurationException;
+import ai.labs.lifecycle.model.Context;
 import ai.labs.memory.Data;
 import ai.labs.memory.IConversationMemory;
 import ai.labs.memory.IData;
@@ -13,11 +14,9 @@ import ai.labs.resources.rest.extensions.model.ExtensionDescriptor.FieldType;
 import ai.labs.runtime.client.configuration.IResourceClientLibrary;
 import ai.labs.runtime.service.ServiceException;
 import ai.labs.serialization.DeserializationException;
-import ai.labs.serialization.IJsonSerialization;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.inject.Inject;
-import java.io.IOException;
 import java.net.URI;
 import java.util.LinkedList;
 import java.util.List;
@@ -32,16 +31,16 @@ public class BehaviorRulesEvaluationTask implements ILifecycleTask {
     public static final String ID = "ai.labs.behavior";
     private BehaviorRulesEvaluator evaluator;
     private static final String BEHAVIOR_CONFIG_URI = "uri";
+    private static final String BEHAVIOR_CONFIG_TRACE = "recordTrace";
+    private static final String CONTEXT_TRACE_KEY = "context:behaviorRulesTrace";
     private final IResourceClientLibrary resourceClientLibrary;
-    private final IJsonSerialization jsonSerialization;
     private final IBehaviorDeserialization behaviorSerialization;
+    private boolean recordTrace = false;
 
     @Inject
     public BehaviorRulesEvaluationTask(IResourceClientLibrary resourceClientLibrary,
-                                       IJsonSerialization jsonSerialization,
                                        IBehaviorDeserialization behaviorSerialization) {
         this.resourceClientLibrary = resourceClientLibrary;
-        this.jsonSerialization = jsonSerialization;
         this.behaviorSerialization = behaviorSerialization;
     }
 
@@ -59,10 +58,13 @@ public class BehaviorRulesEvaluationTask implements ILifecycleTask {
     public void executeTask(IConversationMemory memory) throws LifecycleException {
         BehaviorSetResult results;
         try {
-            results = evaluator.evaluate(memory);
+            results = evaluator.evaluate(memory, recordTrace || isTraceRequested(memory));
             storeResultIfNotEmpty(memory, "behavior_rules:success", results.getSuccessRules());
             storeResultIfNotEmpty(memory, "behavior_rules:droppedSuccess", results.getDroppedSuccessRules());
             storeResultIfNotEmpty(memory, "behavior_rules:fail", results.getFailRules());
+            if (!results.getTrace().isEmpty()) {
+                memory.getCurrentStep().storeData(new Data<>("behavior_rules:trace", results.getTrace()));
+            }
 
             if (!results.getSuccessRules().isEmpty()) {
                 addActionsToConversationMemory(memory, results.getSuccessRules());
@@ -76,6 +78,12 @@ public class BehaviorRulesEvaluationTask implements ILifecycleTask {
         }
     }
 
+    private boolean isTraceRequested(IConversationMemory memory) {
+        IData<Context> traceContext = memory.getCurrentStep().getData(CONTEXT_TRACE_KEY);
+        return traceContext != null && traceContext.getResult() != null &&
+                Boolean.parseBoolean(String.valueOf(traceContext.getResult().getValue()));
+    }
+
     private void addActionsToConversationMemory(IConversationMemory memory, List<BehaviorRule> successRules) {
         List<String> allCurrentActions = new LinkedList<>();
         successRules.forEach(successRule -> successRule.getActions().stream().
@@ -110,18 +118,22 @@ public class BehaviorRulesEvaluationTask implements ILifecycleTask {
         Object uriObj = configuration.get(BEHAVIOR_CONFIG_URI);
         URI uri = URI.create(uriObj.toString());
 
+        Object recordTraceObj = configuration.get(BEHAVIOR_CONFIG_TRACE);
+        if (recordTraceObj != null) {
+            recordTrace = Boolean.parseBoolean(recordTraceObj.toString());
+        }
 
         try {
-            BehaviorConfiguration behaviorConfiguration = resourceClientLibrary.getResource(uri, BehaviorConfiguration.class);
-            String behaviorConfigJson = jsonSerialization.serialize(behaviorConfiguration);
-            BehaviorSet behaviorSet = behaviorSerialization.deserialize(behaviorConfigJson);
-
-            evaluator = new BehaviorRulesEvaluator(behaviorSet);
-
-        } catch (IOException | DeserializationException e) {
-            String message = "Error while configuring BehaviorRuleLifecycleTask!";
-            log.debug(message, e);
-            throw new PackageConfigurationException(message, e);
+            evaluator = resourceClientLibrary.getCompiledResource(uri, BehaviorConfiguration.class,
+                    behaviorConfiguration -> {
+                        try {
+                            return new BehaviorRulesEvaluator(behaviorSerialization.deserialize(behaviorConfiguration));
+                        } catch (DeserializationException e) {
+                            String message = "Error while configuring BehaviorRuleLifecycleTask!";
+                            log.debug(message, e);
+                            throw new PackageConfigurationException(message, e);
+                        }
+                    });
         } catch (ServiceException e) {
             String message = "Error while fetching BehaviorRuleConfigurationSet!\n" + e.getLocalizedMessage();
             log.debug(message, e);
@@ -136,6 +148,8 @@ public class BehaviorRulesEvaluationTask implements ILifecycleTask {
 
         ConfigValue configValue = new ConfigValue("Resource URI", FieldType.URI, false, null);
         extensionDescriptor.getConfigs().put(BEHAVIOR_CONFIG_URI, configValue);
+        ConfigValue recordTraceValue = new ConfigValue("Record Evaluation Trace", FieldType.BOOLEAN, true, false);
+        extensionDescriptor.getConfigs().put(BEHAVIOR_CONFIG_TRACE, recordTraceValue);
         return extensionDescriptor;
     }
 }
@@ -6,8 +6,6 @@ import ai.labs.utilities.RuntimeUtilities;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.LinkedList;
-
 /**
  * @author ginccc
  */
@@ -16,10 +14,12 @@ import java.util.LinkedList;
 class BehaviorRulesEvaluator {
     private BehaviorSet behaviorSet;
 
-    BehaviorSetResult evaluate(IConversationMemory memory) throws BehaviorRuleExecutionException, InterruptedException {
+    BehaviorSetResult evaluate(IConversationMemory memory, boolean recordTrace)
+            throws BehaviorRuleExecutionException, InterruptedException {
         RuntimeUtilities.checkNotNull(behaviorSet, "behaviorSet");
 
         BehaviorSetResult resultSet = new BehaviorSetResult();
+        BehaviorRuleTrace trace = recordTrace ? new BehaviorRuleTrace() : null;
 
         IBehaviorExtension.ExecutionState state;
         for (BehaviorGroup behaviorGroup : behaviorSet.getBehaviorGroups()) {
@@ -29,7 +29,7 @@ class BehaviorRulesEvaluator {
                     state = IBehaviorExtension.ExecutionState.SUCCESS;
                 } else {
                     try {
-                        state = behaviorRule.execute(memory, new LinkedList<>());
+                        state = behaviorRule.execute(memory, trace);
                     } catch (BehaviorRule.InfiniteLoopException e) {
                         throw new BehaviorRuleExecutionException(e.getLocalizedMessage(), e);
                     }
@@ -60,6 +60,10 @@ class BehaviorRulesEvaluator {
             }
         }
 
+        if (trace != null) {
+            resultSet.getTrace().addAll(trace.getRecords());
+        }
+
         return resultSet;
     }
 
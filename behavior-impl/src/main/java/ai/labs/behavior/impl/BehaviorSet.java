@@ -1,11 +1,15 @@
 package ai.labs.behavior.impl;
 
+import ai.labs.behavior.impl.extensions.Dependency;
+import ai.labs.behavior.impl.extensions.IBehaviorExtension;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * @author ginccc
@@ -28,4 +32,58 @@ public class BehaviorSet {
 
         return ret;
     }
+
+    /**
+     * Detects cyclic dependencies between behavior rules at configuration time,
+     * so that they don't need to be tracked while evaluating.
+     */
+    void checkForInfiniteLoops() throws BehaviorRule.InfiniteLoopException {
+        Set<String> checkedBehaviorRules = new HashSet<>();
+        for (BehaviorGroup behaviorGroup : behaviorGroups) {
+            for (BehaviorRule behaviorRule : behaviorGroup.getBehaviorRules()) {
+                checkForInfiniteLoops(behaviorRule, new LinkedList<>(), checkedBehaviorRules);
+            }
+        }
+    }
+
+    private void checkForInfiniteLoops(BehaviorRule behaviorRule, List<BehaviorRule> path,
+                                       Set<String> checkedBehaviorRules) throws BehaviorRule.InfiniteLoopException {
+        if (path.contains(behaviorRule)) {
+            path.add(behaviorRule);
+            throw behaviorRule.throwInfiniteLoopError(path);
+        }
+
+        if (checkedBehaviorRules.contains(behaviorRule.getName())) {
+            return;
+        }
+
+        path.add(behaviorRule);
+        List<String> references = new LinkedList<>();
+        for (IBehaviorExtension extension : behaviorRule.getExtensions()) {
+            collectReferences(extension, references);
+        }
+
+        for (String reference : references) {
+            for (BehaviorRule referencedBehaviorRule : getBehaviorRule(reference)) {
+                checkForInfiniteLoops(referencedBehaviorRule, path, checkedBehaviorRules);
+            }
+        }
+        path.remove(path.size() - 1);
+
+        checkedBehaviorRules.add(behaviorRule.getName());
+    }
+
+    private static void collectReferences(IBehaviorExtension extension, List<String> references) {
+        if (extension == null) {
+            return;
+        }
+
+        if (extension instanceof Dependency) {
+            references.add(((Dependency) extension).getReference());
+        }
+
+        for (IBehaviorExtension child : extension.getChildren()) {
+            collectReferences(child, references);
+        }
+    }
 }
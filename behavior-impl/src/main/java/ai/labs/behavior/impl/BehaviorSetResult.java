@@ -19,4 +19,5 @@ public class BehaviorSetResult {
     private List<BehaviorRule> successRules = new LinkedList<>();
     private List<BehaviorRule> droppedSuccessRules = new LinkedList<>();
     private List<BehaviorRule> failRules = new LinkedList<>();
+    private List<String> trace = new LinkedList<>();
 }
@@ -1,5 +1,6 @@
 package ai.labs.behavior.impl;
 
+import ai.labs.resources.rest.behavior.model.BehaviorConfiguration;
 import ai.labs.serialization.DeserializationException;
 
 /**
@@ -7,4 +8,6 @@ import ai.labs.serialization.DeserializationException;
  */
 public interface IBehaviorDeserialization {
     BehaviorSet deserialize(String json) throws DeserializationException;
+
+    BehaviorSet deserialize(BehaviorConfiguration behaviorConfiguration) throws DeserializationException;
 }
@@ -1,6 +1,6 @@
 package ai.labs.behavior.impl.extensions;
 
-import ai.labs.behavior.impl.BehaviorRule;
+import ai.labs.behavior.impl.BehaviorRuleTrace;
 import ai.labs.memory.IConversationMemory;
 import ai.labs.memory.IData;
 import ai.labs.utilities.StringUtilities;
@@ -15,6 +15,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static ai.labs.behavior.impl.extensions.IBehaviorExtension.ExecutionState.FAIL;
+import static ai.labs.behavior.impl.extensions.IBehaviorExtension.ExecutionState.NOT_EXECUTED;
 import static ai.labs.behavior.impl.extensions.IBehaviorExtension.ExecutionState.SUCCESS;
 
 /**
@@ -55,8 +56,9 @@ public class ActionMatcher extends BaseMatcher implements IBehaviorExtension {
     }
 
     @Override
-    public ExecutionState execute(IConversationMemory memory, List<BehaviorRule> trace) {
+    public ExecutionState execute(IConversationMemory memory, BehaviorRuleTrace trace) {
         IData<List<String>> data;
+        ExecutionState state = NOT_EXECUTED;
         switch (occurrence) {
             case currentStep:
                 data = memory.getCurrentStep().getLatestData(KEY_ACTIONS);
@@ -79,6 +81,7 @@ public class ActionMatcher extends BaseMatcher implements IBehaviorExtension {
                 break;
         }
 
+        this.state = state;
         return state;
     }
 
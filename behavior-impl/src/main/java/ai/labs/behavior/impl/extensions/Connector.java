@@ -1,6 +1,7 @@
 package ai.labs.behavior.impl.extensions;
 
 import ai.labs.behavior.impl.BehaviorRule;
+import ai.labs.behavior.impl.BehaviorRuleTrace;
 import ai.labs.memory.IConversationMemory;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -65,17 +66,18 @@ public class Connector implements IBehaviorExtension {
         return extensions.toArray(new IBehaviorExtension[extensions.size()]);
     }
 
-    public ExecutionState execute(IConversationMemory memory, List<BehaviorRule> trace)
+    public ExecutionState execute(IConversationMemory memory, BehaviorRuleTrace trace)
             throws BehaviorRule.InfiniteLoopException {
+        ExecutionState state;
         if (operator == Operator.OR) {
             state = ExecutionState.FAIL;
 
             for (IBehaviorExtension extension : extensions) {
-                extension.execute(memory, trace);
-                if (extension.getExecutionState() == ExecutionState.SUCCESS) {
+                ExecutionState stateOfExtension = extension.execute(memory, trace);
+                if (stateOfExtension == ExecutionState.SUCCESS) {
                     state = ExecutionState.SUCCESS;
                     break;
-                } else if (extension.getExecutionState() == ExecutionState.ERROR) {
+                } else if (stateOfExtension == ExecutionState.ERROR) {
                     state = ExecutionState.ERROR;
                     break;
                 }
@@ -85,17 +87,18 @@ public class Connector implements IBehaviorExtension {
             state = ExecutionState.SUCCESS;
 
             for (IBehaviorExtension extension : extensions) {
-                extension.execute(memory, trace);
-                if (extension.getExecutionState() == ExecutionState.FAIL) {
+                ExecutionState stateOfExtension = extension.execute(memory, trace);
+                if (stateOfExtension == ExecutionState.FAIL) {
                     state = ExecutionState.FAIL;
                     break;
-                } else if (extension.getExecutionState() == ExecutionState.ERROR) {
+                } else if (stateOfExtension == ExecutionState.ERROR) {
                     state = ExecutionState.ERROR;
                     break;
                 }
             }
         }
 
+        this.state = state;
         return state;
     }
 
@@ -105,6 +108,7 @@ public class Connector implements IBehaviorExtension {
 
     @Override
     public ExecutionState getExecutionState() {
+        this.state = state;
         return state;
     }
 
@@ -1,6 +1,6 @@
 package ai.labs.behavior.impl.extensions;
 
-import ai.labs.behavior.impl.BehaviorRule;
+import ai.labs.behavior.impl.BehaviorRuleTrace;
 import ai.labs.expressions.Expression;
 import ai.labs.expressions.utilities.IExpressionProvider;
 import ai.labs.lifecycle.model.Context;
@@ -106,7 +106,7 @@ public class ContextMatcher implements IBehaviorExtension {
     }
 
     @Override
-    public ExecutionState execute(IConversationMemory memory, List<BehaviorRule> trace) {
+    public ExecutionState execute(IConversationMemory memory, BehaviorRuleTrace trace) {
         List<IData<Context>> contextData = memory.getCurrentStep().getAllData("context");
 
         boolean success = false;
@@ -143,7 +143,8 @@ public class ContextMatcher implements IBehaviorExtension {
             }
         }
 
-        state = success ? ExecutionState.SUCCESS : ExecutionState.FAIL;
+        ExecutionState state = success ? ExecutionState.SUCCESS : ExecutionState.FAIL;
+        this.state = state;
         return state;
     }
 
@@ -1,7 +1,7 @@
 package ai.labs.behavior.impl.extensions;
 
-import ai.labs.behavior.impl.BehaviorGroup;
 import ai.labs.behavior.impl.BehaviorRule;
+import ai.labs.behavior.impl.BehaviorRuleTrace;
 import ai.labs.behavior.impl.BehaviorSet;
 import ai.labs.memory.IConversationMemory;
 import lombok.NoArgsConstructor;
@@ -25,6 +25,7 @@ public class Dependency implements IBehaviorExtension {
     private ExecutionState state = ExecutionState.NOT_EXECUTED;
     private final String referenceQualifier = "reference";
     private BehaviorSet behaviorSet;
+    private volatile List<BehaviorRule> referencedBehaviorRules;
 
     private Dependency(String referencedRuleName) {
         this.reference = referencedRuleName;
@@ -52,40 +53,44 @@ public class Dependency implements IBehaviorExtension {
     }
 
     @Override
-    public ExecutionState execute(IConversationMemory memory, List<BehaviorRule> trace)
+    public ExecutionState execute(IConversationMemory memory, BehaviorRuleTrace trace)
             throws BehaviorRule.InfiniteLoopException {
 
-        //before we execute the behavior rules we make deep copies, so that we don't change the rules in conversation memory!
-        List<BehaviorRule> filteredBehaviorRules = new LinkedList<>();
-        try {
-            List<BehaviorGroup> behaviorGroups = behaviorSet.getBehaviorGroups();
-            List<BehaviorRule> behaviorRules = new LinkedList<>();
-            for (BehaviorGroup behaviorGroup : behaviorGroups) {
-                behaviorRules.addAll(behaviorGroup.getBehaviorRules());
-            }
-            filteredBehaviorRules.addAll(cloneBehaviorRules(behaviorRules, reference));
-        } catch (CloneNotSupportedException e) {
-            log.error(e.getLocalizedMessage(), e);
-        }
-
-        for (BehaviorRule behaviorRule : filteredBehaviorRules) {
-            ExecutionState state = behaviorRule.execute(memory, trace);
-            if (state == ExecutionState.ERROR) {
-                this.state = ExecutionState.ERROR;
+        ExecutionState state = ExecutionState.FAIL;
+        for (BehaviorRule behaviorRule : getReferencedBehaviorRules()) {
+            ExecutionState stateOfRule = behaviorRule.execute(memory, trace);
+            if (stateOfRule == ExecutionState.ERROR) {
+                state = ExecutionState.ERROR;
                 break;
-            } else if (state == ExecutionState.SUCCESS) {
-                this.state = ExecutionState.SUCCESS;
+            } else if (stateOfRule == ExecutionState.SUCCESS) {
+                state = ExecutionState.SUCCESS;
                 break;
-            } else {
-                this.state = ExecutionState.FAIL;
             }
         }
 
-        if (this.state == ExecutionState.NOT_EXECUTED) {
-            this.state = ExecutionState.FAIL;
+        this.state = state;
+        return state;
+    }
+
+    private List<BehaviorRule> getReferencedBehaviorRules() {
+        List<BehaviorRule> referencedBehaviorRules = this.referencedBehaviorRules;
+        if (referencedBehaviorRules == null) {
+            //we make deep copies once, so that we don't change the state of the rules in the behavior set!
+            //the copies are shared by all conversations, their results are only taken from what execute returns
+            referencedBehaviorRules = new LinkedList<>();
+            try {
+                referencedBehaviorRules.addAll(cloneBehaviorRules(behaviorSet.getBehaviorRule(reference)));
+            } catch (CloneNotSupportedException e) {
+                log.error(e.getLocalizedMessage(), e);
+            }
+            this.referencedBehaviorRules = referencedBehaviorRules;
         }
 
-        return this.state;
+        return referencedBehaviorRules;
+    }
+
+    public String getReference() {
+        return reference;
     }
 
     @Override
@@ -101,12 +106,10 @@ public class Dependency implements IBehaviorExtension {
         return clone;
     }
 
-    private List<BehaviorRule> cloneBehaviorRules(List<BehaviorRule> behaviorRules, String filter) throws CloneNotSupportedException {
+    private List<BehaviorRule> cloneBehaviorRules(List<BehaviorRule> behaviorRules) throws CloneNotSupportedException {
         List<BehaviorRule> clone = new LinkedList<>();
         for (BehaviorRule behaviorRule : behaviorRules) {
-            if (behaviorRule.getName().equals(filter)) {
-                clone.add(behaviorRule.clone());
-            }
+            clone.add(behaviorRule.clone());
         }
 
         return clone;
@@ -1,11 +1,11 @@
 package ai.labs.behavior.impl.extensions;
 
 import ai.labs.behavior.impl.BehaviorRule;
+import ai.labs.behavior.impl.BehaviorRuleTrace;
 import ai.labs.behavior.impl.BehaviorSet;
 import ai.labs.memory.IConversationMemory;
 
 import java.util.Collections;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -43,7 +43,7 @@ public interface IBehaviorExtension extends Cloneable {
         ERROR
     }
 
-    ExecutionState execute(IConversationMemory memory, List<BehaviorRule> trace) throws BehaviorRule.InfiniteLoopException;
+    ExecutionState execute(IConversationMemory memory, BehaviorRuleTrace trace) throws BehaviorRule.InfiniteLoopException;
 
     ExecutionState getExecutionState();
 
@@ -1,6 +1,6 @@
 package ai.labs.behavior.impl.extensions;
 
-import ai.labs.behavior.impl.BehaviorRule;
+import ai.labs.behavior.impl.BehaviorRuleTrace;
 import ai.labs.expressions.Expression;
 import ai.labs.expressions.utilities.IExpressionProvider;
 import ai.labs.memory.IConversationMemory;
@@ -16,6 +16,7 @@ import java.util.List;
 import java.util.Map;
 
 import static ai.labs.behavior.impl.extensions.IBehaviorExtension.ExecutionState.FAIL;
+import static ai.labs.behavior.impl.extensions.IBehaviorExtension.ExecutionState.NOT_EXECUTED;
 import static ai.labs.behavior.impl.extensions.IBehaviorExtension.ExecutionState.SUCCESS;
 import static ai.labs.memory.IConversationMemory.IConversationStepStack;
 
@@ -64,8 +65,9 @@ public class InputMatcher extends BaseMatcher implements IBehaviorExtension {
     }
 
     @Override
-    public ExecutionState execute(IConversationMemory memory, List<BehaviorRule> trace) {
+    public ExecutionState execute(IConversationMemory memory, BehaviorRuleTrace trace) {
         IData<String> data;
+        ExecutionState state = NOT_EXECUTED;
         switch (occurrence) {
             case currentStep:
                 data = memory.getCurrentStep().getLatestData(KEY_EXPRESSIONS);
@@ -88,6 +90,7 @@ public class InputMatcher extends BaseMatcher implements IBehaviorExtension {
                 break;
         }
 
+        this.state = state;
         return state;
     }
 
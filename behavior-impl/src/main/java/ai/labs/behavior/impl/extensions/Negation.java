@@ -1,11 +1,11 @@
 package ai.labs.behavior.impl.extensions;
 
 import ai.labs.behavior.impl.BehaviorRule;
+import ai.labs.behavior.impl.BehaviorRuleTrace;
 import ai.labs.memory.IConversationMemory;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.util.List;
 
 /**
  * @author ginccc
@@ -28,8 +28,9 @@ public class Negation implements IBehaviorExtension {
     }
 
     @Override
-    public ExecutionState execute(IConversationMemory memory, List<BehaviorRule> trace)
+    public ExecutionState execute(IConversationMemory memory, BehaviorRuleTrace trace)
             throws BehaviorRule.InfiniteLoopException {
+        ExecutionState state = ExecutionState.NOT_EXECUTED;
         if (extension != null) {
             ExecutionState stateOfExecutable = extension.execute(memory, trace);
 
@@ -37,9 +38,11 @@ public class Negation implements IBehaviorExtension {
                 state = ExecutionState.FAIL;
             else if (stateOfExecutable == ExecutionState.FAIL)
                 state = ExecutionState.SUCCESS;
-        } else
-            state = ExecutionState.NOT_EXECUTED;
+            else
+                state = stateOfExecutable;
+        }
 
+        this.state = state;
         return state;
     }
 
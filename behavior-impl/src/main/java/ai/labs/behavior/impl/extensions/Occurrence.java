@@ -1,13 +1,12 @@
 package ai.labs.behavior.impl.extensions;
 
-import ai.labs.behavior.impl.BehaviorRule;
+import ai.labs.behavior.impl.BehaviorRuleTrace;
 import ai.labs.memory.IConversationMemory;
 import ai.labs.memory.IData;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -32,28 +31,19 @@ public class Occurrence implements IBehaviorExtension {
     private ExecutionState state = ExecutionState.NOT_EXECUTED;
 
 
-    private int countTimesOccurred(List<List<String>> allBehaviorRulesHistorical) {
-        int occurrences = 0;
-        for (List<String> history : allBehaviorRulesHistorical) {
-            for (String behaviorRuleName : history) {
-                if (this.behaviorRuleName.equals(behaviorRuleName)) {
-                    occurrences++;
-                }
-            }
-        }
-
-        return occurrences;
-    }
+    private int countTimesOccurred(IConversationMemory memory) {
+        int occurrences = memory.getConversationCounters().getOccurrences(BEHAVIOR_RULES_SUCCESS, behaviorRuleName);
 
-    private List<List<String>> getAllBehaviorRules(List<List<IData<List<String>>>> allData) {
-        List<List<String>> allBehaviorRules = new LinkedList<>();
-        for (List<IData<List<String>>> dataList : allData) {
-            for (IData<List<String>> data : dataList) {
-                allBehaviorRules.add(data.getResult());
+        List<IData<List<String>>> currentData = memory.getCurrentStep().getAllData(BEHAVIOR_RULES_SUCCESS);
+        for (IData<List<String>> data : currentData) {
+            List<String> behaviorRuleNames = data.getResult();
+            if (behaviorRuleNames != null && behaviorRuleNames.contains(behaviorRuleName)) {
+                occurrences++;
+                break;
             }
         }
 
-        return allBehaviorRules;
+        return occurrences;
     }
 
     @Override
@@ -91,33 +81,23 @@ public class Occurrence implements IBehaviorExtension {
     }
 
     @Override
-    public ExecutionState execute(IConversationMemory memory, List<BehaviorRule> trace) {
-        boolean success;
-        List<List<IData<List<String>>>> allData = memory.getAllSteps().getAllData(BEHAVIOR_RULES_SUCCESS);
-        if (allData != null) {
-            final int actualTimesOccurred = countTimesOccurred(getAllBehaviorRules(allData));
-            boolean isMin = true;
-            boolean isMax = true;
-
-            if (minTimesOccurred != -1) {
-                isMin = actualTimesOccurred >= minTimesOccurred;
-            }
+    public ExecutionState execute(IConversationMemory memory, BehaviorRuleTrace trace) {
+        final int actualTimesOccurred = countTimesOccurred(memory);
+        boolean isMin = true;
+        boolean isMax = true;
 
-            if (maxTimesOccurred != -1) {
-                isMax = actualTimesOccurred <= maxTimesOccurred;
-            }
-
-            success = isMin && isMax;
-        } else {
-            success = false;
+        if (minTimesOccurred != -1) {
+            isMin = actualTimesOccurred >= minTimesOccurred;
         }
 
-        if (success) {
-            state = ExecutionState.SUCCESS;
-        } else {
-            state = ExecutionState.FAIL;
+        if (maxTimesOccurred != -1) {
+            isMax = actualTimesOccurred <= maxTimesOccurred;
         }
 
+        boolean success = isMin && isMax;
+
+        ExecutionState state = success ? ExecutionState.SUCCESS : ExecutionState.FAIL;
+        this.state = state;
         return state;
     }
 
@@ -1,6 +1,6 @@
 package ai.labs.behavior.impl.extensions;
 
-import ai.labs.behavior.impl.BehaviorRule;
+import ai.labs.behavior.impl.BehaviorRuleTrace;
 import ai.labs.memory.IConversationMemory;
 import ai.labs.memory.IData;
 import lombok.NoArgsConstructor;
@@ -63,7 +63,7 @@ public class ResultSize implements IBehaviorExtension {
     }
 
     @Override
-    public ExecutionState execute(final IConversationMemory memory, final List<BehaviorRule> trace) {
+    public ExecutionState execute(final IConversationMemory memory, final BehaviorRuleTrace trace) {
         if (min == -1 && max == -1 && equal == -1) {
             return ExecutionState.NOT_EXECUTED;
         }
@@ -96,12 +96,8 @@ public class ResultSize implements IBehaviorExtension {
             isEqual = result.size() == equal;
         }
 
-        if (isMin && isMax && isEqual) {
-            state = ExecutionState.SUCCESS;
-        } else {
-            state = ExecutionState.FAIL;
-        }
-
+        ExecutionState state = isMin && isMax && isEqual ? ExecutionState.SUCCESS : ExecutionState.FAIL;
+        this.state = state;
         return state;
     }
 
@@ -0,0 +1,99 @@
+package ai.labs.behavior.impl;
+
+import ai.labs.behavior.impl.extensions.Dependency;
+import ai.labs.behavior.impl.extensions.IBehaviorExtension;
+import ai.labs.memory.IConversationMemory;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author ginccc
+ */
+public class BehaviorRulesEvaluatorTest {
+    private BehaviorSet behaviorSet;
+    private BehaviorGroup behaviorGroup;
+
+    @Before
+    public void setUp() {
+        behaviorSet = new BehaviorSet();
+        behaviorGroup = new BehaviorGroup();
+        behaviorSet.getBehaviorGroups().add(behaviorGroup);
+    }
+
+    @Test
+    public void checkForInfiniteLoops() {
+        //setup
+        behaviorGroup.getBehaviorRules().add(createBehaviorRule("ruleA", "ruleB"));
+        behaviorGroup.getBehaviorRules().add(createBehaviorRule("ruleB", "ruleA"));
+
+        //test
+        try {
+            behaviorSet.checkForInfiniteLoops();
+            Assert.fail("InfiniteLoopException expected");
+        } catch (BehaviorRule.InfiniteLoopException e) {
+            //assert
+            Assert.assertEquals("reached infinite  loop:\n -> ruleA\n -> ruleB\n -> ruleA\n", e.getMessage());
+        }
+    }
+
+    @Test
+    public void evaluateWithTrace() throws Exception {
+        //setup
+        behaviorGroup.getBehaviorRules().add(createBehaviorRule("ruleA", "ruleB"));
+        behaviorGroup.getBehaviorRules().add(new BehaviorRule("ruleB"));
+        behaviorSet.checkForInfiniteLoops();
+        BehaviorRulesEvaluator evaluator = new BehaviorRulesEvaluator(behaviorSet);
+        IConversationMemory memory = mock(IConversationMemory.class);
+
+        //test
+        BehaviorSetResult withoutTrace = evaluator.evaluate(memory, false);
+        BehaviorSetResult withTrace = evaluator.evaluate(memory, true);
+
+        //assert
+        Assert.assertEquals(Collections.singletonList("ruleA"), withoutTrace.getSuccessRules().stream().
+                map(BehaviorRule::getName).collect(Collectors.toList()));
+        Assert.assertTrue(withoutTrace.getTrace().isEmpty());
+        Assert.assertEquals(Arrays.asList("ruleA -> ruleB: SUCCESS", "ruleA: SUCCESS"), withTrace.getTrace());
+    }
+
+    @Test
+    public void evaluateUsesReturnedStateOfExtensions() throws Exception {
+        //setup
+        IBehaviorExtension extension = mock(IBehaviorExtension.class);
+        IConversationMemory memory = mock(IConversationMemory.class);
+        when(extension.clone()).thenReturn(extension);
+        when(extension.execute(eq(memory), any())).thenReturn(IBehaviorExtension.ExecutionState.FAIL);
+        // as left behind by the execution within another conversation
+        when(extension.getExecutionState()).thenReturn(IBehaviorExtension.ExecutionState.SUCCESS);
+        BehaviorRule ruleB = new BehaviorRule("ruleB");
+        ruleB.setExtensions(Collections.singletonList(extension));
+        behaviorGroup.getBehaviorRules().add(createBehaviorRule("ruleA", "ruleB"));
+        behaviorGroup.getBehaviorRules().add(ruleB);
+        BehaviorRulesEvaluator evaluator = new BehaviorRulesEvaluator(behaviorSet);
+
+        //test
+        BehaviorSetResult result = evaluator.evaluate(memory, false);
+
+        //assert
+        Assert.assertTrue(result.getSuccessRules().isEmpty());
+    }
+
+    private BehaviorRule createBehaviorRule(String name, String reference) {
+        BehaviorRule behaviorRule = new BehaviorRule(name);
+        Dependency dependency = new Dependency();
+        dependency.setValues(Collections.singletonMap("reference", reference));
+        dependency.setContainingBehaviorRuleSet(behaviorSet);
+        behaviorRule.setExtensions(Collections.<IBehaviorExtension>singletonList(dependency));
+        return behaviorRule;
+    }
+}
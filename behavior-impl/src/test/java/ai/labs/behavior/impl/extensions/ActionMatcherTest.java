@@ -1,5 +1,6 @@
 package ai.labs.behavior.impl.extensions;
 
+import ai.labs.behavior.impl.BehaviorRuleTrace;
 import ai.labs.behavior.impl.extensions.BaseMatcher.ConversationStepOccurrence;
 import ai.labs.behavior.impl.extensions.IBehaviorExtension.ExecutionState;
 import ai.labs.memory.ConversationMemory;
@@ -59,7 +60,7 @@ public class ActionMatcherTest extends BaseMatcherTest {
         when(memory.getCurrentStep()).thenAnswer(invocation -> currentConversationStep);
 
         //test
-        ExecutionState actualExecutionState = matcher.execute(memory, new LinkedList<>());
+        ExecutionState actualExecutionState = matcher.execute(memory, new BehaviorRuleTrace());
 
         //assert
         Assert.assertEquals(ExecutionState.SUCCESS, matcher.getExecutionState());
@@ -83,7 +84,7 @@ public class ActionMatcherTest extends BaseMatcherTest {
                 new ConversationMemory.ConversationStepStack(Collections.singletonList(previousConversationStep)));
 
         //test
-        ExecutionState actualExecutionState = matcher.execute(memory, new LinkedList<>());
+        ExecutionState actualExecutionState = matcher.execute(memory, new BehaviorRuleTrace());
 
         //assert
         Assert.assertEquals(ExecutionState.SUCCESS, matcher.getExecutionState());
@@ -111,7 +112,7 @@ public class ActionMatcherTest extends BaseMatcherTest {
                         previousConversationStep2)));
 
         //test
-        ExecutionState actualExecutionState = matcher.execute(memory, new LinkedList<>());
+        ExecutionState actualExecutionState = matcher.execute(memory, new BehaviorRuleTrace());
 
         //assert
         Assert.assertEquals(ExecutionState.SUCCESS, matcher.getExecutionState());
@@ -142,7 +143,7 @@ public class ActionMatcherTest extends BaseMatcherTest {
                         previousConversationStep2)));
 
         //test
-        ExecutionState actualExecutionState = matcher.execute(memory, new LinkedList<>());
+        ExecutionState actualExecutionState = matcher.execute(memory, new BehaviorRuleTrace());
 
         //assert
         Assert.assertEquals(ExecutionState.SUCCESS, matcher.getExecutionState());
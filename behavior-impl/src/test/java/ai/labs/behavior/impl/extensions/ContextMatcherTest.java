@@ -1,5 +1,6 @@
 package ai.labs.behavior.impl.extensions;
 
+import ai.labs.behavior.impl.BehaviorRuleTrace;
 import ai.labs.expressions.Expression;
 import ai.labs.expressions.utilities.IExpressionProvider;
 import ai.labs.lifecycle.model.Context;
@@ -124,7 +125,7 @@ public class ContextMatcherTest {
 
         //test
         IBehaviorExtension.ExecutionState actualExecutionState =
-                contextMatcher.execute(conversationMemory, new LinkedList<>());
+                contextMatcher.execute(conversationMemory, new BehaviorRuleTrace());
 
         //assert
         verify(currentStep).getAllData("context");
@@ -147,7 +148,7 @@ public class ContextMatcherTest {
 
         //test
         IBehaviorExtension.ExecutionState actualExecutionState =
-                contextMatcher.execute(conversationMemory, new LinkedList<>());
+                contextMatcher.execute(conversationMemory, new BehaviorRuleTrace());
 
         //assert
         verify(currentStep).getAllData("context");
@@ -175,7 +176,7 @@ public class ContextMatcherTest {
 
         //test
         IBehaviorExtension.ExecutionState actualExecutionState =
-                contextMatcher.execute(conversationMemory, new LinkedList<>());
+                contextMatcher.execute(conversationMemory, new BehaviorRuleTrace());
 
         //assert
         verify(currentStep).getAllData("context");
@@ -203,7 +204,7 @@ public class ContextMatcherTest {
 
         //test
         IBehaviorExtension.ExecutionState actualExecutionState =
-                contextMatcher.execute(conversationMemory, new LinkedList<>());
+                contextMatcher.execute(conversationMemory, new BehaviorRuleTrace());
 
         //assert
         verify(currentStep).getAllData("context");
@@ -232,7 +233,7 @@ public class ContextMatcherTest {
 
         //test
         IBehaviorExtension.ExecutionState actualExecutionState =
-                contextMatcher.execute(conversationMemory, new LinkedList<>());
+                contextMatcher.execute(conversationMemory, new BehaviorRuleTrace());
 
         //assert
         verify(currentStep).getAllData("context");
@@ -261,7 +262,7 @@ public class ContextMatcherTest {
 
         //test
         IBehaviorExtension.ExecutionState actualExecutionState =
-                contextMatcher.execute(conversationMemory, new LinkedList<>());
+                contextMatcher.execute(conversationMemory, new BehaviorRuleTrace());
 
         //assert
         verify(currentStep).getAllData("context");
@@ -282,7 +283,7 @@ public class ContextMatcherTest {
         });
 
         //test
-        IBehaviorExtension.ExecutionState actualExecutionState = contextMatcher.execute(conversationMemory, new LinkedList<>());
+        IBehaviorExtension.ExecutionState actualExecutionState = contextMatcher.execute(conversationMemory, new BehaviorRuleTrace());
 
         //assert
         Assert.assertEquals(IBehaviorExtension.ExecutionState.SUCCESS, actualExecutionState);
@@ -300,7 +301,7 @@ public class ContextMatcherTest {
         });
 
         //test
-        IBehaviorExtension.ExecutionState actualExecutionState = contextMatcher.execute(conversationMemory, new LinkedList<>());
+        IBehaviorExtension.ExecutionState actualExecutionState = contextMatcher.execute(conversationMemory, new BehaviorRuleTrace());
 
         //assert
         Assert.assertEquals(IBehaviorExtension.ExecutionState.FAIL, actualExecutionState);
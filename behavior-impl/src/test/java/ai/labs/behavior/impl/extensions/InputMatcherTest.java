@@ -1,5 +1,6 @@
 package ai.labs.behavior.impl.extensions;
 
+import ai.labs.behavior.impl.BehaviorRuleTrace;
 import ai.labs.behavior.impl.extensions.BaseMatcher.ConversationStepOccurrence;
 import ai.labs.behavior.impl.extensions.IBehaviorExtension.ExecutionState;
 import ai.labs.expressions.Expression;
@@ -71,7 +72,7 @@ public class InputMatcherTest extends BaseMatcherTest {
         when(expressionProvider.parseExpressions(eq(inputExpressions))).thenAnswer(invocation -> expectedInputExpressions);
 
         //test
-        ExecutionState actualExecutionState = matcher.execute(memory, new LinkedList<>());
+        ExecutionState actualExecutionState = matcher.execute(memory, new BehaviorRuleTrace());
 
         //assert
         Assert.assertEquals(ExecutionState.SUCCESS, matcher.getExecutionState());
@@ -100,7 +101,7 @@ public class InputMatcherTest extends BaseMatcherTest {
         when(expressionProvider.parseExpressions(eq(inputExpressions))).thenAnswer(invocation -> expectedInputExpressions);
 
         //test
-        ExecutionState actualExecutionState = matcher.execute(memory, new LinkedList<>());
+        ExecutionState actualExecutionState = matcher.execute(memory, new BehaviorRuleTrace());
 
         //assert
         Assert.assertEquals(ExecutionState.SUCCESS, matcher.getExecutionState());
@@ -133,7 +134,7 @@ public class InputMatcherTest extends BaseMatcherTest {
         when(expressionProvider.parseExpressions(eq(inputExpressions))).thenAnswer(invocation -> expectedInputExpressions);
 
         //test
-        ExecutionState actualExecutionState = matcher.execute(memory, new LinkedList<>());
+        ExecutionState actualExecutionState = matcher.execute(memory, new BehaviorRuleTrace());
 
         //assert
         Assert.assertEquals(ExecutionState.SUCCESS, matcher.getExecutionState());
@@ -177,7 +178,7 @@ public class InputMatcherTest extends BaseMatcherTest {
         when(expressionProvider.parseExpressions(eq(inputExpressions))).thenAnswer(invocation -> expectedInputExpressions);
 
         //test
-        ExecutionState actualExecutionState = matcher.execute(memory, new LinkedList<>());
+        ExecutionState actualExecutionState = matcher.execute(memory, new BehaviorRuleTrace());
 
         //assert
         Assert.assertEquals(ExecutionState.SUCCESS, matcher.getExecutionState());
@@ -0,0 +1,13 @@
+package ai.labs.resources.rest.http.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class Fallback {
+    /**
+     * stored and used for templating instead of the actual response, if the http call has failed
+     */
+    private Object response;
+}
@@ -12,6 +12,21 @@ public class HttpCall {
     private boolean saveResponse;
     private String responseObjectName;
     private List<String> actions;
+    /**
+     * names of the http calls (declared before and triggered earlier within the same step) this call has to wait for,
+     * e.g. because it uses their response in its templates. Calls without dependencies are executed
+     * concurrently. If not set, this call waits for all calls triggered before it.
+     */
+    private List<String> dependsOn;
     private Request request;
     private PostResponse postResponse;
+    /**
+     * if set, responses are cached across conversations, keyed by the templated request
+     */
+    private ResponseCaching responseCaching;
+    /**
+     * if set, a failed call doesn't fail the conversation step, instead the reason (circuit_open, bulkhead_full,
+     * http_[status] for responses with a non 2xx http code or failed) is stored as context "httpCalls:[name]" and the fallback response is used
+     */
+    private Fallback fallback;
 }
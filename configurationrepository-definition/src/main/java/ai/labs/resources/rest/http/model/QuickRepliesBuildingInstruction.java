@@ -7,6 +7,11 @@ import lombok.Setter;
 @Setter
 public class QuickRepliesBuildingInstruction {
     private String pathToTargetArray;
+    /**
+     * JsonPath (e.g. "$.results[*]") selecting the elements of the response of this http call a quick reply is
+     * built for. If set, pathToTargetArray is ignored and quick replies are built without rendering them as json.
+     */
+    private String jsonPath;
     private String iterationObjectName;
     private String quickReplyValue;
     private String quickReplyExpressions;
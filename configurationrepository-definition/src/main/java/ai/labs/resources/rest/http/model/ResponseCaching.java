@@ -0,0 +1,20 @@
+package ai.labs.resources.rest.http.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ResponseCaching {
+    private long timeToLiveInSeconds;
+    /**
+     * if true, a max-age of the response's Cache-Control header overrides timeToLiveInSeconds
+     * and responses marked no-store, no-cache or private are not cached at all
+     */
+    private boolean honorCacheControl;
+
+    public ResponseCaching() {
+        timeToLiveInSeconds = 60;
+        honorCacheControl = false;
+    }
+}
@@ -49,10 +49,12 @@ import ai.labs.resources.rest.parser.IParserStore;
 import ai.labs.resources.rest.parser.IRestParserStore;
 import ai.labs.resources.rest.regulardictionary.IRegularDictionaryStore;
 import ai.labs.resources.rest.regulardictionary.IRestRegularDictionaryStore;
+import ai.labs.persistence.IndexDefinition;
 import ai.labs.runtime.bootstrap.AbstractBaseModule;
 import ai.labs.user.IUserStore;
 import ai.labs.user.impl.mongo.UserStore;
 import com.google.inject.Scopes;
+import com.google.inject.multibindings.Multibinder;
 
 /**
  * @author ginccc
@@ -90,5 +92,8 @@ public class RepositoryModule extends AbstractBaseModule {
         bind(IRestHttpCallsStore.class).to(RestHttpCallsStore.class);
 
         bind(IRestOutputKeys.class).to(RestOutputKeys.class);
+
+        Multibinder<IndexDefinition> indexDefinitions = Multibinder.newSetBinder(binder(), IndexDefinition.class);
+        DeploymentStore.INDEXES.forEach(index -> indexDefinitions.addBinding().toInstance(index));
     }
 }
@@ -1,7 +1,9 @@
 package ai.labs.resources.impl.behavior.mongo;
 
+import ai.labs.persistence.mongo.ConsistencySettings;
 import ai.labs.persistence.mongo.HistorizedResourceStore;
 import ai.labs.persistence.mongo.MongoResourceStorage;
+import ai.labs.persistence.mongo.ResourceCacheFactory;
 import ai.labs.resources.rest.behavior.IBehaviorStore;
 import ai.labs.resources.rest.behavior.model.BehaviorConfiguration;
 import ai.labs.resources.rest.behavior.model.BehaviorGroupConfiguration;
@@ -24,13 +26,16 @@ public class BehaviorStore implements IBehaviorStore {
     private final String collectionName = "behaviorrulesets";
 
     @Inject
-    public BehaviorStore(MongoDatabase database, IDocumentBuilder documentBuilder) {
+    public BehaviorStore(MongoDatabase database, IDocumentBuilder documentBuilder, ResourceCacheFactory resourceCacheFactory,
+                         ConsistencySettings consistencySettings) {
         RuntimeUtilities.checkNotNull(database, "database");
 
         MongoResourceStorage<BehaviorConfiguration> resourceStorage =
-                new MongoResourceStorage<>(database, collectionName, documentBuilder, BehaviorConfiguration.class);
+                new MongoResourceStorage<>(database, collectionName, documentBuilder, BehaviorConfiguration.class,
+                        consistencySettings);
 
-        this.behaviorResourceStore = new HistorizedResourceStore<>(resourceStorage);
+        this.behaviorResourceStore = new HistorizedResourceStore<>(resourceStorage,
+                resourceCacheFactory.createResourceCache(collectionName));
     }
 
     @Override
@@ -1,8 +1,11 @@
 package ai.labs.resources.impl.bots.mongo;
 
 import ai.labs.persistence.IResourceStore;
+import ai.labs.persistence.mongo.ConsistencySettings;
 import ai.labs.persistence.mongo.HistorizedResourceStore;
 import ai.labs.persistence.mongo.MongoResourceStorage;
+import ai.labs.persistence.mongo.ResourceCache;
+import ai.labs.persistence.mongo.ResourceCacheFactory;
 import ai.labs.resources.impl.descriptor.mongo.DocumentDescriptorStore;
 import ai.labs.resources.impl.utilities.ResourceUtilities;
 import ai.labs.resources.rest.bots.IBotStore;
@@ -29,13 +32,16 @@ public class BotStore implements IBotStore {
     private final BotHistorizedResourceStore botResourceStore;
 
     @Inject
-    public BotStore(MongoDatabase database, IDocumentBuilder documentBuilder, DocumentDescriptorStore documentDescriptorStore) {
+    public BotStore(MongoDatabase database, IDocumentBuilder documentBuilder, DocumentDescriptorStore documentDescriptorStore,
+                    ResourceCacheFactory resourceCacheFactory, ConsistencySettings consistencySettings) {
         this.documentDescriptorStore = documentDescriptorStore;
         RuntimeUtilities.checkNotNull(database, "database");
         final String collectionName = "bots";
         BotMongoResourceStorage resourceStorage =
-                new BotMongoResourceStorage(database, collectionName, documentBuilder, BotConfiguration.class);
-        this.botResourceStore = new BotHistorizedResourceStore(resourceStorage);
+                new BotMongoResourceStorage(database, collectionName, documentBuilder, BotConfiguration.class,
+                        consistencySettings);
+        this.botResourceStore = new BotHistorizedResourceStore(resourceStorage,
+                resourceCacheFactory.createResourceCache(collectionName));
     }
 
     @Override
@@ -87,8 +93,9 @@ public class BotStore implements IBotStore {
         private static final String packageResourceURI = "eddi://ai.labs.package/packagestore/packages/";
         private static final String versionQueryParam = "?version=";
 
-        BotMongoResourceStorage(MongoDatabase database, String collectionName, IDocumentBuilder documentBuilder, Class<BotConfiguration> botConfigurationClass) {
-            super(database, collectionName, documentBuilder, botConfigurationClass);
+        BotMongoResourceStorage(MongoDatabase database, String collectionName, IDocumentBuilder documentBuilder, Class<BotConfiguration> botConfigurationClass,
+                                ConsistencySettings consistencySettings) {
+            super(database, collectionName, documentBuilder, botConfigurationClass, consistencySettings);
         }
 
         List<IResourceStore.IResourceId> getBotIdsContainingPackageUri(String packageId, Integer packageVersion)
@@ -107,8 +114,8 @@ public class BotStore implements IBotStore {
     private class BotHistorizedResourceStore extends HistorizedResourceStore<BotConfiguration> {
         private final BotMongoResourceStorage resourceStorage;
 
-        BotHistorizedResourceStore(BotMongoResourceStorage resourceStorage) {
-            super(resourceStorage);
+        BotHistorizedResourceStore(BotMongoResourceStorage resourceStorage, ResourceCache<BotConfiguration> resourceCache) {
+            super(resourceStorage, resourceCache);
             this.resourceStorage = resourceStorage;
         }
 
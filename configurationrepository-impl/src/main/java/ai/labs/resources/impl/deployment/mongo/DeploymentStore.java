@@ -1,6 +1,8 @@
 package ai.labs.resources.impl.deployment.mongo;
 
 import ai.labs.persistence.IResourceStore;
+import ai.labs.persistence.IndexDefinition;
+import ai.labs.persistence.mongo.ConsistencySettings;
 import ai.labs.resources.rest.deployment.IDeploymentStore;
 import ai.labs.resources.rest.deployment.model.DeploymentInfo;
 import ai.labs.serialization.IDocumentBuilder;
@@ -12,6 +14,7 @@ import org.bson.Document;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -20,14 +23,20 @@ import java.util.List;
  */
 public class DeploymentStore implements IDeploymentStore {
     private static final String COLLECTION_DEPLOYMENTS = "deployments";
+
+    public static final List<IndexDefinition> INDEXES = Collections.singletonList(
+            IndexDefinition.on(COLLECTION_DEPLOYMENTS, "environment_botId_botVersion").
+                    ascending("environment").ascending("botId").ascending("botVersion"));
+
     private final MongoCollection<Document> collection;
     private final IDocumentBuilder documentBuilder;
     private DeploymentResourceStore deploymentResourceStore;
 
     @Inject
-    public DeploymentStore(MongoDatabase database, IDocumentBuilder documentBuilder) {
+    public DeploymentStore(MongoDatabase database, IDocumentBuilder documentBuilder,
+                           ConsistencySettings consistencySettings) {
         RuntimeUtilities.checkNotNull(database, "database");
-        this.collection = database.getCollection(COLLECTION_DEPLOYMENTS);
+        this.collection = consistencySettings.apply(database.getCollection(COLLECTION_DEPLOYMENTS), COLLECTION_DEPLOYMENTS);
         this.documentBuilder = documentBuilder;
         this.deploymentResourceStore = new DeploymentResourceStore();
     }
@@ -3,6 +3,7 @@ package ai.labs.resources.impl.descriptor.mongo;
 import ai.labs.group.IGroupStore;
 import ai.labs.permission.IPermissionStore;
 import ai.labs.persistence.DescriptorStore;
+import ai.labs.persistence.mongo.ConsistencySettings;
 import ai.labs.resources.rest.documentdescriptor.IDocumentDescriptorStore;
 import ai.labs.resources.rest.documentdescriptor.model.DocumentDescriptor;
 import ai.labs.serialization.IDocumentBuilder;
@@ -17,7 +18,8 @@ import javax.inject.Inject;
 public class DocumentDescriptorStore extends DescriptorStore<DocumentDescriptor> implements IDocumentDescriptorStore {
 
     @Inject
-    public DocumentDescriptorStore(MongoDatabase database, IPermissionStore permissionStore, IUserStore userStore, IGroupStore groupStore, IDocumentBuilder documentBuilder) {
-        super(database, permissionStore, userStore, groupStore, documentBuilder, DocumentDescriptor.class);
+    public DocumentDescriptorStore(MongoDatabase database, IPermissionStore permissionStore, IUserStore userStore, IGroupStore groupStore, IDocumentBuilder documentBuilder,
+                                   ConsistencySettings consistencySettings) {
+        super(database, permissionStore, userStore, groupStore, documentBuilder, consistencySettings, DocumentDescriptor.class);
     }
 }
@@ -1,7 +1,9 @@
 package ai.labs.resources.impl.http.mongo;
 
+import ai.labs.persistence.mongo.ConsistencySettings;
 import ai.labs.persistence.mongo.HistorizedResourceStore;
 import ai.labs.persistence.mongo.MongoResourceStorage;
+import ai.labs.persistence.mongo.ResourceCacheFactory;
 import ai.labs.resources.rest.bots.IBotStore;
 import ai.labs.resources.rest.bots.model.BotConfiguration;
 import ai.labs.resources.rest.http.IHttpCallsStore;
@@ -19,12 +21,15 @@ public class HttpCallsStore implements IHttpCallsStore {
     private HistorizedResourceStore<HttpCallsConfiguration> httpCallsResourceStore;
 
     @Inject
-    public HttpCallsStore(MongoDatabase database, IDocumentBuilder documentBuilder) {
+    public HttpCallsStore(MongoDatabase database, IDocumentBuilder documentBuilder, ResourceCacheFactory resourceCacheFactory,
+                          ConsistencySettings consistencySettings) {
         RuntimeUtilities.checkNotNull(database, "database");
         final String collectionName = "httpcalls";
         MongoResourceStorage<HttpCallsConfiguration> resourceStorage =
-                new MongoResourceStorage<>(database, collectionName, documentBuilder, HttpCallsConfiguration.class);
-        this.httpCallsResourceStore = new HistorizedResourceStore<>(resourceStorage);
+                new MongoResourceStorage<>(database, collectionName, documentBuilder, HttpCallsConfiguration.class,
+                        consistencySettings);
+        this.httpCallsResourceStore = new HistorizedResourceStore<>(resourceStorage,
+                resourceCacheFactory.createResourceCache(collectionName));
     }
 
     @Override
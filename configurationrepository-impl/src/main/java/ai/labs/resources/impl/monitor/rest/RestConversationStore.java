@@ -6,11 +6,11 @@ import ai.labs.memory.descriptor.model.ConversationDescriptor;
 import ai.labs.memory.model.ConversationMemorySnapshot;
 import ai.labs.memory.model.ConversationState;
 import ai.labs.memory.model.ConversationStatus;
+import ai.labs.memory.model.ConversationSummary;
 import ai.labs.memory.rest.IRestConversationStore;
 import ai.labs.persistence.IResourceStore;
 import ai.labs.resources.rest.documentdescriptor.IDocumentDescriptorStore;
 import ai.labs.user.IUserStore;
-import ai.labs.user.model.User;
 import ai.labs.utilities.RestUtilities;
 import ai.labs.utilities.RuntimeUtilities;
 import ai.labs.utilities.URIUtilities;
@@ -22,8 +22,10 @@ import javax.ws.rs.InternalServerErrorException;
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.core.Response;
 import java.net.URI;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -31,6 +33,8 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 public class RestConversationStore implements IRestConversationStore {
+    private static final int DEFAULT_LIMIT = 20;
+
     private final IUserStore userStore;
     private final IDocumentDescriptorStore documentDescriptorStore;
     private final IConversationDescriptorStore conversationDescriptorStore;
@@ -47,44 +51,42 @@ public class RestConversationStore implements IRestConversationStore {
         this.conversationMemoryStore = conversationMemoryStore;
     }
 
+    /**
+     * Filters and pages by the conversation summaries, thus no memory snapshot is loaded. The descriptors of
+     * a page are read with a single (permission checked) query, users and bots are resolved once per page.
+     */
     @Override
     public List<ConversationDescriptor> readConversationDescriptors(Integer index, Integer limit, String botId, Integer botVersion, ConversationState conversationState, ConversationDescriptor.ViewState viewState) {
+        limit = toPageSize(limit);
         try {
-            List<ConversationDescriptor> conversationDescriptors;
+            List<ConversationSummary> conversationSummaries;
             List<ConversationDescriptor> retConversationDescriptors = new LinkedList<>();
+            Map<URI, String> userNames = new HashMap<>();
+            Map<String, String> botNames = new HashMap<>();
             do {
-                conversationDescriptors = conversationDescriptorStore.
-                        readDescriptors("ai.labs.conversation", null, index, limit, false);
-
-                ConversationMemorySnapshot memorySnapshot;
-                for (ConversationDescriptor conversationDescriptor : conversationDescriptors) {
+                conversationSummaries = conversationMemoryStore.
+                        readConversationSummaries(botId, botVersion, conversationState, index, limit);
+
+                Map<String, ConversationDescriptor> conversationDescriptors = new HashMap<>();
+                List<String> conversationIds = conversationSummaries.stream().
+                        map(ConversationSummary::getConversationId).collect(Collectors.toList());
+                for (ConversationDescriptor conversationDescriptor :
+                        conversationDescriptorStore.readDescriptors(conversationIds, false)) {
                     IResourceStore.IResourceId resourceId =
                             RestUtilities.extractResourceId(conversationDescriptor.getResource());
-                    try {
-                        memorySnapshot = conversationMemoryStore.loadConversationMemorySnapshot(resourceId.getId());
-                    } catch (IResourceStore.ResourceNotFoundException e) {
-                        String message = "Resource referenced in descriptor does not exist (anymore) [%s]. ";
-                        message += "Ignoring this resource.";
-                        log.warn(String.format(message, conversationDescriptor.getResource()));
-                        continue;
-                    }
-
-                    if (!RuntimeUtilities.isNullOrEmpty(botId)) {
-                        if (!botId.equals(memorySnapshot.getBotId())) {
-                            continue;
-                        }
-                    }
+                    conversationDescriptors.put(resourceId.getId(), conversationDescriptor);
+                }
 
-                    if (!RuntimeUtilities.isNullOrEmpty(botVersion)) {
-                        if (!botVersion.equals(memorySnapshot.getBotVersion())) {
-                            continue;
-                        }
+                for (ConversationSummary conversationSummary : conversationSummaries) {
+                    if (retConversationDescriptors.size() >= limit) {
+                        break;
                     }
 
-                    if (!RuntimeUtilities.isNullOrEmpty(conversationState)) {
-                        if (!conversationState.equals(memorySnapshot.getConversationState())) {
-                            continue;
-                        }
+                    ConversationDescriptor conversationDescriptor =
+                            conversationDescriptors.get(conversationSummary.getConversationId());
+                    if (conversationDescriptor == null) {
+                        // deleted or not permitted
+                        continue;
                     }
 
                     if (!RuntimeUtilities.isNullOrEmpty(viewState)) {
@@ -93,20 +95,24 @@ public class RestConversationStore implements IRestConversationStore {
                         }
                     }
 
-                    conversationDescriptor.setEnvironment(memorySnapshot.getEnvironment());
-                    conversationDescriptor.setConversationStepSize(memorySnapshot.getConversationSteps().size());
+                    conversationDescriptor.setEnvironment(conversationSummary.getEnvironment());
+                    conversationDescriptor.setConversationStepSize(conversationSummary.getConversationStepSize());
+                    conversationDescriptor.setConversationState(conversationSummary.getConversationState());
+                    if (conversationSummary.getLastModifiedOn() != null) {
+                        conversationDescriptor.setLastModifiedOn(conversationSummary.getLastModifiedOn());
+                    }
+
                     URI createdBy = conversationDescriptor.getCreatedBy();
                     if (createdBy != null) {
-                        User user = userStore.readUser(RestUtilities.extractResourceId(createdBy).getId());
-                        conversationDescriptor.setCreatedByUserName(user.getDisplayName());
+                        conversationDescriptor.setCreatedByUserName(readUserName(createdBy, userNames));
                     }
-                    conversationDescriptor.setBotName(documentDescriptorStore.readDescriptor(memorySnapshot.getBotId(), memorySnapshot.getBotVersion()).getName());
-                    conversationDescriptor.setConversationState(memorySnapshot.getConversationState());
+                    conversationDescriptor.setBotName(readBotName(conversationSummary.getBotId(),
+                            conversationSummary.getBotVersion(), botNames));
 
                     retConversationDescriptors.add(conversationDescriptor);
                 }
                 index++;
-            } while (!conversationDescriptors.isEmpty() && retConversationDescriptors.size() < limit);
+            } while (!conversationSummaries.isEmpty() && retConversationDescriptors.size() < limit);
 
             return retConversationDescriptors;
 
@@ -118,6 +124,32 @@ public class RestConversationStore implements IRestConversationStore {
         }
     }
 
+    /**
+     * A limit of 0 (or less) would read every conversation, only to return none of them.
+     */
+    private static int toPageSize(Integer limit) {
+        return limit != null && limit > 0 ? limit : DEFAULT_LIMIT;
+    }
+
+    private String readUserName(URI user, Map<URI, String> userNames)
+            throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException {
+        if (!userNames.containsKey(user)) {
+            userNames.put(user, userStore.readUser(RestUtilities.extractResourceId(user).getId()).getDisplayName());
+        }
+
+        return userNames.get(user);
+    }
+
+    private String readBotName(String botId, Integer botVersion, Map<String, String> botNames)
+            throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException {
+        String key = botId + ":" + botVersion;
+        if (!botNames.containsKey(key)) {
+            botNames.put(key, documentDescriptorStore.readDescriptor(botId, botVersion).getName());
+        }
+
+        return botNames.get(key);
+    }
+
     @Override
     public ConversationMemorySnapshot readConversationLog(String conversationId) {
         RuntimeUtilities.checkNotNull(conversationId, "conversationId");
@@ -153,6 +185,7 @@ public class RestConversationStore implements IRestConversationStore {
                                                            Integer limit) {
         RuntimeUtilities.checkNotNull(botId, "botId");
         RuntimeUtilities.checkNotNull(botVersion, "botVersion");
+        limit = toPageSize(limit);
 
         List<ConversationDescriptor> conversationDescriptors;
         List<ConversationStatus> conversationStatuses = new LinkedList<>();
@@ -1,8 +1,10 @@
 package ai.labs.resources.impl.output.mongo;
 
 import ai.labs.persistence.ResultManipulator;
+import ai.labs.persistence.mongo.ConsistencySettings;
 import ai.labs.persistence.mongo.HistorizedResourceStore;
 import ai.labs.persistence.mongo.MongoResourceStorage;
+import ai.labs.persistence.mongo.ResourceCacheFactory;
 import ai.labs.resources.rest.output.IOutputStore;
 import ai.labs.resources.rest.output.model.OutputConfiguration;
 import ai.labs.resources.rest.output.model.OutputConfigurationSet;
@@ -24,14 +26,17 @@ public class OutputStore implements IOutputStore {
     private static final OutputComparator OUTPUT_COMPARATOR = new OutputComparator();
 
     @Inject
-    public OutputStore(MongoDatabase database, IDocumentBuilder documentBuilder) {
+    public OutputStore(MongoDatabase database, IDocumentBuilder documentBuilder, ResourceCacheFactory resourceCacheFactory,
+                       ConsistencySettings consistencySettings) {
         RuntimeUtilities.checkNotNull(database, "database");
         final String collectionName = "outputs";
         MongoResourceStorage<OutputConfigurationSet> resourceStorage =
-                new MongoResourceStorage<>(database, collectionName, documentBuilder, OutputConfigurationSet.class);
+                new MongoResourceStorage<>(database, collectionName, documentBuilder, OutputConfigurationSet.class,
+                        consistencySettings);
 
 
-        this.outputResourceStore = new HistorizedResourceStore<>(resourceStorage);
+        this.outputResourceStore = new HistorizedResourceStore<>(resourceStorage,
+                resourceCacheFactory.createResourceCache(collectionName));
     }
 
     @Override
@@ -1,7 +1,10 @@
 package ai.labs.resources.impl.packages.mongo;
 
+import ai.labs.persistence.mongo.ConsistencySettings;
 import ai.labs.persistence.mongo.HistorizedResourceStore;
 import ai.labs.persistence.mongo.MongoResourceStorage;
+import ai.labs.persistence.mongo.ResourceCache;
+import ai.labs.persistence.mongo.ResourceCacheFactory;
 import ai.labs.resources.impl.utilities.ResourceUtilities;
 import ai.labs.resources.rest.documentdescriptor.IDocumentDescriptorStore;
 import ai.labs.resources.rest.documentdescriptor.model.DocumentDescriptor;
@@ -25,14 +28,17 @@ public class PackageStore implements IPackageStore {
     private final PackageHistorizedResourceStore packageResourceStore;
 
     @Inject
-    public PackageStore(MongoDatabase database, IDocumentBuilder documentBuilder, IDocumentDescriptorStore documentDescriptorStore) {
+    public PackageStore(MongoDatabase database, IDocumentBuilder documentBuilder, IDocumentDescriptorStore documentDescriptorStore,
+                        ResourceCacheFactory resourceCacheFactory, ConsistencySettings consistencySettings) {
         this.documentDescriptorStore = documentDescriptorStore;
         RuntimeUtilities.checkNotNull(database, "database");
 
         final String collectionName = "packages";
         PackageMongoResourceStorage mongoResourceStorage =
-                new PackageMongoResourceStorage(database, collectionName, documentBuilder, PackageConfiguration.class);
-        packageResourceStore = new PackageHistorizedResourceStore(mongoResourceStorage);
+                new PackageMongoResourceStorage(database, collectionName, documentBuilder, PackageConfiguration.class,
+                        consistencySettings);
+        packageResourceStore = new PackageHistorizedResourceStore(mongoResourceStorage,
+                resourceCacheFactory.createResourceCache(collectionName));
     }
 
     @Override
@@ -85,8 +91,9 @@ public class PackageStore implements IPackageStore {
     }
 
     private class PackageMongoResourceStorage extends MongoResourceStorage<PackageConfiguration> {
-        PackageMongoResourceStorage(MongoDatabase database, String collectionName, IDocumentBuilder documentBuilder, Class<PackageConfiguration> documentType) {
-            super(database, collectionName, documentBuilder, documentType);
+        PackageMongoResourceStorage(MongoDatabase database, String collectionName, IDocumentBuilder documentBuilder, Class<PackageConfiguration> documentType,
+                                ConsistencySettings consistencySettings) {
+            super(database, collectionName, documentBuilder, documentType, consistencySettings);
         }
 
         List<IResourceId> getPackageDescriptorsContainingResource(URI resourceURI) throws ResourceNotFoundException {
@@ -101,8 +108,8 @@ public class PackageStore implements IPackageStore {
     private class PackageHistorizedResourceStore extends HistorizedResourceStore<PackageConfiguration> {
         private final PackageMongoResourceStorage resourceStorage;
 
-        PackageHistorizedResourceStore(PackageMongoResourceStorage resourceStorage) {
-            super(resourceStorage);
+        PackageHistorizedResourceStore(PackageMongoResourceStorage resourceStorage, ResourceCache<PackageConfiguration> resourceCache) {
+            super(resourceStorage, resourceCache);
             this.resourceStorage = resourceStorage;
         }
 
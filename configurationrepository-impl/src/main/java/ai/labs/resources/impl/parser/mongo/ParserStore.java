@@ -1,7 +1,9 @@
 package ai.labs.resources.impl.parser.mongo;
 
+import ai.labs.persistence.mongo.ConsistencySettings;
 import ai.labs.persistence.mongo.HistorizedResourceStore;
 import ai.labs.persistence.mongo.MongoResourceStorage;
+import ai.labs.persistence.mongo.ResourceCacheFactory;
 import ai.labs.resources.rest.parser.IParserStore;
 import ai.labs.resources.rest.parser.model.ParserConfiguration;
 import ai.labs.serialization.IDocumentBuilder;
@@ -17,13 +19,16 @@ public class ParserStore implements IParserStore {
     private HistorizedResourceStore<ParserConfiguration> parserResourceStore;
 
     @Inject
-    public ParserStore(MongoDatabase database, IDocumentBuilder documentBuilder) {
+    public ParserStore(MongoDatabase database, IDocumentBuilder documentBuilder, ResourceCacheFactory resourceCacheFactory,
+                       ConsistencySettings consistencySettings) {
         RuntimeUtilities.checkNotNull(database, "database");
 
         final String collectionName = "parsers";
         MongoResourceStorage<ParserConfiguration> mongoResourceStorage =
-                new MongoResourceStorage<>(database, collectionName, documentBuilder, ParserConfiguration.class);
-        parserResourceStore = new HistorizedResourceStore<>(mongoResourceStorage);
+                new MongoResourceStorage<>(database, collectionName, documentBuilder, ParserConfiguration.class,
+                        consistencySettings);
+        parserResourceStore = new HistorizedResourceStore<>(mongoResourceStorage,
+                resourceCacheFactory.createResourceCache(collectionName));
     }
 
     @Override
@@ -1,8 +1,10 @@
 package ai.labs.resources.impl.regulardictionary.mongo;
 
 import ai.labs.persistence.ResultManipulator;
+import ai.labs.persistence.mongo.ConsistencySettings;
 import ai.labs.persistence.mongo.HistorizedResourceStore;
 import ai.labs.persistence.mongo.MongoResourceStorage;
+import ai.labs.persistence.mongo.ResourceCacheFactory;
 import ai.labs.resources.rest.regulardictionary.IRegularDictionaryStore;
 import ai.labs.resources.rest.regulardictionary.model.RegularDictionaryConfiguration;
 import ai.labs.serialization.IDocumentBuilder;
@@ -24,13 +26,16 @@ public class RegularDictionaryStore implements IRegularDictionaryStore {
     private static final PhraseComparator PHRASE_COMPARATOR = new PhraseComparator();
 
     @Inject
-    public RegularDictionaryStore(MongoDatabase database, IDocumentBuilder documentBuilder) {
+    public RegularDictionaryStore(MongoDatabase database, IDocumentBuilder documentBuilder, ResourceCacheFactory resourceCacheFactory,
+                                  ConsistencySettings consistencySettings) {
         RuntimeUtilities.checkNotNull(database, "database");
 
         final String collectionName = "regulardictionaries";
         MongoResourceStorage<RegularDictionaryConfiguration> resourceStorage =
-                new MongoResourceStorage<>(database, collectionName, documentBuilder, RegularDictionaryConfiguration.class);
-        this.regularDictionaryResourceStore = new HistorizedResourceStore<>(resourceStorage);
+                new MongoResourceStorage<>(database, collectionName, documentBuilder, RegularDictionaryConfiguration.class,
+                        consistencySettings);
+        this.regularDictionaryResourceStore = new HistorizedResourceStore<>(resourceStorage,
+                resourceCacheFactory.createResourceCache(collectionName));
     }
 
     @Override
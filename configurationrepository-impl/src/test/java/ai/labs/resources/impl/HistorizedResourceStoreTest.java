@@ -1,8 +1,12 @@
 package ai.labs.resources.impl;
 
+import ai.labs.caching.ICache;
+import ai.labs.caching.ICacheFactory;
 import ai.labs.persistence.IResourceStorage;
 import ai.labs.persistence.IResourceStore;
+import ai.labs.persistence.model.ResourceCacheStatistics;
 import ai.labs.persistence.mongo.HistorizedResourceStore;
+import ai.labs.persistence.mongo.ResourceCache;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -11,12 +15,19 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * @author ginccc
  */
 public class HistorizedResourceStoreTest {
     private ai.labs.persistence.mongo.HistorizedResourceStore<DataClass> testResourceStore;
+    private HistorizedResourceStore<DataClass> cachedResourceStore;
     private TestResourceStorage mockResourceStorage;
 
     private class DataClass {
@@ -148,6 +159,12 @@ public class HistorizedResourceStoreTest {
     public void setUp() {
         mockResourceStorage = new TestResourceStorage();
         testResourceStore = new HistorizedResourceStore<>(mockResourceStorage);
+
+        ICache<Object, Object> cache = mock(ICache.class, delegatesTo(new ConcurrentHashMap<>()));
+        ICacheFactory cacheFactory = mock(ICacheFactory.class);
+        when(cacheFactory.getCache(anyString())).thenReturn(cache);
+        cachedResourceStore = new HistorizedResourceStore<>(mockResourceStorage,
+                new ResourceCache<>(cacheFactory, "test"));
     }
 
     @Test
@@ -246,6 +263,45 @@ public class HistorizedResourceStoreTest {
         Assert.assertEquals("value", read.getData());
     }
 
+    @Test
+    public void testReadCached() throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException {
+        // setup
+        DataClass data = new DataClass();
+        data.setData("value");
+        IResourceStore.IResourceId id = cachedResourceStore.create(data);
+
+        // test
+        cachedResourceStore.read(id.getId(), id.getVersion());
+        DataClass read = cachedResourceStore.read(id.getId(), id.getVersion());
+
+        // assert
+        Assert.assertEquals("value", read.getData());
+        ResourceCacheStatistics statistics = cachedResourceStore.getCacheStatistics();
+        Assert.assertEquals(1, statistics.getMisses());
+        Assert.assertEquals(1, statistics.getHits());
+        Assert.assertEquals(1, statistics.getCachedResources());
+    }
+
+    @Test
+    public void testDeleteInvalidatesCache() throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException, IResourceStore.ResourceModifiedException {
+        // setup
+        DataClass data = new DataClass();
+        IResourceStore.IResourceId id = cachedResourceStore.create(data);
+        cachedResourceStore.read(id.getId(), id.getVersion());
+
+        // test
+        cachedResourceStore.delete(id.getId(), id.getVersion());
+
+        // assert
+        Assert.assertEquals(0, cachedResourceStore.getCacheStatistics().getCachedResources());
+        try {
+            cachedResourceStore.read(id.getId(), id.getVersion());
+            Assert.fail();
+        } catch (IResourceStore.ResourceNotFoundException e) {
+            // OK
+        }
+    }
+
     private class TestHistoryResource extends TestResource implements IResourceStorage.IHistoryResource {
 
         private boolean deleted;
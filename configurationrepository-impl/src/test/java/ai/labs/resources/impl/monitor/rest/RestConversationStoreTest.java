@@ -0,0 +1,117 @@
+package ai.labs.resources.impl.monitor.rest;
+
+import ai.labs.memory.IConversationMemoryStore;
+import ai.labs.memory.descriptor.IConversationDescriptorStore;
+import ai.labs.memory.descriptor.model.ConversationDescriptor;
+import ai.labs.memory.model.ConversationState;
+import ai.labs.memory.model.ConversationSummary;
+import ai.labs.memory.model.Deployment;
+import ai.labs.resources.rest.documentdescriptor.IDocumentDescriptorStore;
+import ai.labs.resources.rest.documentdescriptor.model.DocumentDescriptor;
+import ai.labs.user.IUserStore;
+import ai.labs.user.model.User;
+import org.bson.types.ObjectId;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author ginccc
+ */
+public class RestConversationStoreTest {
+    private static final String BOT_ID = new ObjectId().toString();
+    private static final String USER_ID = new ObjectId().toString();
+    private IUserStore userStore;
+    private IDocumentDescriptorStore documentDescriptorStore;
+    private IConversationDescriptorStore conversationDescriptorStore;
+    private IConversationMemoryStore conversationMemoryStore;
+    private RestConversationStore restConversationStore;
+
+    @Before
+    public void setUp() throws Exception {
+        userStore = mock(IUserStore.class);
+        User user = new User();
+        user.setDisplayName("user");
+        when(userStore.readUser(USER_ID)).thenReturn(user);
+
+        documentDescriptorStore = mock(IDocumentDescriptorStore.class);
+        DocumentDescriptor botDescriptor = new DocumentDescriptor();
+        botDescriptor.setName("bot");
+        when(documentDescriptorStore.readDescriptor(BOT_ID, 1)).thenReturn(botDescriptor);
+
+        conversationDescriptorStore = mock(IConversationDescriptorStore.class);
+        conversationMemoryStore = mock(IConversationMemoryStore.class);
+        restConversationStore = new RestConversationStore(userStore, documentDescriptorStore,
+                conversationDescriptorStore, conversationMemoryStore);
+    }
+
+    @Test
+    public void readConversationDescriptorsFromSummaries() throws Exception {
+        //setup
+        ConversationSummary permitted1 = createSummary(3);
+        ConversationSummary denied = createSummary(2);
+        ConversationSummary permitted2 = createSummary(1);
+        when(conversationMemoryStore.readConversationSummaries(BOT_ID, 1, ConversationState.READY, 0, 2)).
+                thenReturn(Arrays.asList(permitted1, denied));
+        when(conversationMemoryStore.readConversationSummaries(BOT_ID, 1, ConversationState.READY, 1, 2)).
+                thenReturn(Collections.singletonList(permitted2));
+        when(conversationDescriptorStore.readDescriptors(anyCollection(), eq(false))).
+                thenReturn(Collections.singletonList(createDescriptor(permitted1))).
+                thenReturn(Collections.singletonList(createDescriptor(permitted2)));
+
+        //test
+        List<ConversationDescriptor> descriptors = restConversationStore.readConversationDescriptors(0, 2,
+                BOT_ID, 1, ConversationState.READY, null);
+
+        //assert
+        Assert.assertEquals(2, descriptors.size());
+        ConversationDescriptor descriptor = descriptors.get(0);
+        Assert.assertEquals(permitted1.getConversationId(), descriptor.getResource().getPath().substring(
+                descriptor.getResource().getPath().lastIndexOf('/') + 1));
+        Assert.assertEquals(3, descriptor.getConversationStepSize());
+        Assert.assertEquals(ConversationState.READY, descriptor.getConversationState());
+        Assert.assertEquals(Deployment.Environment.unrestricted, descriptor.getEnvironment());
+        Assert.assertEquals("bot", descriptor.getBotName());
+        Assert.assertEquals("user", descriptor.getCreatedByUserName());
+        Assert.assertEquals(1, descriptors.get(1).getConversationStepSize());
+        verify(conversationMemoryStore, never()).loadConversationMemorySnapshot(anyString());
+        verify(userStore, times(1)).readUser(USER_ID);
+        verify(documentDescriptorStore, times(1)).readDescriptor(BOT_ID, 1);
+    }
+
+    @Test
+    public void readConversationDescriptorsWithoutLimitReadsDefaultPage() throws Exception {
+        //setup
+        when(conversationMemoryStore.readConversationSummaries(any(), any(), any(), anyInt(), anyInt())).
+                thenReturn(Collections.emptyList());
+
+        //test
+        restConversationStore.readConversationDescriptors(0, 0, BOT_ID, 1, null, null);
+
+        //assert
+        verify(conversationMemoryStore).readConversationSummaries(BOT_ID, 1, null, 0, 20);
+    }
+
+    private static ConversationSummary createSummary(int conversationStepSize) {
+        return new ConversationSummary(new ObjectId().toString(), BOT_ID, 1, Deployment.Environment.unrestricted,
+                ConversationState.READY, conversationStepSize, new Date());
+    }
+
+    private static ConversationDescriptor createDescriptor(ConversationSummary summary) {
+        ConversationDescriptor descriptor = new ConversationDescriptor();
+        descriptor.setResource(URI.create("eddi://ai.labs.conversation/conversationstore/conversations/" +
+                summary.getConversationId() + "?version=0"));
+        descriptor.setCreatedBy(URI.create("eddi://ai.labs.user/userstore/users/" + USER_ID + "?version=1"));
+        descriptor.setViewState(ConversationDescriptor.ViewState.UNSEEN);
+        return descriptor;
+    }
+}
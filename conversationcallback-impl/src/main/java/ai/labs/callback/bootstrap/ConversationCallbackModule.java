@@ -8,20 +8,12 @@ import ai.labs.runtime.bootstrap.AbstractBaseModule;
 import com.google.inject.Scopes;
 import com.google.inject.multibindings.MapBinder;
 
-import java.io.InputStream;
-
 /**
  * @author rpi
  */
 public class ConversationCallbackModule extends AbstractBaseModule {
-    public ConversationCallbackModule(InputStream configFile) {
-        super(configFile);
-    }
-
     @Override
     protected void configure() {
-        registerConfigFiles(configFiles);
-
         bind(IConversationCallback.class).to(ConversationCallback.class).in(Scopes.SINGLETON);
 
         MapBinder<String, ILifecycleTask> lifecycleTaskPlugins
@@ -12,6 +12,7 @@ import ai.labs.serialization.IJsonSerialization;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.ws.rs.core.MediaType;
 import java.io.IOException;
 import java.net.URI;
@@ -29,7 +30,7 @@ public class ConversationCallback implements IConversationCallback {
     private final IJsonSerialization jsonSerialization;
 
     @Inject
-    public ConversationCallback(IHttpClient httpClient,
+    public ConversationCallback(@Named(IHttpClient.PROFILE_CALLBACKS) IHttpClient httpClient,
                                 IJsonSerialization jsonSerialization) {
         this.httpClient = httpClient;
         this.jsonSerialization = jsonSerialization;
@@ -3,6 +3,7 @@ package ai.labs.callback.impl;
 import ai.labs.callback.IConversationCallback;
 import ai.labs.callback.model.ConversationDataRequest;
 import ai.labs.callback.model.ConversationDataResponse;
+import ai.labs.lifecycle.Deadline;
 import ai.labs.lifecycle.ILifecycleTask;
 import ai.labs.lifecycle.LifecycleException;
 import ai.labs.lifecycle.PackageConfigurationException;
@@ -23,6 +24,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Created by rpi on 08.02.2017.
@@ -58,6 +60,11 @@ public class ConversationCallbackTask implements ILifecycleTask {
 
     @Override
     public void executeTask(IConversationMemory memory) throws LifecycleException {
+        executeTask(memory, Deadline.NONE);
+    }
+
+    @Override
+    public void executeTask(IConversationMemory memory, Deadline deadline) throws LifecycleException {
         try {
             IData<List<String>> actionData = memory.getCurrentStep().getLatestData(KEY_ACTION);
             if (!executeCallback(actionData)) {
@@ -67,7 +74,8 @@ public class ConversationCallbackTask implements ILifecycleTask {
             ConversationDataRequest request = new ConversationDataRequest();
             request.setConversationMemorySnapshot(ConversationMemoryUtilities.convertConversationMemory(memory));
             ConversationDataResponse response =
-                    conversationCallback.doExternalCall(callback, request, timeoutInMillis);
+                    conversationCallback.doExternalCall(callback, request,
+                            Math.max(deadline.limit(timeoutInMillis, TimeUnit.MILLISECONDS), 1));
 
             if (String.valueOf(response.getHttpCode()).startsWith("2")) { //check for success, http code 2xx
                 mergeConversationMemory(memory, response.getConversationMemorySnapshot());
@@ -3,6 +3,7 @@ package ai.labs.callback.impl;
 import ai.labs.callback.IConversationCallback;
 import ai.labs.callback.model.ConversationDataRequest;
 import ai.labs.callback.model.ConversationDataResponse;
+import ai.labs.lifecycle.Deadline;
 import ai.labs.lifecycle.LifecycleException;
 import ai.labs.lifecycle.PackageConfigurationException;
 import ai.labs.memory.ConversationMemory;
@@ -15,10 +16,11 @@ import java.net.URI;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
-import java.util.Stack;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.longThat;
 import static org.mockito.Mockito.*;
 
 /**
@@ -40,7 +42,8 @@ public class ConversationCallbackTaskTest {
         memory = mock(IConversationMemory.class);
         IConversationMemory.IWritableConversationStep currentStep = mock(IConversationMemory.IWritableConversationStep.class);
         when(memory.getCurrentStep()).thenAnswer(invocation -> currentStep);
-        when(memory.getRedoCache()).thenAnswer(invocation -> new Stack<>());
+        when(memory.getRedoCache()).thenAnswer(invocation ->
+                new ConversationMemory.ConversationStepStack(new LinkedList<>()));
         when(memory.getAllSteps()).thenAnswer(invocation ->
                 new ConversationMemory.ConversationStepStack(new LinkedList<>()));
         when(currentStep.getLatestData(eq("action"))).thenAnswer(invocation ->
@@ -83,6 +86,19 @@ public class ConversationCallbackTaskTest {
         verify(conversationCallback, never()).doExternalCall(any(URI.class), any(ConversationDataRequest.class), eq(5000L));
     }
 
+    @Test
+    public void executeTask_timeoutLimitedByDeadline() throws LifecycleException, PackageConfigurationException {
+        //setup
+        ConversationCallbackTask conversationCallbackTask = createConfiguration("action_1");
+
+        //test
+        conversationCallbackTask.executeTask(memory, Deadline.after(1, TimeUnit.SECONDS));
+
+        //assert
+        verify(conversationCallback).doExternalCall(any(URI.class), any(ConversationDataRequest.class),
+                longThat(timeout -> timeout > 0 && timeout <= 1000L));
+    }
+
     private ConversationCallbackTask createConfiguration(String action) throws PackageConfigurationException {
         ConversationCallbackTask conversationCallbackTask = new ConversationCallbackTask(conversationCallback);
         HashMap<String, Object> configuration = new HashMap<>();
@@ -0,0 +1,48 @@
+package ai.labs.lifecycle;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time by which the processing of a conversation turn has to be finished.
+ * Tasks use it to bound their own timeouts, the lifecycle skips all remaining tasks once it has expired.
+ *
+ * @author ginccc
+ */
+public final class Deadline {
+    public static final Deadline NONE = new Deadline(0, false);
+
+    private final long expiresAtNanos;
+    private final boolean bounded;
+
+    private Deadline(long expiresAtNanos, boolean bounded) {
+        this.expiresAtNanos = expiresAtNanos;
+        this.bounded = bounded;
+    }
+
+    public static Deadline after(long duration, TimeUnit timeUnit) {
+        return new Deadline(System.nanoTime() + timeUnit.toNanos(duration), true);
+    }
+
+    public boolean isExpired() {
+        return bounded && expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * @return time left until this deadline expires (0 if it has expired already),
+     * Long.MAX_VALUE for {@link #NONE}
+     */
+    public long getRemaining(TimeUnit timeUnit) {
+        if (!bounded) {
+            return Long.MAX_VALUE;
+        }
+
+        return timeUnit.convert(Math.max(expiresAtNanos - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the given timeout, shortened to the time left until this deadline expires
+     */
+    public long limit(long timeout, TimeUnit timeUnit) {
+        return Math.min(timeout, getRemaining(timeUnit));
+    }
+}
@@ -17,7 +17,12 @@ public interface IConversation {
 
     void endConversation();
 
-    void say(final String message, Map<String, Context> contexts)
+    default void say(final String message, Map<String, Context> contexts)
+            throws LifecycleException, ConversationNotReadyException {
+        say(message, contexts, Deadline.NONE);
+    }
+
+    void say(final String message, Map<String, Context> contexts, Deadline deadline)
             throws LifecycleException, ConversationNotReadyException;
 
     interface IConversationOutputRenderer {
@@ -6,7 +6,11 @@ import ai.labs.memory.IConversationMemory;
  * @author ginccc
  */
 public interface ILifecycleManager {
-    void executeLifecycle(final IConversationMemory conversationMemory) throws LifecycleException;
+    default void executeLifecycle(final IConversationMemory conversationMemory) throws LifecycleException {
+        executeLifecycle(conversationMemory, Deadline.NONE);
+    }
+
+    void executeLifecycle(final IConversationMemory conversationMemory, Deadline deadline) throws LifecycleException;
 
     void addLifecycleTask(ILifecycleTask lifecycleTask);
 }
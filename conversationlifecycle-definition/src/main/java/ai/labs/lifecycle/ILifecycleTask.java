@@ -52,6 +52,14 @@ public interface ILifecycleTask {
 
     void executeTask(IConversationMemory memory) throws LifecycleException;
 
+    /**
+     * Executes this task within the deadline of the current conversation turn.
+     * Tasks doing remote calls should override this to bound their timeouts by the remaining time.
+     */
+    default void executeTask(IConversationMemory memory, Deadline deadline) throws LifecycleException {
+        executeTask(memory);
+    }
+
     default void configure(Map<String, Object> configuration) throws PackageConfigurationException {
         //to be overridden if needed
     }
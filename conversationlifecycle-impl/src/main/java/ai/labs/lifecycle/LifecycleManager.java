@@ -13,17 +13,24 @@ public class LifecycleManager implements ILifecycleManager {
         lifecycleTasks = new LinkedList<>();
     }
 
-    public void executeLifecycle(final IConversationMemory conversationMemory) throws LifecycleException {
+    @Override
+    public void executeLifecycle(final IConversationMemory conversationMemory, Deadline deadline)
+            throws LifecycleException {
         RuntimeUtilities.checkNotNull(conversationMemory, "conversationMemory");
-
+        RuntimeUtilities.checkNotNull(deadline, "deadline");
 
         for (ILifecycleTask task : lifecycleTasks) {
             if (Thread.currentThread().isInterrupted()) {
                 throw new LifecycleException.LifecycleInterruptedException("Execution was interrupted!");
             }
 
+            if (deadline.isExpired()) {
+                String message = "Deadline of this conversation turn has expired, skipping task (%s) and all following.";
+                throw new LifecycleException.LifecycleInterruptedException(String.format(message, task.getId()));
+            }
+
             try {
-                task.executeTask(conversationMemory);
+                task.executeTask(conversationMemory, deadline);
             } catch (LifecycleException e) {
                 throw new LifecycleException("Error while executing lifecycle!", e);
             }
@@ -6,6 +6,8 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * @author ginccc
  */
@@ -33,6 +35,36 @@ public class LifecycleManagerTest {
         Mockito.verify(lifecycleTask, Mockito.atMost(1)).executeTask(memory);
     }
 
+    @Test
+    public void testExecuteLifecycleWithinDeadline() throws Exception {
+        //setup
+        ILifecycleTask lifecycleTask = Mockito.mock(ILifecycleTask.class);
+        lifecycleManager.addLifecycleTask(lifecycleTask);
+        Deadline deadline = Deadline.after(1, TimeUnit.MINUTES);
+
+        //test
+        lifecycleManager.executeLifecycle(memory, deadline);
+
+        //assert
+        Mockito.verify(lifecycleTask).executeTask(memory, deadline);
+    }
+
+    @Test
+    public void testExecuteLifecycleSkipsTasksOnceDeadlineExpired() throws Exception {
+        //setup
+        ILifecycleTask lifecycleTask = Mockito.mock(ILifecycleTask.class);
+        lifecycleManager.addLifecycleTask(lifecycleTask);
+
+        //test
+        try {
+            lifecycleManager.executeLifecycle(memory, Deadline.after(0, TimeUnit.MILLISECONDS));
+            Assert.fail();
+        } catch (LifecycleException.LifecycleInterruptedException e) {
+            //assert
+            Mockito.verify(lifecycleTask, Mockito.never()).executeTask(Mockito.any(), Mockito.any());
+        }
+    }
+
     @Test
     public void testValidationWhenMemoryIsNull() throws Exception {
         //test
@@ -0,0 +1,19 @@
+package ai.labs.memory;
+
+/**
+ * Moves conversations, which have been ended or idle for longer than the retention of their bot, from the
+ * conversation memories to the archive.
+ *
+ * @author ginccc
+ */
+public interface IConversationArchiver {
+    /**
+     * Schedules the archival to run periodically, if enabled.
+     */
+    void start();
+
+    /**
+     * @return number of conversations, which have been archived
+     */
+    long archiveExpiredConversations();
+}
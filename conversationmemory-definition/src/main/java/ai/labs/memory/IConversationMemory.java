@@ -5,7 +5,6 @@ import ai.labs.memory.model.ConversationState;
 import java.io.Serializable;
 import java.util.List;
 import java.util.Set;
-import java.util.Stack;
 
 /**
  * @author ginccc
@@ -39,8 +38,12 @@ public interface IConversationMemory extends Serializable {
 
     void setConversationState(ConversationState conversationState);
 
-    Stack<IConversationStep> getRedoCache();
+    /**
+     * @return the steps that have been undone, the step to be redone next at index 0
+     */
+    IConversationStepStack getRedoCache();
 
+    IConversationCounters getConversationCounters();
 
     interface IConversationStepStack {
         <T> IData<T> getLatestData(String key);
@@ -82,6 +85,22 @@ public interface IConversationMemory extends Serializable {
         void storeData(IData element);
     }
 
+    /**
+     * Aggregated occurrences of values of counted data keys (e.g. actions or behavior rules)
+     * over all previous (committed) conversation steps. A value is counted at most once per step.
+     */
+    interface IConversationCounters {
+        /**
+         * @return number of previous steps in which value has been stored under key, 0 if never
+         */
+        int getOccurrences(String key, String value);
+
+        /**
+         * @return step number of the latest previous step in which value has been stored under key, -1 if never
+         */
+        int getLastOccurrence(String key, String value);
+    }
+
     interface IConversationContext {
         String getContext();
 
@@ -2,8 +2,13 @@ package ai.labs.memory;
 
 import ai.labs.memory.model.ConversationMemorySnapshot;
 import ai.labs.memory.model.ConversationState;
+import ai.labs.memory.model.ConversationSummary;
+import ai.labs.memory.model.WriteBehindMetrics;
 import ai.labs.persistence.IResourceStore;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * @author ginccc
  */
@@ -12,6 +17,19 @@ public interface IConversationMemoryStore {
 
     ConversationMemorySnapshot loadConversationMemorySnapshot(String conversationId) throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException;
 
+    /**
+     * Non-blocking variant of {@link #storeConversationMemorySnapshot}, the future completes exceptionally
+     * with a {@link IResourceStore.ResourceStoreException} if the snapshot could not be stored.
+     */
+    CompletableFuture<String> storeConversationMemorySnapshotAsync(ConversationMemorySnapshot snapshot);
+
+    /**
+     * Non-blocking variant of {@link #loadConversationMemorySnapshot}, the future completes exceptionally with a
+     * {@link IResourceStore.ResourceNotFoundException} or {@link IResourceStore.ResourceStoreException}.
+     * Snapshots, which are still being stored asynchronously, are taken into account.
+     */
+    CompletableFuture<ConversationMemorySnapshot> loadConversationMemorySnapshotAsync(String conversationId);
+
     void setConversationState(String conversationId, ConversationState conversationState);
 
     void deleteConversationMemorySnapshot(String conversationId) throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException;
@@ -19,4 +37,16 @@ public interface IConversationMemoryStore {
     ConversationState getConversationState(String conversationId);
 
     Long getActiveConversationCount(String botId, Integer botVersion);
+
+    /**
+     * Reads the summaries of the conversations matching the given filters (null matches any), most recently
+     * modified first. Memories pending in the write-behind queue are reflected once they have been flushed.
+     *
+     * @param limit size of a page, has to be positive
+     */
+    List<ConversationSummary> readConversationSummaries(String botId, Integer botVersion,
+                                                        ConversationState conversationState,
+                                                        Integer index, Integer limit);
+
+    WriteBehindMetrics getWriteBehindMetrics();
 }
@@ -21,6 +21,7 @@ public class ConversationMemorySnapshot {
     private ConversationState conversationState;
     private List<ConversationStepSnapshot> conversationSteps = new LinkedList<>();
     private Stack<ConversationStepSnapshot> redoCache = new Stack<>();
+    private List<OccurrenceSnapshot> occurrences;
 
     @Override
     public boolean equals(Object o) {
@@ -118,4 +119,16 @@ public class ConversationMemorySnapshot {
             return result;
         }
     }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Setter
+    @ToString
+    public static class OccurrenceSnapshot {
+        private String key;
+        private String value;
+        private int occurrences;
+        private int lastOccurrence;
+    }
 }
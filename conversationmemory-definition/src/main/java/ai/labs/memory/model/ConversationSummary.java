@@ -0,0 +1,24 @@
+package ai.labs.memory.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * Compact view of a conversation, maintained with every store of its memory, for monitoring and filtering
+ * conversations without loading their steps.
+ *
+ * @author ginccc
+ */
+@Getter
+@AllArgsConstructor
+public class ConversationSummary {
+    private String conversationId;
+    private String botId;
+    private Integer botVersion;
+    private Deployment.Environment environment;
+    private ConversationState conversationState;
+    private int conversationStepSize;
+    private Date lastModifiedOn;
+}
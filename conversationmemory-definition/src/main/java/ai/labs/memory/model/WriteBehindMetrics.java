@@ -0,0 +1,19 @@
+package ai.labs.memory.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * @author ginccc
+ */
+@Getter
+@AllArgsConstructor
+public class WriteBehindMetrics {
+    private boolean enabled;
+    private int pendingConversations;
+    private long oldestPendingWriteInMillis;
+    private long coalescedWrites;
+    private long flushedWrites;
+    private long directWrites;
+    private long failedFlushes;
+}
@@ -0,0 +1,185 @@
+package ai.labs.memory;
+
+import ai.labs.persistence.mongo.ConsistencySettings;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static ai.labs.memory.ConversationMemoryStore.*;
+import static ai.labs.memory.model.ConversationState.ENDED;
+
+/**
+ * Archives expired conversations in batches: each batch is upserted into the archive collection (created with
+ * zlib block compression) and only then deleted from the conversation memories. The deletion is restricted to
+ * conversations which are still expired and have no turn pending to be written, thus a conversation continued
+ * meanwhile stays, its outdated archived copy is replaced once it expires again. Archived conversations can still be read (see
+ * {@link ConversationMemoryStore}).
+ * <p>
+ * Memories stored before they carried a last modification expire by the creation time of their id.
+ *
+ * @author ginccc
+ */
+@Slf4j
+public class ConversationArchiver implements IConversationArchiver {
+    private static final String ID_FIELD = "_id";
+    private static final long MILLIS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+    private static final Document COMPRESSED_STORAGE = new Document("wiredTiger",
+            new Document("configString", "block_compressor=zlib"));
+
+    private final MongoDatabase database;
+    private final MongoCollection<Document> conversationCollection;
+    private final MongoCollection<Document> archiveCollection;
+    private final ConversationMemoryStore conversationMemoryStore;
+    private final RetentionPolicy retentionPolicy;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long intervalInMinutes;
+
+    @Inject
+    public ConversationArchiver(MongoDatabase database,
+                                ConsistencySettings consistencySettings,
+                                ConversationMemoryStore conversationMemoryStore,
+                                RetentionPolicy retentionPolicy,
+                                @Named("conversationMemory.retention.enabled") Boolean enabled,
+                                @Named("conversationMemory.retention.batchSize") Integer batchSize,
+                                @Named("conversationMemory.retention.intervalInMinutes") Long intervalInMinutes) {
+        this.database = database;
+        this.conversationCollection = consistencySettings.apply(
+                database.getCollection(CONVERSATION_COLLECTION), CONVERSATION_COLLECTION);
+        this.archiveCollection = consistencySettings.apply(
+                database.getCollection(ARCHIVE_COLLECTION), CONVERSATION_COLLECTION, "archive");
+        this.conversationMemoryStore = conversationMemoryStore;
+        this.retentionPolicy = retentionPolicy;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.intervalInMinutes = intervalInMinutes;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            log.info("Archival of expired conversations is disabled.");
+            return;
+        }
+
+        createArchiveCollection();
+
+        ScheduledExecutorService archivalExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ConversationArchiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        archivalExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                archiveExpiredConversations();
+            } catch (MongoException e) {
+                log.error("Could not archive expired conversations, retrying with the next run.", e);
+            }
+        }, intervalInMinutes, intervalInMinutes, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public long archiveExpiredConversations() {
+        long now = System.currentTimeMillis();
+        long archived = 0;
+
+        Set<String> botIds = retentionPolicy.getBotIds();
+        for (String botId : botIds) {
+            archived += archiveExpiredConversations(Filters.eq(BOT_ID_FIELD, botId), botId, now);
+        }
+        archived += archiveExpiredConversations(Filters.nin(BOT_ID_FIELD, botIds), null, now);
+
+        if (archived > 0) {
+            log.info("Archived {} expired conversations.", archived);
+        }
+
+        return archived;
+    }
+
+    private long archiveExpiredConversations(Bson botFilter, String botId, long now) {
+        long archived = 0;
+
+        int endedTtlInDays = retentionPolicy.getEndedTtlInDays(botId);
+        if (endedTtlInDays > 0) {
+            archived += archive(Filters.and(botFilter, Filters.eq(CONVERSATION_STATE_FIELD, ENDED.name()),
+                    modifiedBefore(new Date(now - endedTtlInDays * MILLIS_PER_DAY))));
+        }
+
+        int idleTtlInDays = retentionPolicy.getIdleTtlInDays(botId);
+        if (idleTtlInDays > 0) {
+            archived += archive(Filters.and(botFilter, Filters.ne(CONVERSATION_STATE_FIELD, ENDED.name()),
+                    modifiedBefore(new Date(now - idleTtlInDays * MILLIS_PER_DAY))));
+        }
+
+        return archived;
+    }
+
+    private long archive(Bson expired) {
+        long archived = 0;
+        Object lastId = null;
+        List<Document> batch;
+        do {
+            // paged by id, as conversations with a pending turn are not deleted and would be found again
+            Bson query = lastId != null ? Filters.and(expired, Filters.gt(ID_FIELD, lastId)) : expired;
+            batch = conversationCollection.find(query).sort(Sorts.ascending(ID_FIELD)).limit(batchSize).
+                    into(new ArrayList<>(batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).get(ID_FIELD);
+
+            List<WriteModel<Document>> writes = new LinkedList<>();
+            for (Document conversation : batch) {
+                writes.add(new ReplaceOneModel<>(Filters.eq(ID_FIELD, conversation.get(ID_FIELD)), conversation,
+                        new UpdateOptions().upsert(true)));
+            }
+            archiveCollection.bulkWrite(writes, new BulkWriteOptions().ordered(false));
+
+            List<Object> ids = batch.stream().map(conversation -> conversation.get(ID_FIELD)).
+                    collect(Collectors.toList());
+            archived += conversationMemoryStore.deleteArchivedConversations(ids, expired);
+        } while (batch.size() >= batchSize);
+
+        return archived;
+    }
+
+    private static Bson modifiedBefore(Date date) {
+        return Filters.or(Filters.lt(LAST_MODIFIED_FIELD, date),
+                Filters.and(Filters.exists(LAST_MODIFIED_FIELD, false), Filters.lt(ID_FIELD, new ObjectId(date))));
+    }
+
+    private void createArchiveCollection() {
+        for (String collectionName : database.listCollectionNames()) {
+            if (ARCHIVE_COLLECTION.equals(collectionName)) {
+                return;
+            }
+        }
+
+        database.createCollection(ARCHIVE_COLLECTION,
+                new CreateCollectionOptions().storageEngineOptions(COMPRESSED_STORAGE));
+        log.info("Created collection {} for archived conversations.", ARCHIVE_COLLECTION);
+    }
+}
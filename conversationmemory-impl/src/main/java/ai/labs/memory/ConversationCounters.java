@@ -0,0 +1,126 @@
+package ai.labs.memory;
+
+import ai.labs.memory.model.ConversationMemorySnapshot;
+
+import java.util.*;
+
+/**
+ * @author ginccc
+ */
+public class ConversationCounters implements IConversationMemory.IConversationCounters {
+    public static final String ACTIONS_KEY = "actions";
+    public static final String BEHAVIOR_RULES_SUCCESS_KEY = "behavior_rules:success";
+    static final List<String> COUNTED_KEYS = Arrays.asList(ACTIONS_KEY, BEHAVIOR_RULES_SUCCESS_KEY);
+
+    private final Map<String, Map<String, Counter>> counters = new LinkedHashMap<>();
+
+    @Override
+    public int getOccurrences(String key, String value) {
+        Counter counter = getCounter(key, value);
+        return counter != null ? counter.occurrences : 0;
+    }
+
+    @Override
+    public int getLastOccurrence(String key, String value) {
+        Counter counter = getCounter(key, value);
+        return counter != null ? counter.lastOccurrence : -1;
+    }
+
+    void commitStep(IConversationMemory.IConversationStep step, int stepNumber) {
+        for (String key : COUNTED_KEYS) {
+            for (String value : collectValues(step, key)) {
+                Counter counter = counters.computeIfAbsent(key, k -> new LinkedHashMap<>()).
+                        computeIfAbsent(value, v -> new Counter());
+                counter.occurrences++;
+                counter.lastOccurrence = stepNumber;
+            }
+        }
+    }
+
+    /**
+     * reverts the contribution of a step that has been removed from the previous steps
+     *
+     * @param step          the step that has been removed
+     * @param stepNumber    the number the step had while being committed
+     * @param previousSteps the remaining previous steps, latest first
+     */
+    void revertStep(IConversationMemory.IConversationStep step, int stepNumber,
+                    IConversationMemory.IConversationStepStack previousSteps) {
+        for (String key : COUNTED_KEYS) {
+            Map<String, Counter> valueCounters = counters.get(key);
+            if (valueCounters == null) {
+                continue;
+            }
+
+            for (String value : collectValues(step, key)) {
+                Counter counter = valueCounters.get(value);
+                if (counter == null) {
+                    continue;
+                }
+
+                if (--counter.occurrences <= 0) {
+                    valueCounters.remove(value);
+                } else if (counter.lastOccurrence == stepNumber) {
+                    counter.lastOccurrence = findLastOccurrence(previousSteps, key, value);
+                }
+            }
+        }
+    }
+
+    List<ConversationMemorySnapshot.OccurrenceSnapshot> toSnapshot() {
+        List<ConversationMemorySnapshot.OccurrenceSnapshot> snapshots = new LinkedList<>();
+        counters.forEach((key, valueCounters) -> valueCounters.forEach((value, counter) ->
+                snapshots.add(new ConversationMemorySnapshot.OccurrenceSnapshot(key, value,
+                        counter.occurrences, counter.lastOccurrence))));
+
+        return snapshots;
+    }
+
+    void restore(List<ConversationMemorySnapshot.OccurrenceSnapshot> snapshots) {
+        counters.clear();
+        for (ConversationMemorySnapshot.OccurrenceSnapshot snapshot : snapshots) {
+            Counter counter = new Counter();
+            counter.occurrences = snapshot.getOccurrences();
+            counter.lastOccurrence = snapshot.getLastOccurrence();
+            counters.computeIfAbsent(snapshot.getKey(), k -> new LinkedHashMap<>()).put(snapshot.getValue(), counter);
+        }
+    }
+
+    private Counter getCounter(String key, String value) {
+        Map<String, Counter> valueCounters = counters.get(key);
+        return valueCounters != null ? valueCounters.get(value) : null;
+    }
+
+    private static int findLastOccurrence(IConversationMemory.IConversationStepStack previousSteps,
+                                          String key, String value) {
+        for (int i = 0; i < previousSteps.size(); i++) {
+            if (collectValues(previousSteps.get(i), key).contains(value)) {
+                return previousSteps.size() - i - 1;
+            }
+        }
+
+        return -1;
+    }
+
+    private static Set<String> collectValues(IConversationMemory.IConversationStep step, String key) {
+        Set<String> values = new LinkedHashSet<>();
+        for (IConversationMemory.IConversationContext context : step.getAllConversationContexts()) {
+            for (IData data : step.getAllElements(context)) {
+                if (key.equals(data.getKey()) && data.getResult() instanceof Collection) {
+                    for (Object value : (Collection) data.getResult()) {
+                        if (value != null) {
+                            values.add(value.toString());
+                        }
+                    }
+                }
+            }
+        }
+
+        return values;
+    }
+
+    private static class Counter {
+        private int occurrences;
+        private int lastOccurrence = -1;
+    }
+}
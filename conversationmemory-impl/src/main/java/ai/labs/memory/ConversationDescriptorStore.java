@@ -5,6 +5,7 @@ import ai.labs.memory.descriptor.IConversationDescriptorStore;
 import ai.labs.memory.descriptor.model.ConversationDescriptor;
 import ai.labs.permission.IPermissionStore;
 import ai.labs.persistence.DescriptorStore;
+import ai.labs.persistence.mongo.ConsistencySettings;
 import ai.labs.serialization.IDocumentBuilder;
 import ai.labs.user.IUserStore;
 import com.mongodb.client.MongoDatabase;
@@ -17,7 +18,8 @@ import javax.inject.Inject;
 public class ConversationDescriptorStore extends DescriptorStore<ConversationDescriptor> implements IConversationDescriptorStore {
 
     @Inject
-    public ConversationDescriptorStore(MongoDatabase database, IPermissionStore permissionStore, IUserStore userStore, IGroupStore groupStore, IDocumentBuilder documentBuilder) {
-        super(database, permissionStore, userStore, groupStore, documentBuilder, ConversationDescriptor.class);
+    public ConversationDescriptorStore(MongoDatabase database, IPermissionStore permissionStore, IUserStore userStore, IGroupStore groupStore, IDocumentBuilder documentBuilder,
+                                       ConsistencySettings consistencySettings) {
+        super(database, permissionStore, userStore, groupStore, documentBuilder, consistencySettings, ConversationDescriptor.class);
     }
 }
@@ -2,11 +2,8 @@ package ai.labs.memory;
 
 import ai.labs.memory.model.ConversationState;
 
-import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Stack;
-import java.util.stream.Collectors;
 
 /**
  * @author ginccc
@@ -17,10 +14,11 @@ public class ConversationMemory implements IConversationMemory {
     private Integer botVersion;
 
     private IWritableConversationStep currentStep;
-    private Stack<IConversationStep> previousSteps;
-    private Stack<IConversationStep> redoCache = new Stack<>();
+    private ConversationStepList previousSteps;
+    private ConversationStepList redoCache = ConversationStepList.EMPTY;
     private IConversationMemory.IConversationContext context;
     private ConversationState conversationState;
+    private final ConversationCounters conversationCounters = new ConversationCounters();
 
     ConversationMemory(String id, String botId, Integer botVersion) {
         this(botId, botVersion);
@@ -32,7 +30,7 @@ public class ConversationMemory implements IConversationMemory {
         this.botVersion = botVersion;
         this.context = new ConversationContext();
         this.currentStep = new ConversationStep(context);
-        this.previousSteps = new Stack<>();
+        this.previousSteps = ConversationStepList.EMPTY;
     }
 
     @Override
@@ -42,24 +40,34 @@ public class ConversationMemory implements IConversationMemory {
 
     @Override
     public IConversationStepStack getPreviousSteps() {
-        return new ConversationStepStack(previousSteps);
+        return new ConversationStepStack(previousSteps, null);
     }
 
     @Override
     public IConversationStepStack getAllSteps() {
-        ConversationStepStack result = new ConversationStepStack(previousSteps);
         ((ConversationStep) currentStep).conversationStepNumber = previousSteps.size();
-        result.add(currentStep);
-        return result;
+        return new ConversationStepStack(previousSteps, currentStep);
     }
 
     public IConversationStep startNextStep() {
-        ((ConversationStep) currentStep).conversationStepNumber = previousSteps.size();
-        previousSteps.push(currentStep);
+        return startNextStep(true);
+    }
+
+    IConversationStep startNextStep(boolean countOccurrences) {
+        commitCurrentStep(countOccurrences);
         currentStep = new ConversationStep(context);
         return currentStep;
     }
 
+    private void commitCurrentStep(boolean countOccurrences) {
+        int stepNumber = previousSteps.size();
+        ((ConversationStep) currentStep).conversationStepNumber = stepNumber;
+        if (countOccurrences) {
+            conversationCounters.commitStep(currentStep, stepNumber);
+        }
+        previousSteps = previousSteps.push(currentStep);
+    }
+
     @Override
     public int size() {
         return previousSteps.size() + 1;
@@ -71,8 +79,10 @@ public class ConversationMemory implements IConversationMemory {
             throw new IllegalStateException();
         }
 
-        redoCache.push(currentStep);
-        currentStep = (IWritableConversationStep) previousSteps.pop();
+        redoCache = redoCache.push(currentStep);
+        currentStep = (IWritableConversationStep) previousSteps.peek();
+        previousSteps = previousSteps.pop();
+        conversationCounters.revertStep(currentStep, previousSteps.size(), getPreviousSteps());
     }
 
     @Override
@@ -91,8 +101,9 @@ public class ConversationMemory implements IConversationMemory {
             throw new IllegalStateException();
         }
 
-        previousSteps.push(currentStep);
-        currentStep = (IWritableConversationStep) redoCache.pop();
+        commitCurrentStep(true);
+        currentStep = (IWritableConversationStep) redoCache.peek();
+        redoCache = redoCache.pop();
     }
 
     @Override
@@ -125,23 +136,47 @@ public class ConversationMemory implements IConversationMemory {
     }
 
     @Override
-    public Stack<IConversationStep> getRedoCache() {
-        return redoCache;
+    public IConversationStepStack getRedoCache() {
+        return new ConversationStepStack(redoCache, null);
     }
 
+    void pushRedoStep(IConversationStep step) {
+        redoCache = redoCache.push(step);
+    }
+
+    @Override
+    public ConversationCounters getConversationCounters() {
+        return conversationCounters;
+    }
+
+    /**
+     * Read-only view on an immutable list of steps, optionally topped by the current step.
+     * Creating a view doesn't copy any steps.
+     */
     public final static class ConversationStepStack implements IConversationStepStack {
-        private List<IConversationStep> conversationSteps = new ArrayList<>();
+        private final ConversationStepList conversationSteps;
+        private final IConversationStep topStep;
 
         public ConversationStepStack(List<IConversationStep> steps) {
-            conversationSteps.addAll(steps);
+            ConversationStepList conversationSteps = ConversationStepList.EMPTY;
+            for (IConversationStep step : steps) {
+                conversationSteps = conversationSteps.push(step);
+            }
+            this.conversationSteps = conversationSteps;
+            this.topStep = null;
+        }
+
+        ConversationStepStack(ConversationStepList conversationSteps, IConversationStep topStep) {
+            this.conversationSteps = conversationSteps;
+            this.topStep = topStep;
         }
 
         @Override
         public <T> IData<T> getLatestData(String key) {
-            for (int i = conversationSteps.size() - 1; i >= 0; --i) {
-                IConversationStep step = conversationSteps.get(i);
-                if (step.getData(key) != null) {
-                    return step.getData(key);
+            for (int i = 0; i < size(); i++) {
+                IData<T> data = get(i).getData(key);
+                if (data != null) {
+                    return data;
                 }
             }
             return null;
@@ -151,9 +186,8 @@ public class ConversationMemory implements IConversationMemory {
         public <T> List<List<IData<T>>> getAllData(String prefix) {
             List<List<IData<T>>> allData = new LinkedList<>();
 
-            for (int i = conversationSteps.size() - 1; i >= 0; i--) {
-                IConversationStep step = conversationSteps.get(i);
-                List<IData<T>> dataList = step.getAllData(prefix);
+            for (int i = 0; i < size(); i++) {
+                List<IData<T>> dataList = get(i).getAllData(prefix);
                 if (!dataList.isEmpty()) {
                     allData.add(dataList);
                 }
@@ -164,31 +198,34 @@ public class ConversationMemory implements IConversationMemory {
 
         @Override
         public <T> List<IData<T>> getAllLatestData(String prefix) {
-            return conversationSteps.stream().map((IConversationStep conversationStep) ->
-                    conversationStep.<T>getLatestData(prefix)).collect(Collectors.toList());
+            List<IData<T>> allLatestData = new LinkedList<>();
+            for (int i = size() - 1; i >= 0; i--) {
+                allLatestData.add(get(i).getLatestData(prefix));
+            }
+
+            return allLatestData;
         }
 
         @Override
         public int size() {
-            return conversationSteps.size();
+            return topStep != null ? conversationSteps.size() + 1 : conversationSteps.size();
         }
 
         @Override
         public IConversationStep get(int index) {
+            if (topStep != null) {
+                if (index == 0) {
+                    return topStep;
+                }
+                index--;
+            }
+
             return conversationSteps.get(conversationSteps.size() - index - 1);
         }
 
         @Override
         public IConversationStep peek() {
-            return conversationSteps.get(conversationSteps.size() - 1);
-        }
-
-        public void addAll(List<IConversationStep> conversationSteps) {
-            this.conversationSteps.addAll(conversationSteps);
-        }
-
-        public void add(IConversationStep step) {
-            this.conversationSteps.add(step);
+            return get(0);
         }
     }
 
@@ -2,47 +2,133 @@ package ai.labs.memory;
 
 import ai.labs.memory.model.ConversationMemorySnapshot;
 import ai.labs.memory.model.ConversationState;
+import ai.labs.memory.model.ConversationSummary;
+import ai.labs.memory.model.Deployment;
+import ai.labs.memory.model.WriteBehindMetrics;
+import ai.labs.persistence.IDatabaseLifecycle;
 import ai.labs.persistence.IResourceStore;
+import ai.labs.persistence.IndexDefinition;
+import ai.labs.persistence.mongo.AsyncUtilities;
+import ai.labs.persistence.mongo.ConsistencySettings;
+import ai.labs.runtime.IMetricsProvider;
 import ai.labs.serialization.IDocumentBuilder;
+import ai.labs.utilities.RuntimeUtilities;
 import com.mongodb.BasicDBObject;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
 import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.result.UpdateResult;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static ai.labs.memory.model.ConversationState.ENDED;
 
 /**
+ * If write-behind is enabled, memories of existing conversations are queued and written asynchronously
+ * (see {@link WriteBehindQueue}), reads of this store take pending memories into account. Pending memories are
+ * flushed on shutdown before the database clients are closed (see {@link IDatabaseLifecycle}).
+ * New conversations are always inserted directly, as their id is assigned by the database.
+ * <p>
+ * The async variants use the async MongoDB driver and do not block the calling thread. Until an async write
+ * of a conversation has completed, any further read or write of this conversation on this node waits for it.
+ * <p>
+ * Each memory document carries the summary of its conversation (bot, state, step count and last modification)
+ * as top level fields, thus the summary is written along with the memory by any of the above paths and
+ * summaries can be queried without reading the steps.
+ * <p>
+ * Conversations, which have been moved to the archive (see {@link ConversationArchiver}), are read from there.
+ *
  * @author ginccc
  */
-public class ConversationMemoryStore implements IConversationMemoryStore, IResourceStore<ConversationMemorySnapshot> {
-    private static final String CONVERSATION_COLLECTION = "conversationmemories";
-    private static final String CONVERSATION_STATE_FIELD = "conversationState";
+public class ConversationMemoryStore implements IConversationMemoryStore, IResourceStore<ConversationMemorySnapshot>,
+        IMetricsProvider {
+    static final String CONVERSATION_COLLECTION = "conversationmemories";
+    static final String ARCHIVE_COLLECTION = "conversationmemories_archive";
+    static final String CONVERSATION_STATE_FIELD = "conversationState";
+    static final String BOT_ID_FIELD = "botId";
+    private static final String BOT_VERSION_FIELD = "botVersion";
+    private static final String ENVIRONMENT_FIELD = "environment";
+    private static final String CONVERSATION_STEP_SIZE_FIELD = "conversationStepSize";
+    static final String LAST_MODIFIED_FIELD = "lastModifiedOn";
+
+    /**
+     * Summaries are filtered by bot and state and sorted by last modification, the first index also serves
+     * counting active conversations of a bot, the second one listings without a bot filter and the archival
+     * of idle conversations, the third one the archival of ended conversations (see {@link ConversationArchiver}).
+     */
+    public static final List<IndexDefinition> INDEXES = Arrays.asList(
+            IndexDefinition.on(CONVERSATION_COLLECTION, "botId_botVersion_conversationState_lastModifiedOn").
+                    ascending(BOT_ID_FIELD).ascending(BOT_VERSION_FIELD).ascending(CONVERSATION_STATE_FIELD).
+                    descending(LAST_MODIFIED_FIELD),
+            IndexDefinition.on(CONVERSATION_COLLECTION, "lastModifiedOn").
+                    descending(LAST_MODIFIED_FIELD),
+            IndexDefinition.on(CONVERSATION_COLLECTION, "conversationState_lastModifiedOn").
+                    ascending(CONVERSATION_STATE_FIELD).ascending(LAST_MODIFIED_FIELD));
+
     private final MongoCollection<Document> conversationCollection;
+    private final MongoCollection<Document> archiveCollection;
+    private final com.mongodb.async.client.MongoCollection<Document> asyncConversationCollection;
+    private final com.mongodb.async.client.MongoCollection<Document> asyncArchiveCollection;
     private final IDocumentBuilder documentBuilder;
+    private final WriteBehindQueue writeBehindQueue;
+    private final Map<String, CompletableFuture<Void>> pendingAsyncWrites = new ConcurrentHashMap<>();
 
     @Inject
-    public ConversationMemoryStore(MongoDatabase database, IDocumentBuilder documentBuilder) {
-        conversationCollection = database.getCollection(CONVERSATION_COLLECTION);
+    public ConversationMemoryStore(MongoDatabase database,
+                                   com.mongodb.async.client.MongoDatabase asyncDatabase,
+                                   IDocumentBuilder documentBuilder,
+                                   ConsistencySettings consistencySettings,
+                                   IDatabaseLifecycle databaseLifecycle,
+                                   @Named("conversationMemory.writeBehind.enabled") Boolean writeBehindEnabled,
+                                   @Named("conversationMemory.writeBehind.maxPendingConversations") Integer maxPendingConversations,
+                                   @Named("conversationMemory.writeBehind.maxBatchSize") Integer maxBatchSize,
+                                   @Named("conversationMemory.writeBehind.maxLagInMillis") Long maxLagInMillis) {
+        conversationCollection = consistencySettings.apply(
+                database.getCollection(CONVERSATION_COLLECTION), CONVERSATION_COLLECTION);
+        archiveCollection = consistencySettings.apply(
+                database.getCollection(ARCHIVE_COLLECTION), CONVERSATION_COLLECTION, "archive");
+        asyncConversationCollection = consistencySettings.apply(
+                asyncDatabase.getCollection(CONVERSATION_COLLECTION), CONVERSATION_COLLECTION);
+        asyncArchiveCollection = consistencySettings.apply(
+                asyncDatabase.getCollection(ARCHIVE_COLLECTION), CONVERSATION_COLLECTION, "archive");
         this.documentBuilder = documentBuilder;
+        if (writeBehindEnabled) {
+            writeBehindQueue = new WriteBehindQueue(conversationCollection, maxPendingConversations, maxBatchSize,
+                    maxLagInMillis);
+            databaseLifecycle.beforeShutdown("ConversationMemoryWriteBehind", writeBehindQueue::shutdown);
+        } else {
+            writeBehindQueue = null;
+        }
     }
 
     @Override
     public String storeConversationMemorySnapshot(ConversationMemorySnapshot snapshot) throws IResourceStore.ResourceStoreException {
         try {
-            String json = documentBuilder.toString(snapshot);
-            Document document = Document.parse(json);
-
-            document.remove("id");
+            Document document = toDocument(snapshot);
 
             if (snapshot.getId() != null) {
-                document.put("_id", new ObjectId(snapshot.getId()));
+                awaitPendingWrite(snapshot.getId()).join();
+                if (writeBehindQueue != null && writeBehindQueue.offer(snapshot.getId(), document)) {
+                    return snapshot.getId();
+                }
+
                 conversationCollection.updateOne(new Document("_id", new ObjectId(snapshot.getId())),
                         new Document("$set", document),
                         new UpdateOptions().upsert(true));
@@ -58,41 +144,109 @@ public class ConversationMemoryStore implements IConversationMemoryStore, IResou
 
     @Override
     public ConversationMemorySnapshot loadConversationMemorySnapshot(String conversationId) throws IResourceStore.ResourceNotFoundException, IResourceStore.ResourceStoreException {
-        Document document = conversationCollection.find(new Document("_id", new ObjectId(conversationId))).first();
+        return toSnapshot(conversationId, findConversation(conversationId));
+    }
 
+    @Override
+    public CompletableFuture<String> storeConversationMemorySnapshotAsync(ConversationMemorySnapshot snapshot) {
+        Document document;
         try {
-            if (document == null) {
-                String message = "Could not find ConversationMemorySnapshot (id=%s)";
-                message = String.format(message, conversationId);
-                throw new IResourceStore.ResourceNotFoundException(message);
-            }
+            document = toDocument(snapshot);
+        } catch (IOException e) {
+            CompletableFuture<String> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new IResourceStore.ResourceStoreException(e.getLocalizedMessage(), e));
+            return failed;
+        }
 
-            document.remove("_id");
+        if (snapshot.getId() == null) {
+            return AsyncUtilities.<Void>toFuture(callback -> asyncConversationCollection.insertOne(document, callback)).
+                    handle((result, t) -> {
+                        if (t != null) {
+                            throw toResourceStoreException(t);
+                        }
+                        return document.get("_id").toString();
+                    });
+        }
 
-            ConversationMemorySnapshot snapshot = documentBuilder.build(document, ConversationMemorySnapshot.class);
+        final String conversationId = snapshot.getId();
+        AtomicBoolean queued = new AtomicBoolean();
+        // chained to the pending write of this conversation, if any, thus writes are applied in order; while a
+        // write is pending, the conversation is not queued, as a flush of the queue could overtake that write
+        CompletableFuture<Void> write = pendingAsyncWrites.compute(conversationId, (id, pendingWrite) -> {
+            if (pendingWrite == null && writeBehindQueue != null && writeBehindQueue.offer(id, document)) {
+                queued.set(true);
+                return null;
+            }
 
-            snapshot.setId(conversationId);
+            return awaitPendingWrite(pendingWrite).
+                    thenCompose(ignored -> AsyncUtilities.<UpdateResult>toFuture(callback ->
+                            asyncConversationCollection.updateOne(new Document("_id", new ObjectId(id)),
+                                    new Document("$set", document),
+                                    new UpdateOptions().upsert(true), callback))).
+                    thenAccept(result -> {
+                    });
+        });
+        if (queued.get()) {
+            return CompletableFuture.completedFuture(conversationId);
+        }
+        write.whenComplete((result, t) -> pendingAsyncWrites.remove(conversationId, write));
 
-            return snapshot;
-        } catch (IOException e) {
-            throw new IResourceStore.ResourceStoreException(e.getLocalizedMessage(), e);
+        return write.handle((result, t) -> {
+            if (t != null) {
+                throw toResourceStoreException(t);
+            }
+            return conversationId;
+        });
+    }
+
+    @Override
+    public CompletableFuture<ConversationMemorySnapshot> loadConversationMemorySnapshotAsync(String conversationId) {
+        if (writeBehindQueue != null) {
+            Document pendingDocument = writeBehindQueue.getPendingDocument(conversationId);
+            if (pendingDocument != null) {
+                return CompletableFuture.completedFuture(pendingDocument).
+                        thenApply(document -> toSnapshotOrThrow(conversationId, document));
+            }
         }
+
+        Document query = new Document("_id", new ObjectId(conversationId));
+        return awaitPendingWrite(conversationId).
+                thenCompose(ignored -> AsyncUtilities.<Document>toFuture(callback ->
+                        asyncConversationCollection.find(query).first(callback))).
+                thenCompose(document -> document != null ? CompletableFuture.completedFuture(document) :
+                        AsyncUtilities.<Document>toFuture(callback ->
+                                asyncArchiveCollection.find(query).first(callback))).
+                handle((document, t) -> {
+                    if (t != null) {
+                        throw toResourceStoreException(t);
+                    }
+                    return toSnapshotOrThrow(conversationId, document);
+                });
     }
 
     @Override
     public void setConversationState(String conversationId, ConversationState conversationState) {
-        Document updateConversationStateField = new Document("$set", new BasicDBObject(CONVERSATION_STATE_FIELD, conversationState.name()));
+        awaitPendingWrite(conversationId).join();
+        Date lastModifiedOn = new Date();
+        if (writeBehindQueue != null) {
+            writeBehindQueue.setField(conversationId, CONVERSATION_STATE_FIELD, conversationState.name());
+            writeBehindQueue.setField(conversationId, LAST_MODIFIED_FIELD, lastModifiedOn);
+        }
+
+        Document updateConversationStateField = new Document("$set",
+                new BasicDBObject(CONVERSATION_STATE_FIELD, conversationState.name()).
+                        append(LAST_MODIFIED_FIELD, lastModifiedOn));
         conversationCollection.updateMany(new Document("_id", new ObjectId(conversationId)), updateConversationStateField);
     }
 
     @Override
     public void deleteConversationMemorySnapshot(String conversationId) throws ResourceStoreException, ResourceNotFoundException {
-        conversationCollection.deleteOne(new Document("_id", new ObjectId(conversationId)));
+        deleteConversation(conversationId);
     }
 
     @Override
     public ConversationState getConversationState(String conversationId) {
-        Document conversationMemoryDocument = conversationCollection.find(new Document("_id", new ObjectId(conversationId))).first();
+        Document conversationMemoryDocument = findConversation(conversationId);
         if (conversationMemoryDocument != null && conversationMemoryDocument.containsKey(CONVERSATION_STATE_FIELD)) {
             return ConversationState.valueOf(conversationMemoryDocument.get(CONVERSATION_STATE_FIELD).toString());
         }
@@ -102,11 +256,199 @@ public class ConversationMemoryStore implements IConversationMemoryStore, IResou
 
     @Override
     public Long getActiveConversationCount(String botId, Integer botVersion) {
-        Bson query = Filters.and(Filters.eq("botId", botId), Filters.eq("botVersion", botVersion),
-                Filters.not(new Document("conversationState", ENDED.toString())));
+        Bson query = Filters.and(Filters.eq(BOT_ID_FIELD, botId), Filters.eq(BOT_VERSION_FIELD, botVersion),
+                Filters.ne(CONVERSATION_STATE_FIELD, ENDED.toString()));
         return conversationCollection.count(query);
     }
 
+    @Override
+    public List<ConversationSummary> readConversationSummaries(String botId, Integer botVersion,
+                                                               ConversationState conversationState,
+                                                               Integer index, Integer limit) {
+        RuntimeUtilities.checkNotNegative(index, "index");
+        RuntimeUtilities.checkPositive(limit, "limit");
+
+        List<Bson> filters = new LinkedList<>();
+        if (botId != null) {
+            filters.add(Filters.eq(BOT_ID_FIELD, botId));
+        }
+        if (botVersion != null) {
+            filters.add(Filters.eq(BOT_VERSION_FIELD, botVersion));
+        }
+        if (conversationState != null) {
+            filters.add(Filters.eq(CONVERSATION_STATE_FIELD, conversationState.name()));
+        }
+
+        List<ConversationSummary> summaries = new LinkedList<>();
+        for (Document document : conversationCollection.
+                find(filters.isEmpty() ? new Document() : Filters.and(filters)).
+                projection(Projections.include(BOT_ID_FIELD, BOT_VERSION_FIELD, ENVIRONMENT_FIELD,
+                        CONVERSATION_STATE_FIELD, CONVERSATION_STEP_SIZE_FIELD, LAST_MODIFIED_FIELD)).
+                sort(Sorts.descending(LAST_MODIFIED_FIELD, "_id")).
+                skip(index * limit).limit(limit)) {
+            summaries.add(toSummary(document));
+        }
+
+        return summaries;
+    }
+
+    @Override
+    public WriteBehindMetrics getWriteBehindMetrics() {
+        if (writeBehindQueue == null) {
+            return new WriteBehindMetrics(false, 0, 0, 0, 0, 0, 0);
+        }
+
+        return writeBehindQueue.getMetrics();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "writeBehind";
+    }
+
+    @Override
+    public WriteBehindMetrics getMetrics() {
+        return getWriteBehindMetrics();
+    }
+
+    private Document findConversation(String conversationId) {
+        if (writeBehindQueue != null) {
+            Document pendingDocument = writeBehindQueue.getPendingDocument(conversationId);
+            if (pendingDocument != null) {
+                return pendingDocument;
+            }
+        }
+
+        awaitPendingWrite(conversationId).join();
+        Document query = new Document("_id", new ObjectId(conversationId));
+        Document document = conversationCollection.find(query).first();
+        return document != null ? document : archiveCollection.find(query).first();
+    }
+
+    /**
+     * Deletes archived conversations from the conversation memories, as far as they are still expired and have
+     * not been continued by a turn, which is pending to be written.
+     *
+     * @return number of deleted conversations
+     */
+    long deleteArchivedConversations(List<Object> conversationIds, Bson expired) {
+        if (writeBehindQueue == null) {
+            return deleteExpiredConversations(conversationIds, expired);
+        }
+
+        return writeBehindQueue.removeUnlessPending(conversationIds,
+                idleConversationIds -> deleteExpiredConversations(idleConversationIds, expired));
+    }
+
+    private long deleteExpiredConversations(List<Object> conversationIds, Bson expired) {
+        if (conversationIds.isEmpty()) {
+            return 0;
+        }
+
+        return conversationCollection.deleteMany(Filters.and(Filters.in("_id", conversationIds), expired)).
+                getDeletedCount();
+    }
+
+    private void deleteConversation(String conversationId) {
+        awaitPendingWrite(conversationId).join();
+        Document query = new Document("_id", new ObjectId(conversationId));
+        Runnable deletion = () -> {
+            conversationCollection.deleteOne(query);
+            archiveCollection.deleteOne(query);
+        };
+
+        if (writeBehindQueue != null) {
+            writeBehindQueue.delete(conversationId, deletion);
+        } else {
+            deletion.run();
+        }
+    }
+
+    private Document toDocument(ConversationMemorySnapshot snapshot) throws IOException {
+        String json = documentBuilder.toString(snapshot);
+        Document document = Document.parse(json);
+
+        document.remove("id");
+        if (snapshot.getId() != null) {
+            document.put("_id", new ObjectId(snapshot.getId()));
+        }
+
+        document.put(CONVERSATION_STEP_SIZE_FIELD, snapshot.getConversationSteps().size());
+        document.put(LAST_MODIFIED_FIELD, new Date());
+
+        return document;
+    }
+
+    private static ConversationSummary toSummary(Document document) {
+        String environment = document.getString(ENVIRONMENT_FIELD);
+        String conversationState = document.getString(CONVERSATION_STATE_FIELD);
+        Integer conversationStepSize = document.getInteger(CONVERSATION_STEP_SIZE_FIELD);
+
+        return new ConversationSummary(document.get("_id").toString(),
+                document.getString(BOT_ID_FIELD),
+                document.getInteger(BOT_VERSION_FIELD),
+                environment != null ? Deployment.Environment.valueOf(environment) : null,
+                conversationState != null ? ConversationState.valueOf(conversationState) : null,
+                conversationStepSize != null ? conversationStepSize : 0,
+                document.getDate(LAST_MODIFIED_FIELD));
+    }
+
+    private ConversationMemorySnapshot toSnapshot(String conversationId, Document document)
+            throws IResourceStore.ResourceNotFoundException, IResourceStore.ResourceStoreException {
+        try {
+            if (document == null) {
+                String message = "Could not find ConversationMemorySnapshot (id=%s)";
+                message = String.format(message, conversationId);
+                throw new IResourceStore.ResourceNotFoundException(message);
+            }
+
+            document.remove("_id");
+            document.remove(CONVERSATION_STEP_SIZE_FIELD);
+            document.remove(LAST_MODIFIED_FIELD);
+
+            ConversationMemorySnapshot snapshot = documentBuilder.build(document, ConversationMemorySnapshot.class);
+
+            snapshot.setId(conversationId);
+
+            return snapshot;
+        } catch (IOException e) {
+            throw new IResourceStore.ResourceStoreException(e.getLocalizedMessage(), e);
+        }
+    }
+
+    private ConversationMemorySnapshot toSnapshotOrThrow(String conversationId, Document document) {
+        try {
+            return toSnapshot(conversationId, document);
+        } catch (IResourceStore.ResourceNotFoundException | IResourceStore.ResourceStoreException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * @return future completing (never exceptionally) once the pending async write of this conversation is done
+     */
+    private CompletableFuture<Void> awaitPendingWrite(String conversationId) {
+        return awaitPendingWrite(pendingAsyncWrites.get(conversationId));
+    }
+
+    private static CompletableFuture<Void> awaitPendingWrite(CompletableFuture<Void> pendingWrite) {
+        if (pendingWrite == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return pendingWrite.handle((result, t) -> null);
+    }
+
+    private static CompletionException toResourceStoreException(Throwable t) {
+        Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+        if (cause instanceof IResourceStore.ResourceStoreException ||
+                cause instanceof IResourceStore.ResourceNotFoundException) {
+            return new CompletionException(cause);
+        }
+
+        return new CompletionException(new IResourceStore.ResourceStoreException(cause.getLocalizedMessage(), cause));
+    }
+
     @Override
     public IResourceId create(ConversationMemorySnapshot content) throws ResourceStoreException {
         final String conversationId = storeConversationMemorySnapshot(content);
@@ -137,12 +479,12 @@ public class ConversationMemoryStore implements IConversationMemoryStore, IResou
 
     @Override
     public void delete(String id, Integer version) throws ResourceStoreException, ResourceModifiedException, ResourceNotFoundException {
-        //todo implement
+        deleteConversation(id);
     }
 
     @Override
     public void deleteAllPermanently(String id) {
-        //todo implement
+        deleteConversation(id);
     }
 
     @Override
@@ -22,14 +22,19 @@ public class ConversationMemoryUtilities {
         snapshot.setBotVersion(conversationMemory.getBotVersion());
         snapshot.setConversationState(conversationMemory.getConversationState());
 
-        for (IConversationMemory.IConversationStep redoStep : conversationMemory.getRedoCache()) {
-            ConversationMemorySnapshot.ConversationStepSnapshot redoStepSnapshot = iterateConversationStep(redoStep);
+        IConversationMemory.IConversationStepStack redoCache = conversationMemory.getRedoCache();
+        for (int i = redoCache.size() - 1; i >= 0; i--) {
+            ConversationMemorySnapshot.ConversationStepSnapshot redoStepSnapshot = iterateConversationStep(redoCache.get(i));
             snapshot.getRedoCache().push(redoStepSnapshot);
         }
 
-        for (int i = conversationMemory.getAllSteps().size() - 1; i >= 0; i--) {
-            IConversationMemory.IConversationStep conversationStep = conversationMemory.getAllSteps().get(i);
-            snapshot.getConversationSteps().add(iterateConversationStep(conversationStep));
+        IConversationMemory.IConversationStepStack allSteps = conversationMemory.getAllSteps();
+        for (int i = allSteps.size() - 1; i >= 0; i--) {
+            snapshot.getConversationSteps().add(iterateConversationStep(allSteps.get(i)));
+        }
+
+        if (conversationMemory instanceof ConversationMemory) {
+            snapshot.setOccurrences(((ConversationMemory) conversationMemory).getConversationCounters().toSnapshot());
         }
 
         return snapshot;
@@ -71,20 +76,22 @@ public class ConversationMemoryUtilities {
     }
 
     public static IConversationMemory convertConversationMemorySnapshot(ConversationMemorySnapshot snapshot) throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException {
-        IConversationMemory conversationMemory = new ConversationMemory(snapshot.getId(), snapshot.getBotId(), snapshot.getBotVersion());
+        ConversationMemory conversationMemory = new ConversationMemory(snapshot.getId(), snapshot.getBotId(), snapshot.getBotVersion());
         conversationMemory.setConversationState(snapshot.getConversationState());
 
         List<IConversationMemory.IConversationStep> redoSteps = iterateRedoCache(snapshot.getRedoCache());
         for (IConversationMemory.IConversationStep redoStep : redoSteps) {
-            conversationMemory.getRedoCache().add(redoStep);
+            conversationMemory.pushRedoStep(redoStep);
         }
 
+        List<ConversationMemorySnapshot.OccurrenceSnapshot> occurrences = snapshot.getOccurrences();
         List<ConversationMemorySnapshot.ConversationStepSnapshot> conversationSteps = snapshot.getConversationSteps();
         for (int i = 0; i < conversationSteps.size(); i++) {
             ConversationMemorySnapshot.ConversationStepSnapshot conversationStepSnapshot = conversationSteps.get(i);
 
             if (i > 0) {
-                ((ConversationMemory) conversationMemory).startNextStep();
+                //counters are only rebuilt from the steps if they have not been persisted along with them
+                conversationMemory.startNextStep(occurrences == null);
             }
 
             for (ConversationMemorySnapshot.PackageRunSnapshot packageRunSnapshot : conversationStepSnapshot.getPackages()) {
@@ -96,6 +103,10 @@ public class ConversationMemoryUtilities {
             }
         }
 
+        if (occurrences != null) {
+            conversationMemory.getConversationCounters().restore(occurrences);
+        }
+
         return conversationMemory;
     }
 
@@ -7,12 +7,15 @@ import java.util.*;
  */
 public class ConversationStep implements IConversationMemory.IWritableConversationStep {
     private Map<IConversationMemory.IConversationContext, Map<String, IData>> store;
+    // keys of each context in lexicographical order, mapped to their insertion order, used for prefix lookups
+    private Map<IConversationMemory.IConversationContext, NavigableMap<String, Integer>> prefixIndex;
     private IConversationMemory.IConversationContext conversationContext;
     int conversationStepNumber;
 
     ConversationStep(IConversationMemory.IConversationContext conversationContext) {
         this.conversationContext = conversationContext;
         store = new LinkedHashMap<>();
+        prefixIndex = new HashMap<>();
     }
 
     @Override
@@ -22,22 +25,45 @@ public class ConversationStep implements IConversationMemory.IWritableConversati
 
     private Map<String, IData> getCurrentContext() {
         if (!store.containsKey(conversationContext)) {
-            store.put(new ConversationMemory.ConversationContext(conversationContext), new LinkedHashMap<>());
+            ConversationMemory.ConversationContext context = new ConversationMemory.ConversationContext(conversationContext);
+            store.put(context, new LinkedHashMap<>());
+            prefixIndex.put(context, new TreeMap<>());
         }
 
         return store.get(conversationContext);
     }
 
+    /**
+     * @return keys of the current context starting with prefix, mapped to their insertion order
+     */
+    private List<Map.Entry<String, Integer>> findKeys(String prefix) {
+        NavigableMap<String, Integer> keys = prefixIndex.get(conversationContext);
+        if (keys == null) {
+            return Collections.emptyList();
+        }
+
+        List<Map.Entry<String, Integer>> foundKeys = new ArrayList<>();
+        for (Map.Entry<String, Integer> key : keys.tailMap(prefix, true).entrySet()) {
+            if (!key.getKey().startsWith(prefix)) {
+                break;
+            }
+            foundKeys.add(key);
+        }
+
+        return foundKeys;
+    }
+
     @Override
     public <T> List<IData<T>> getAllData(String prefix) {
-        List<IData<T>> dataList = new ArrayList<>();
+        Map<String, IData> currentContext = getCurrentContext();
+        List<Map.Entry<String, Integer>> keys = findKeys(prefix);
+        if (keys.size() > 1) {
+            keys.sort(Map.Entry.comparingByValue());
+        }
 
-        for (String key : getCurrentContext().keySet()) {
-            IData<T> data = getData(key);
-            if (data != null) {
-                if (key.startsWith(prefix))
-                    dataList.add(data);
-            }
+        List<IData<T>> dataList = new ArrayList<>(keys.size());
+        for (Map.Entry<String, Integer> key : keys) {
+            dataList.add(currentContext.get(key.getKey()));
         }
 
         return dataList;
@@ -45,7 +71,12 @@ public class ConversationStep implements IConversationMemory.IWritableConversati
 
     @Override
     public void storeData(IData data) {
-        getCurrentContext().put(data.getKey(), data);
+        Map<String, IData> currentContext = getCurrentContext();
+        String key = data.getKey();
+        if (currentContext.put(key, data) == null) {
+            NavigableMap<String, Integer> keys = prefixIndex.get(conversationContext);
+            keys.put(key, keys.size());
+        }
     }
 
     @Override
@@ -76,15 +107,14 @@ public class ConversationStep implements IConversationMemory.IWritableConversati
 
     @Override
     public <T> IData<T> getLatestData(String prefix) {
-        List<IData> elements = getAllElements(conversationContext);
-        Collections.reverse(elements);
-        for (IData element : elements) {
-            if (element.getKey().startsWith(prefix)) {
-                return element;
+        Map.Entry<String, Integer> latestKey = null;
+        for (Map.Entry<String, Integer> key : findKeys(prefix)) {
+            if (latestKey == null || key.getValue() > latestKey.getValue()) {
+                latestKey = key;
             }
         }
 
-        return null;
+        return latestKey != null ? store.get(conversationContext).get(latestKey.getKey()) : null;
     }
 
     @Override
@@ -0,0 +1,127 @@
+package ai.labs.memory;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable list of conversation steps, oldest step first. Lists created by {@link #push(IConversationMemory.IConversationStep)}
+ * and {@link #pop()} share their elements with the list they have been created from, thus taking a snapshot
+ * of a list is free and pushing a step is amortized O(1). Only pushing onto a list that is not the longest
+ * list of its backing array (e.g. after an undo) copies its steps.
+ * <p>
+ * {@link #EMPTY} is shared by all memories, its backing has no capacity and is never appended to, each memory
+ * gets its own backing with its first step.
+ *
+ * @author ginccc
+ */
+final class ConversationStepList implements Iterable<IConversationMemory.IConversationStep>, Serializable {
+    private static final int INITIAL_CAPACITY = 8;
+    static final ConversationStepList EMPTY = new ConversationStepList(new Backing(0), 0);
+
+    private final Backing backing;
+    private final int size;
+
+    private ConversationStepList(Backing backing, int size) {
+        this.backing = backing;
+        this.size = size;
+    }
+
+    ConversationStepList push(IConversationMemory.IConversationStep step) {
+        if (size == 0) {
+            Backing backing = new Backing(INITIAL_CAPACITY);
+            backing.steps[0] = step;
+            backing.used = 1;
+            return new ConversationStepList(backing, 1);
+        }
+
+        Backing backing = this.backing;
+        synchronized (backing) {
+            if (backing.used != size) {
+                // another list already appended to this backing, don't overwrite its steps
+                backing = new Backing(Arrays.copyOf(backing.steps, Math.max(INITIAL_CAPACITY, size * 2)), size);
+            } else if (backing.steps.length == size) {
+                backing.steps = Arrays.copyOf(backing.steps, size * 2);
+            }
+
+            backing.steps[size] = step;
+            backing.used = size + 1;
+        }
+
+        return new ConversationStepList(backing, size + 1);
+    }
+
+    ConversationStepList pop() {
+        if (size == 0) {
+            throw new IllegalStateException();
+        }
+
+        return new ConversationStepList(backing, size - 1);
+    }
+
+    IConversationMemory.IConversationStep peek() {
+        return get(size - 1);
+    }
+
+    /**
+     * @param index 0 being the oldest step
+     */
+    IConversationMemory.IConversationStep get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        return backing.steps[index];
+    }
+
+    /**
+     * @return length of the backing array
+     */
+    int capacity() {
+        return backing.steps.length;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Iterator<IConversationMemory.IConversationStep> iterator() {
+        return new Iterator<IConversationMemory.IConversationStep>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public IConversationMemory.IConversationStep next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return get(index++);
+            }
+        };
+    }
+
+    private static final class Backing implements Serializable {
+        private IConversationMemory.IConversationStep[] steps;
+        private int used;
+
+        private Backing(int capacity) {
+            this(new IConversationMemory.IConversationStep[capacity], 0);
+        }
+
+        private Backing(IConversationMemory.IConversationStep[] steps, int used) {
+            this.steps = steps;
+            this.used = used;
+        }
+    }
+}
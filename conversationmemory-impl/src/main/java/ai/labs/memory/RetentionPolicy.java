@@ -0,0 +1,62 @@
+package ai.labs.memory;
+
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Time to live of ended and idle conversations, configured as conversationMemory.retention.{endedTtlInDays|idleTtlInDays}
+ * and optionally overridden per bot as conversationMemory.retention.bots.[botId].{endedTtlInDays|idleTtlInDays}.
+ * A time to live of 0 (or less) keeps these conversations forever.
+ *
+ * @author ginccc
+ */
+public class RetentionPolicy {
+    private static final String PREFIX = "conversationMemory.retention.";
+    private static final String BOTS_PREFIX = PREFIX + "bots.";
+    private static final String ENDED_TTL = "endedTtlInDays";
+    private static final String IDLE_TTL = "idleTtlInDays";
+
+    private final Properties properties;
+
+    public RetentionPolicy(Properties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * @param botId null for the default of all bots without own time to live
+     */
+    public int getEndedTtlInDays(String botId) {
+        return lookup(ENDED_TTL, botId);
+    }
+
+    /**
+     * @param botId null for the default of all bots without own time to live
+     */
+    public int getIdleTtlInDays(String botId) {
+        return lookup(IDLE_TTL, botId);
+    }
+
+    /**
+     * @return ids of the bots with an own time to live
+     */
+    public Set<String> getBotIds() {
+        Set<String> botIds = new TreeSet<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(BOTS_PREFIX) && key.lastIndexOf('.') > BOTS_PREFIX.length()) {
+                botIds.add(key.substring(BOTS_PREFIX.length(), key.lastIndexOf('.')));
+            }
+        }
+
+        return botIds;
+    }
+
+    private int lookup(String setting, String botId) {
+        String value = botId != null ? properties.getProperty(BOTS_PREFIX + botId + "." + setting) : null;
+        if (value == null) {
+            value = properties.getProperty(PREFIX + setting);
+        }
+
+        return value != null && !value.trim().isEmpty() ? Integer.parseInt(value.trim()) : 0;
+    }
+}
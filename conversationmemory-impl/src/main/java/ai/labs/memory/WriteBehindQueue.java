@@ -0,0 +1,231 @@
+package ai.labs.memory;
+
+import ai.labs.memory.model.WriteBehindMetrics;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded per-node queue of conversation memories, which have not been written to the database yet.
+ * Multiple turns of the same conversation are coalesced into a single write of the latest memory, pending
+ * memories are flushed with bulk writes at least every half of the max lag and by {@link #shutdown()}, which has
+ * to run before the database client is closed.
+ * <p>
+ * If the queue is full, the memory of a conversation, which is not pending yet, is not accepted and has
+ * to be written directly. A failed flush keeps the memories pending, thus they are retried with the next one.
+ * <p>
+ * Conversations are deleted and archived exclusively to flushes, thus a flush, which has already collected
+ * a memory, cannot write it back after the conversation has been removed. Deleted conversations are tombstoned
+ * for a while, any memory of them queued meanwhile is dropped instead of being written.
+ *
+ * @author ginccc
+ */
+@Slf4j
+class WriteBehindQueue {
+    private static final String ID_FIELD = "_id";
+    private static final long SHUTDOWN_TIMEOUT_IN_SECONDS = 30;
+    private static final long TOMBSTONE_TIME_TO_LIVE_IN_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final MongoCollection<Document> collection;
+    private final int maxPendingConversations;
+    private final int maxBatchSize;
+    private final Map<String, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+    private final Map<String, Long> tombstones = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flushExecutor;
+    private final Object flushLock = new Object();
+
+    private final AtomicLong coalescedWrites = new AtomicLong();
+    private final AtomicLong flushedWrites = new AtomicLong();
+    private final AtomicLong directWrites = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+
+    WriteBehindQueue(MongoCollection<Document> collection, int maxPendingConversations,
+                     int maxBatchSize, long maxLagInMillis) {
+        this.collection = collection;
+        this.maxPendingConversations = maxPendingConversations;
+        this.maxBatchSize = maxBatchSize;
+
+        long flushInterval = Math.max(maxLagInMillis / 2, 1);
+        this.flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ConversationMemoryWriteBehind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flushExecutor.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return false if the queue is full, the document has to be written directly then
+     */
+    boolean offer(String conversationId, Document document) {
+        if (tombstones.containsKey(conversationId)) {
+            return true;
+        }
+
+        if (!pendingWrites.containsKey(conversationId) && pendingWrites.size() >= maxPendingConversations) {
+            directWrites.incrementAndGet();
+            return false;
+        }
+
+        pendingWrites.compute(conversationId, (id, previous) -> {
+            if (previous != null) {
+                coalescedWrites.incrementAndGet();
+                return new PendingWrite(document, previous.getQueuedAt());
+            }
+
+            return new PendingWrite(document, System.currentTimeMillis());
+        });
+
+        return true;
+    }
+
+    /**
+     * @return copy of the pending document of this conversation, null if there is none
+     */
+    Document getPendingDocument(String conversationId) {
+        PendingWrite pendingWrite = pendingWrites.get(conversationId);
+        return pendingWrite != null ? new Document(pendingWrite.getDocument()) : null;
+    }
+
+    void setField(String conversationId, String field, Object value) {
+        pendingWrites.computeIfPresent(conversationId, (id, pendingWrite) -> {
+            Document document = new Document(pendingWrite.getDocument());
+            document.put(field, value);
+            return new PendingWrite(document, pendingWrite.getQueuedAt());
+        });
+    }
+
+    /**
+     * Tombstones the conversation and discards its pending memory, then runs the deletion of it from the database.
+     */
+    void delete(String conversationId, Runnable deletion) {
+        synchronized (flushLock) {
+            tombstones.put(conversationId, System.currentTimeMillis());
+            pendingWrites.remove(conversationId);
+            deletion.run();
+        }
+    }
+
+    /**
+     * Runs the removal of conversations from the database, e.g. after archiving them. Conversations with a pending
+     * memory have been continued, thus they are left out.
+     *
+     * @return result of the removal
+     */
+    <T> T removeUnlessPending(List<Object> conversationIds, Function<List<Object>, T> removal) {
+        synchronized (flushLock) {
+            return removal.apply(conversationIds.stream().
+                    filter(conversationId -> !pendingWrites.containsKey(conversationId.toString())).
+                    collect(Collectors.toList()));
+        }
+    }
+
+    void flush() {
+        synchronized (flushLock) {
+            removeExpiredTombstones();
+
+            List<Map.Entry<String, PendingWrite>> batch = new ArrayList<>(maxBatchSize);
+            for (Map.Entry<String, PendingWrite> pendingWrite : pendingWrites.entrySet()) {
+                if (tombstones.containsKey(pendingWrite.getKey())) {
+                    // queued while the conversation has been deleted
+                    pendingWrites.remove(pendingWrite.getKey(), pendingWrite.getValue());
+                    continue;
+                }
+
+                batch.add(pendingWrite);
+                if (batch.size() >= maxBatchSize) {
+                    if (!write(batch)) {
+                        return;
+                    }
+                    batch.clear();
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+        }
+    }
+
+    WriteBehindMetrics getMetrics() {
+        long now = System.currentTimeMillis();
+        long oldestPendingWrite = 0;
+        for (PendingWrite pendingWrite : pendingWrites.values()) {
+            oldestPendingWrite = Math.max(oldestPendingWrite, now - pendingWrite.getQueuedAt());
+        }
+
+        return new WriteBehindMetrics(true, pendingWrites.size(), oldestPendingWrite, coalescedWrites.get(),
+                flushedWrites.get(), directWrites.get(), failedFlushes.get());
+    }
+
+    void shutdown() {
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(SHUTDOWN_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        flush();
+        if (!pendingWrites.isEmpty()) {
+            log.error("{} conversation memories could not be written before shutdown.", pendingWrites.size());
+        }
+    }
+
+    private void removeExpiredTombstones() {
+        long expiredBefore = System.currentTimeMillis() - TOMBSTONE_TIME_TO_LIVE_IN_MILLIS;
+        tombstones.values().removeIf(deletedAt -> deletedAt < expiredBefore);
+    }
+
+    private boolean write(List<Map.Entry<String, PendingWrite>> batch) {
+        List<WriteModel<Document>> writes = new LinkedList<>();
+        for (Map.Entry<String, PendingWrite> pendingWrite : batch) {
+            ObjectId id = new ObjectId(pendingWrite.getKey());
+            writes.add(new UpdateOneModel<>(new Document(ID_FIELD, id),
+                    new Document("$set", pendingWrite.getValue().getDocument()),
+                    new UpdateOptions().upsert(true)));
+        }
+
+        try {
+            collection.bulkWrite(writes, new BulkWriteOptions().ordered(false));
+        } catch (MongoException e) {
+            failedFlushes.incrementAndGet();
+            log.error("Could not write pending conversation memories, retrying with the next flush.", e);
+            return false;
+        }
+
+        for (Map.Entry<String, PendingWrite> pendingWrite : batch) {
+            // keeps the memory pending, if a newer turn has been queued meanwhile
+            pendingWrites.remove(pendingWrite.getKey(), pendingWrite.getValue());
+        }
+        flushedWrites.addAndGet(batch.size());
+        return true;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class PendingWrite {
+        private final Document document;
+        private final long queuedAt;
+    }
+}
@@ -2,18 +2,37 @@ package ai.labs.memory.bootstrap;
 
 import ai.labs.memory.*;
 import ai.labs.memory.descriptor.IConversationDescriptorStore;
+import ai.labs.persistence.IndexDefinition;
+import ai.labs.runtime.IMetricsProvider;
 import ai.labs.runtime.bootstrap.AbstractBaseModule;
 import com.google.inject.Scopes;
+import com.google.inject.multibindings.Multibinder;
+
+import java.io.InputStream;
+import java.util.Properties;
 
 /**
  * @author ginccc
  */
 public class ConversationMemoryModule extends AbstractBaseModule {
+    public ConversationMemoryModule(InputStream... configFiles) {
+        super(configFiles);
+    }
 
     @Override
     protected void configure() {
+        Properties properties = registerConfigFiles(configFiles);
+        bind(RetentionPolicy.class).toInstance(new RetentionPolicy(properties));
+
         bind(IConversationDescriptorStore.class).to(ConversationDescriptorStore.class).in(Scopes.SINGLETON);
-        bind(IConversationMemoryStore.class).to(ConversationMemoryStore.class).in(Scopes.SINGLETON);
+        // the archiver shares the store, as both have to coordinate with its pending writes
+        bind(ConversationMemoryStore.class).in(Scopes.SINGLETON);
+        bind(IConversationMemoryStore.class).to(ConversationMemoryStore.class);
         bind(IDataFactory.class).to(DataFactory.class).in(Scopes.SINGLETON);
+        bind(IConversationArchiver.class).to(ConversationArchiver.class).in(Scopes.SINGLETON);
+        Multibinder.newSetBinder(binder(), IMetricsProvider.class).addBinding().to(ConversationMemoryStore.class);
+
+        Multibinder<IndexDefinition> indexDefinitions = Multibinder.newSetBinder(binder(), IndexDefinition.class);
+        ConversationMemoryStore.INDEXES.forEach(index -> indexDefinitions.addBinding().toInstance(index));
     }
 }
@@ -0,0 +1,133 @@
+package ai.labs.memory;
+
+import ai.labs.persistence.mongo.ConsistencySettings;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author ginccc
+ */
+public class ConversationArchiverTest {
+    private static final String BOT_ID = new ObjectId().toString();
+    private MongoCollection<Document> conversationCollection;
+    private MongoCollection<Document> archiveCollection;
+    private ConversationMemoryStore conversationMemoryStore;
+    private Properties properties;
+    private ConversationArchiver conversationArchiver;
+
+    @Before
+    public void setUp() {
+        MongoDatabase database = mock(MongoDatabase.class);
+        conversationCollection = mock(MongoCollection.class);
+        archiveCollection = mock(MongoCollection.class);
+        when(database.getCollection("conversationmemories")).thenReturn(conversationCollection);
+        when(database.getCollection("conversationmemories_archive")).thenReturn(archiveCollection);
+
+        properties = new Properties();
+        properties.setProperty("conversationMemory.retention.endedTtlInDays", "30");
+        properties.setProperty("conversationMemory.retention.idleTtlInDays", "0");
+        properties.setProperty("conversationMemory.retention.bots." + BOT_ID + ".endedTtlInDays", "0");
+
+        conversationMemoryStore = mock(ConversationMemoryStore.class);
+        conversationArchiver = new ConversationArchiver(database, new ConsistencySettings(new Properties()),
+                conversationMemoryStore, new RetentionPolicy(properties), true, 2, 60L);
+    }
+
+    @Test
+    public void retentionPolicyPerBot() {
+        //setup
+        RetentionPolicy retentionPolicy = new RetentionPolicy(properties);
+
+        //assert
+        Assert.assertEquals(Collections.singleton(BOT_ID), retentionPolicy.getBotIds());
+        Assert.assertEquals(0, retentionPolicy.getEndedTtlInDays(BOT_ID));
+        Assert.assertEquals(30, retentionPolicy.getEndedTtlInDays("otherBotId"));
+        Assert.assertEquals(0, retentionPolicy.getIdleTtlInDays(BOT_ID));
+    }
+
+    @Test
+    public void archiveMovesExpiredConversationsInBatches() {
+        //setup
+        Document conversation1 = new Document("_id", new ObjectId());
+        Document conversation2 = new Document("_id", new ObjectId());
+        Document conversation3 = new Document("_id", new ObjectId());
+        FindIterable<Document> firstBatch = createResults(conversation1, conversation2);
+        FindIterable<Document> secondBatch = createResults(conversation3);
+        when(conversationCollection.find(any(Bson.class))).thenReturn(firstBatch, secondBatch);
+        when(conversationMemoryStore.deleteArchivedConversations(anyList(), any(Bson.class))).thenReturn(2L, 1L);
+
+        //test
+        long archived = conversationArchiver.archiveExpiredConversations();
+
+        //assert
+        Assert.assertEquals(3, archived);
+        ArgumentCaptor<List<WriteModel<Document>>> writes = ArgumentCaptor.forClass(List.class);
+        verify(archiveCollection, times(2)).bulkWrite(writes.capture(), any(BulkWriteOptions.class));
+        ReplaceOneModel<Document> write = (ReplaceOneModel<Document>) writes.getAllValues().get(0).get(0);
+        Assert.assertTrue(write.getOptions().isUpsert());
+        Assert.assertSame(conversation1, write.getReplacement());
+
+        // ended conversations of the bot without retention are not queried
+        verify(conversationCollection, times(2)).find(any(Bson.class));
+        ArgumentCaptor<List<Object>> deletedIds = ArgumentCaptor.forClass(List.class);
+        verify(conversationMemoryStore, times(2)).deleteArchivedConversations(deletedIds.capture(), any(Bson.class));
+        Assert.assertEquals(Arrays.asList(conversation1.get("_id"), conversation2.get("_id")),
+                deletedIds.getAllValues().get(0));
+        verify(conversationCollection, never()).deleteMany(any(Bson.class));
+        verify(archiveCollection, never()).deleteMany(any(Bson.class));
+    }
+
+    @Test
+    public void archivePagesPastConversationsWithPendingTurns() {
+        //setup
+        Document conversation1 = new Document("_id", new ObjectId());
+        Document conversation2 = new Document("_id", new ObjectId());
+        FindIterable<Document> firstBatch = createResults(conversation1, conversation2);
+        FindIterable<Document> secondBatch = createResults();
+        when(conversationCollection.find(any(Bson.class))).thenReturn(firstBatch, secondBatch);
+        when(conversationMemoryStore.deleteArchivedConversations(anyList(), any(Bson.class))).thenReturn(0L);
+
+        //test
+        long archived = conversationArchiver.archiveExpiredConversations();
+
+        //assert
+        Assert.assertEquals(0, archived);
+        ArgumentCaptor<Bson> queries = ArgumentCaptor.forClass(Bson.class);
+        verify(conversationCollection, times(2)).find(queries.capture());
+        Assert.assertTrue(queries.getAllValues().get(1).toString().contains(
+                "Filter{fieldName='_id', operator='$gt', value=" + conversation2.get("_id") + "}"));
+        verify(archiveCollection, times(1)).bulkWrite(anyList(), any(BulkWriteOptions.class));
+    }
+
+    private static FindIterable<Document> createResults(Document... documents) {
+        FindIterable<Document> results = mock(FindIterable.class);
+        when(results.sort(any(Bson.class))).thenReturn(results);
+        when(results.limit(anyInt())).thenReturn(results);
+        when(results.into(any(Collection.class))).then(invocation -> {
+            Collection<Document> target = invocation.getArgument(0);
+            target.addAll(Arrays.asList(documents));
+            return target;
+        });
+        return results;
+    }
+}
@@ -0,0 +1,182 @@
+package ai.labs.memory;
+
+import ai.labs.memory.model.ConversationMemorySnapshot;
+import ai.labs.persistence.IDatabaseLifecycle;
+import ai.labs.persistence.IResourceStore;
+import ai.labs.persistence.mongo.ConsistencySettings;
+import ai.labs.serialization.IDocumentBuilder;
+import com.mongodb.async.SingleResultCallback;
+import com.mongodb.async.client.FindIterable;
+import com.mongodb.async.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author ginccc
+ */
+public class ConversationMemoryStoreTest {
+    private static final String CONVERSATION_ID = new ObjectId().toString();
+    private com.mongodb.client.MongoCollection<Document> collection;
+    private MongoCollection<Document> asyncCollection;
+    private FindIterable<Document> findIterable;
+    private ConversationMemoryStore conversationMemoryStore;
+    private MongoDatabase database;
+    private com.mongodb.async.client.MongoDatabase asyncDatabase;
+    private IDocumentBuilder documentBuilder;
+
+    @Before
+    public void setUp() throws Exception {
+        database = mock(MongoDatabase.class);
+        collection = mock(com.mongodb.client.MongoCollection.class);
+        when(database.getCollection(anyString())).thenReturn(collection);
+        asyncDatabase = mock(com.mongodb.async.client.MongoDatabase.class);
+        asyncCollection = mock(MongoCollection.class);
+        when(asyncDatabase.getCollection(anyString())).thenReturn(asyncCollection);
+        findIterable = mock(FindIterable.class);
+        when(asyncCollection.find(any(Bson.class))).thenReturn(findIterable);
+
+        documentBuilder = mock(IDocumentBuilder.class);
+        when(documentBuilder.toString(any())).thenReturn("{\"botId\":\"botId\"}");
+        when(documentBuilder.build(any(Map.class), eq(ConversationMemorySnapshot.class))).
+                then(invocation -> new ConversationMemorySnapshot());
+
+        conversationMemoryStore = new ConversationMemoryStore(database, asyncDatabase, documentBuilder,
+                new ConsistencySettings(new Properties()), mock(IDatabaseLifecycle.class), false, 0, 0, 0L);
+    }
+
+    @Test
+    public void loadAsyncWaitsForPendingAsyncWrite() throws Exception {
+        //setup
+        ArgumentCaptor<SingleResultCallback<UpdateResult>> updateCallback =
+                ArgumentCaptor.forClass(SingleResultCallback.class);
+        doNothing().when(asyncCollection).updateOne(any(Bson.class), any(Bson.class), any(UpdateOptions.class),
+                updateCallback.capture());
+        doAnswer(invocation -> {
+            invocation.<SingleResultCallback<Document>>getArgument(0).onResult(new Document("botId", "botId"), null);
+            return null;
+        }).when(findIterable).first(any());
+        ConversationMemorySnapshot snapshot = new ConversationMemorySnapshot();
+        snapshot.setId(CONVERSATION_ID);
+
+        //test
+        CompletableFuture<String> store = conversationMemoryStore.storeConversationMemorySnapshotAsync(snapshot);
+        CompletableFuture<ConversationMemorySnapshot> load =
+                conversationMemoryStore.loadConversationMemorySnapshotAsync(CONVERSATION_ID);
+
+        //assert
+        Assert.assertFalse(store.isDone());
+        Assert.assertFalse(load.isDone());
+        verify(asyncCollection, never()).find(any(Bson.class));
+
+        //test
+        updateCallback.getValue().onResult(null, null);
+
+        //assert
+        Assert.assertEquals(CONVERSATION_ID, store.get());
+        Assert.assertEquals(CONVERSATION_ID, load.get().getId());
+    }
+
+    @Test
+    public void storeAsyncIsNotQueuedWhileWriteIsPending() throws Exception {
+        //setup
+        ConversationMemoryStore conversationMemoryStore = new ConversationMemoryStore(database, asyncDatabase,
+                documentBuilder, new ConsistencySettings(new Properties()), mock(IDatabaseLifecycle.class),
+                true, 1, 10, 60000L);
+        ArgumentCaptor<SingleResultCallback<UpdateResult>> updateCallback =
+                ArgumentCaptor.forClass(SingleResultCallback.class);
+        doNothing().when(asyncCollection).updateOne(any(Bson.class), any(Bson.class), any(UpdateOptions.class),
+                updateCallback.capture());
+        String otherConversationId = new ObjectId().toString();
+        ConversationMemorySnapshot otherSnapshot = new ConversationMemorySnapshot();
+        otherSnapshot.setId(otherConversationId);
+        ConversationMemorySnapshot snapshot = new ConversationMemorySnapshot();
+        snapshot.setId(CONVERSATION_ID);
+
+        // the queue is full, thus the first turn is written directly
+        conversationMemoryStore.storeConversationMemorySnapshot(otherSnapshot);
+        CompletableFuture<String> firstTurn = conversationMemoryStore.storeConversationMemorySnapshotAsync(snapshot);
+        conversationMemoryStore.deleteConversationMemorySnapshot(otherConversationId);
+
+        //test
+        CompletableFuture<String> secondTurn = conversationMemoryStore.storeConversationMemorySnapshotAsync(snapshot);
+
+        //assert
+        Assert.assertFalse(secondTurn.isDone());
+        Assert.assertEquals(0, conversationMemoryStore.getWriteBehindMetrics().getPendingConversations());
+
+        //test
+        updateCallback.getValue().onResult(null, null);
+
+        //assert
+        Assert.assertEquals(CONVERSATION_ID, firstTurn.get());
+        verify(asyncCollection, times(2)).updateOne(any(Bson.class), any(Bson.class), any(UpdateOptions.class),
+                any(SingleResultCallback.class));
+        updateCallback.getValue().onResult(null, null);
+        Assert.assertEquals(CONVERSATION_ID, secondTurn.get());
+    }
+
+    @Test
+    public void storeWritesSummaryFields() throws Exception {
+        //setup
+        ConversationMemorySnapshot snapshot = new ConversationMemorySnapshot();
+        snapshot.setId(CONVERSATION_ID);
+        snapshot.getConversationSteps().add(new ConversationMemorySnapshot.ConversationStepSnapshot());
+        snapshot.getConversationSteps().add(new ConversationMemorySnapshot.ConversationStepSnapshot());
+
+        //test
+        conversationMemoryStore.storeConversationMemorySnapshot(snapshot);
+
+        //assert
+        ArgumentCaptor<Document> update = ArgumentCaptor.forClass(Document.class);
+        verify(collection).updateOne(any(Bson.class), update.capture(), any(UpdateOptions.class));
+        Document document = update.getValue().get("$set", Document.class);
+        Assert.assertEquals("botId", document.get("botId"));
+        Assert.assertEquals(2, document.get("conversationStepSize"));
+        Assert.assertTrue(document.get("lastModifiedOn") instanceof Date);
+    }
+
+    @Test
+    public void loadAsyncNotFound() throws Exception {
+        //setup
+        doAnswer(invocation -> {
+            invocation.<SingleResultCallback<Document>>getArgument(0).onResult(null, null);
+            return null;
+        }).when(findIterable).first(any());
+
+        //test
+        CompletableFuture<ConversationMemorySnapshot> load =
+                conversationMemoryStore.loadConversationMemorySnapshotAsync(CONVERSATION_ID);
+
+        //assert
+        try {
+            load.get();
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof IResourceStore.ResourceNotFoundException);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void readConversationSummariesRejectsEmptyPage() {
+        //test
+        conversationMemoryStore.readConversationSummaries(null, null, null, 0, 0);
+    }
+}
@@ -1,10 +1,13 @@
 package ai.labs.memory;
 
+import ai.labs.memory.model.ConversationMemorySnapshot;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedList;
 
 /**
@@ -133,6 +136,120 @@ public class ConversationMemoryTest {
 
     }
 
+    @Test
+    public void testPreviousStepsSnapshot() {
+        //setup
+        IConversationMemory.IConversationStep step1 = memory.getCurrentStep();
+        IConversationMemory.IConversationStep step2 = memory.startNextStep();
+        IConversationMemory.IConversationStepStack previousSteps = memory.getPreviousSteps();
+
+        //test
+        memory.startNextStep();
+        memory.undoLastStep();
+        memory.undoLastStep();
+        IConversationMemory.IConversationStep step2b = memory.startNextStep();
+        memory.startNextStep();
+
+        //assert
+        Assert.assertEquals(1, previousSteps.size());
+        Assert.assertSame(step1, previousSteps.peek());
+        IConversationMemory.IConversationStepStack allSteps = memory.getAllSteps();
+        Assert.assertEquals(3, allSteps.size());
+        Assert.assertSame(step2b, allSteps.get(1));
+        Assert.assertNotSame(step2, allSteps.get(1));
+        Assert.assertSame(step1, allSteps.get(2));
+    }
+
+    @Test
+    public void testRedoCacheSnapshot() throws Exception {
+        //setup
+        memory.getCurrentStep().storeData(new Data<>("testkey", "step1"));
+        memory.startNextStep();
+        memory.getCurrentStep().storeData(new Data<>("testkey", "step2"));
+        memory.startNextStep();
+        memory.getCurrentStep().storeData(new Data<>("testkey", "step3"));
+        memory.undoLastStep();
+        memory.undoLastStep();
+
+        //test
+        ConversationMemorySnapshot snapshot = ConversationMemoryUtilities.convertConversationMemory(memory);
+        IConversationMemory restored = ConversationMemoryUtilities.convertConversationMemorySnapshot(snapshot);
+        restored.redoLastStep();
+
+        //assert
+        Assert.assertEquals(1, restored.getRedoCache().size());
+        Assert.assertEquals("step2", restored.getCurrentStep().getData("testkey").getResult());
+        restored.redoLastStep();
+        Assert.assertEquals("step3", restored.getCurrentStep().getData("testkey").getResult());
+        Assert.assertFalse(restored.isRedoAvailable());
+    }
+
+    @Test
+    public void testCountOccurrences() {
+        //setup
+        memory.getCurrentStep().storeData(new Data<>("actions", Arrays.asList("greet", "ask")));
+        memory.startNextStep();
+        memory.getCurrentStep().storeData(new Data<>("actions", Collections.singletonList("greet")));
+
+        //test
+        memory.startNextStep();
+
+        //assert
+        IConversationMemory.IConversationCounters counters = memory.getConversationCounters();
+        Assert.assertEquals(2, counters.getOccurrences("actions", "greet"));
+        Assert.assertEquals(1, counters.getOccurrences("actions", "ask"));
+        Assert.assertEquals(0, counters.getOccurrences("actions", "unknown"));
+        Assert.assertEquals(1, counters.getLastOccurrence("actions", "greet"));
+        Assert.assertEquals(0, counters.getLastOccurrence("actions", "ask"));
+        Assert.assertEquals(-1, counters.getLastOccurrence("actions", "unknown"));
+    }
+
+    @Test
+    public void testCountOccurrencesUndoRedo() {
+        //setup
+        memory.getCurrentStep().storeData(new Data<>("actions", Collections.singletonList("greet")));
+        memory.startNextStep();
+        memory.getCurrentStep().storeData(new Data<>("actions", Collections.singletonList("greet")));
+        memory.startNextStep();
+
+        //test
+        memory.undoLastStep();
+
+        //assert
+        IConversationMemory.IConversationCounters counters = memory.getConversationCounters();
+        Assert.assertEquals(1, counters.getOccurrences("actions", "greet"));
+        Assert.assertEquals(0, counters.getLastOccurrence("actions", "greet"));
+
+        //test
+        memory.redoLastStep();
+
+        //assert
+        Assert.assertEquals(2, counters.getOccurrences("actions", "greet"));
+        Assert.assertEquals(1, counters.getLastOccurrence("actions", "greet"));
+    }
+
+    @Test
+    public void testCountOccurrencesSnapshot() throws Exception {
+        //setup
+        memory.getCurrentStep().storeData(new Data<>("behavior_rules:success", Collections.singletonList("rule")));
+        memory.startNextStep();
+        memory.getCurrentStep().storeData(new Data<>("behavior_rules:success", Collections.singletonList("rule")));
+        memory.startNextStep();
+
+        //test
+        ConversationMemorySnapshot snapshot = ConversationMemoryUtilities.convertConversationMemory(memory);
+        IConversationMemory restored = ConversationMemoryUtilities.convertConversationMemorySnapshot(snapshot);
+        snapshot.setOccurrences(null);
+        IConversationMemory rebuilt = ConversationMemoryUtilities.convertConversationMemorySnapshot(snapshot);
+
+        //assert
+        Assert.assertEquals(3, snapshot.getConversationSteps().size());
+        Assert.assertEquals(2, restored.getConversationCounters().getOccurrences("behavior_rules:success", "rule"));
+        Assert.assertEquals(1, restored.getConversationCounters().getLastOccurrence("behavior_rules:success", "rule"));
+        Assert.assertEquals(2, rebuilt.getConversationCounters().getOccurrences("behavior_rules:success", "rule"));
+        Assert.assertEquals(1, rebuilt.getConversationCounters().getLastOccurrence("behavior_rules:success", "rule"));
+    }
+
 
 //	@Test
 //	public void testEqualLifecycleMemory() throws Exception
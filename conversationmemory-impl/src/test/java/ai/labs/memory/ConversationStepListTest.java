@@ -0,0 +1,32 @@
+package ai.labs.memory;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author ginccc
+ */
+public class ConversationStepListTest {
+    @Test
+    public void pushOntoEmptyDoesNotStoreInEmpty() {
+        //setup
+        ConversationStep step1 = new ConversationStep(new ConversationMemory.ConversationContext());
+        ConversationStep step2 = new ConversationStep(new ConversationMemory.ConversationContext());
+        ConversationMemory memory1 = new ConversationMemory("botId", 1);
+        ConversationMemory memory2 = new ConversationMemory("botId", 1);
+
+        //test
+        ConversationStepList steps1 = ConversationStepList.EMPTY.push(step1);
+        ConversationStepList steps2 = ConversationStepList.EMPTY.push(step2);
+        memory1.startNextStep();
+        memory2.startNextStep();
+
+        //assert
+        Assert.assertEquals(0, ConversationStepList.EMPTY.size());
+        Assert.assertEquals(0, ConversationStepList.EMPTY.capacity());
+        Assert.assertSame(step1, steps1.get(0));
+        Assert.assertSame(step2, steps2.get(0));
+        Assert.assertEquals(1, memory1.getPreviousSteps().size());
+        Assert.assertEquals(1, memory2.getPreviousSteps().size());
+    }
+}
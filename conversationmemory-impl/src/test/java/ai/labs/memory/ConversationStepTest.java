@@ -68,6 +68,50 @@ public class ConversationStepTest {
         Assert.assertEquals(data2, allData.get(1));
     }
 
+    @Test
+    public void testGetAllDataByPrefix() throws Exception {
+        //setup
+        for (int i = 0; i < 300; i++) {
+            conversationStep.storeData(new Data<>("httpCalls:call" + i, i));
+            conversationStep.storeData(new Data<>("output:text:action" + i, "text" + i));
+        }
+        conversationStep.storeData(new Data<>("httpCalls:call0", -1));
+
+        //test
+        final List<IData<Integer>> allData = conversationStep.getAllData("httpCalls:call1");
+
+        //assert
+        Assert.assertEquals(111, allData.size());
+        Assert.assertEquals("httpCalls:call1", allData.get(0).getKey());
+        Assert.assertEquals("httpCalls:call10", allData.get(1).getKey());
+        Assert.assertEquals("httpCalls:call199", allData.get(110).getKey());
+        Assert.assertEquals(-1, conversationStep.getAllData("httpCalls").get(0).getResult());
+        Assert.assertTrue(conversationStep.getAllData("input").isEmpty());
+    }
+
+    @Test
+    public void testGetLatestData() throws Exception {
+        //setup
+        conversationStep.storeData(new Data<>("actions", "first"));
+        for (int i = 0; i < 300; i++) {
+            conversationStep.storeData(new Data<>("output:text:action" + i, "text" + i));
+        }
+        conversationStep.storeData(new Data<>("action:latest", "latest"));
+        conversationStep.storeData(new Data<>("actions", "overwritten"));
+
+        //assert
+        Assert.assertEquals("latest", conversationStep.getLatestData("action").getResult());
+        Assert.assertEquals("overwritten", conversationStep.getLatestData("actions").getResult());
+        Assert.assertEquals("text299", conversationStep.getLatestData("output").getResult());
+        Assert.assertNull(conversationStep.getLatestData("input"));
+
+        //test
+        conversationStep.setCurrentConversationContext(new ConversationMemory.ConversationContext("other"));
+
+        //assert
+        Assert.assertNull(conversationStep.getLatestData("action"));
+    }
+
     @Test
     public void testGetAllKeys() throws Exception {
         //setup
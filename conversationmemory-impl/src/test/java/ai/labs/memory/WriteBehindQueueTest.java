@@ -0,0 +1,190 @@
+package ai.labs.memory;
+
+import ai.labs.memory.model.WriteBehindMetrics;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author ginccc
+ */
+public class WriteBehindQueueTest {
+    private static final String CONVERSATION_ID_1 = new ObjectId().toString();
+    private static final String CONVERSATION_ID_2 = new ObjectId().toString();
+    private MongoCollection<Document> collection;
+    private WriteBehindQueue writeBehindQueue;
+
+    @Before
+    public void setUp() {
+        collection = mock(MongoCollection.class);
+        writeBehindQueue = new WriteBehindQueue(collection, 2, 10, 60000);
+    }
+
+    @After
+    public void tearDown() {
+        writeBehindQueue.shutdown();
+    }
+
+    @Test
+    public void flushCoalescesTurnsOfSameConversation() {
+        //setup
+        writeBehindQueue.offer(CONVERSATION_ID_1, new Document("step", 1));
+        writeBehindQueue.offer(CONVERSATION_ID_1, new Document("step", 2));
+        writeBehindQueue.offer(CONVERSATION_ID_2, new Document("step", 1));
+        writeBehindQueue.setField(CONVERSATION_ID_1, "conversationState", "ENDED");
+
+        //assert
+        Assert.assertEquals(2, writeBehindQueue.getPendingDocument(CONVERSATION_ID_1).get("step"));
+        Assert.assertEquals("ENDED", writeBehindQueue.getPendingDocument(CONVERSATION_ID_1).get("conversationState"));
+
+        //test
+        writeBehindQueue.flush();
+
+        //assert
+        ArgumentCaptor<List<WriteModel<Document>>> writes = ArgumentCaptor.forClass(List.class);
+        verify(collection, times(1)).bulkWrite(writes.capture(), any(BulkWriteOptions.class));
+        Assert.assertEquals(2, writes.getValue().size());
+        Assert.assertNull(writeBehindQueue.getPendingDocument(CONVERSATION_ID_1));
+        WriteBehindMetrics metrics = writeBehindQueue.getMetrics();
+        Assert.assertEquals(0, metrics.getPendingConversations());
+        Assert.assertEquals(1, metrics.getCoalescedWrites());
+        Assert.assertEquals(2, metrics.getFlushedWrites());
+    }
+
+    @Test
+    public void failedFlushKeepsWritesPending() {
+        //setup
+        writeBehindQueue.offer(CONVERSATION_ID_1, new Document("step", 1));
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class))).
+                thenThrow(new MongoException("unavailable")).thenReturn(null);
+
+        //test
+        writeBehindQueue.flush();
+
+        //assert
+        Assert.assertNotNull(writeBehindQueue.getPendingDocument(CONVERSATION_ID_1));
+        Assert.assertEquals(1, writeBehindQueue.getMetrics().getFailedFlushes());
+
+        //test
+        writeBehindQueue.flush();
+
+        //assert
+        Assert.assertNull(writeBehindQueue.getPendingDocument(CONVERSATION_ID_1));
+    }
+
+    @Test
+    public void offerRejectsNewConversationsIfFull() {
+        //setup
+        writeBehindQueue.offer(CONVERSATION_ID_1, new Document("step", 1));
+        writeBehindQueue.offer(CONVERSATION_ID_2, new Document("step", 1));
+
+        //test
+        boolean acceptedNew = writeBehindQueue.offer(new ObjectId().toString(), new Document("step", 1));
+        boolean acceptedPending = writeBehindQueue.offer(CONVERSATION_ID_1, new Document("step", 2));
+
+        //assert
+        Assert.assertFalse(acceptedNew);
+        Assert.assertTrue(acceptedPending);
+        Assert.assertEquals(1, writeBehindQueue.getMetrics().getDirectWrites());
+    }
+
+    @Test
+    public void writesAreUpserts() {
+        //setup
+        writeBehindQueue.offer(CONVERSATION_ID_1, new Document("step", 1));
+
+        //test
+        writeBehindQueue.flush();
+
+        //assert
+        ArgumentCaptor<List<WriteModel<Document>>> writes = ArgumentCaptor.forClass(List.class);
+        verify(collection).bulkWrite(writes.capture(), any(BulkWriteOptions.class));
+        UpdateOneModel<Document> write = (UpdateOneModel<Document>) writes.getValue().get(0);
+        Assert.assertTrue(write.getOptions().isUpsert());
+        Assert.assertEquals(new Document("_id", new ObjectId(CONVERSATION_ID_1)), write.getFilter());
+    }
+
+    @Test
+    public void deleteWaitsForRunningFlush() throws Exception {
+        //setup
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch releaseFlush = new CountDownLatch(1);
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class))).then(invocation -> {
+            flushing.countDown();
+            releaseFlush.await();
+            return null;
+        });
+        writeBehindQueue.offer(CONVERSATION_ID_1, new Document("step", 1));
+        Thread flush = new Thread(writeBehindQueue::flush);
+        flush.start();
+        flushing.await();
+
+        //test
+        AtomicBoolean deleted = new AtomicBoolean();
+        Thread delete = new Thread(() -> writeBehindQueue.delete(CONVERSATION_ID_1, () -> deleted.set(true)));
+        delete.start();
+        delete.join(100);
+
+        //assert
+        Assert.assertFalse(deleted.get());
+
+        //test
+        releaseFlush.countDown();
+        delete.join(1000);
+        flush.join(1000);
+
+        //assert
+        Assert.assertTrue(deleted.get());
+    }
+
+    @Test
+    public void deletedConversationIsNotWrittenAgain() {
+        //setup
+        writeBehindQueue.offer(CONVERSATION_ID_1, new Document("step", 1));
+        writeBehindQueue.delete(CONVERSATION_ID_1, () -> {
+        });
+
+        //test
+        boolean accepted = writeBehindQueue.offer(CONVERSATION_ID_1, new Document("step", 2));
+        writeBehindQueue.flush();
+
+        //assert
+        Assert.assertTrue(accepted);
+        Assert.assertNull(writeBehindQueue.getPendingDocument(CONVERSATION_ID_1));
+        verify(collection, never()).bulkWrite(anyList(), any(BulkWriteOptions.class));
+    }
+
+    @Test
+    public void removalLeavesOutPendingConversations() {
+        //setup
+        writeBehindQueue.offer(CONVERSATION_ID_1, new Document("step", 1));
+        ObjectId idle = new ObjectId(CONVERSATION_ID_2);
+
+        //test
+        List<Object> removed = writeBehindQueue.removeUnlessPending(
+                Arrays.asList(new ObjectId(CONVERSATION_ID_1), idle), conversationIds -> conversationIds);
+
+        //assert
+        Assert.assertEquals(Collections.singletonList(idle), removed);
+        Assert.assertNotNull(writeBehindQueue.getPendingDocument(CONVERSATION_ID_1));
+    }
+}
@@ -0,0 +1,23 @@
+package ai.labs.rest.rest;
+
+import io.swagger.annotations.Api;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import java.util.Map;
+
+/**
+ * @author ginccc
+ */
+@Api(value = "bot administration")
+@Path("/administration/metrics")
+public interface IRestMetrics {
+    /**
+     * @return current metrics of all components of this instance, by name
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    Map<String, Object> readMetrics();
+}
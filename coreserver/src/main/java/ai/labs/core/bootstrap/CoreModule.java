@@ -3,13 +3,17 @@ package ai.labs.core.bootstrap;
 import ai.labs.core.rest.internal.RestBotAdministration;
 import ai.labs.core.rest.internal.RestBotEngine;
 import ai.labs.core.rest.internal.RestHealthCheck;
+import ai.labs.core.rest.internal.RestMetrics;
 import ai.labs.rest.rest.IRestBotAdministration;
 import ai.labs.rest.rest.IRestBotEngine;
 import ai.labs.rest.rest.IRestHealthCheck;
+import ai.labs.rest.rest.IRestMetrics;
 import ai.labs.runtime.IConversationCoordinator;
+import ai.labs.runtime.IMetricsProvider;
 import ai.labs.runtime.bootstrap.AbstractBaseModule;
 import ai.labs.runtime.internal.ConversationCoordinator;
 import com.google.inject.Scopes;
+import com.google.inject.multibindings.Multibinder;
 
 import java.io.InputStream;
 
@@ -25,6 +29,9 @@ public class CoreModule extends AbstractBaseModule {
         bind(IRestBotEngine.class).to(RestBotEngine.class);
         bind(IRestBotAdministration.class).to(RestBotAdministration.class);
         bind(IRestHealthCheck.class).to(RestHealthCheck.class);
+        bind(IRestMetrics.class).to(RestMetrics.class);
+        // metrics are contributed by the modules of the components
+        Multibinder.newSetBinder(binder(), IMetricsProvider.class);
         bind(IConversationCoordinator.class).to(ConversationCoordinator.class).in(Scopes.SINGLETON);
     }
 }
@@ -1,5 +1,6 @@
 package ai.labs.core.rest.internal;
 
+import ai.labs.lifecycle.Deadline;
 import ai.labs.lifecycle.IConversation;
 import ai.labs.lifecycle.LifecycleException;
 import ai.labs.lifecycle.model.Context;
@@ -152,11 +153,32 @@ public class RestBotEngine implements IRestBotEngine {
         RuntimeUtilities.checkNotNull(inputData, "inputData");
         RuntimeUtilities.checkNotNull(inputData.getInput(), "inputData.input");
 
+        final Deadline deadline = Deadline.after(botTimeout, TimeUnit.SECONDS);
         response.setTimeout(botTimeout, TimeUnit.SECONDS);
         response.setTimeoutHandler((asyncResp) ->
                 asyncResp.resume(Response.status(Response.Status.REQUEST_TIMEOUT).build()));
+
+        // the request thread is released while the memory is loaded, processing continues on the runtime's threads
+        conversationMemoryStore.loadConversationMemorySnapshotAsync(conversationId).
+                whenComplete((conversationMemorySnapshot, t) -> runtime.submitCallable(() -> {
+                    if (t != null) {
+                        resumeWithError(response, t instanceof CompletionException ? t.getCause() : t);
+                    } else {
+                        continueConversation(environment, botId, conversationId, returnDetailed,
+                                returnCurrentStepOnly, inputData, conversationMemorySnapshot, deadline, response);
+                    }
+                    return null;
+                }, null));
+    }
+
+    private void continueConversation(Deployment.Environment environment,
+                                      String botId, String conversationId,
+                                      Boolean returnDetailed, Boolean returnCurrentStepOnly,
+                                      InputData inputData, ConversationMemorySnapshot conversationMemorySnapshot,
+                                      Deadline deadline, AsyncResponse response) {
         try {
-            final IConversationMemory conversationMemory = loadConversationMemory(conversationId);
+            final IConversationMemory conversationMemory =
+                    convertConversationMemorySnapshot(conversationMemorySnapshot);
             checkConversationMemoryNotNull(conversationMemory, conversationId);
             if (!botId.equals(conversationMemory.getBotId())) {
                 String message = "Supplied botId (%s) is incompatible with conversationId (%s)";
@@ -195,21 +217,25 @@ public class RestBotEngine implements IRestBotEngine {
                             inputData.getInput(),
                             inputData.getContext(),
                             conversationMemory,
-                            conversation);
+                            conversation,
+                            deadline);
 
             conversationCoordinator.submitInOrder(conversationId, processUserInput);
-        } catch (InstantiationException | IllegalAccessException e) {
-            String errorMsg = "Error while processing message!";
-            log.error(errorMsg, e);
-            throw new InternalServerErrorException(errorMsg, e);
-        } catch (IResourceStore.ResourceStoreException e) {
-            log.error(e.getLocalizedMessage(), e);
-            throw new InternalServerErrorException(e.getLocalizedMessage(), e);
-        } catch (IResourceStore.ResourceNotFoundException e) {
-            throw new NoLogWebApplicationException(Response.Status.NOT_FOUND);
         } catch (Exception e) {
-            log.error(e.getLocalizedMessage(), e);
-            throw new InternalServerErrorException(e.getLocalizedMessage(), e);
+            resumeWithError(response, e);
+        }
+    }
+
+    private static void resumeWithError(AsyncResponse response, Throwable t) {
+        if (t instanceof IResourceStore.ResourceNotFoundException) {
+            response.resume(new NoLogWebApplicationException(Response.Status.NOT_FOUND));
+        } else if (t instanceof InstantiationException || t instanceof IllegalAccessException) {
+            String errorMsg = "Error while processing message!";
+            log.error(errorMsg, t);
+            response.resume(new InternalServerErrorException(errorMsg, t));
+        } else {
+            log.error(t.getLocalizedMessage(), t);
+            response.resume(new InternalServerErrorException(t.getLocalizedMessage(), t));
         }
     }
 
@@ -217,20 +243,21 @@ public class RestBotEngine implements IRestBotEngine {
                                             String conversationId, String message,
                                             Map<String, InputData.Context> inputDataContext,
                                             IConversationMemory conversationMemory,
-                                            IConversation conversation) {
+                                            IConversation conversation,
+                                            Deadline deadline) {
         return () -> {
-            waitForExecutionFinishOrTimeout(conversationId, runtime.submitCallable(() -> {
-                        conversation.say(message, convertContext(inputDataContext));
+            waitForExecutionFinishOrTimeout(conversationId, deadline, runtime.submitCallable(() -> {
+                        conversation.say(message, convertContext(inputDataContext), deadline);
                         return null;
                     },
                     new IFinishedExecution<Void>() {
                         @Override
                         public void onComplete(Void result) {
-                            try {
-                                storeConversationMemory(conversationMemory, environment);
-                            } catch (IResourceStore.ResourceStoreException e) {
-                                logConversationError(conversationId, e);
-                            }
+                            storeConversationMemoryAsync(conversationMemory, environment).
+                                    exceptionally(t -> {
+                                        logConversationError(conversationId, t.getCause() != null ? t.getCause() : t);
+                                        return null;
+                                    });
                         }
 
                         @Override
@@ -252,9 +279,10 @@ public class RestBotEngine implements IRestBotEngine {
         };
     }
 
-    private void waitForExecutionFinishOrTimeout(String conversationId, Future<Void> future) {
+    private void waitForExecutionFinishOrTimeout(String conversationId, Deadline deadline, Future<Void> future) {
         try {
-            future.get(botTimeout, TimeUnit.SECONDS);
+            // time spent waiting for previous messages of this conversation counts towards the deadline
+            future.get(deadline.getRemaining(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS);
         } catch (TimeoutException | InterruptedException e) {
             setConversationState(conversationId, ConversationState.EXECUTION_INTERRUPTED);
             String errorMessage = "Execution of Packages interrupted or timed out.";
@@ -433,6 +461,13 @@ public class RestBotEngine implements IRestBotEngine {
         return conversationMemoryStore.storeConversationMemorySnapshot(memorySnapshot);
     }
 
+    private CompletableFuture<String> storeConversationMemoryAsync(IConversationMemory conversationMemory,
+                                                                   Deployment.Environment environment) {
+        ConversationMemorySnapshot memorySnapshot = convertConversationMemory(conversationMemory);
+        memorySnapshot.setEnvironment(environment);
+        return conversationMemoryStore.storeConversationMemorySnapshotAsync(memorySnapshot);
+    }
+
     private SimpleConversationMemorySnapshot getSimpleConversationMemorySnapshot(
             IConversationMemory returnConversationMemory,
             Boolean returnDetailed,
@@ -0,0 +1,31 @@
+package ai.labs.core.rest.internal;
+
+import ai.labs.rest.rest.IRestMetrics;
+import ai.labs.runtime.IMetricsProvider;
+
+import javax.inject.Inject;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * @author ginccc
+ */
+public class RestMetrics implements IRestMetrics {
+    private final Set<IMetricsProvider> metricsProviders;
+
+    @Inject
+    public RestMetrics(Set<IMetricsProvider> metricsProviders) {
+        this.metricsProviders = metricsProviders;
+    }
+
+    @Override
+    public Map<String, Object> readMetrics() {
+        Map<String, Object> metrics = new TreeMap<>();
+        for (IMetricsProvider metricsProvider : metricsProviders) {
+            metrics.put(metricsProvider.getMetricsName(), metricsProvider.getMetrics());
+        }
+
+        return metrics;
+    }
+}
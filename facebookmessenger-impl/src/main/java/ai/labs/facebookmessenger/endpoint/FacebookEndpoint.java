@@ -78,7 +78,7 @@ public class FacebookEndpoint implements IFacebookEndpoint {
     public FacebookEndpoint(SystemRuntime.IRuntime runtime,
                             IBotStore botStore,
                             IBotFactory botFactory,
-                            IHttpClient httpClient,
+                            @Named(IHttpClient.PROFILE_CHANNELS) IHttpClient httpClient,
                             IRestInterfaceFactory restInterfaceFactory,
                             @Named("system.apiServerURI") String apiServerURI,
                             ICacheFactory cacheFactory) {
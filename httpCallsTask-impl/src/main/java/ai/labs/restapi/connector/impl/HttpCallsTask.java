@@ -1,8 +1,11 @@
 package ai.labs.restapi.connector.impl;
 
+import ai.labs.caching.ICache;
+import ai.labs.caching.ICacheFactory;
 import ai.labs.httpclient.IHttpClient;
 import ai.labs.httpclient.IRequest;
 import ai.labs.httpclient.IResponse;
+import ai.labs.lifecycle.Deadline;
 import ai.labs.lifecycle.ILifecycleTask;
 import ai.labs.lifecycle.LifecycleException;
 import ai.labs.lifecycle.PackageConfigurationException;
@@ -20,13 +23,18 @@ import ai.labs.serialization.IJsonSerialization;
 import ai.labs.templateengine.IMemoryTemplateConverter;
 import ai.labs.templateengine.ITemplatingEngine;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import java.io.IOException;
 import java.net.URI;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -37,25 +45,46 @@ public class HttpCallsTask implements ILifecycleTask {
     private static final String ACTION_KEY = "actions";
     private static final String CONTENT_TYPE = "Content-Type";
     private static final String KEY_HTTP_CALLS = "httpCalls";
+    private static final String CACHE_CONTROL = "Cache-Control";
+    private static final String RESPONSE_CACHE_NAME = "ai.labs.httpcalls.responses";
+    private static final String FAILURE_REASON_FAILED = "failed";
+    private static final String FAILURE_REASON_HTTP_STATUS = "http_";
+    /**
+     * bounds the calls of a step, which is not processed within a deadline
+     */
+    private static final long DEFAULT_TIMEOUT_IN_MILLIS = 60000;
+    /**
+     * time granted to calls, which have timed out, to complete (e.g. with their fallback)
+     */
+    private static final long TIMEOUT_GRACE_IN_MILLIS = 1000;
+    /**
+     * memory, its steps and the data below the explicit root keys of a step
+     */
+    private static final int MEMORY_SNAPSHOT_DEPTH = 3;
     private final IHttpClient httpClient;
     private IJsonSerialization jsonSerialization;
     private final IResourceClientLibrary resourceClientLibrary;
     private IDataFactory dataFactory;
     private final ITemplatingEngine templatingEngine;
     private final IMemoryTemplateConverter memoryTemplateConverter;
+    private final ICache<String, String> responseCache;
     private String targetServerUri;
     private List<HttpCall> httpCalls;
+    private Map<HttpCall, QuickRepliesBuilder> quickRepliesBuilders;
 
     @Inject
-    public HttpCallsTask(IHttpClient httpClient, IJsonSerialization jsonSerialization,
+    public HttpCallsTask(@Named(IHttpClient.PROFILE_HTTP_CALLS) IHttpClient httpClient,
+                         IJsonSerialization jsonSerialization,
                          IResourceClientLibrary resourceClientLibrary, IDataFactory dataFactory,
-                         ITemplatingEngine templatingEngine, IMemoryTemplateConverter memoryTemplateConverter) {
+                         ITemplatingEngine templatingEngine, IMemoryTemplateConverter memoryTemplateConverter,
+                         ICacheFactory cacheFactory) {
         this.httpClient = httpClient;
         this.jsonSerialization = jsonSerialization;
         this.resourceClientLibrary = resourceClientLibrary;
         this.dataFactory = dataFactory;
         this.templatingEngine = templatingEngine;
         this.memoryTemplateConverter = memoryTemplateConverter;
+        this.responseCache = cacheFactory.getCache(RESPONSE_CACHE_NAME);
     }
 
     @Override
@@ -70,77 +99,311 @@ public class HttpCallsTask implements ILifecycleTask {
 
     @Override
     public void executeTask(IConversationMemory memory) throws LifecycleException {
+        executeTask(memory, Deadline.NONE);
+    }
+
+    @Override
+    public void executeTask(IConversationMemory memory, Deadline deadline) throws LifecycleException {
         IData<List<String>> latestData = memory.getCurrentStep().getLatestData(ACTION_KEY);
         if (latestData == null) {
             return;
         }
 
-        Map<String, Object> templateDataObjects = new HashMap<>();
-        Map<String, Object> memoryForTemplate = memoryTemplateConverter.convertMemoryForTemplating(memory);
-        Map<String, Object> currentMemory = (Map<String, Object>) memoryForTemplate.get("current");
-        templateDataObjects.put("memory", memoryForTemplate);
-
         List<String> actions = latestData.getResult();
+        if (deadline == Deadline.NONE) {
+            deadline = Deadline.after(DEFAULT_TIMEOUT_IN_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        final Deadline callDeadline = deadline;
 
+        List<HttpCall> triggeredCalls = new LinkedList<>();
         for (String action : actions) {
-            List<HttpCall> httpCalls;
-            httpCalls = this.httpCalls.stream().
+            triggeredCalls.addAll(this.httpCalls.stream().
                     filter(httpCall -> httpCall.getActions().contains(action)).
-                    collect(Collectors.toList());
-            for (HttpCall call : httpCalls) {
-                try {
-                    Request requestConfig = call.getRequest();
-                    String targetUri = targetServerUri + requestConfig.getPath();
-                    String requestBody = templateValues(requestConfig.getBody(), templateDataObjects);
-                    IRequest request = buildRequest(targetUri, requestBody, requestConfig, templateDataObjects);
-                    IResponse response = request.send();
-                    if (response.getHttpCode() != 200) {
-                        String message = "HttpCall (%s) didn't return http code 200, instead %s.";
-                        log.warn(String.format(message, call.getName(), response.getHttpCode()));
-                        log.warn("Error Msg:" + response.getHttpCodeMessage());
-                        continue;
-                    }
-                    if (call.isSaveResponse()) {
-                        final String responseBody = response.getContentAsString();
-                        String actualContentType = response.getHttpHeader().get(CONTENT_TYPE);
-                        if (actualContentType != null) {
-                            actualContentType = actualContentType.split(";")[0];
-                        } else {
-                            actualContentType = "<not-present>";
-                        }
+                    collect(Collectors.toList()));
+        }
+
+        if (triggeredCalls.isEmpty()) {
+            return;
+        }
+
+        // calls are templated on the threads completing their dependencies, thus they never read the memory
+        final Map<String, Object> memorySnapshot = createMemorySnapshot(memory);
+        List<HttpCallExecution> executions = new LinkedList<>();
+        for (HttpCall call : triggeredCalls) {
+            HttpCallExecution execution = new HttpCallExecution(call, collectDependencies(call, executions));
+            CompletableFuture[] dependencies = execution.dependencies.stream().
+                    map(dependency -> dependency.responseObject).toArray(CompletableFuture[]::new);
+            execution.responseObject = CompletableFuture.allOf(dependencies).
+                    thenCompose(ignored -> executeHttpCall(memorySnapshot, execution, callDeadline));
+            if (call.getFallback() != null) {
+                execution.responseObject = execution.responseObject.handle((responseObject, failure) ->
+                        failure == null ? responseObject : fallback(execution, failure));
+            }
+            executions.add(execution);
+        }
 
-                        if (!CONTENT_TYPE_APPLICATION_JSON.startsWith(actualContentType)) {
-                            String message = "HttpCall (%s) didn't return application/json as content-type, instead was (%s)";
-                            log.warn(String.format(message, call.getName(), actualContentType));
-                            continue;
+        try {
+            // memory is only written once all calls have completed, in the order the calls have been triggered
+            CompletableFuture.allOf(executions.stream().
+                    map(execution -> execution.responseObject).toArray(CompletableFuture[]::new)).
+                    get(deadline.getRemaining(TimeUnit.MILLISECONDS) + TIMEOUT_GRACE_IN_MILLIS, TimeUnit.MILLISECONDS);
+
+            for (HttpCallExecution execution : executions) {
+                // all calls have completed already
+                Object responseObject = execution.responseObject.get();
+                if (execution.failureReason != null) {
+                    Context context = new Context(Context.ContextType.string, execution.failureReason);
+                    IData<Context> contextData = dataFactory.createData(
+                            "context:" + KEY_HTTP_CALLS + ":" + execution.call.getName(), context);
+                    memory.getCurrentStep().storeData(contextData);
+                }
+
+                if (responseObject != null) {
+                    storeResponse(memory, memorySnapshot, execution, responseObject);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LifecycleException(e.getLocalizedMessage(), e);
+        } catch (TimeoutException e) {
+            // calls still waiting for their dependencies are not sent anymore
+            executions.forEach(execution -> execution.responseObject.cancel(false));
+            String message = "HttpCalls have not completed within the deadline of this conversation turn.";
+            log.error(message);
+            throw new LifecycleException(message, e);
+        } catch (ExecutionException | ITemplatingEngine.TemplateEngineException | IOException e) {
+            Exception cause = e instanceof ExecutionException && e.getCause() instanceof Exception ?
+                    (Exception) e.getCause() : e;
+            log.error(cause.getLocalizedMessage(), cause);
+            throw new LifecycleException(cause.getLocalizedMessage(), cause);
+        }
+    }
+
+    private static List<HttpCallExecution> collectDependencies(HttpCall call, List<HttpCallExecution> previousExecutions) {
+        List<String> dependsOn = call.getDependsOn();
+        if (dependsOn == null) {
+            return previousExecutions.isEmpty() ?
+                    Collections.emptyList() : Collections.singletonList(previousExecutions.get(previousExecutions.size() - 1));
+        }
+
+        List<HttpCallExecution> dependencies = new LinkedList<>();
+        for (String dependencyName : dependsOn) {
+            HttpCallExecution dependency = null;
+            for (HttpCallExecution previousExecution : previousExecutions) {
+                if (dependencyName.equals(previousExecution.call.getName())) {
+                    dependency = previousExecution;
+                }
+            }
+
+            if (dependency != null) {
+                dependencies.add(dependency);
+            } else {
+                // declared earlier (see checkDependencies), but not triggered by the actions of this step
+                String message = "HttpCall (%s) depends on HttpCall (%s), which has not been triggered before " +
+                        "within this step, thus it is executed without waiting for it.";
+                log.error(String.format(message, call.getName(), dependencyName));
+            }
+        }
+
+        return dependencies;
+    }
+
+    private CompletableFuture<Object> executeHttpCall(Map<String, Object> memorySnapshot, HttpCallExecution execution,
+                                                      Deadline deadline) {
+        CompletableFuture<Object> responseObject = new CompletableFuture<>();
+        HttpCall call = execution.call;
+        if (deadline.isExpired()) {
+            String message = "HttpCall (%s) not sent, the deadline of this conversation turn has expired.";
+            responseObject.completeExceptionally(new TimeoutException(String.format(message, call.getName())));
+            return responseObject;
+        }
+
+        try {
+            Map<String, Object> templateDataObjects = createTemplateDataObjects(memorySnapshot, execution);
+            execution.templateDataObjects = templateDataObjects;
+
+            Request requestConfig = call.getRequest();
+            String targetUri = targetServerUri + requestConfig.getPath();
+            String requestBody = templateValues(requestConfig.getBody(), templateDataObjects);
+            Map<String, String> headers = templateValues(requestConfig.getHeaders(), templateDataObjects);
+            Map<String, String> queryParams = templateValues(requestConfig.getQueryParams(), templateDataObjects);
+
+            ResponseCaching responseCaching = call.isSaveResponse() ? call.getResponseCaching() : null;
+            String cacheKey = null;
+            if (responseCaching != null) {
+                cacheKey = createCacheKey(requestConfig.getMethod(), targetUri, queryParams, headers, requestBody);
+                String cachedResponseBody = responseCache.get(cacheKey);
+                if (cachedResponseBody != null) {
+                    responseObject.complete(jsonSerialization.deserialize(cachedResponseBody, Object.class));
+                    return responseObject;
+                }
+            }
+
+            final String responseCacheKey = cacheKey;
+            IRequest request = buildRequest(targetUri, requestBody, requestConfig, headers, queryParams);
+            if (deadline != Deadline.NONE) {
+                // a timeout of 0 would disable the timeout altogether
+                request.setTimeout(Math.max(deadline.getRemaining(TimeUnit.MILLISECONDS), 1), TimeUnit.MILLISECONDS);
+            }
+            request.sendAsync()
+                    .whenComplete((response, failure) -> {
+                        if (failure != null) {
+                            responseObject.completeExceptionally(failure);
+                            return;
                         }
 
-                        Object responseObject = jsonSerialization.deserialize(responseBody, Object.class);
-                        String responseObjectName = call.getResponseObjectName();
-                        Map<String, Object> templateHttpCalls = (Map<String, Object>) currentMemory.get(KEY_HTTP_CALLS);
-                        if (templateHttpCalls == null) {
-                            templateHttpCalls = new HashMap<>();
-                            currentMemory.put(KEY_HTTP_CALLS, templateHttpCalls);
+                        try {
+                            if (call.getFallback() != null && !isSuccessful(response)) {
+                                responseObject.completeExceptionally(new HttpStatusException(call, response));
+                                return;
+                            }
+
+                            Object result = readResponseObject(call, response);
+                            if (result != null && responseCaching != null) {
+                                cacheResponse(responseCaching, responseCacheKey, response);
+                            }
+                            responseObject.complete(result);
+                        } catch (IOException | RuntimeException e) {
+                            responseObject.completeExceptionally(e);
                         }
+                    });
+        } catch (ITemplatingEngine.TemplateEngineException | IOException | RuntimeException e) {
+            responseObject.completeExceptionally(e);
+        }
 
-                        templateHttpCalls.put(responseObjectName, responseObject);
-                        templateDataObjects.put(responseObjectName, responseObject);
+        return responseObject;
+    }
 
-                        String memoryDataName = "httpCalls:" + responseObjectName;
-                        IData<Object> httpResponseData = dataFactory.createData(memoryDataName, responseObject);
-                        memory.getCurrentStep().storeData(httpResponseData);
+    private static Object fallback(HttpCallExecution execution, Throwable failure) {
+        if (failure instanceof CompletionException && failure.getCause() != null) {
+            failure = failure.getCause();
+        }
 
-                        runPostResponse(memory, call, templateDataObjects);
-                    }
-                } catch (IRequest.HttpRequestException | IOException | ITemplatingEngine.TemplateEngineException e) {
-                    log.error(e.getLocalizedMessage(), e);
-                    throw new LifecycleException(e.getLocalizedMessage(), e);
-                }
+        HttpCall call = execution.call;
+        if (failure instanceof IRequest.HttpRequestRejectedException) {
+            execution.failureReason = ((IRequest.HttpRequestRejectedException) failure).getReason().name().toLowerCase();
+        } else if (failure instanceof HttpStatusException) {
+            execution.failureReason = FAILURE_REASON_HTTP_STATUS + ((HttpStatusException) failure).httpCode;
+        } else {
+            execution.failureReason = FAILURE_REASON_FAILED;
+        }
+
+        String message = "HttpCall (%s) failed (%s), using its fallback instead.";
+        log.warn(String.format(message, call.getName(), failure.getLocalizedMessage()));
+
+        return call.isSaveResponse() ? call.getFallback().getResponse() : null;
+    }
+
+    /**
+     * resolves the template model of the memory into plain maps, down to the data of the explicit root keys
+     * (e.g. httpCalls), thus it can be read by any thread, while the memory is modified
+     */
+    private Map<String, Object> createMemorySnapshot(IConversationMemory memory) {
+        return copyMaps(memoryTemplateConverter.convertMemoryForTemplating(memory), MEMORY_SNAPSHOT_DEPTH);
+    }
+
+    private static Map<String, Object> copyMaps(Map<?, ?> map, int depth) {
+        Map<String, Object> copy = new HashMap<>();
+        map.forEach((key, value) -> copy.put(String.valueOf(key),
+                depth > 1 && value instanceof Map ? copyMaps((Map<?, ?>) value, depth - 1) : value));
+        return copy;
+    }
+
+    /**
+     * @param memorySnapshot shared by all calls, thus only copies of it are modified
+     */
+    private static Map<String, Object> createTemplateDataObjects(Map<String, Object> memorySnapshot,
+                                                                 HttpCallExecution execution) {
+        Map<String, Object> memoryForTemplate = new HashMap<>(memorySnapshot);
+        Map<String, Object> currentMemory = new HashMap<>((Map<String, Object>) memorySnapshot.get("current"));
+        Object templateHttpCalls = currentMemory.get(KEY_HTTP_CALLS);
+        if (templateHttpCalls instanceof Map) {
+            currentMemory.put(KEY_HTTP_CALLS, new HashMap<>((Map<String, Object>) templateHttpCalls));
+        }
+        memoryForTemplate.put("current", currentMemory);
+
+        Map<String, Object> templateDataObjects = new HashMap<>();
+        templateDataObjects.put("memory", memoryForTemplate);
+
+        for (HttpCallExecution dependency : execution.getAllDependencies()) {
+            Object responseObject = dependency.responseObject.getNow(null);
+            if (responseObject != null) {
+                addResponseObject(templateDataObjects, dependency.call.getResponseObjectName(), responseObject);
             }
         }
+
+        return templateDataObjects;
+    }
+
+    private static void addResponseObject(Map<String, Object> templateDataObjects,
+                                          String responseObjectName, Object responseObject) {
+        Map<String, Object> memoryForTemplate = (Map<String, Object>) templateDataObjects.get("memory");
+        Map<String, Object> currentMemory = (Map<String, Object>) memoryForTemplate.get("current");
+        Map<String, Object> templateHttpCalls = (Map<String, Object>) currentMemory.get(KEY_HTTP_CALLS);
+        if (templateHttpCalls == null) {
+            templateHttpCalls = new HashMap<>();
+            currentMemory.put(KEY_HTTP_CALLS, templateHttpCalls);
+        }
+
+        templateHttpCalls.put(responseObjectName, responseObject);
+        templateDataObjects.put(responseObjectName, responseObject);
+    }
+
+    private static boolean isSuccessful(IResponse response) {
+        return response.getHttpCode() >= 200 && response.getHttpCode() < 300;
+    }
+
+    private Object readResponseObject(HttpCall call, IResponse response) throws IOException {
+        if (response.getHttpCode() != 200) {
+            String message = "HttpCall (%s) didn't return http code 200, instead %s.";
+            log.warn(String.format(message, call.getName(), response.getHttpCode()));
+            log.warn("Error Msg:" + response.getHttpCodeMessage());
+            return null;
+        }
+
+        if (!call.isSaveResponse()) {
+            return null;
+        }
+
+        final String responseBody = response.getContentAsString();
+        String actualContentType = response.getHttpHeader(CONTENT_TYPE);
+        if (actualContentType != null) {
+            actualContentType = actualContentType.split(";")[0];
+        } else {
+            actualContentType = "<not-present>";
+        }
+
+        if (!CONTENT_TYPE_APPLICATION_JSON.startsWith(actualContentType)) {
+            String message = "HttpCall (%s) didn't return application/json as content-type, instead was (%s)";
+            log.warn(String.format(message, call.getName(), actualContentType));
+            return null;
+        }
+
+        return jsonSerialization.deserialize(responseBody, Object.class);
+    }
+
+    private void storeResponse(IConversationMemory memory, Map<String, Object> memorySnapshot,
+                               HttpCallExecution execution, Object responseObject)
+            throws ITemplatingEngine.TemplateEngineException, IOException {
+
+        HttpCall call = execution.call;
+        if (execution.templateDataObjects == null) {
+            // the call has not been sent at all, e.g. because one of its dependencies has failed
+            execution.templateDataObjects = createTemplateDataObjects(memorySnapshot, execution);
+        }
+
+        String responseObjectName = call.getResponseObjectName();
+        addResponseObject(execution.templateDataObjects, responseObjectName, responseObject);
+
+        String memoryDataName = "httpCalls:" + responseObjectName;
+        IData<Object> httpResponseData = dataFactory.createData(memoryDataName, responseObject);
+        memory.getCurrentStep().storeData(httpResponseData);
+
+        runPostResponse(memory, call, responseObject, execution.templateDataObjects);
     }
 
-    private void runPostResponse(IConversationMemory memory, HttpCall call, Map<String, Object> templateDataObjects)
+    private void runPostResponse(IConversationMemory memory, HttpCall call, Object responseObject,
+                                 Map<String, Object> templateDataObjects)
             throws ITemplatingEngine.TemplateEngineException, IOException {
 
         PostResponse postResponse = call.getPostResponse();
@@ -150,11 +413,17 @@ public class HttpCallsTask implements ILifecycleTask {
         }
 
         if (qrBuildInstruction != null) {
-            List<Map<String, String>> quickReplies = buildQuickReplies(qrBuildInstruction.getIterationObjectName(),
-                    qrBuildInstruction.getPathToTargetArray(),
-                    qrBuildInstruction.getQuickReplyValue(),
-                    qrBuildInstruction.getQuickReplyExpressions(),
-                    templateDataObjects);
+            List<Map<String, String>> quickReplies;
+            QuickRepliesBuilder quickRepliesBuilder = quickRepliesBuilders.get(call);
+            if (quickRepliesBuilder != null) {
+                quickReplies = quickRepliesBuilder.build(responseObject, templateDataObjects, templatingEngine);
+            } else {
+                quickReplies = buildQuickReplies(qrBuildInstruction.getIterationObjectName(),
+                        qrBuildInstruction.getPathToTargetArray(),
+                        qrBuildInstruction.getQuickReplyValue(),
+                        qrBuildInstruction.getQuickReplyExpressions(),
+                        templateDataObjects);
+            }
 
             Context context = new Context(Context.ContextType.object, quickReplies);
             IData<Context> contextData = dataFactory.createData("context:quickReplies", context);
@@ -162,22 +431,59 @@ public class HttpCallsTask implements ILifecycleTask {
         }
     }
 
-    private IRequest buildRequest(String targetUri, String requestBody, Request requestConfig, Map<String, Object> templateDataObjects) throws ITemplatingEngine.TemplateEngineException {
+    private IRequest buildRequest(String targetUri, String requestBody, Request requestConfig,
+                                  Map<String, String> headers, Map<String, String> queryParams) {
         IRequest request = httpClient.newRequest(URI.create(targetUri),
                 IHttpClient.Method.valueOf(requestConfig.getMethod().toUpperCase())).
                 setBodyEntity(requestBody,
                         UTF_8, requestConfig.getContentType());
 
-        Map<String, String> headers = requestConfig.getHeaders();
-        for (String headerName : headers.keySet()) {
-            request.setHttpHeader(headerName, templateValues(headers.get(headerName), templateDataObjects));
+        headers.forEach(request::setHttpHeader);
+        queryParams.forEach(request::setQueryParam);
+        return request;
+    }
+
+    private Map<String, String> templateValues(Map<String, String> toBeTemplated, Map<String, Object> properties)
+            throws ITemplatingEngine.TemplateEngineException {
+
+        Map<String, String> templated = new TreeMap<>();
+        for (Map.Entry<String, String> entry : toBeTemplated.entrySet()) {
+            templated.put(entry.getKey(), templateValues(entry.getValue(), properties));
         }
 
-        Map<String, String> queryParams = requestConfig.getQueryParams();
-        for (String queryParam : queryParams.keySet()) {
-            request.setQueryParam(queryParam, templateValues(queryParams.get(queryParam), templateDataObjects));
+        return templated;
+    }
+
+    private static String createCacheKey(String method, String targetUri, Map<String, String> queryParams,
+                                         Map<String, String> headers, String requestBody) {
+        // headers are part of the key, thus responses to differently authorized requests are never shared
+        String request = method.toUpperCase() + " " + targetUri + "\n" + queryParams + "\n" + headers + "\n" + requestBody;
+        return DigestUtils.sha256Hex(request);
+    }
+
+    private void cacheResponse(ResponseCaching responseCaching, String cacheKey, IResponse response) {
+        long timeToLive = responseCaching.getTimeToLiveInSeconds();
+        if (responseCaching.isHonorCacheControl()) {
+            String cacheControl = response.getHttpHeader(CACHE_CONTROL);
+            if (cacheControl != null) {
+                for (String directive : cacheControl.toLowerCase().split(",")) {
+                    directive = directive.trim();
+                    if (directive.equals("no-store") || directive.equals("no-cache") || directive.equals("private")) {
+                        return;
+                    } else if (directive.startsWith("max-age=")) {
+                        try {
+                            timeToLive = Long.parseLong(directive.substring("max-age=".length()));
+                        } catch (NumberFormatException e) {
+                            log.warn("Ignoring invalid Cache-Control directive: " + directive);
+                        }
+                    }
+                }
+            }
+        }
+
+        if (timeToLive > 0) {
+            responseCache.put(cacheKey, response.getContentAsString(), timeToLive, TimeUnit.SECONDS);
         }
-        return request;
     }
 
     private String templateValues(String toBeTemplated, Map<String, Object> properties)
@@ -213,10 +519,16 @@ public class HttpCallsTask implements ILifecycleTask {
         URI uri = URI.create(uriObj.toString());
 
         try {
-            HttpCallsConfiguration httpCallsConfig = resourceClientLibrary.getResource(uri, HttpCallsConfiguration.class);
+            CompiledHttpCalls compiledHttpCalls = resourceClientLibrary.getCompiledResource(uri,
+                    HttpCallsConfiguration.class, httpCallsConfiguration -> {
+                        checkDependencies(httpCallsConfiguration.getHttpCalls());
+                        return new CompiledHttpCalls(httpCallsConfiguration,
+                                createQuickRepliesBuilders(httpCallsConfiguration.getHttpCalls()));
+                    });
 
-            this.targetServerUri = httpCallsConfig.getTargetServer().toString();
-            this.httpCalls = httpCallsConfig.getHttpCalls();
+            this.targetServerUri = compiledHttpCalls.configuration.getTargetServer().toString();
+            this.httpCalls = compiledHttpCalls.configuration.getHttpCalls();
+            this.quickRepliesBuilders = compiledHttpCalls.quickRepliesBuilders;
 
         } catch (ServiceException e) {
             log.error(e.getLocalizedMessage(), e);
@@ -224,6 +536,45 @@ public class HttpCallsTask implements ILifecycleTask {
         }
     }
 
+    private static Map<HttpCall, QuickRepliesBuilder> createQuickRepliesBuilders(List<HttpCall> httpCalls)
+            throws PackageConfigurationException {
+
+        Map<HttpCall, QuickRepliesBuilder> quickRepliesBuilders = new IdentityHashMap<>();
+        for (HttpCall httpCall : httpCalls) {
+            PostResponse postResponse = httpCall.getPostResponse();
+            if (postResponse != null && postResponse.getQrBuildInstruction() != null &&
+                    postResponse.getQrBuildInstruction().getJsonPath() != null) {
+                quickRepliesBuilders.put(httpCall, new QuickRepliesBuilder(postResponse.getQrBuildInstruction()));
+            }
+        }
+
+        return quickRepliesBuilders;
+    }
+
+    /**
+     * calls can only wait for calls triggered before them, thus a call may only depend on calls declared before it
+     */
+    private static void checkDependencies(List<HttpCall> httpCalls) throws PackageConfigurationException {
+        Set<String> names = httpCalls.stream().map(HttpCall::getName).collect(Collectors.toSet());
+        Set<String> declaredBefore = new HashSet<>();
+        for (HttpCall httpCall : httpCalls) {
+            if (httpCall.getDependsOn() != null) {
+                for (String dependencyName : httpCall.getDependsOn()) {
+                    if (!names.contains(dependencyName)) {
+                        String message = "HttpCall (%s) depends on unknown HttpCall (%s).";
+                        throw new PackageConfigurationException(String.format(message, httpCall.getName(), dependencyName));
+                    }
+
+                    if (!declaredBefore.contains(dependencyName)) {
+                        String message = "HttpCall (%s) depends on HttpCall (%s), which is declared after it.";
+                        throw new PackageConfigurationException(String.format(message, httpCall.getName(), dependencyName));
+                    }
+                }
+            }
+            declaredBefore.add(httpCall.getName());
+        }
+    }
+
     @Override
     public ExtensionDescriptor getExtensionDescriptor() {
         ExtensionDescriptor extensionDescriptor = new ExtensionDescriptor(ID);
@@ -232,4 +583,54 @@ public class HttpCallsTask implements ILifecycleTask {
         extensionDescriptor.getConfigs().put("uri", configValue);
         return extensionDescriptor;
     }
+
+    private static class CompiledHttpCalls {
+        private final HttpCallsConfiguration configuration;
+        private final Map<HttpCall, QuickRepliesBuilder> quickRepliesBuilders;
+
+        private CompiledHttpCalls(HttpCallsConfiguration configuration,
+                                  Map<HttpCall, QuickRepliesBuilder> quickRepliesBuilders) {
+            this.configuration = configuration;
+            this.quickRepliesBuilders = quickRepliesBuilders;
+        }
+    }
+
+    /**
+     * a response with a non 2xx http code of a call with fallback
+     */
+    private static class HttpStatusException extends IOException {
+        private final int httpCode;
+
+        private HttpStatusException(HttpCall call, IResponse response) {
+            super(String.format("HttpCall (%s) returned http code %s (%s).",
+                    call.getName(), response.getHttpCode(), response.getHttpCodeMessage()));
+            this.httpCode = response.getHttpCode();
+        }
+    }
+
+    private static class HttpCallExecution {
+        private final HttpCall call;
+        private final List<HttpCallExecution> dependencies;
+        private CompletableFuture<Object> responseObject;
+        private Map<String, Object> templateDataObjects;
+        private volatile String failureReason;
+
+        private HttpCallExecution(HttpCall call, List<HttpCallExecution> dependencies) {
+            this.call = call;
+            this.dependencies = dependencies;
+        }
+
+        /**
+         * @return direct and indirect dependencies, in the order they have been triggered
+         */
+        private Set<HttpCallExecution> getAllDependencies() {
+            Set<HttpCallExecution> allDependencies = new LinkedHashSet<>();
+            for (HttpCallExecution dependency : dependencies) {
+                allDependencies.addAll(dependency.getAllDependencies());
+                allDependencies.add(dependency);
+            }
+
+            return allDependencies;
+        }
+    }
 }
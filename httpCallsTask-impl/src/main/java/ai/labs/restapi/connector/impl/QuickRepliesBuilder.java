@@ -0,0 +1,82 @@
+package ai.labs.restapi.connector.impl;
+
+import ai.labs.lifecycle.PackageConfigurationException;
+import ai.labs.resources.rest.http.model.QuickRepliesBuildingInstruction;
+import ai.labs.templateengine.ITemplatingEngine;
+import com.jayway.jsonpath.InvalidPathException;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.PathNotFoundException;
+
+import java.util.*;
+
+/**
+ * Builds quick replies directly out of the deserialized response of an http call: the elements are selected
+ * by a JsonPath compiled once at configuration time, value and expressions are templated per element.
+ *
+ * @author ginccc
+ */
+class QuickRepliesBuilder {
+    private static final String KEY_VALUE = "value";
+    private static final String KEY_EXPRESSIONS = "expressions";
+
+    private final JsonPath pathToTargetElements;
+    private final String iterationObjectName;
+    private final String quickReplyValue;
+    private final String quickReplyExpressions;
+
+    QuickRepliesBuilder(QuickRepliesBuildingInstruction instruction) throws PackageConfigurationException {
+        try {
+            this.pathToTargetElements = JsonPath.compile(instruction.getJsonPath());
+        } catch (InvalidPathException e) {
+            String message = "Invalid JsonPath (%s) for building quick replies.";
+            throw new PackageConfigurationException(String.format(message, instruction.getJsonPath()), e);
+        }
+        this.iterationObjectName = instruction.getIterationObjectName();
+        this.quickReplyValue = instruction.getQuickReplyValue();
+        this.quickReplyExpressions = instruction.getQuickReplyExpressions();
+    }
+
+    List<Map<String, String>> build(Object responseObject,
+                                    Map<String, Object> templateDataObjects,
+                                    ITemplatingEngine templatingEngine)
+            throws ITemplatingEngine.TemplateEngineException {
+
+        List<Map<String, String>> quickReplies = new LinkedList<>();
+        Object previousIterationObject = templateDataObjects.get(iterationObjectName);
+        try {
+            for (Object element : selectElements(responseObject)) {
+                templateDataObjects.put(iterationObjectName, element);
+
+                Map<String, String> quickReply = new LinkedHashMap<>();
+                quickReply.put(KEY_VALUE, templatingEngine.processTemplate(quickReplyValue, templateDataObjects));
+                quickReply.put(KEY_EXPRESSIONS, templatingEngine.processTemplate(quickReplyExpressions, templateDataObjects));
+                quickReplies.add(quickReply);
+            }
+        } finally {
+            if (previousIterationObject != null) {
+                templateDataObjects.put(iterationObjectName, previousIterationObject);
+            } else {
+                templateDataObjects.remove(iterationObjectName);
+            }
+        }
+
+        return quickReplies;
+    }
+
+    private List<Object> selectElements(Object responseObject) {
+        Object selected;
+        try {
+            selected = pathToTargetElements.read(responseObject);
+        } catch (PathNotFoundException e) {
+            return Collections.emptyList();
+        }
+
+        if (selected == null) {
+            return Collections.emptyList();
+        } else if (selected instanceof List) {
+            return (List<Object>) selected;
+        } else {
+            return Collections.singletonList(selected);
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package ai.labs.restapi.connector.impl;
+
+import ai.labs.caching.ICache;
+import ai.labs.caching.ICacheFactory;
+import ai.labs.httpclient.IHttpClient;
+import ai.labs.httpclient.IRequest;
+import ai.labs.httpclient.IResponse;
+import ai.labs.lifecycle.Deadline;
+import ai.labs.lifecycle.LifecycleException;
+import ai.labs.lifecycle.PackageConfigurationException;
+import ai.labs.lifecycle.model.Context;
+import ai.labs.memory.IConversationMemory;
+import ai.labs.memory.IData;
+import ai.labs.memory.IDataFactory;
+import ai.labs.resources.rest.http.model.Fallback;
+import ai.labs.resources.rest.http.model.HttpCall;
+import ai.labs.resources.rest.http.model.HttpCallsConfiguration;
+import ai.labs.resources.rest.http.model.Request;
+import ai.labs.resources.rest.http.model.ResponseCaching;
+import ai.labs.runtime.client.configuration.IResourceClientLibrary;
+import ai.labs.serialization.IJsonSerialization;
+import ai.labs.templateengine.IMemoryTemplateConverter;
+import ai.labs.templateengine.ITemplatingEngine;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author ginccc
+ */
+public class HttpCallsTaskTest {
+    private static final String TARGET_SERVER = "http://localhost";
+    private static final String ACTION = "action";
+    private IHttpClient httpClient;
+    private ICache<String, String> responseCache;
+    private IConversationMemory memory;
+    private Map<String, Object> storedData;
+    private HttpCallsConfiguration configuration;
+    private HttpCallsTask httpCallsTask;
+    private ExecutorService executorService;
+    private IMemoryTemplateConverter memoryTemplateConverter;
+
+    @Before
+    public void setUp() throws Exception {
+        httpClient = mock(IHttpClient.class);
+        responseCache = mock(ICache.class);
+        ICacheFactory cacheFactory = mock(ICacheFactory.class);
+        when(cacheFactory.getCache(anyString())).then(invocation -> responseCache);
+
+        IJsonSerialization jsonSerialization = mock(IJsonSerialization.class);
+        when(jsonSerialization.deserialize(anyString(), eq(Object.class))).
+                then(invocation -> Collections.singletonMap("body", invocation.getArgument(0)));
+
+        IResourceClientLibrary resourceClientLibrary = mock(IResourceClientLibrary.class);
+        when(resourceClientLibrary.getCompiledResource(any(URI.class), eq(HttpCallsConfiguration.class), any())).
+                then(invocation -> invocation.<IResourceClientLibrary.IResourceCompiler>getArgument(2).
+                        compile(configuration));
+
+        IDataFactory dataFactory = mock(IDataFactory.class);
+        when(dataFactory.createData(anyString(), any())).then(invocation -> {
+            IData data = mock(IData.class);
+            when(data.getKey()).thenReturn(invocation.getArgument(0));
+            when(data.getResult()).thenReturn(invocation.getArgument(1));
+            return data;
+        });
+
+        ITemplatingEngine templatingEngine = mock(ITemplatingEngine.class);
+        when(templatingEngine.processTemplate(anyString(), anyMap())).then(invocation -> invocation.getArgument(0));
+        memoryTemplateConverter = mock(IMemoryTemplateConverter.class);
+        when(memoryTemplateConverter.convertMemoryForTemplating(any())).then(invocation -> {
+            Map<String, Object> memoryForTemplate = new HashMap<>();
+            memoryForTemplate.put("current", new HashMap<>());
+            return memoryForTemplate;
+        });
+
+        memory = mock(IConversationMemory.class);
+        IConversationMemory.IWritableConversationStep currentStep = mock(IConversationMemory.IWritableConversationStep.class);
+        when(memory.getCurrentStep()).thenReturn(currentStep);
+        IData<List<String>> actions = mock(IData.class);
+        when(actions.getResult()).thenReturn(Collections.singletonList(ACTION));
+        when(currentStep.getLatestData("actions")).then(invocation -> actions);
+        storedData = new ConcurrentHashMap<>();
+        doAnswer(invocation -> {
+            IData data = invocation.getArgument(0);
+            storedData.put(data.getKey(), data.getResult());
+            return null;
+        }).when(currentStep).storeData(any(IData.class));
+
+        configuration = new HttpCallsConfiguration();
+        configuration.setTargetServer(URI.create(TARGET_SERVER));
+        httpCallsTask = new HttpCallsTask(httpClient, jsonSerialization, resourceClientLibrary, dataFactory,
+                templatingEngine, memoryTemplateConverter, cacheFactory);
+        executorService = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void callWaitsForItsDependenciesOnly() throws Exception {
+        //setup
+        HttpCall first = createHttpCall("first", null);
+        HttpCall dependent = createHttpCall("dependent", Collections.singletonList("first"));
+        HttpCall independent = createHttpCall("independent", Collections.emptyList());
+        configure(first, dependent, independent);
+        CompletableFuture<IResponse> firstResponse = new CompletableFuture<>();
+        IRequest firstRequest = mockRequest("first", firstResponse);
+        IRequest dependentRequest = mockRequest("dependent", CompletableFuture.completedFuture(mockResponse(200)));
+        IRequest independentRequest = mockRequest("independent", CompletableFuture.completedFuture(mockResponse(200)));
+
+        //test
+        Future<?> execution = executorService.submit(() -> {
+            httpCallsTask.executeTask(memory);
+            return null;
+        });
+
+        //assert
+        verify(independentRequest, timeout(1000)).sendAsync();
+        verify(firstRequest).sendAsync();
+        verify(dependentRequest, never()).sendAsync();
+
+        //test
+        firstResponse.complete(mockResponse(200));
+        execution.get(1, TimeUnit.SECONDS);
+
+        //assert
+        verify(dependentRequest).sendAsync();
+        Assert.assertTrue(storedData.containsKey("httpCalls:dependent"));
+    }
+
+    @Test
+    public void memoryIsConvertedOnceBeforeDispatch() throws Exception {
+        //setup
+        HttpCall first = createHttpCall("first", null);
+        HttpCall dependent = createHttpCall("dependent", null);
+        configure(first, dependent);
+        CompletableFuture<IResponse> firstResponse = new CompletableFuture<>();
+        mockRequest("first", firstResponse);
+        IRequest dependentRequest = mockRequest("dependent", CompletableFuture.completedFuture(mockResponse(200)));
+        Future<?> execution = executorService.submit(() -> {
+            httpCallsTask.executeTask(memory);
+            return null;
+        });
+        verify(memoryTemplateConverter, timeout(1000)).convertMemoryForTemplating(memory);
+
+        //test
+        firstResponse.complete(mockResponse(200));
+        execution.get(1, TimeUnit.SECONDS);
+
+        //assert
+        verify(dependentRequest).sendAsync();
+        verify(memoryTemplateConverter, times(1)).convertMemoryForTemplating(any());
+    }
+
+    @Test
+    public void timeoutCancelsCallsWaitingForDependencies() throws Exception {
+        //setup
+        HttpCall first = createHttpCall("first", null);
+        HttpCall dependent = createHttpCall("dependent", null);
+        configure(first, dependent);
+        CompletableFuture<IResponse> firstResponse = new CompletableFuture<>();
+        mockRequest("first", firstResponse);
+        IRequest dependentRequest = mockRequest("dependent", CompletableFuture.completedFuture(mockResponse(200)));
+
+        //test
+        try {
+            httpCallsTask.executeTask(memory, Deadline.after(1, TimeUnit.MILLISECONDS));
+            Assert.fail("Expected the calls to have timed out.");
+        } catch (LifecycleException e) {
+            Assert.assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        firstResponse.complete(mockResponse(200));
+
+        //assert
+        verify(dependentRequest, never()).sendAsync();
+        Assert.assertTrue(storedData.isEmpty());
+    }
+
+    @Test(expected = PackageConfigurationException.class)
+    public void dependencyDeclaredLaterFailsConfiguration() throws Exception {
+        //setup
+        HttpCall dependent = createHttpCall("dependent", Collections.singletonList("later"));
+        HttpCall later = createHttpCall("later", null);
+
+        //test
+        configure(dependent, later);
+    }
+
+    @Test
+    public void requestIsBoundedWithoutDeadline() throws Exception {
+        //setup
+        configure(createHttpCall("call", null));
+        IRequest request = mockRequest("call", CompletableFuture.completedFuture(mockResponse(200)));
+
+        //test
+        httpCallsTask.executeTask(memory);
+
+        //assert
+        verify(request).setTimeout(longThat(timeout -> timeout > 0 && timeout <= 60000), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void cachedResponseIsNotRequestedAgain() throws Exception {
+        //setup
+        HttpCall call = createHttpCall("call", null);
+        call.setResponseCaching(new ResponseCaching());
+        configure(call);
+        when(responseCache.get(anyString())).thenReturn("{\"cached\":true}");
+
+        //test
+        httpCallsTask.executeTask(memory);
+
+        //assert
+        verify(httpClient, never()).newRequest(any(URI.class), any(IHttpClient.Method.class));
+        Assert.assertEquals(Collections.singletonMap("body", "{\"cached\":true}"), storedData.get("httpCalls:call"));
+    }
+
+    @Test
+    public void cacheKeyDependsOnHeaders() throws Exception {
+        //setup
+        HttpCall user1 = createHttpCall("call", null);
+        user1.setResponseCaching(new ResponseCaching());
+        user1.getRequest().getHeaders().put("Authorization", "user1");
+        HttpCall user2 = createHttpCall("call", Collections.emptyList());
+        user2.setResponseObjectName("call2");
+        user2.setResponseCaching(new ResponseCaching());
+        user2.getRequest().getHeaders().put("Authorization", "user2");
+        configure(user1, user2);
+        mockRequest("call", CompletableFuture.completedFuture(mockResponse(200)));
+
+        //test
+        httpCallsTask.executeTask(memory);
+
+        //assert
+        ArgumentCaptor<String> cacheKeys = ArgumentCaptor.forClass(String.class);
+        verify(responseCache, times(2)).get(cacheKeys.capture());
+        Assert.assertNotEquals(cacheKeys.getAllValues().get(0), cacheKeys.getAllValues().get(1));
+        verify(responseCache).put(eq(cacheKeys.getAllValues().get(0)), eq("{}"), eq(60L), eq(TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void maxAgeOverridesTimeToLive() throws Exception {
+        //setup
+        HttpCall call = createHttpCall("call", null);
+        ResponseCaching responseCaching = new ResponseCaching();
+        responseCaching.setHonorCacheControl(true);
+        call.setResponseCaching(responseCaching);
+        configure(call);
+        mockRequest("call", CompletableFuture.completedFuture(mockResponse(200, "Cache-Control", "public, max-age=10")));
+
+        //test
+        httpCallsTask.executeTask(memory);
+
+        //assert
+        verify(responseCache).put(anyString(), eq("{}"), eq(10L), eq(TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void noStoreIsNotCached() throws Exception {
+        //setup
+        HttpCall call = createHttpCall("call", null);
+        ResponseCaching responseCaching = new ResponseCaching();
+        responseCaching.setHonorCacheControl(true);
+        call.setResponseCaching(responseCaching);
+        configure(call);
+        mockRequest("call", CompletableFuture.completedFuture(mockResponse(200, "Cache-Control", "No-Store")));
+
+        //test
+        httpCallsTask.executeTask(memory);
+
+        //assert
+        verify(responseCache, never()).put(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+        Assert.assertTrue(storedData.containsKey("httpCalls:call"));
+    }
+
+    @Test
+    public void errorStatusUsesFallback() throws Exception {
+        //setup
+        HttpCall call = createHttpCall("call", null);
+        Fallback fallback = new Fallback();
+        fallback.setResponse("fallback");
+        call.setFallback(fallback);
+        configure(call);
+        mockRequest("call", CompletableFuture.completedFuture(mockResponse(503)));
+
+        //test
+        httpCallsTask.executeTask(memory);
+
+        //assert
+        Assert.assertEquals("fallback", storedData.get("httpCalls:call"));
+        Context context = (Context) storedData.get("context:httpCalls:call");
+        Assert.assertEquals("http_503", context.getValue());
+    }
+
+    @Test
+    public void errorStatusWithoutFallbackStoresNoResponse() throws Exception {
+        //setup
+        configure(createHttpCall("call", null));
+        mockRequest("call", CompletableFuture.completedFuture(mockResponse(503)));
+
+        //test
+        httpCallsTask.executeTask(memory);
+
+        //assert
+        Assert.assertTrue(storedData.isEmpty());
+    }
+
+    private void configure(HttpCall... httpCalls) throws Exception {
+        configuration.setHttpCalls(Arrays.asList(httpCalls));
+        httpCallsTask.configure(Collections.singletonMap("uri",
+                "eddi://ai.labs.httpcalls/httpcallsstore/httpcalls/id?version=1"));
+    }
+
+    private static HttpCall createHttpCall(String name, List<String> dependsOn) {
+        HttpCall httpCall = new HttpCall();
+        httpCall.setName(name);
+        httpCall.setActions(Collections.singletonList(ACTION));
+        httpCall.setSaveResponse(true);
+        httpCall.setResponseObjectName(name);
+        httpCall.setDependsOn(dependsOn);
+        Request request = new Request();
+        request.setPath("/" + name);
+        httpCall.setRequest(request);
+        return httpCall;
+    }
+
+    private IRequest mockRequest(String name, CompletableFuture<IResponse> response) {
+        IRequest request = mock(IRequest.class, invocation ->
+                invocation.getMethod().getReturnType() == IRequest.class ? invocation.getMock() : null);
+        doReturn(response).when(request).sendAsync();
+        when(httpClient.newRequest(eq(URI.create(TARGET_SERVER + "/" + name)), any(IHttpClient.Method.class))).
+                thenReturn(request);
+        return request;
+    }
+
+    private static IResponse mockResponse(int httpCode, String... headers) {
+        IResponse response = mock(IResponse.class);
+        when(response.getHttpCode()).thenReturn(httpCode);
+        when(response.getContentAsString()).thenReturn("{}");
+        when(response.getHttpHeader("Content-Type")).thenReturn("application/json");
+        for (int i = 0; i + 1 < headers.length; i += 2) {
+            when(response.getHttpHeader(headers[i])).thenReturn(headers[i + 1]);
+        }
+        return response;
+    }
+}
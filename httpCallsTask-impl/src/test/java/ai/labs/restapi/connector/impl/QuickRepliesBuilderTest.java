@@ -0,0 +1,67 @@
+package ai.labs.restapi.connector.impl;
+
+import ai.labs.resources.rest.http.model.QuickRepliesBuildingInstruction;
+import ai.labs.templateengine.ITemplatingEngine;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author ginccc
+ */
+public class QuickRepliesBuilderTest {
+    private ITemplatingEngine templatingEngine;
+    private QuickRepliesBuildingInstruction instruction;
+
+    @Before
+    public void setUp() throws Exception {
+        templatingEngine = mock(ITemplatingEngine.class);
+        when(templatingEngine.processTemplate(anyString(), anyMap())).then(invocation -> {
+            String template = invocation.getArgument(0);
+            Map<String, Object> dataObjects = invocation.getArgument(1);
+            return template.replace("[[${obj.name}]]", ((Map) dataObjects.get("obj")).get("name").toString());
+        });
+
+        instruction = new QuickRepliesBuildingInstruction();
+        instruction.setJsonPath("$.results[*]");
+        instruction.setQuickReplyValue("[[${obj.name}]]");
+        instruction.setQuickReplyExpressions("property(choice([[${obj.name}]]))");
+    }
+
+    @Test
+    public void build() throws Exception {
+        //setup
+        Map<String, Object> response = new HashMap<>();
+        response.put("results", Arrays.asList(
+                Collections.singletonMap("name", "first"), Collections.singletonMap("name", "second")));
+        Map<String, Object> templateDataObjects = new HashMap<>();
+        templateDataObjects.put("obj", "unrelated");
+
+        //test
+        List<Map<String, String>> quickReplies =
+                new QuickRepliesBuilder(instruction).build(response, templateDataObjects, templatingEngine);
+
+        //assert
+        Assert.assertEquals(2, quickReplies.size());
+        Assert.assertEquals("first", quickReplies.get(0).get("value"));
+        Assert.assertEquals("property(choice(second))", quickReplies.get(1).get("expressions"));
+        Assert.assertEquals("unrelated", templateDataObjects.get("obj"));
+    }
+
+    @Test
+    public void buildWithoutMatchingElements() throws Exception {
+        //test
+        List<Map<String, String>> quickReplies = new QuickRepliesBuilder(instruction).
+                build(new HashMap<>(), new HashMap<>(), templatingEngine);
+
+        //assert
+        Assert.assertTrue(quickReplies.isEmpty());
+    }
+}
@@ -2,4 +2,11 @@ package ai.labs.httpclient;
 
 public interface ICompleteListener {
     void onComplete(IResponse response) throws IResponse.HttpResponseException;
+
+    /**
+     * called instead of {@link #onComplete(IResponse)} if the request could not be completed
+     * (e.g. connection refused or timed out)
+     */
+    default void onFailure(Throwable failure) {
+    }
 }
@@ -1,9 +1,20 @@
 package ai.labs.httpclient;
 
+import ai.labs.httpclient.model.ConnectionPoolMetrics;
+
 import java.net.CookieStore;
 import java.net.URI;
+import java.util.List;
 
 public interface IHttpClient {
+    /**
+     * names of the client profiles, each one is bound as @Named IHttpClient with its own
+     * connection pool, timeouts and executor (see httpClient.properties)
+     */
+    String PROFILE_HTTP_CALLS = "httpCalls";
+    String PROFILE_CALLBACKS = "callbacks";
+    String PROFILE_CHANNELS = "channels";
+
     enum Method {
         HEAD,
         GET,
@@ -18,4 +29,9 @@ public interface IHttpClient {
     IRequest newRequest(URI uri);
 
     IRequest newRequest(URI uri, Method method);
+
+    /**
+     * @return live connection pool metrics of all destinations this client has connected to
+     */
+    List<ConnectionPoolMetrics> getConnectionPoolMetrics();
 }
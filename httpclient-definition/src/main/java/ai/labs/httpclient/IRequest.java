@@ -1,5 +1,6 @@
 package ai.labs.httpclient;
 
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
 
 public interface IRequest {
@@ -21,6 +22,19 @@ public interface IRequest {
 
     void send(ICompleteListener completeListener) throws HttpRequestException;
 
+    /**
+     * sends this request without blocking the calling thread, the response body is buffered
+     * up to the max response size
+     */
+    CompletionStage<IResponse> sendAsync();
+
+    /**
+     * sends this request without blocking the calling thread and completes as soon as the response
+     * headers have arrived, the body can be read via {@link IResponse#getContentAsStream()}
+     * while it is still being received
+     */
+    CompletionStage<IResponse> sendStreaming();
+
     class HttpRequestException extends Exception {
         public HttpRequestException(String message) {
             super(message);
@@ -30,4 +44,26 @@ public interface IRequest {
             super(message, cause);
         }
     }
+
+    /**
+     * thrown if a request has not been sent at all, because its destination is considered unavailable
+     * or already handles too many concurrent requests
+     */
+    class HttpRequestRejectedException extends HttpRequestException {
+        public enum Reason {
+            CIRCUIT_OPEN,
+            BULKHEAD_FULL
+        }
+
+        private final Reason reason;
+
+        public HttpRequestRejectedException(String message, Reason reason) {
+            super(message);
+            this.reason = reason;
+        }
+
+        public Reason getReason() {
+            return reason;
+        }
+    }
 }
@@ -1,16 +1,27 @@
 package ai.labs.httpclient;
 
+import java.io.InputStream;
 import java.util.Map;
 
 public interface IResponse {
     String getContentAsString();
 
+    /**
+     * @return body of this response, a streamed body can only be read once
+     */
+    InputStream getContentAsStream();
+
     int getHttpCode();
 
     String getHttpCodeMessage();
 
     Map<String, String> getHttpHeader();
 
+    /**
+     * @return value of the given header (case insensitive), null if not present
+     */
+    String getHttpHeader(String headerName);
+
     class HttpResponseException extends Exception {
         public HttpResponseException(String message) {
             super(message);
@@ -0,0 +1,21 @@
+package ai.labs.httpclient.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Snapshot of the connection pool of a single destination (scheme, host and port).
+ * Active and idle counts are -1 for multiplexed (HTTP/2) pools.
+ *
+ * @author ginccc
+ */
+@Getter
+@AllArgsConstructor
+public class ConnectionPoolMetrics {
+    private String destination;
+    private int connections;
+    private int maxConnections;
+    private int activeConnections;
+    private int idleConnections;
+    private int queuedRequests;
+}
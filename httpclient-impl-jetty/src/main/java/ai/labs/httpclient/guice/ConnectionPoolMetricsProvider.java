@@ -0,0 +1,35 @@
+package ai.labs.httpclient.guice;
+
+import ai.labs.httpclient.IHttpClient;
+import ai.labs.httpclient.model.ConnectionPoolMetrics;
+import ai.labs.runtime.IMetricsProvider;
+
+import javax.inject.Provider;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Connection pool metrics of the http clients (connectionPools), per profile and destination.
+ *
+ * @author ginccc
+ */
+class ConnectionPoolMetricsProvider implements IMetricsProvider {
+    private final Map<String, Provider<IHttpClient>> httpClients;
+
+    ConnectionPoolMetricsProvider(Map<String, Provider<IHttpClient>> httpClients) {
+        this.httpClients = httpClients;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "connectionPools";
+    }
+
+    @Override
+    public Map<String, List<ConnectionPoolMetrics>> getMetrics() {
+        Map<String, List<ConnectionPoolMetrics>> metrics = new LinkedHashMap<>();
+        httpClients.forEach((profile, httpClient) -> metrics.put(profile, httpClient.get().getConnectionPoolMetrics()));
+        return metrics;
+    }
+}
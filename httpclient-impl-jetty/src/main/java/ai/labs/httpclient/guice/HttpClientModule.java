@@ -1,21 +1,27 @@
 package ai.labs.httpclient.guice;
 
 import ai.labs.httpclient.IHttpClient;
-import ai.labs.httpclient.impl.HttpClientWrapper;
+import ai.labs.httpclient.impl.HttpClientProfile;
+import ai.labs.httpclient.impl.ResilienceConfig;
+import ai.labs.runtime.IMetricsProvider;
 import ai.labs.runtime.bootstrap.AbstractBaseModule;
+import com.google.inject.Key;
 import com.google.inject.Provides;
-import org.eclipse.jetty.client.HttpClient;
-import org.eclipse.jetty.util.ssl.SslContextFactory;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.google.inject.Scopes;
+import com.google.inject.multibindings.Multibinder;
+import com.google.inject.name.Names;
 
 import javax.inject.Named;
+import javax.inject.Provider;
 import javax.inject.Singleton;
 import java.io.InputStream;
-import java.util.concurrent.ExecutorService;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
 
 public class HttpClientModule extends AbstractBaseModule {
-    private Logger logger = LoggerFactory.getLogger(this.getClass());
+    private static final String[] PROFILES = {
+            IHttpClient.PROFILE_HTTP_CALLS, IHttpClient.PROFILE_CALLBACKS, IHttpClient.PROFILE_CHANNELS};
 
     public HttpClientModule(InputStream... configFiles) {
         super(configFiles);
@@ -23,55 +29,33 @@ public class HttpClientModule extends AbstractBaseModule {
 
     @Override
     protected void configure() {
-        registerConfigFiles(configFiles);
+        Properties properties = registerConfigFiles(configFiles);
+
+        Map<String, Provider<IHttpClient>> httpClients = new LinkedHashMap<>();
+        for (String profile : PROFILES) {
+            bind(IHttpClient.class).annotatedWith(Names.named(profile)).
+                    toProvider(new HttpClientProvider(HttpClientProfile.fromProperties(profile, properties))).
+                    in(Scopes.SINGLETON);
+            httpClients.put(profile, getProvider(Key.get(IHttpClient.class, Names.named(profile))));
+        }
 
-        bind(IHttpClient.class).to(HttpClientWrapper.class);
+        Multibinder.newSetBinder(binder(), IMetricsProvider.class).addBinding().
+                toInstance(new ConnectionPoolMetricsProvider(httpClients));
     }
 
     @Provides
     @Singleton
-    public HttpClient provideHttpClient(ExecutorService executorService,
-                                        @Named("httpClient.maxConnectionsQueued") Integer maxConnectionsQueued,
-                                        @Named("httpClient.maxConnectionPerRoute") Integer maxConnectionPerRoute,
-                                        @Named("httpClient.requestBufferSize") Integer requestBufferSize,
-                                        @Named("httpClient.responseBufferSize") Integer responseBufferSize,
-                                        @Named("httpClient.maxRedirects") Integer maxRedirects,
-                                        @Named("httpClient.trustAllCertificates") Boolean trustAllCertificates) {
-
-        try {
-            SslContextFactory sslContextFactory = new SslContextFactory();
-            sslContextFactory.setTrustAll(trustAllCertificates);
-            HttpClient httpClient = new HttpClient(sslContextFactory);
-            httpClient.setExecutor(executorService);
-            httpClient.setMaxConnectionsPerDestination(maxConnectionsQueued);
-            httpClient.setMaxRequestsQueuedPerDestination(maxConnectionPerRoute);
-            httpClient.setRequestBufferSize(requestBufferSize);
-            httpClient.setResponseBufferSize(responseBufferSize);
-            httpClient.setMaxRedirects(maxRedirects);
-            httpClient.start();
-
-            registerHttpClientShutdownHook(httpClient);
-
-            return httpClient;
-        } catch (Exception e) {
-            logger.error(e.getLocalizedMessage(), e);
-            throw new RuntimeException(e.getLocalizedMessage(), e);
-        }
-    }
-
-    private void registerHttpClientShutdownHook(final HttpClient httpClient) {
-        Runtime.getRuntime().addShutdownHook(new Thread("ShutdownHook_HttpClient") {
-            @Override
-            public void run() {
-                try {
-                    if (!httpClient.isStopped()) {
-                        httpClient.stop();
-                    }
-                } catch (Throwable e) {
-                    String message = "HttpClient did not stop as expected.";
-                    logger.error(message, e);
-                }
-            }
-        });
+    public ResilienceConfig provideResilienceConfig(@Named("httpClient.circuitBreaker.failureRateThreshold") Integer failureRateThreshold,
+                                                    @Named("httpClient.circuitBreaker.slowCallRateThreshold") Integer slowCallRateThreshold,
+                                                    @Named("httpClient.circuitBreaker.slowCallDurationInMillis") Long slowCallDurationInMillis,
+                                                    @Named("httpClient.circuitBreaker.slidingWindowSize") Integer slidingWindowSize,
+                                                    @Named("httpClient.circuitBreaker.minimumNumberOfCalls") Integer minimumNumberOfCalls,
+                                                    @Named("httpClient.circuitBreaker.waitDurationInOpenStateInMillis") Long waitDurationInOpenStateInMillis,
+                                                    @Named("httpClient.circuitBreaker.permittedCallsInHalfOpenState") Integer permittedCallsInHalfOpenState,
+                                                    @Named("httpClient.bulkhead.maxConcurrentCallsPerDestination") Integer maxConcurrentCallsPerDestination) {
+
+        return new ResilienceConfig(failureRateThreshold, slowCallRateThreshold, slowCallDurationInMillis,
+                slidingWindowSize, minimumNumberOfCalls, waitDurationInOpenStateInMillis,
+                permittedCallsInHalfOpenState, maxConcurrentCallsPerDestination);
     }
 }
@@ -0,0 +1,93 @@
+package ai.labs.httpclient.guice;
+
+import ai.labs.httpclient.IHttpClient;
+import ai.labs.httpclient.impl.HttpClientProfile;
+import ai.labs.httpclient.impl.HttpClientWrapper;
+import ai.labs.httpclient.impl.ResilienceConfig;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.HttpClientTransport;
+import org.eclipse.jetty.client.http.HttpClientTransportOverHTTP;
+import org.eclipse.jetty.http2.client.HTTP2Client;
+import org.eclipse.jetty.http2.client.http.HttpClientTransportOverHTTP2;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Creates and starts the http client of a single profile.
+ *
+ * @author ginccc
+ */
+class HttpClientProvider implements Provider<IHttpClient> {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final HttpClientProfile profile;
+
+    @Inject
+    private ExecutorService executorService;
+    @Inject
+    private ResilienceConfig resilienceConfig;
+
+    HttpClientProvider(HttpClientProfile profile) {
+        this.profile = profile;
+    }
+
+    @Override
+    public IHttpClient get() {
+        try {
+            SslContextFactory sslContextFactory = new SslContextFactory();
+            sslContextFactory.setTrustAll(profile.isTrustAllCertificates());
+            HttpClient httpClient = new HttpClient(createTransport(), sslContextFactory);
+            if (profile.getThreads() > 0) {
+                QueuedThreadPool threadPool = new QueuedThreadPool(profile.getThreads());
+                threadPool.setName("httpClient-" + profile.getName());
+                httpClient.setExecutor(threadPool);
+            } else {
+                httpClient.setExecutor(executorService);
+            }
+            httpClient.setMaxConnectionsPerDestination(profile.getMaxConnectionsPerDestination());
+            httpClient.setMaxRequestsQueuedPerDestination(profile.getMaxRequestsQueuedPerDestination());
+            httpClient.setRequestBufferSize(profile.getRequestBufferSize());
+            httpClient.setResponseBufferSize(profile.getResponseBufferSize());
+            httpClient.setMaxRedirects(profile.getMaxRedirects());
+            httpClient.setConnectTimeout(profile.getConnectTimeoutInMillis());
+            httpClient.setIdleTimeout(profile.getIdleTimeoutInMillis());
+            httpClient.start();
+
+            registerHttpClientShutdownHook(httpClient);
+
+            return new HttpClientWrapper(httpClient, resilienceConfig, profile.getMaxResponseSizeInBytes());
+        } catch (Exception e) {
+            logger.error(e.getLocalizedMessage(), e);
+            throw new RuntimeException(e.getLocalizedMessage(), e);
+        }
+    }
+
+    private HttpClientTransport createTransport() {
+        if (profile.isHttp2Enabled()) {
+            return new HttpClientTransportOverHTTP2(new HTTP2Client());
+        }
+
+        return new HttpClientTransportOverHTTP();
+    }
+
+    private void registerHttpClientShutdownHook(final HttpClient httpClient) {
+        Runtime.getRuntime().addShutdownHook(new Thread("ShutdownHook_HttpClient_" + profile.getName()) {
+            @Override
+            public void run() {
+                try {
+                    if (!httpClient.isStopped()) {
+                        httpClient.stop();
+                    }
+                } catch (Throwable e) {
+                    String message = "HttpClient (%s) did not stop as expected.";
+                    logger.error(String.format(message, profile.getName()), e);
+                }
+            }
+        });
+    }
+}
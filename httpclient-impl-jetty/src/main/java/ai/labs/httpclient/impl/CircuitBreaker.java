@@ -0,0 +1,120 @@
+package ai.labs.httpclient.impl;
+
+/**
+ * Circuit breaker of a single destination. The outcomes of the last calls are kept in a sliding window;
+ * the circuit opens once enough calls have been recorded and either the failure rate or the slow call rate
+ * reaches its threshold. After a waiting period, a limited number of probe calls is permitted (half-open),
+ * which decide whether the circuit closes again or stays open.
+ *
+ * @author ginccc
+ */
+class CircuitBreaker {
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final ResilienceConfig config;
+    private final byte[] outcomes;
+    private int recordedCalls;
+    private int nextOutcome;
+    private int failedCalls;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int permittedProbes;
+
+    CircuitBreaker(ResilienceConfig config) {
+        this.config = config;
+        this.outcomes = new byte[Math.max(config.getSlidingWindowSize(), 1)];
+    }
+
+    synchronized boolean tryAcquirePermission(long now) {
+        switch (state) {
+            case OPEN:
+                if (now - openedAt < config.getWaitDurationInOpenStateInMillis()) {
+                    return false;
+                }
+                transitionTo(State.HALF_OPEN, now);
+                // fall through
+            case HALF_OPEN:
+                if (permittedProbes <= 0) {
+                    return false;
+                }
+                permittedProbes--;
+                return true;
+
+            default:
+            case CLOSED:
+                return true;
+        }
+    }
+
+    synchronized void onResult(boolean failed, long durationInMillis, long now) {
+        if (state == State.OPEN) {
+            return;
+        }
+
+        byte outcome = 0;
+        if (failed) {
+            outcome |= FAILED;
+        }
+        if (durationInMillis >= config.getSlowCallDurationInMillis()) {
+            outcome |= SLOW;
+        }
+        record(outcome);
+
+        if (state == State.HALF_OPEN) {
+            if (exceedsThresholds()) {
+                transitionTo(State.OPEN, now);
+            } else if (recordedCalls >= config.getPermittedCallsInHalfOpenState()) {
+                transitionTo(State.CLOSED, now);
+            }
+        } else if (recordedCalls >= config.getMinimumNumberOfCalls() && exceedsThresholds()) {
+            transitionTo(State.OPEN, now);
+        }
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    private void record(byte outcome) {
+        if (recordedCalls == outcomes.length) {
+            byte evicted = outcomes[nextOutcome];
+            failedCalls -= evicted & FAILED;
+            slowCalls -= (evicted & SLOW) >> 1;
+        } else {
+            recordedCalls++;
+        }
+
+        outcomes[nextOutcome] = outcome;
+        nextOutcome = (nextOutcome + 1) % outcomes.length;
+        failedCalls += outcome & FAILED;
+        slowCalls += (outcome & SLOW) >> 1;
+    }
+
+    private boolean exceedsThresholds() {
+        return failedCalls * 100 >= config.getFailureRateThreshold() * recordedCalls ||
+                slowCalls * 100 >= config.getSlowCallRateThreshold() * recordedCalls;
+    }
+
+    private void transitionTo(State state, long now) {
+        this.state = state;
+        recordedCalls = 0;
+        nextOutcome = 0;
+        failedCalls = 0;
+        slowCalls = 0;
+
+        if (state == State.OPEN) {
+            openedAt = now;
+        } else if (state == State.HALF_OPEN) {
+            permittedProbes = config.getPermittedCallsInHalfOpenState();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package ai.labs.httpclient.impl;
+
+import ai.labs.httpclient.IRequest.HttpRequestRejectedException;
+import ai.labs.httpclient.IRequest.HttpRequestRejectedException.Reason;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Circuit breaker and bulkhead of a single destination. A permit has to be acquired before sending
+ * a request and has to be released with the outcome of the request once it has completed.
+ *
+ * @author ginccc
+ */
+class DestinationGuard {
+    private final String destination;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+
+    DestinationGuard(String destination, ResilienceConfig config) {
+        this.destination = destination;
+        this.circuitBreaker = new CircuitBreaker(config);
+        this.bulkhead = new Semaphore(config.getMaxConcurrentCallsPerDestination());
+    }
+
+    Permit acquire() throws HttpRequestRejectedException {
+        // never wait for a free slot, waiting threads are exactly what the bulkhead should protect against
+        if (!bulkhead.tryAcquire()) {
+            throw new HttpRequestRejectedException(
+                    "Too many concurrent requests to " + destination, Reason.BULKHEAD_FULL);
+        }
+
+        if (!circuitBreaker.tryAcquirePermission(System.currentTimeMillis())) {
+            bulkhead.release();
+            throw new HttpRequestRejectedException(
+                    "Circuit breaker of " + destination + " is open", Reason.CIRCUIT_OPEN);
+        }
+
+        return new Permit(System.currentTimeMillis());
+    }
+
+    CircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+
+    class Permit {
+        private final long acquiredAt;
+        private boolean released;
+
+        private Permit(long acquiredAt) {
+            this.acquiredAt = acquiredAt;
+        }
+
+        synchronized void release(boolean failed) {
+            if (released) {
+                return;
+            }
+
+            released = true;
+            bulkhead.release();
+            long now = System.currentTimeMillis();
+            circuitBreaker.onResult(failed, now - acquiredAt, now);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ai.labs.httpclient.impl;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Properties;
+
+/**
+ * Settings of a named http client profile. Each setting is read from "httpClient.[profile].[setting]",
+ * falling back to "httpClient.[setting]". Profile specific settings can be given as system properties as well.
+ *
+ * @author ginccc
+ */
+@Getter
+@AllArgsConstructor
+public class HttpClientProfile {
+    private static final String PREFIX = "httpClient.";
+
+    private String name;
+    private int maxConnectionsPerDestination;
+    private int maxRequestsQueuedPerDestination;
+    private int requestBufferSize;
+    private int responseBufferSize;
+    private int maxResponseSizeInBytes;
+    private int maxRedirects;
+    private long connectTimeoutInMillis;
+    private long idleTimeoutInMillis;
+    /**
+     * size of the dedicated thread pool of this profile, 0 to use the shared executor service
+     */
+    private int threads;
+    private boolean http2Enabled;
+    private boolean trustAllCertificates;
+
+    public static HttpClientProfile fromProperties(String name, Properties properties) {
+        return new HttpClientProfile(name,
+                Integer.parseInt(getProperty(name, "maxConnectionPerRoute", properties)),
+                Integer.parseInt(getProperty(name, "maxConnectionsQueued", properties)),
+                Integer.parseInt(getProperty(name, "requestBufferSize", properties)),
+                Integer.parseInt(getProperty(name, "responseBufferSize", properties)),
+                Integer.parseInt(getProperty(name, "maxResponseSizeInBytes", properties)),
+                Integer.parseInt(getProperty(name, "maxRedirects", properties)),
+                Long.parseLong(getProperty(name, "connectTimeoutInMillis", properties)),
+                Long.parseLong(getProperty(name, "idleTimeoutInMillis", properties)),
+                Integer.parseInt(getProperty(name, "threads", properties)),
+                Boolean.parseBoolean(getProperty(name, "http2Enabled", properties)),
+                Boolean.parseBoolean(getProperty(name, "trustAllCertificates", properties)));
+    }
+
+    private static String getProperty(String profileName, String setting, Properties properties) {
+        String profileKey = PREFIX + profileName + "." + setting;
+        String value = System.getProperty(profileKey, properties.getProperty(profileKey));
+        if (value == null) {
+            value = properties.getProperty(PREFIX + setting);
+        }
+
+        if (value == null) {
+            throw new IllegalArgumentException(String.format("Missing http client setting: %s%s", PREFIX, setting));
+        }
+
+        return value.trim();
+    }
+}
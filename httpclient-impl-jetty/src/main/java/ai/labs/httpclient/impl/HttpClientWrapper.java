@@ -4,32 +4,44 @@ import ai.labs.httpclient.ICompleteListener;
 import ai.labs.httpclient.IHttpClient;
 import ai.labs.httpclient.IRequest;
 import ai.labs.httpclient.IResponse;
+import ai.labs.httpclient.model.ConnectionPoolMetrics;
 import com.sun.org.apache.xml.internal.security.utils.Base64;
 import lombok.extern.slf4j.Slf4j;
-import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.*;
 import org.eclipse.jetty.client.api.*;
 import org.eclipse.jetty.client.util.BasicAuthentication;
 import org.eclipse.jetty.client.util.BufferingResponseListener;
-import org.eclipse.jetty.client.util.FutureResponseListener;
+import org.eclipse.jetty.client.util.InputStreamResponseListener;
 import org.eclipse.jetty.client.util.StringContentProvider;
 import org.eclipse.jetty.http.HttpField;
 import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.MimeTypes;
 
-import javax.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.net.CookieStore;
 import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
+import java.util.Scanner;
+import java.util.concurrent.*;
 
 @Slf4j
 public class HttpClientWrapper implements IHttpClient {
     private final HttpClient httpClient;
+    private final ResilienceConfig resilienceConfig;
+    private final int maxResponseSize;
+    private final Map<String, DestinationGuard> destinationGuards = new ConcurrentHashMap<>();
 
-    @Inject
-    public HttpClientWrapper(HttpClient httpClient) {
+    public HttpClientWrapper(HttpClient httpClient, ResilienceConfig resilienceConfig, int maxResponseSize) {
         this.httpClient = httpClient;
+        this.resilienceConfig = resilienceConfig;
+        this.maxResponseSize = maxResponseSize;
     }
 
     @Override
@@ -37,6 +49,34 @@ public class HttpClientWrapper implements IHttpClient {
         return httpClient.getCookieStore();
     }
 
+    @Override
+    public List<ConnectionPoolMetrics> getConnectionPoolMetrics() {
+        List<ConnectionPoolMetrics> metrics = new LinkedList<>();
+        for (Destination destination : httpClient.getDestinations()) {
+            if (!(destination instanceof HttpDestination)) {
+                continue;
+            }
+
+            HttpDestination httpDestination = (HttpDestination) destination;
+            ConnectionPool connectionPool = httpDestination.getConnectionPool();
+            int connections = -1, maxConnections = -1, activeConnections = -1, idleConnections = -1;
+            if (connectionPool instanceof AbstractConnectionPool) {
+                connections = ((AbstractConnectionPool) connectionPool).getConnectionCount();
+                maxConnections = ((AbstractConnectionPool) connectionPool).getMaxConnectionCount();
+            }
+            if (connectionPool instanceof DuplexConnectionPool) {
+                activeConnections = ((DuplexConnectionPool) connectionPool).getActiveConnectionCount();
+                idleConnections = ((DuplexConnectionPool) connectionPool).getIdleConnectionCount();
+            }
+
+            String name = destination.getScheme() + "://" + destination.getHost() + ":" + destination.getPort();
+            metrics.add(new ConnectionPoolMetrics(name, connections, maxConnections,
+                    activeConnections, idleConnections, httpDestination.getQueuedRequestCount()));
+        }
+
+        return metrics;
+    }
+
     @Override
     public IRequest newRequest(URI uri) {
         return newRequest(uri, Method.GET);
@@ -51,7 +91,7 @@ public class HttpClientWrapper implements IHttpClient {
     public class RequestWrapper implements IRequest {
         private final URI uri;
         private Request request;
-        private int maxLength = 2 * 1024 * 1024;
+        private int maxLength = maxResponseSize;
 
         public RequestWrapper(URI uri, Request request) {
             this.uri = uri;
@@ -109,77 +149,195 @@ public class HttpClientWrapper implements IHttpClient {
 
         @Override
         public IResponse send() throws HttpRequestException {
-            final FutureResponseListener listener = new FutureResponseListener(request, maxLength);
-            request.send(listener);
+            CompletableFuture<IResponse> response = sendAsync().toCompletableFuture();
             try {
-                final ContentResponse response = listener.get();
-                return new IResponse() {
-                    @Override
-                    public String getContentAsString() {
-                        return listener.getContentAsString();
+                return response.get();
+            } catch (InterruptedException e) {
+                request.abort(e);
+                Thread.currentThread().interrupt();
+                throw new HttpRequestException(e.getLocalizedMessage(), e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof HttpRequestException) {
+                    throw (HttpRequestException) cause;
+                }
+                throw new HttpRequestException(cause.getLocalizedMessage(), cause);
+            }
+        }
+
+        @Override
+        public void send(final ICompleteListener completeListener) throws HttpRequestException {
+            final DestinationGuard.Permit permit = getDestinationGuard(uri).acquire();
+            send(permit, new BufferingResponseListener(maxLength) {
+                @Override
+                public void onComplete(final Result result) {
+                    permit.release(result.isFailed() || isServerError(result.getResponse()));
+                    if (result.isFailed()) {
+                        completeListener.onFailure(result.getFailure());
+                        return;
                     }
 
+                    try {
+                        completeListener.onComplete(new ResponseWrapper(result.getResponse(), getContent(), getEncoding()));
+                    } catch (IResponse.HttpResponseException e) {
+                        log.error(e.getLocalizedMessage(), e);
+                    }
+                }
+            });
+        }
+
+        @Override
+        public CompletionStage<IResponse> sendAsync() {
+            final CompletableFuture<IResponse> response = new CompletableFuture<>();
+            try {
+                final DestinationGuard.Permit permit = getDestinationGuard(uri).acquire();
+                send(permit, new BufferingResponseListener(maxLength) {
                     @Override
-                    public int getHttpCode() {
-                        return response.getStatus();
+                    public void onComplete(final Result result) {
+                        permit.release(result.isFailed() || isServerError(result.getResponse()));
+                        if (result.isFailed()) {
+                            response.completeExceptionally(result.getFailure());
+                        } else {
+                            response.complete(new ResponseWrapper(result.getResponse(), getContent(), getEncoding()));
+                        }
                     }
+                });
+            } catch (HttpRequestException e) {
+                response.completeExceptionally(e);
+            }
 
+            return response;
+        }
+
+        @Override
+        public CompletionStage<IResponse> sendStreaming() {
+            final CompletableFuture<IResponse> response = new CompletableFuture<>();
+            try {
+                final DestinationGuard.Permit permit = getDestinationGuard(uri).acquire();
+                send(permit, new InputStreamResponseListener() {
                     @Override
-                    public String getHttpCodeMessage() {
-                        return response.getReason();
+                    public void onHeaders(Response headers) {
+                        super.onHeaders(headers);
+                        response.complete(new ResponseWrapper(headers, getInputStream()));
                     }
 
                     @Override
-                    public Map<String, String> getHttpHeader() {
-                        return convertHeaderToMap(response.getHeaders());
+                    public void onComplete(Result result) {
+                        super.onComplete(result);
+                        permit.release(result.isFailed() || isServerError(result.getResponse()));
+                        if (result.isFailed()) {
+                            response.completeExceptionally(result.getFailure());
+                        }
                     }
-                };
-            } catch (InterruptedException | ExecutionException e) {
-                listener.cancel(true);
+                });
+            } catch (HttpRequestException e) {
+                response.completeExceptionally(e);
+            }
+
+            return response;
+        }
+
+        private void send(DestinationGuard.Permit permit, Response.CompleteListener listener)
+                throws HttpRequestException {
+            try {
+                request.send(listener);
+            } catch (RuntimeException e) {
+                permit.release(true);
                 throw new HttpRequestException(e.getLocalizedMessage(), e);
             }
         }
+    }
+
+    private static class ResponseWrapper implements IResponse {
+        private final Response response;
+        private final byte[] content;
+        private final String encoding;
+        private final InputStream contentStream;
+        private Map<String, String> httpHeader;
+
+        private ResponseWrapper(Response response, byte[] content, String encoding) {
+            this.response = response;
+            this.content = content;
+            this.encoding = encoding;
+            this.contentStream = null;
+        }
+
+        private ResponseWrapper(Response response, InputStream contentStream) {
+            this.response = response;
+            this.content = null;
+            this.encoding = null;
+            this.contentStream = contentStream;
+        }
+
+        @Override
+        public String getContentAsString() {
+            Charset charset = getCharset();
+            if (content != null) {
+                return new String(content, charset);
+            }
+
+            try (Scanner scanner = new Scanner(contentStream, charset.name())) {
+                scanner.useDelimiter("\\A");
+                return scanner.hasNext() ? scanner.next() : "";
+            }
+        }
 
         @Override
-        public void send(final ICompleteListener completeListener) throws HttpRequestException {
-            final BufferingResponseListener responseListener = new BufferingResponseListener(maxLength) {
-                @Override
-                public void onComplete(final Result result) {
-                    final Response response = result.getResponse();
-                    final String content = getContentAsString();
+        public InputStream getContentAsStream() {
+            return content != null ? new ByteArrayInputStream(content) : contentStream;
+        }
 
-                    try {
-                        completeListener.onComplete(new IResponse() {
-                            @Override
-                            public String getContentAsString() {
-                                return content;
-                            }
-
-                            @Override
-                            public int getHttpCode() {
-                                return response.getStatus();
-                            }
-
-                            @Override
-                            public String getHttpCodeMessage() {
-                                return response.getReason();
-                            }
-
-                            @Override
-                            public Map<String, String> getHttpHeader() {
-                                return convertHeaderToMap(response.getHeaders());
-                            }
-                        });
-                    } catch (IResponse.HttpResponseException e) {
-                        log.error(e.getLocalizedMessage(), e);
-                    }
+        @Override
+        public int getHttpCode() {
+            return response.getStatus();
+        }
+
+        @Override
+        public String getHttpCodeMessage() {
+            return response.getReason();
+        }
+
+        @Override
+        public Map<String, String> getHttpHeader() {
+            if (httpHeader == null) {
+                httpHeader = convertHeaderToMap(response.getHeaders());
+            }
+
+            return httpHeader;
+        }
+
+        @Override
+        public String getHttpHeader(String headerName) {
+            return response.getHeaders().get(headerName);
+        }
+
+        private Charset getCharset() {
+            String charsetName = encoding;
+            if (charsetName == null) {
+                String contentType = response.getHeaders().get(HttpHeader.CONTENT_TYPE);
+                if (contentType != null) {
+                    charsetName = MimeTypes.getCharsetFromContentType(contentType);
                 }
-            };
+            }
 
-            request.send(responseListener);
+            try {
+                return charsetName != null ? Charset.forName(charsetName) : StandardCharsets.UTF_8;
+            } catch (IllegalArgumentException e) {
+                return StandardCharsets.UTF_8;
+            }
         }
     }
 
+    private DestinationGuard getDestinationGuard(URI uri) {
+        String destination = uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort();
+        return destinationGuards.computeIfAbsent(destination,
+                key -> new DestinationGuard(key, resilienceConfig));
+    }
+
+    private static boolean isServerError(Response response) {
+        return response.getStatus() >= 500;
+    }
+
     private static Map<String, String> convertHeaderToMap(HttpFields headers) {
         Map<String, String> httpHeader = new HashMap<>();
         for (HttpField header : headers) {
@@ -0,0 +1,23 @@
+package ai.labs.httpclient.impl;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Circuit breaker and bulkhead settings, applied to each destination (scheme, host and port) separately.
+ * Rates are in percent.
+ *
+ * @author ginccc
+ */
+@Getter
+@AllArgsConstructor
+public class ResilienceConfig {
+    private int failureRateThreshold;
+    private int slowCallRateThreshold;
+    private long slowCallDurationInMillis;
+    private int slidingWindowSize;
+    private int minimumNumberOfCalls;
+    private long waitDurationInOpenStateInMillis;
+    private int permittedCallsInHalfOpenState;
+    private int maxConcurrentCallsPerDestination;
+}
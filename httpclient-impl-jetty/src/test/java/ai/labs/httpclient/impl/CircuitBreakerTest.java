@@ -0,0 +1,87 @@
+package ai.labs.httpclient.impl;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author ginccc
+ */
+public class CircuitBreakerTest {
+    private static final long WAIT_DURATION_IN_OPEN_STATE = 1000;
+    private CircuitBreaker circuitBreaker;
+
+    @Before
+    public void setUp() {
+        ResilienceConfig config = new ResilienceConfig(50, 80, 100, 10,
+                4, WAIT_DURATION_IN_OPEN_STATE, 2, 1);
+        circuitBreaker = new CircuitBreaker(config);
+    }
+
+    @Test
+    public void opensOnFailureRate() {
+        //test
+        circuitBreaker.onResult(false, 10, 0);
+        circuitBreaker.onResult(true, 10, 0);
+        circuitBreaker.onResult(false, 10, 0);
+
+        //assert
+        Assert.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        //test
+        circuitBreaker.onResult(true, 10, 0);
+
+        //assert
+        Assert.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        Assert.assertFalse(circuitBreaker.tryAcquirePermission(WAIT_DURATION_IN_OPEN_STATE - 1));
+    }
+
+    @Test
+    public void opensOnSlowCallRate() {
+        //test
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onResult(false, 100, 0);
+        }
+
+        //assert
+        Assert.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void closesAfterSuccessfulProbes() {
+        //setup
+        openCircuit();
+
+        //test
+        Assert.assertTrue(circuitBreaker.tryAcquirePermission(WAIT_DURATION_IN_OPEN_STATE));
+        Assert.assertTrue(circuitBreaker.tryAcquirePermission(WAIT_DURATION_IN_OPEN_STATE));
+        Assert.assertFalse(circuitBreaker.tryAcquirePermission(WAIT_DURATION_IN_OPEN_STATE));
+        circuitBreaker.onResult(false, 10, WAIT_DURATION_IN_OPEN_STATE);
+        circuitBreaker.onResult(false, 10, WAIT_DURATION_IN_OPEN_STATE);
+
+        //assert
+        Assert.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        Assert.assertTrue(circuitBreaker.tryAcquirePermission(WAIT_DURATION_IN_OPEN_STATE));
+    }
+
+    @Test
+    public void reopensAfterFailedProbe() {
+        //setup
+        openCircuit();
+
+        //test
+        Assert.assertTrue(circuitBreaker.tryAcquirePermission(WAIT_DURATION_IN_OPEN_STATE));
+        circuitBreaker.onResult(true, 10, WAIT_DURATION_IN_OPEN_STATE);
+
+        //assert
+        Assert.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        Assert.assertFalse(circuitBreaker.tryAcquirePermission(WAIT_DURATION_IN_OPEN_STATE + 1));
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onResult(true, 10, 0);
+        }
+        Assert.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+}
@@ -0,0 +1,47 @@
+package ai.labs.httpclient.impl;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Properties;
+
+/**
+ * @author ginccc
+ */
+public class HttpClientProfileTest {
+    @Test
+    public void fromPropertiesFallsBackToDefaults() {
+        //setup
+        Properties properties = new Properties();
+        properties.setProperty("httpClient.maxConnectionPerRoute", "200");
+        properties.setProperty("httpClient.maxConnectionsQueued", "100");
+        properties.setProperty("httpClient.requestBufferSize", "8192");
+        properties.setProperty("httpClient.responseBufferSize", "8192");
+        properties.setProperty("httpClient.maxResponseSizeInBytes", "1024");
+        properties.setProperty("httpClient.maxRedirects", "32");
+        properties.setProperty("httpClient.connectTimeoutInMillis", "15000");
+        properties.setProperty("httpClient.idleTimeoutInMillis", "60000");
+        properties.setProperty("httpClient.threads", "0");
+        properties.setProperty("httpClient.http2Enabled", "false");
+        properties.setProperty("httpClient.trustAllCertificates", "true");
+        properties.setProperty("httpClient.callbacks.maxConnectionPerRoute", "50");
+        properties.setProperty("httpClient.callbacks.http2Enabled", "true");
+
+        //test
+        HttpClientProfile callbacks = HttpClientProfile.fromProperties("callbacks", properties);
+        HttpClientProfile channels = HttpClientProfile.fromProperties("channels", properties);
+
+        //assert
+        Assert.assertEquals(50, callbacks.getMaxConnectionsPerDestination());
+        Assert.assertEquals(100, callbacks.getMaxRequestsQueuedPerDestination());
+        Assert.assertTrue(callbacks.isHttp2Enabled());
+        Assert.assertEquals(200, channels.getMaxConnectionsPerDestination());
+        Assert.assertEquals(15000, channels.getConnectTimeoutInMillis());
+        Assert.assertFalse(channels.isHttp2Enabled());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fromPropertiesFailsOnMissingSetting() {
+        HttpClientProfile.fromProperties("callbacks", new Properties());
+    }
+}
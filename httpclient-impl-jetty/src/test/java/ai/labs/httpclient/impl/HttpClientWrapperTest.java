@@ -0,0 +1,162 @@
+package ai.labs.httpclient.impl;
+
+import ai.labs.httpclient.IHttpClient;
+import ai.labs.httpclient.IRequest.HttpRequestException;
+import ai.labs.httpclient.IRequest.HttpRequestRejectedException;
+import ai.labs.httpclient.IResponse;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.client.api.Result;
+import org.eclipse.jetty.http.HttpFields;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author ginccc
+ */
+public class HttpClientWrapperTest {
+    private static final URI TARGET = URI.create("http://localhost:8080/path");
+    private Request request;
+    private HttpClientWrapper httpClientWrapper;
+
+    @Before
+    public void setUp() {
+        HttpClient httpClient = mock(HttpClient.class);
+        request = mock(Request.class);
+        when(httpClient.newRequest(any(URI.class))).thenReturn(request);
+        when(request.method(anyString())).thenReturn(request);
+
+        ResilienceConfig config = new ResilienceConfig(50, 80, 1000, 10,
+                100, 1000, 2, 1);
+        httpClientWrapper = new HttpClientWrapper(httpClient, config, 1024);
+    }
+
+    @Test
+    public void sendAsyncCompletesWithResponse() throws Exception {
+        //setup
+        CompletableFuture<IResponse> response = httpClientWrapper.newRequest(TARGET).sendAsync().toCompletableFuture();
+
+        //test
+        captureListener().onComplete(new Result(request, mockResponse(200)));
+
+        //assert
+        Assert.assertEquals(200, response.get().getHttpCode());
+        Assert.assertEquals("", response.get().getContentAsString());
+    }
+
+    @Test
+    public void bulkheadRejectsWhileRequestIsInFlight() throws Exception {
+        //setup
+        httpClientWrapper.newRequest(TARGET).sendAsync();
+
+        //test
+        CompletableFuture<IResponse> rejected = httpClientWrapper.newRequest(TARGET).sendAsync().toCompletableFuture();
+
+        //assert
+        HttpRequestRejectedException e = (HttpRequestRejectedException) getFailure(rejected);
+        Assert.assertEquals(HttpRequestRejectedException.Reason.BULKHEAD_FULL, e.getReason());
+        verify(request, times(1)).send(any(Response.CompleteListener.class));
+    }
+
+    @Test
+    public void sendAsyncReleasesPermitOnFailure() throws Exception {
+        //setup
+        CompletableFuture<IResponse> failed = httpClientWrapper.newRequest(TARGET).sendAsync().toCompletableFuture();
+
+        //test
+        captureListener().onComplete(new Result(request, new IOException("connection refused"), mockResponse(0)));
+
+        //assert
+        Assert.assertTrue(getFailure(failed) instanceof IOException);
+        httpClientWrapper.newRequest(TARGET).sendAsync();
+        verify(request, times(2)).send(any(Response.CompleteListener.class));
+    }
+
+    @Test
+    public void sendAsyncReleasesPermitIfRequestCannotBeSent() throws Exception {
+        //setup
+        doThrow(new IllegalStateException("closed")).doNothing().
+                when(request).send(any(Response.CompleteListener.class));
+
+        //test
+        CompletableFuture<IResponse> failed = httpClientWrapper.newRequest(TARGET).sendAsync().toCompletableFuture();
+
+        //assert
+        Assert.assertTrue(getFailure(failed) instanceof HttpRequestException);
+        httpClientWrapper.newRequest(TARGET).sendAsync();
+        verify(request, times(2)).send(any(Response.CompleteListener.class));
+    }
+
+    @Test
+    public void sendStreamingCompletesOnHeadersAndReleasesPermitOnCompletion() throws Exception {
+        //setup
+        Response headers = mockResponse(200);
+        CompletableFuture<IResponse> response = httpClientWrapper.newRequest(TARGET, IHttpClient.Method.POST).
+                sendStreaming().toCompletableFuture();
+        Response.Listener listener = (Response.Listener) captureListener();
+
+        //test
+        listener.onHeaders(headers);
+
+        //assert
+        Assert.assertEquals(200, response.get().getHttpCode());
+        Assert.assertNotNull(response.get().getContentAsStream());
+        Assert.assertTrue(getFailure(httpClientWrapper.newRequest(TARGET).sendStreaming().toCompletableFuture())
+                instanceof HttpRequestRejectedException);
+
+        //test
+        listener.onComplete(new Result(request, headers));
+
+        //assert
+        httpClientWrapper.newRequest(TARGET).sendStreaming();
+        verify(request, times(2)).send(any(Response.CompleteListener.class));
+    }
+
+    @Test
+    public void sendStreamingReleasesPermitOnFailure() throws Exception {
+        //setup
+        CompletableFuture<IResponse> failed = httpClientWrapper.newRequest(TARGET).sendStreaming().toCompletableFuture();
+
+        //test
+        captureListener().onComplete(new Result(request, new IOException("connection reset"), mockResponse(0)));
+
+        //assert
+        Assert.assertTrue(getFailure(failed) instanceof IOException);
+        httpClientWrapper.newRequest(TARGET).sendStreaming();
+        verify(request, times(2)).send(any(Response.CompleteListener.class));
+    }
+
+    private Response.CompleteListener captureListener() {
+        ArgumentCaptor<Response.CompleteListener> listener = ArgumentCaptor.forClass(Response.CompleteListener.class);
+        verify(request, atLeastOnce()).send(listener.capture());
+        return listener.getValue();
+    }
+
+    private static Response mockResponse(int status) {
+        Response response = mock(Response.class);
+        when(response.getStatus()).thenReturn(status);
+        when(response.getHeaders()).thenReturn(new HttpFields());
+        return response;
+    }
+
+    private static Throwable getFailure(CompletableFuture<IResponse> response) throws InterruptedException {
+        try {
+            response.get();
+            Assert.fail("Expected the response to have failed.");
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+    }
+}
@@ -13,44 +13,53 @@ import java.util.*;
 public class OutputGeneration implements IOutputGeneration {
     @Getter
     private Map<String, List<OutputEntry>> outputMapper = new HashMap<>();
+    private volatile Map<String, OccurrenceIndex> outputIndex = Collections.emptyMap();
 
     @Override
     public void addOutputEntry(OutputEntry outputEntry) {
         String action = outputEntry.getAction();
         if (!outputMapper.containsKey(action)) {
-            outputMapper.put(action, new LinkedList<>());
+            outputMapper.put(action, new ArrayList<>());
         }
 
         List<OutputEntry> tmpOutputEntries = outputMapper.get(action);
         if (!tmpOutputEntries.contains(outputEntry)) {
-            tmpOutputEntries.add(outputEntry);
-            Collections.sort(tmpOutputEntries);
+            // keep entries sorted by occurrence, entries of equal occurrence in the order they have been added
+            int index = tmpOutputEntries.size();
+            while (index > 0 && tmpOutputEntries.get(index - 1).compareTo(outputEntry) > 0) {
+                index--;
+            }
+            tmpOutputEntries.add(index, outputEntry);
+            outputIndex = null;
         }
     }
 
     @Override
     public Map<String, List<OutputEntry>> getOutputs(List<IOutputFilter> outputFilter) {
+        Map<String, OccurrenceIndex> outputIndex = getOutputIndex();
         LinkedHashMap<String, List<OutputEntry>> outputs = new LinkedHashMap<>();
 
         for (IOutputFilter filter : outputFilter) {
-            List<OutputEntry> entryList = outputMapper.get(filter.getAction());
-            if (entryList == null) {
-                continue;
+            OccurrenceIndex occurrenceIndex = outputIndex.get(filter.getAction());
+            if (occurrenceIndex != null) {
+                outputs.put(filter.getAction(), occurrenceIndex.get(filter.getOccurred()));
             }
+        }
 
-            List<OutputEntry> tmpOutputEntries = new LinkedList<>(entryList);
-
-            List<OutputEntry> outputEntries;
-            int occurred = filter.getOccurred();
-            do {
-                outputEntries = extractOutputEntryOfSameOccurrence(tmpOutputEntries, occurred);
-                occurred--;
-            } while (outputEntries.isEmpty());
+        return outputs;
+    }
 
-            outputs.put(filter.getAction(), outputEntries);
+    private Map<String, OccurrenceIndex> getOutputIndex() {
+        Map<String, OccurrenceIndex> outputIndex = this.outputIndex;
+        if (outputIndex == null) {
+            outputIndex = new HashMap<>();
+            for (Map.Entry<String, List<OutputEntry>> entry : outputMapper.entrySet()) {
+                outputIndex.put(entry.getKey(), new OccurrenceIndex(entry.getValue()));
+            }
+            this.outputIndex = outputIndex = Collections.unmodifiableMap(outputIndex);
         }
 
-        return outputs;
+        return outputIndex;
     }
 
     List<OutputEntry> extractOutputEntryOfSameOccurrence(List<OutputEntry> outputEntries, int occurred) {
@@ -77,4 +86,31 @@ public class OutputGeneration implements IOutputGeneration {
 
         return outputEntries;
     }
+
+    /**
+     * Output entries of a single action, grouped by the number of times the action has occurred. Only the
+     * configured occurrences are indexed, any other one resolves to the entries of the highest occurrence
+     * (see {@link #extractOutputEntryOfSameOccurrence}).
+     */
+    private static class OccurrenceIndex {
+        private final Map<Integer, List<OutputEntry>> entriesByOccurrence = new HashMap<>();
+        private final List<OutputEntry> defaultEntries;
+
+        private OccurrenceIndex(List<OutputEntry> outputEntries) {
+            Map<Integer, List<OutputEntry>> entriesByOccurrence = new HashMap<>();
+            for (OutputEntry outputEntry : outputEntries) {
+                entriesByOccurrence.computeIfAbsent(outputEntry.getOccurred(), occurred -> new ArrayList<>()).
+                        add(outputEntry);
+            }
+            entriesByOccurrence.forEach((occurred, entries) ->
+                    this.entriesByOccurrence.put(occurred, Collections.unmodifiableList(entries)));
+
+            // entries are sorted by occurrence
+            defaultEntries = this.entriesByOccurrence.get(outputEntries.get(outputEntries.size() - 1).getOccurred());
+        }
+
+        private List<OutputEntry> get(int occurred) {
+            return entriesByOccurrence.getOrDefault(occurred, defaultEntries);
+        }
+    }
 }
@@ -21,11 +21,12 @@ import ai.labs.runtime.service.ServiceException;
 import ai.labs.utilities.StringUtilities;
 
 import javax.inject.Inject;
+import javax.inject.Provider;
 import java.net.URI;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -35,6 +36,7 @@ import java.util.stream.IntStream;
 public class OutputGenerationTask implements ILifecycleTask {
     private static final String ID = "ai.labs.output";
     private static final String ACTION_KEY = "action";
+    private static final String ACTIONS_KEY = "actions";
     private static final String MEMORY_OUTPUT_IDENTIFIER = "output";
     private static final String MEMORY_QUICK_REPLIES_IDENTIFIER = "quickReplies";
     private static final String CONTEXT_IDENTIFIER = "context";
@@ -42,15 +44,17 @@ public class OutputGenerationTask implements ILifecycleTask {
     public static final String OUTPUTSET_CONFIG_URI = "uri";
     private final IResourceClientLibrary resourceClientLibrary;
     private final IDataFactory dataFactory;
-    private final IOutputGeneration outputGeneration;
+    private final Provider<IOutputGeneration> outputGenerationProvider;
+    private IOutputGeneration outputGeneration;
 
     @Inject
     public OutputGenerationTask(IResourceClientLibrary resourceClientLibrary,
                                 IDataFactory dataFactory,
-                                IOutputGeneration outputGeneration) {
+                                Provider<IOutputGeneration> outputGenerationProvider) {
         this.resourceClientLibrary = resourceClientLibrary;
         this.dataFactory = dataFactory;
-        this.outputGeneration = outputGeneration;
+        this.outputGenerationProvider = outputGenerationProvider;
+        this.outputGeneration = outputGenerationProvider.get();
     }
 
     @Override
@@ -133,8 +137,9 @@ public class OutputGenerationTask implements ILifecycleTask {
     }
 
     private LinkedList<IOutputFilter> createOutputFilters(IConversationMemory memory, List<String> actions) {
+        IConversationMemory.IConversationCounters counters = memory.getConversationCounters();
         return actions.stream().map(action ->
-                new OutputFilter(action, countActionOccurrences(memory.getPreviousSteps(), action))).
+                new OutputFilter(action, counters.getOccurrences(ACTIONS_KEY, action))).
                 collect(Collectors.toCollection(LinkedList::new));
     }
 
@@ -144,14 +149,17 @@ public class OutputGenerationTask implements ILifecycleTask {
         URI uri = URI.create(uriObj.toString());
 
         try {
-            OutputConfigurationSet outputConfigurationSet =
-                    resourceClientLibrary.getResource(uri, OutputConfigurationSet.class);
-
-            outputConfigurationSet.getOutputSet().forEach(outputConfig -> outputGeneration.addOutputEntry(
-                    new OutputEntry(outputConfig.getAction(),
-                            outputConfig.getTimesOccurred(),
-                            convertOutputTypesConfig(outputConfig.getOutputs()),
-                            convertQuickRepliesConfig(outputConfig.getQuickReplies()))));
+            // compiled into a new instance, as the compiled one is shared by all tasks configured with this uri
+            this.outputGeneration = resourceClientLibrary.getCompiledResource(uri, OutputConfigurationSet.class,
+                    outputConfigurationSet -> {
+                        IOutputGeneration outputGeneration = outputGenerationProvider.get();
+                        outputConfigurationSet.getOutputSet().forEach(outputConfig -> outputGeneration.addOutputEntry(
+                                new OutputEntry(outputConfig.getAction(),
+                                        outputConfig.getTimesOccurred(),
+                                        convertOutputTypesConfig(outputConfig.getOutputs()),
+                                        convertQuickRepliesConfig(outputConfig.getQuickReplies()))));
+                        return outputGeneration;
+                    });
         } catch (ServiceException e) {
             String message = "Error while fetching OutputConfigurationSet!\n" + e.getLocalizedMessage();
             throw new PackageConfigurationException(message, e);
@@ -169,24 +177,7 @@ public class OutputGenerationTask implements ILifecycleTask {
     }
 
     private String chooseRandomly(List<String> possibleValues) {
-        return possibleValues.get(new Random().nextInt(possibleValues.size()));
-    }
-
-    private int countActionOccurrences(IConversationMemory.IConversationStepStack conversationStepStack,
-                                       String action) {
-        int count = 0;
-        for (int i = 0; i < conversationStepStack.size(); i++) {
-            IConversationMemory.IConversationStep conversationStep = conversationStepStack.get(i);
-            IData<List<String>> actionsData = conversationStep.getLatestData(ACTION_KEY);
-            if (actionsData != null) {
-                List<String> actions = actionsData.getResult();
-                if (actions.contains(action)) {
-                    count++;
-                }
-            }
-        }
-
-        return count;
+        return possibleValues.get(ThreadLocalRandom.current().nextInt(possibleValues.size()));
     }
 
     /**
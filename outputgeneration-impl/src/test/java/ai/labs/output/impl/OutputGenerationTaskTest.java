@@ -11,6 +11,7 @@ import ai.labs.output.model.QuickReply;
 import ai.labs.resources.rest.output.model.OutputConfiguration;
 import ai.labs.resources.rest.output.model.OutputConfigurationSet;
 import ai.labs.runtime.client.configuration.IResourceClientLibrary;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -24,7 +25,6 @@ import static org.mockito.Mockito.*;
  */
 public class OutputGenerationTaskTest {
     private static final String ACTION_1 = "action1";
-    private static final String ACTION_2 = "action2";
     private static final String ACTION = "actions";
     private static final String SOME_ACTION_1 = "someAction1";
     private static final String SOME_ACTION_2 = "someAction2";
@@ -48,7 +48,7 @@ public class OutputGenerationTaskTest {
         resourceClientLibrary = mock(IResourceClientLibrary.class);
         dataFactory = mock(IDataFactory.class);
         outputGeneration = mock(IOutputGeneration.class);
-        outputGenerationTask = new OutputGenerationTask(resourceClientLibrary, dataFactory, outputGeneration);
+        outputGenerationTask = new OutputGenerationTask(resourceClientLibrary, dataFactory, () -> outputGeneration);
     }
 
     @Test
@@ -65,12 +65,9 @@ public class OutputGenerationTaskTest {
         when(conversationMemory.getCurrentStep()).thenAnswer(invocation -> currentStep);
         when(currentStep.getLatestData(eq(ACTION))).thenAnswer(invocation ->
                 new Data<>(ACTION_1, Arrays.asList(SOME_ACTION_1, SOME_OTHER_ACTION_1)));
-        IConversationMemory.IConversationStepStack conversationStepStack = mock(IConversationMemory.IConversationStepStack.class);
-        when(conversationMemory.getPreviousSteps()).then(invocation -> conversationStepStack);
-        IConversationMemory.IConversationStep conversationStep = mock(IConversationMemory.IConversationStep.class);
-        when(conversationStepStack.get(anyInt())).then(invocation -> conversationStep);
-        when(conversationStep.getLatestData(eq(ACTION))).then(invocation ->
-                new Data<>(ACTION_2, Arrays.asList(SOME_ACTION_2, SOME_OTHER_ACTION_2)));
+        IConversationMemory.IConversationCounters conversationCounters = mock(IConversationMemory.IConversationCounters.class);
+        when(conversationMemory.getConversationCounters()).then(invocation -> conversationCounters);
+        when(conversationCounters.getOccurrences(eq(ACTION), eq(SOME_ACTION_1))).then(invocation -> 1);
         IData<String> expectedOutputData = new Data<>(OUTPUT_TEXT + ACTION_1, ANSWER_ALTERNATIVE_1,
                 Arrays.asList(SOME_ACTION_2, SOME_OTHER_ACTION_2));
         when(dataFactory.createData(eq(OUTPUT_TEXT + ACTION_1), anyString(),
@@ -96,8 +93,9 @@ public class OutputGenerationTaskTest {
         final HashMap<String, Object> configuration = new HashMap<>();
         final String uri = "eddi://ai.labs.output/outputstore/outputsets/00000000000000000?version=1";
         configuration.put("uri", uri);
-        when(resourceClientLibrary.getResource(URI.create(uri), OutputConfigurationSet.class)).
-                thenAnswer(invocation -> createOutputConfigurationSet());
+        when(resourceClientLibrary.getCompiledResource(eq(URI.create(uri)), eq(OutputConfigurationSet.class), any())).
+                thenAnswer(invocation -> invocation.<IResourceClientLibrary.IResourceCompiler<OutputConfigurationSet, IOutputGeneration>>
+                        getArgument(2).compile(createOutputConfigurationSet()));
 
         //test
         outputGenerationTask.configure(configuration);
@@ -106,6 +104,26 @@ public class OutputGenerationTaskTest {
         verify(outputGeneration, times(3)).addOutputEntry(any(OutputEntry.class));
     }
 
+    @Test
+    public void configureCompilesIntoNewInstance() throws Exception {
+        //setup
+        IOutputGeneration configured = mock(IOutputGeneration.class);
+        Iterator<IOutputGeneration> outputGenerations = Arrays.asList(outputGeneration, configured).iterator();
+        outputGenerationTask = new OutputGenerationTask(resourceClientLibrary, dataFactory, outputGenerations::next);
+        when(resourceClientLibrary.getCompiledResource(any(URI.class), eq(OutputConfigurationSet.class), any())).
+                thenAnswer(invocation -> invocation.<IResourceClientLibrary.IResourceCompiler<OutputConfigurationSet, IOutputGeneration>>
+                        getArgument(2).compile(createOutputConfigurationSet()));
+
+        //test
+        outputGenerationTask.configure(Collections.singletonMap("uri",
+                "eddi://ai.labs.output/outputstore/outputsets/00000000000000000?version=1"));
+
+        //assert
+        verify(outputGeneration, never()).addOutputEntry(any(OutputEntry.class));
+        verify(configured, times(3)).addOutputEntry(any(OutputEntry.class));
+        Assert.assertSame(configured, outputGenerationTask.getComponent());
+    }
+
     private OutputEntry createOutputEntry() {
         List<OutputValue> outputs = new LinkedList<>();
         outputs.add(new OutputValue(OutputValue.Type.text, Arrays.asList(ANSWER_ALTERNATIVE_1, ANSWER_ALTERNATIVE_2)));
@@ -9,6 +9,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -57,6 +58,46 @@ public class OutputGenerationTest {
         Assert.assertEquals(2, outputs.get(ACTION_3).get(0).getOccurred());
     }
 
+    @Test
+    public void getOutputsOfEachOccurrence() throws Exception {
+        //setup
+        List<OutputEntry> outputEntries = setupOutputEntries();
+        outputEntries.forEach(outputEntry -> outputGeneration.addOutputEntry(outputEntry));
+
+        //test
+        Map<String, List<OutputEntry>> outputs = outputGeneration.getOutputs(Arrays.asList(
+                new OutputFilter(ACTION_1, 5), new OutputFilter(ACTION_2, 0), new OutputFilter("unknown", 0)));
+        List<OutputEntry> occurred3 = outputGeneration.getOutputs(
+                Collections.singletonList(new OutputFilter(ACTION_3, 3))).get(ACTION_3);
+        List<OutputEntry> occurred4 = outputGeneration.getOutputs(
+                Collections.singletonList(new OutputFilter(ACTION_3, 4))).get(ACTION_3);
+
+        //assert
+        Assert.assertEquals(Arrays.asList(ACTION_1, ACTION_2), new LinkedList<>(outputs.keySet()));
+        Assert.assertEquals(0, outputs.get(ACTION_1).get(0).getOccurred());
+        Assert.assertEquals(1, outputs.get(ACTION_2).get(0).getOccurred());
+        Assert.assertEquals(1, occurred3.size());
+        Assert.assertEquals(4, occurred3.get(0).getOccurred());
+        Assert.assertSame(occurred3, occurred4);
+    }
+
+    @Test
+    public void getOutputsOfLargeOccurrence() throws Exception {
+        //setup
+        outputGeneration.addOutputEntry(new OutputEntry(ACTION_1, 0, Collections.emptyList(), Collections.emptyList()));
+        outputGeneration.addOutputEntry(new OutputEntry(ACTION_1, 1000000, Collections.emptyList(), Collections.emptyList()));
+
+        //test
+        Map<String, List<OutputEntry>> occurred0 = outputGeneration.getOutputs(
+                Collections.singletonList(new OutputFilter(ACTION_1, 0)));
+        Map<String, List<OutputEntry>> occurred5 = outputGeneration.getOutputs(
+                Collections.singletonList(new OutputFilter(ACTION_1, 5)));
+
+        //assert
+        Assert.assertEquals(0, occurred0.get(ACTION_1).get(0).getOccurred());
+        Assert.assertEquals(1000000, occurred5.get(ACTION_1).get(0).getOccurred());
+    }
+
     @Test
     public void extractOutputEntryOfSameOccurrence_Occured_0() throws Exception {
         //setup
@@ -3,12 +3,20 @@ package ai.labs.permission;
 import ai.labs.permission.model.Permissions;
 import ai.labs.persistence.IResourceStore;
 
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * @author ginccc
  */
 public interface IPermissionStore {
     Permissions readPermissions(String resourceId) throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException;
 
+    /**
+     * @return permissions of all given resources, resources without permissions are not contained
+     */
+    Map<String, Permissions> readPermissions(Collection<String> resourceIds) throws IResourceStore.ResourceStoreException;
+
     Permissions readFilteredPermissions(String resourceId) throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException;
 
     void updatePermissions(String resourceId, Permissions permissions) throws IResourceStore.ResourceStoreException;
@@ -77,18 +77,22 @@ public final class PermissionUtilities {
 
             String username = SecurityUtilities.getPrincipal(subject).getName();
             URI currentUser = URI.create(IRestUserStore.resourceURI + userstore.searchUser(username));
-            AuthorizedSubjects authorizedSubjects;
-            for (IAuthorization.Type type : IAuthorization.Type.values()) {
-                authorizedSubjects = permissions.getPermissions().get(type);
-                if (authorizedSubjects != null) {
-                    List<AuthorizedUser> authorizedUsers = PermissionUtilities.mergeAuthorizedSubjects(groupStore, authorizedSubjects);
-                    authorizedSubjects.getUsers().clear();
-                    authorizedSubjects.getUsers().addAll(authorizedUsers);
-                    PermissionUtilities.filterAuthorizedSubjectsByUser(currentUser, authorizedSubjects.getUsers());
-                    if ((authorizedSubjects.getUsers() == null || authorizedSubjects.getUsers().isEmpty()) &&
-                            (authorizedSubjects.getGroups() == null || authorizedSubjects.getGroups().isEmpty())) {
-                        permissions.getPermissions().remove(type);
-                    }
+            keepOwnPermissionsOnly(currentUser, groupStore, permissions);
+        }
+    }
+
+    public static void keepOwnPermissionsOnly(URI currentUser, IGroupStore groupStore, Permissions permissions) throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException {
+        AuthorizedSubjects authorizedSubjects;
+        for (IAuthorization.Type type : IAuthorization.Type.values()) {
+            authorizedSubjects = permissions.getPermissions().get(type);
+            if (authorizedSubjects != null) {
+                List<AuthorizedUser> authorizedUsers = PermissionUtilities.mergeAuthorizedSubjects(groupStore, authorizedSubjects);
+                authorizedSubjects.getUsers().clear();
+                authorizedSubjects.getUsers().addAll(authorizedUsers);
+                PermissionUtilities.filterAuthorizedSubjectsByUser(currentUser, authorizedSubjects.getUsers());
+                if ((authorizedSubjects.getUsers() == null || authorizedSubjects.getUsers().isEmpty()) &&
+                        (authorizedSubjects.getGroups() == null || authorizedSubjects.getGroups().isEmpty())) {
+                    permissions.getPermissions().remove(type);
                 }
             }
         }
@@ -3,9 +3,12 @@ package ai.labs.permission.bootstrap;
 import ai.labs.permission.IAuthorizationManager;
 import ai.labs.permission.IPermissionStore;
 import ai.labs.permission.impl.AuthorizationManager;
+import ai.labs.permission.impl.PermissionCache;
 import ai.labs.permission.impl.PermissionStore;
 import ai.labs.runtime.bootstrap.AbstractBaseModule;
+import ai.labs.user.IUserChangeListener;
 import com.google.inject.Scopes;
+import com.google.inject.multibindings.Multibinder;
 
 /**
  * @author ginccc
@@ -13,6 +16,9 @@ import com.google.inject.Scopes;
 public class PermissionModule extends AbstractBaseModule {
     @Override
     protected void configure() {
+        bind(PermissionCache.class).in(Scopes.SINGLETON);
+        Multibinder.newSetBinder(binder(), IUserChangeListener.class).addBinding().to(PermissionCache.class);
+
         bind(IPermissionStore.class).to(PermissionStore.class).in(Scopes.SINGLETON);
         bind(IAuthorizationManager.class).to(AuthorizationManager.class).in(Scopes.SINGLETON);
     }
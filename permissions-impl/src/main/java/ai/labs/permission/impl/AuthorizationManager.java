@@ -9,11 +9,13 @@ import ai.labs.permission.model.AuthorizedSubjects;
 import ai.labs.permission.model.AuthorizedUser;
 import ai.labs.permission.utilities.PermissionUtilities;
 import ai.labs.persistence.IResourceStore;
+import ai.labs.runtime.ThreadContext;
+import ai.labs.utilities.SecurityUtilities;
 
 import javax.inject.Inject;
 import java.net.URI;
-import java.util.LinkedList;
-import java.util.List;
+import java.security.Principal;
+import java.util.*;
 
 /**
  * @author ginccc
@@ -21,26 +23,26 @@ import java.util.List;
 public class AuthorizationManager implements IAuthorizationManager {
     private final IGroupStore groupStore;
     private final IPermissionStore permissionStore;
+    private final PermissionCache permissionCache;
 
     @Inject
-    public AuthorizationManager(IGroupStore groupStore, IPermissionStore permissionStore) {
+    public AuthorizationManager(IGroupStore groupStore, IPermissionStore permissionStore,
+                                PermissionCache permissionCache) {
         this.groupStore = groupStore;
         this.permissionStore = permissionStore;
+        this.permissionCache = permissionCache;
     }
 
     @Override
     public boolean isUserAuthorized(String resourceId, Integer version, URI user, IAuthorization.Type authorizationType) throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException {
         try {
-            IPermissions permissions = permissionStore.readFilteredPermissions(resourceId);
+            Map<IAuthorization.Type, List<AuthorizedUser>> effectivePermissions =
+                    getEffectivePermissions(resourceId, user);
             List<IAuthorization.Type> allowedAuthorizationTypes = getImplicitAuthorizationTypes(authorizationType);
             for (IAuthorization.Type type : allowedAuthorizationTypes) {
-                AuthorizedSubjects authorizedSubjects = permissions.getPermissions().get(type);
-                if (authorizedSubjects != null) {
-                    List<AuthorizedUser> authorizedUsers = PermissionUtilities.mergeAuthorizedSubjects(groupStore, authorizedSubjects);
-                    authorizedSubjects.getUsers().clear();
-                    authorizedSubjects.getUsers().addAll(authorizedUsers);
-                    PermissionUtilities.filterAuthorizedSubjectsByUser(user, authorizedSubjects.getUsers());
-                    for (AuthorizedUser authorizedUser : authorizedSubjects.getUsers()) {
+                List<AuthorizedUser> authorizedUsers = effectivePermissions.get(type);
+                if (authorizedUsers != null) {
+                    for (AuthorizedUser authorizedUser : authorizedUsers) {
                         List<Integer> versions = authorizedUser.getVersions();
                         if (versions == null || versions.contains(version)) {
                             return true;
@@ -55,6 +57,37 @@ public class AuthorizationManager implements IAuthorizationManager {
         }
     }
 
+    private Map<IAuthorization.Type, List<AuthorizedUser>> getEffectivePermissions(String resourceId, URI user)
+            throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException {
+
+        // permissions are filtered by the subject of the current thread as well
+        Principal principal = SecurityUtilities.getPrincipal(ThreadContext.getSubject());
+        String userKey = (principal != null ? principal.getName() : null) + "|" + user;
+
+        Map<IAuthorization.Type, List<AuthorizedUser>> effectivePermissions = permissionCache.get(resourceId, userKey);
+        if (effectivePermissions == null) {
+            long generation = permissionCache.getGeneration();
+            effectivePermissions = readEffectivePermissions(resourceId, user);
+            permissionCache.put(resourceId, userKey, effectivePermissions, generation);
+        }
+
+        return effectivePermissions;
+    }
+
+    private Map<IAuthorization.Type, List<AuthorizedUser>> readEffectivePermissions(String resourceId, URI user)
+            throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException {
+
+        IPermissions permissions = permissionStore.readFilteredPermissions(resourceId);
+        Map<IAuthorization.Type, List<AuthorizedUser>> effectivePermissions = new EnumMap<>(IAuthorization.Type.class);
+        for (Map.Entry<IAuthorization.Type, AuthorizedSubjects> permission : permissions.getPermissions().entrySet()) {
+            List<AuthorizedUser> authorizedUsers = PermissionUtilities.mergeAuthorizedSubjects(groupStore, permission.getValue());
+            PermissionUtilities.filterAuthorizedSubjectsByUser(user, authorizedUsers);
+            effectivePermissions.put(permission.getKey(), Collections.unmodifiableList(authorizedUsers));
+        }
+
+        return Collections.unmodifiableMap(effectivePermissions);
+    }
+
     public List<IAuthorization.Type> getImplicitAuthorizationTypes(IAuthorization.Type type) throws IAuthorization.UnrecognizedAuthorizationTypeException {
         List<IAuthorization.Type> authorizationTypes = new LinkedList<IAuthorization.Type>();
 
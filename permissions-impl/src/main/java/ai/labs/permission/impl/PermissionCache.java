@@ -0,0 +1,98 @@
+package ai.labs.permission.impl;
+
+import ai.labs.caching.ICache;
+import ai.labs.caching.ICacheFactory;
+import ai.labs.permission.IAuthorization;
+import ai.labs.permission.model.AuthorizedUser;
+import ai.labs.user.IUserChangeListener;
+
+import javax.inject.Inject;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Effective permissions (groups merged, filtered by user) per resource and user. Each combination of resource and
+ * user is an entry of its own, thus the size bound of the cache limits all entries, no matter how many users access
+ * a resource. Entries of a resource are invalidated by the prefix of their key as soon as its permissions are
+ * written; all entries are invalidated once any user or group has been written, as group memberships may affect
+ * any resource.
+ * <p>
+ * An entry is only stored if no invalidation happened while it has been read, thus a concurrent write is never
+ * overwritten by stale permissions.
+ *
+ * @author ginccc
+ */
+public class PermissionCache implements IUserChangeListener {
+    private static final String CACHE_NAME = "ai.labs.permissions";
+    private static final String KEY_SEPARATOR = "#";
+
+    private final ICache<String, Map<IAuthorization.Type, List<AuthorizedUser>>> cache;
+    private final ReadWriteLock invalidationLock = new ReentrantReadWriteLock();
+    private volatile long generation;
+
+    @Inject
+    public PermissionCache(ICacheFactory cacheFactory) {
+        this.cache = cacheFactory.getCache(CACHE_NAME);
+    }
+
+    Map<IAuthorization.Type, List<AuthorizedUser>> get(String resourceId, String userKey) {
+        return cache.get(createKey(resourceId, userKey));
+    }
+
+    /**
+     * @return current generation, to be passed to {@link #put} for permissions read afterwards
+     */
+    long getGeneration() {
+        return generation;
+    }
+
+    void put(String resourceId, String userKey,
+             Map<IAuthorization.Type, List<AuthorizedUser>> effectivePermissions, long readGeneration) {
+
+        invalidationLock.readLock().lock();
+        try {
+            if (readGeneration == generation) {
+                cache.put(createKey(resourceId, userKey), effectivePermissions);
+            }
+        } finally {
+            invalidationLock.readLock().unlock();
+        }
+    }
+
+    void invalidate(String resourceId) {
+        invalidationLock.writeLock().lock();
+        try {
+            generation++;
+            String keyPrefix = resourceId + KEY_SEPARATOR;
+            cache.keySet().removeIf(key -> key.startsWith(keyPrefix));
+        } finally {
+            invalidationLock.writeLock().unlock();
+        }
+    }
+
+    void invalidateAll() {
+        invalidationLock.writeLock().lock();
+        try {
+            generation++;
+            cache.clear();
+        } finally {
+            invalidationLock.writeLock().unlock();
+        }
+    }
+
+    private static String createKey(String resourceId, String userKey) {
+        return resourceId + KEY_SEPARATOR + userKey;
+    }
+
+    @Override
+    public void onUserChanged(String userId) {
+        invalidateAll();
+    }
+
+    @Override
+    public void onGroupChanged(String groupId) {
+        invalidateAll();
+    }
+}
@@ -8,6 +8,7 @@ import ai.labs.permission.model.AuthorizedUser;
 import ai.labs.permission.model.Permissions;
 import ai.labs.permission.utilities.PermissionUtilities;
 import ai.labs.persistence.IResourceStore;
+import ai.labs.persistence.mongo.ConsistencySettings;
 import ai.labs.runtime.ThreadContext;
 import ai.labs.serialization.IDocumentBuilder;
 import ai.labs.user.IUserStore;
@@ -23,7 +24,11 @@ import javax.inject.Inject;
 import java.io.IOException;
 import java.net.URI;
 import java.security.Principal;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * @author ginccc
@@ -35,13 +40,17 @@ public class PermissionStore implements IPermissionStore {
     private final IDocumentBuilder documentBuilder;
     private IUserStore userStore;
     private IGroupStore groupStore;
+    private final PermissionCache permissionCache;
 
     @Inject
-    public PermissionStore(MongoDatabase database, IDocumentBuilder documentBuilder, IUserStore userStore, IGroupStore groupStore) {
-        collection = database.getCollection(COLLECTION_PERMISSIONS);
+    public PermissionStore(MongoDatabase database, IDocumentBuilder documentBuilder, IUserStore userStore,
+                           IGroupStore groupStore, PermissionCache permissionCache,
+                           ConsistencySettings consistencySettings) {
+        collection = consistencySettings.apply(database.getCollection(COLLECTION_PERMISSIONS), COLLECTION_PERMISSIONS);
         this.documentBuilder = documentBuilder;
         this.userStore = userStore;
         this.groupStore = groupStore;
+        this.permissionCache = permissionCache;
     }
 
 
@@ -65,6 +74,24 @@ public class PermissionStore implements IPermissionStore {
         }
     }
 
+    @Override
+    public Map<String, Permissions> readPermissions(Collection<String> resourceIds) throws IResourceStore.ResourceStoreException {
+        List<ObjectId> ids = resourceIds.stream().map(ObjectId::new).collect(Collectors.toList());
+        Map<String, Permissions> ret = new HashMap<>();
+
+        try {
+            for (Document permissionsDocument : collection.find(new Document("_id", new Document("$in", ids)))) {
+                String resourceId = permissionsDocument.remove("_id").toString();
+                ret.put(resourceId, documentBuilder.build(permissionsDocument, Permissions.class));
+            }
+        } catch (IOException e) {
+            log.debug(e.getLocalizedMessage(), e);
+            throw new IResourceStore.ResourceStoreException("Cannot parse json structure into Permissions entity.", e);
+        }
+
+        return ret;
+    }
+
     @Override
     public Permissions readFilteredPermissions(String resourceId) throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException {
         Permissions permissions = readPermissions(resourceId);
@@ -101,6 +128,7 @@ public class PermissionStore implements IPermissionStore {
         permissionsDocument.put("_id", new ObjectId(resourceId));
 
         collection.insertOne(permissionsDocument);
+        permissionCache.invalidate(resourceId);
     }
 
     @Override
@@ -128,6 +156,7 @@ public class PermissionStore implements IPermissionStore {
     @Override
     public void deletePermissions(String resourceId) throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException {
         collection.deleteOne(new Document("_id", new ObjectId(resourceId)));
+        permissionCache.invalidate(resourceId);
     }
 
     @Override
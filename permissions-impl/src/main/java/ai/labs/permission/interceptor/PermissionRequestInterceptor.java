@@ -1,10 +1,8 @@
 package ai.labs.permission.interceptor;
 
-import ai.labs.group.IGroupStore;
 import ai.labs.permission.IAuthorization;
 import ai.labs.permission.IAuthorizationManager;
 import ai.labs.permission.IPermissionStore;
-import ai.labs.permission.impl.AuthorizationManager;
 import ai.labs.permission.utilities.PermissionUtilities;
 import ai.labs.persistence.IResourceStore;
 import ai.labs.runtime.DependencyInjector;
@@ -53,8 +51,7 @@ public class PermissionRequestInterceptor implements ContainerRequestFilter {
         DependencyInjector injector = DependencyInjector.getInstance();
         this.userStore = injector.getInstance(IUserStore.class);
         permissionStore = injector.getInstance(IPermissionStore.class);
-        authorizationManager = new AuthorizationManager(injector.getInstance(IGroupStore.class),
-                permissionStore);
+        authorizationManager = injector.getInstance(IAuthorizationManager.class);
         this.pathPermissionStore = injector.getInstance(Key.get(String.class, Names.named("system.pathOfPermissionStore")));
     }
 
@@ -0,0 +1,110 @@
+package ai.labs.permission.impl;
+
+import ai.labs.caching.ICache;
+import ai.labs.caching.ICacheFactory;
+import ai.labs.group.IGroupStore;
+import ai.labs.permission.IAuthorization;
+import ai.labs.permission.IPermissionStore;
+import ai.labs.permission.model.AuthorizedSubjects;
+import ai.labs.permission.model.AuthorizedUser;
+import ai.labs.permission.model.Permissions;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author ginccc
+ */
+public class AuthorizationManagerTest {
+    private static final String RESOURCE_ID = "5a5bd6c7b1a0c27a2e0fa6e1";
+    private static final URI USER = URI.create("eddi://ai.labs.user/userstore/users/5a5bd6c7b1a0c27a2e0fa6e2");
+    private IPermissionStore permissionStore;
+    private PermissionCache permissionCache;
+    private AuthorizationManager authorizationManager;
+
+    @Before
+    public void setUp() throws Exception {
+        permissionStore = mock(IPermissionStore.class);
+        when(permissionStore.readFilteredPermissions(anyString())).then(invocation -> {
+            Permissions permissions = new Permissions();
+            AuthorizedSubjects authorizedSubjects = new AuthorizedSubjects();
+            authorizedSubjects.getUsers().add(new AuthorizedUser(USER, null));
+            permissions.getPermissions().put(IAuthorization.Type.READ, authorizedSubjects);
+            return permissions;
+        });
+
+        ICacheFactory cacheFactory = mock(ICacheFactory.class);
+        ICache cache = mock(ICache.class, delegatesTo(new ConcurrentHashMap<>()));
+        when(cacheFactory.getCache(anyString())).thenReturn(cache);
+        permissionCache = new PermissionCache(cacheFactory);
+
+        authorizationManager = new AuthorizationManager(mock(IGroupStore.class), permissionStore, permissionCache);
+    }
+
+    @Test
+    public void isUserAuthorizedReadsPermissionsOnlyOnce() throws Exception {
+        //test
+        boolean read = authorizationManager.isUserAuthorized(RESOURCE_ID, 1, USER, IAuthorization.Type.READ);
+        boolean view = authorizationManager.isUserAuthorized(RESOURCE_ID, 1, USER, IAuthorization.Type.VIEW);
+        boolean write = authorizationManager.isUserAuthorized(RESOURCE_ID, 1, USER, IAuthorization.Type.WRITE);
+
+        //assert
+        Assert.assertTrue(read);
+        Assert.assertTrue(view);
+        Assert.assertFalse(write);
+        verify(permissionStore, times(1)).readFilteredPermissions(RESOURCE_ID);
+    }
+
+    @Test
+    public void isUserAuthorizedAfterInvalidation() throws Exception {
+        //setup
+        authorizationManager.isUserAuthorized(RESOURCE_ID, 1, USER, IAuthorization.Type.READ);
+
+        //test
+        permissionCache.invalidate(RESOURCE_ID);
+        authorizationManager.isUserAuthorized(RESOURCE_ID, 1, USER, IAuthorization.Type.READ);
+        permissionCache.onGroupChanged("someGroupId");
+        authorizationManager.isUserAuthorized(RESOURCE_ID, 1, USER, IAuthorization.Type.READ);
+
+        //assert
+        verify(permissionStore, times(3)).readFilteredPermissions(RESOURCE_ID);
+    }
+
+    @Test
+    public void putIsIgnoredIfInvalidatedWhileReading() {
+        //setup
+        long generation = permissionCache.getGeneration();
+
+        //test
+        permissionCache.invalidate(RESOURCE_ID);
+        permissionCache.put(RESOURCE_ID, "user", new ConcurrentHashMap<>(), generation);
+
+        //assert
+        Assert.assertNull(permissionCache.get(RESOURCE_ID, "user"));
+    }
+
+    @Test
+    public void invalidateRemovesEntriesOfResourceOnly() {
+        //setup
+        String otherResourceId = "5a5bd6c7b1a0c27a2e0fa6e3";
+        long generation = permissionCache.getGeneration();
+        permissionCache.put(RESOURCE_ID, "user1", new ConcurrentHashMap<>(), generation);
+        permissionCache.put(RESOURCE_ID, "user2", new ConcurrentHashMap<>(), generation);
+        permissionCache.put(otherResourceId, "user1", new ConcurrentHashMap<>(), generation);
+
+        //test
+        permissionCache.invalidate(RESOURCE_ID);
+
+        //assert
+        Assert.assertNull(permissionCache.get(RESOURCE_ID, "user1"));
+        Assert.assertNull(permissionCache.get(RESOURCE_ID, "user2"));
+        Assert.assertNotNull(permissionCache.get(otherResourceId, "user1"));
+    }
+}
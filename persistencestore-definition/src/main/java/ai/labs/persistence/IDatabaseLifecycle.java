@@ -0,0 +1,12 @@
+package ai.labs.persistence;
+
+/**
+ * @author ginccc
+ */
+public interface IDatabaseLifecycle {
+    /**
+     * Registers a step, which still has to write to the database on shutdown (e.g. flushing queued writes).
+     * These steps are run in the order of their registration, all of them before the database clients are closed.
+     */
+    void beforeShutdown(String name, Runnable step);
+}
@@ -1,5 +1,6 @@
 package ai.labs.persistence;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -8,6 +9,12 @@ import java.util.List;
 public interface IDescriptorStore<T> {
     List<T> readDescriptors(String type, String filter, Integer index, Integer limit, boolean includeDeleted) throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException;
 
+    /**
+     * Reads the descriptors of the given resources with a single query, skipping those the current user
+     * has no permission for, most recently modified first.
+     */
+    List<T> readDescriptors(Collection<String> resourceIds, boolean includeDeleted) throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException;
+
     T readDescriptor(String resourceId, Integer version) throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException;
 
     Integer updateDescriptor(String resourceId, Integer version, T descriptor) throws IResourceStore.ResourceStoreException, IResourceStore.ResourceModifiedException, IResourceStore.ResourceNotFoundException;
@@ -0,0 +1,12 @@
+package ai.labs.persistence;
+
+/**
+ * @author ginccc
+ */
+public interface IIndexManager {
+    /**
+     * Creates all declared indexes, which are missing, recreates those whose keys or options have changed
+     * and reports indexes, which are not declared by any store or have not been used since the database started.
+     */
+    void reconcileIndexes();
+}
@@ -0,0 +1,62 @@
+package ai.labs.persistence;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Index a store needs on one of its collections. Stores declare their indexes, which are reconciled
+ * with the database on startup (see {@link IIndexManager}).
+ *
+ * @author ginccc
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public class IndexDefinition {
+    private final String collection;
+    private final String name;
+    private final Map<String, Integer> keys = new LinkedHashMap<>();
+    private boolean unique;
+    private Map<String, Object> partialFilter = Collections.emptyMap();
+
+    private IndexDefinition(String collection, String name) {
+        this.collection = collection;
+        this.name = name;
+    }
+
+    public static IndexDefinition on(String collection, String name) {
+        return new IndexDefinition(collection, name);
+    }
+
+    public IndexDefinition ascending(String field) {
+        keys.put(field, 1);
+        return this;
+    }
+
+    public IndexDefinition descending(String field) {
+        keys.put(field, -1);
+        return this;
+    }
+
+    public IndexDefinition unique() {
+        this.unique = true;
+        return this;
+    }
+
+    /**
+     * Index only documents matching this filter (e.g. {"deleted": false}). Queries can only use such an index
+     * if their filter implies the partial filter.
+     */
+    public IndexDefinition partial(String field, Object value) {
+        if (partialFilter.isEmpty()) {
+            partialFilter = new LinkedHashMap<>();
+        }
+        partialFilter.put(field, value);
+        return this;
+    }
+}
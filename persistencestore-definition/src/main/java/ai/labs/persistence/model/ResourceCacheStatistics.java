@@ -0,0 +1,17 @@
+package ai.labs.persistence.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * @author ginccc
+ */
+@Getter
+@AllArgsConstructor
+public class ResourceCacheStatistics {
+    private String resourceType;
+    private int cachedResources;
+    private long hits;
+    private long misses;
+    private long invalidations;
+}
@@ -2,6 +2,7 @@ package ai.labs.persistence;
 
 import ai.labs.group.IGroupStore;
 import ai.labs.permission.IPermissionStore;
+import ai.labs.persistence.mongo.ConsistencySettings;
 import ai.labs.persistence.mongo.ModifiableHistorizedResourceStore;
 import ai.labs.persistence.mongo.MongoResourceStorage;
 import ai.labs.serialization.IDocumentBuilder;
@@ -11,15 +12,20 @@ import ai.labs.utilities.StringUtilities;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import org.bson.Document;
+import org.bson.types.ObjectId;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * @author ginccc
  */
 public class DescriptorStore<T> implements IDescriptorStore<T> {
     private static final String COLLECTION_DESCRIPTORS = "descriptors";
+    private static final String FIELD_ID = "_id";
     private static final String FIELD_RESOURCE = "resource";
     private static final String FIELD_NAME = "name";
     private static final String FIELD_DESCRIPTION = "description";
@@ -27,18 +33,30 @@ public class DescriptorStore<T> implements IDescriptorStore<T> {
     private static final String FIELD_DELETED = "deleted";
 
     private static final String collectionName = "descriptors";
+
+    /**
+     * Listings filter by deleted (mostly false), sort by lastModifiedOn and _id (keyset) and match
+     * resource by an anchored regex, thus the order: equality, sort, range.
+     */
+    public static final List<IndexDefinition> INDEXES = Collections.singletonList(
+            IndexDefinition.on(COLLECTION_DESCRIPTORS, "deleted_lastModifiedOn_id_resource").
+                    ascending(FIELD_DELETED).descending(FIELD_LAST_MODIFIED).descending("_id").
+                    ascending(FIELD_RESOURCE).partial(FIELD_DELETED, false));
     private ModifiableHistorizedResourceStore<T> descriptorResourceStore;
 
     private IResourceFilter<T> resourceFilter;
 
     public DescriptorStore(MongoDatabase database, IPermissionStore permissionStore, IUserStore userStore,
-                           IGroupStore groupStore, IDocumentBuilder documentBuilder, Class<T> documentType) {
+                           IGroupStore groupStore, IDocumentBuilder documentBuilder,
+                           ConsistencySettings consistencySettings, Class<T> documentType) {
         RuntimeUtilities.checkNotNull(database, "database");
         RuntimeUtilities.checkNotNull(permissionStore, "permissionStore");
 
-        MongoCollection<Document> descriptorCollection = database.getCollection(COLLECTION_DESCRIPTORS);
-        MongoResourceStorage<T> resourceStorage =
-                new MongoResourceStorage<>(database, collectionName, documentBuilder, documentType);
+        // listings are administrative reads, which may be configured to be served by secondaries
+        MongoCollection<Document> descriptorCollection = consistencySettings.apply(
+                database.getCollection(COLLECTION_DESCRIPTORS), COLLECTION_DESCRIPTORS, "listing");
+        MongoResourceStorage<T> resourceStorage = new MongoResourceStorage<>(database, collectionName,
+                documentBuilder, documentType, consistencySettings);
         this.descriptorResourceStore = new ModifiableHistorizedResourceStore<>(resourceStorage);
         this.resourceFilter = new ResourceFilter<>(descriptorCollection, descriptorResourceStore,
                 permissionStore, userStore, groupStore, documentBuilder, documentType);
@@ -48,7 +66,7 @@ public class DescriptorStore<T> implements IDescriptorStore<T> {
     public List<T> readDescriptors(String type, String filter, Integer index, Integer limit, boolean includeDeleted)
             throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException {
         List<IResourceFilter.QueryFilter> queryFiltersRequired = new LinkedList<>();
-        String filterURI = "eddi://" + type + ".*";
+        String filterURI = "^eddi://" + type + ".*";
         queryFiltersRequired.add(new IResourceFilter.QueryFilter(FIELD_RESOURCE, filterURI));
         queryFiltersRequired.add(new IResourceFilter.QueryFilter(FIELD_DELETED, includeDeleted));
         IResourceFilter.QueryFilters required = new IResourceFilter.QueryFilters(queryFiltersRequired);
@@ -64,6 +82,22 @@ public class DescriptorStore<T> implements IDescriptorStore<T> {
         return resourceFilter.readResources(new IResourceFilter.QueryFilters[]{required, optional}, index, limit, FIELD_LAST_MODIFIED);
     }
 
+    @Override
+    public List<T> readDescriptors(Collection<String> resourceIds, boolean includeDeleted)
+            throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException {
+        if (resourceIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<ObjectId> ids = resourceIds.stream().map(ObjectId::new).collect(Collectors.toList());
+        List<IResourceFilter.QueryFilter> queryFiltersRequired = new LinkedList<>();
+        queryFiltersRequired.add(new IResourceFilter.QueryFilter(FIELD_ID, new Document("$in", ids)));
+        queryFiltersRequired.add(new IResourceFilter.QueryFilter(FIELD_DELETED, includeDeleted));
+        IResourceFilter.QueryFilters required = new IResourceFilter.QueryFilters(queryFiltersRequired);
+
+        return resourceFilter.readResources(new IResourceFilter.QueryFilters[]{required}, 0, 0, FIELD_LAST_MODIFIED);
+    }
+
     @Override
     public T readDescriptor(String resourceId, Integer version) throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException {
         return descriptorResourceStore.read(resourceId, version);
@@ -1,6 +1,7 @@
 package ai.labs.persistence;
 
 import ai.labs.group.IGroupStore;
+import ai.labs.group.model.Group;
 import ai.labs.permission.IAuthorization;
 import ai.labs.permission.IPermissionStore;
 import ai.labs.permission.model.AuthorizedSubjects;
@@ -10,7 +11,9 @@ import ai.labs.permission.utilities.PermissionUtilities;
 import ai.labs.runtime.ThreadContext;
 import ai.labs.serialization.IDocumentBuilder;
 import ai.labs.user.IUserStore;
+import ai.labs.user.rest.IRestUserStore;
 import ai.labs.utilities.RuntimeUtilities;
+import ai.labs.utilities.SecurityUtilities;
 import com.mongodb.DBObject;
 import com.mongodb.QueryBuilder;
 import com.mongodb.client.FindIterable;
@@ -18,12 +21,13 @@ import com.mongodb.client.MongoCollection;
 import lombok.extern.slf4j.Slf4j;
 import org.bson.Document;
 
+import javax.security.auth.Subject;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * @author ginccc
@@ -32,12 +36,13 @@ import java.util.regex.Pattern;
 public class ResourceFilter<T> implements IResourceFilter<T> {
     private static final String FIELD_ID = "_id";
     private static final String FIELD_VERSION = "_version";
+    private static final int DEFAULT_BATCH_SIZE = 100;
 
     private MongoCollection<Document> collection;
     private IResourceStore<T> resourceStore;
     private IPermissionStore permissionStore;
     private Class<T> documentType;
-    private Map<String, Pattern> regexCache;
+    private final Map<String, Pattern> regexCache;
     private final IDocumentBuilder documentBuilder;
     private IGroupStore groupStore;
     private final IUserStore userStore;
@@ -49,7 +54,7 @@ public class ResourceFilter<T> implements IResourceFilter<T> {
         this.resourceStore = resourceStore;
         this.permissionStore = permissionStore;
         this.documentType = documentType;
-        this.regexCache = new HashMap<>();
+        this.regexCache = new ConcurrentHashMap<>();
 
         this.documentBuilder = documentBuilder;
         this.userStore = userStore;
@@ -63,44 +68,54 @@ public class ResourceFilter<T> implements IResourceFilter<T> {
 
         try {
             Document query = createQuery(queryFilters);
-            FindIterable<Document> results = collection.find(query);
             Document sort = createSortQuery(sortTypes);
-            results = results.sort(sort);
+            int batchSize = limit > 0 ? limit : DEFAULT_BATCH_SIZE;
+            FindIterable<Document> results = collection.find(query).sort(sort).
+                    skip(limit > 0 ? index * limit : index).limit(batchSize);
 
-            if (limit > 0) {
-                results = results.skip(index * limit);
-            } else {
-                results = results.skip(index);
-            }
-
-            for (Document result : results) {
-                if (limit > 0 && ret.size() >= limit) {
+            URI currentUser = getCurrentUser();
+            IGroupStore groupStore = new ReadOnceGroupStore(this.groupStore);
+            while (true) {
+                List<Document> batch = results.into(new ArrayList<>(batchSize));
+                if (batch.isEmpty()) {
                     break;
                 }
 
-                String id = result.get(FIELD_ID).toString();
-                T model = buildDocument(result);
-                Permissions permissions = null;
-                try {
-                    permissions = getPermissions(id);
-                } catch (IResourceStore.ResourceNotFoundException e) {
-                    log.warn("Missing Permission with Resource id: %s , access has been granted.");
-                }
+                Document keysetQuery = createKeysetQuery(batch.get(batch.size() - 1), sort);
+                Map<String, Permissions> permissionsOfBatch = readPermissions(batch, currentUser, groupStore);
+                for (Document result : batch) {
+                    if (limit > 0 && ret.size() >= limit) {
+                        break;
+                    }
 
-                if (permissions != null && permissions.getPermissions().values().isEmpty()) {
-                    continue;
-                }
+                    String id = result.get(FIELD_ID).toString();
+                    Permissions permissions = permissionsOfBatch.get(id);
+                    if (permissions == null) {
+                        log.warn("Missing Permission with Resource id: {} , access has been granted.", id);
+                    } else if (permissions.getPermissions().values().isEmpty()) {
+                        continue;
+                    }
 
-                Object versionField = result.get(FIELD_VERSION);
-                if (versionField != null && permissions != null) {
-                    Integer currentVersion = Integer.parseInt(versionField.toString());
-                    Integer highestPermittedVersion = getHighestPermittedVersion(currentVersion, permissions.getPermissions());
-                    if (highestPermittedVersion < currentVersion) {
-                        model = resourceStore.read(id, highestPermittedVersion);
+                    T model = buildDocument(result);
+                    Object versionField = result.get(FIELD_VERSION);
+                    if (versionField != null && permissions != null) {
+                        Integer currentVersion = Integer.parseInt(versionField.toString());
+                        Integer highestPermittedVersion = getHighestPermittedVersion(currentVersion, permissions.getPermissions());
+                        if (highestPermittedVersion < currentVersion) {
+                            model = resourceStore.read(id, highestPermittedVersion);
+                        }
                     }
+
+                    ret.add(model);
+                }
+
+                if ((limit > 0 && ret.size() >= limit) || batch.size() < batchSize) {
+                    break;
                 }
 
-                ret.add(model);
+                // continue right after the last result of this batch, rather than skipping all results read so far
+                results = collection.find(new Document("$and", Arrays.asList(query, keysetQuery))).
+                        sort(sort).limit(batchSize);
             }
         } catch (IOException e) {
             throw new IResourceStore.ResourceStoreException(e.getLocalizedMessage(), e);
@@ -146,21 +161,55 @@ public class ResourceFilter<T> implements IResourceFilter<T> {
         for (String sortType : sortTypes) {
             document.put(sortType, -1);
         }
+        document.put(FIELD_ID, -1);
 
         return document;
     }
 
+    /**
+     * Query for all results, which are sorted after the given one (all sort fields are descending, the id being the last).
+     */
+    private static Document createKeysetQuery(Document lastResult, Document sort) {
+        List<Document> alternatives = new LinkedList<>();
+        Document equalFields = new Document();
+        for (String sortField : sort.keySet()) {
+            Object value = lastResult.get(sortField);
+            Document alternative = new Document(equalFields);
+            alternative.put(sortField, new Document("$lt", value));
+            alternatives.add(alternative);
+            equalFields.put(sortField, value);
+        }
+
+        return new Document("$or", alternatives);
+    }
+
+    private URI getCurrentUser() throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException {
+        Subject subject = ThreadContext.getSubject();
+        if (RuntimeUtilities.isNullOrEmpty(subject)) {
+            return null;
+        }
+
+        String username = SecurityUtilities.getPrincipal(subject).getName();
+        return URI.create(IRestUserStore.resourceURI + userStore.searchUser(username));
+    }
+
     private T buildDocument(Document descriptor) throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException, IOException {
         descriptor.remove("_id");
         return documentBuilder.build(descriptor, documentType);
     }
 
-    private Permissions getPermissions(String id) throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException {
-        Permissions permissions = permissionStore.readPermissions(id);
-        if (!RuntimeUtilities.isNullOrEmpty(ThreadContext.getSubject())) {
-            PermissionUtilities.keepOwnPermissionsOnly(userStore, groupStore, permissions);
+    private Map<String, Permissions> readPermissions(List<Document> results, URI currentUser, IGroupStore groupStore)
+            throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException {
+
+        List<String> ids = results.stream().map(result -> result.get(FIELD_ID).toString()).collect(Collectors.toList());
+        Map<String, Permissions> permissionsOfResources = permissionStore.readPermissions(ids);
+        if (currentUser != null) {
+            for (Permissions permissions : permissionsOfResources.values()) {
+                PermissionUtilities.keepOwnPermissionsOnly(currentUser, groupStore, permissions);
+            }
         }
-        return permissions;
+
+        return permissionsOfResources;
     }
 
     private Integer getHighestPermittedVersion(Integer latestVersion, Map<IAuthorization.Type, AuthorizedSubjects> permissions) throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException {
@@ -190,4 +239,42 @@ public class ResourceFilter<T> implements IResourceFilter<T> {
     private Pattern getPatternForRegex(String regex) {
         return regexCache.computeIfAbsent(regex, k -> Pattern.compile(regex));
     }
+
+    /**
+     * Reads each group only once while filtering the permissions of a page.
+     */
+    private static class ReadOnceGroupStore implements IGroupStore {
+        private final IGroupStore groupStore;
+        private final Map<String, Group> groups = new HashMap<>();
+
+        private ReadOnceGroupStore(IGroupStore groupStore) {
+            this.groupStore = groupStore;
+        }
+
+        @Override
+        public Group readGroup(String groupId) throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException {
+            Group group = groups.get(groupId);
+            if (group == null) {
+                group = groupStore.readGroup(groupId);
+                groups.put(groupId, group);
+            }
+
+            return group;
+        }
+
+        @Override
+        public void updateGroup(String groupId, Group group) throws IResourceStore.ResourceStoreException {
+            groupStore.updateGroup(groupId, group);
+        }
+
+        @Override
+        public String createGroup(Group group) throws IResourceStore.ResourceStoreException {
+            return groupStore.createGroup(group);
+        }
+
+        @Override
+        public void deleteGroup(String groupId) {
+            groupStore.deleteGroup(groupId);
+        }
+    }
 }
@@ -1,10 +1,26 @@
 package ai.labs.persistence.bootstrap;
 
+import ai.labs.persistence.DescriptorStore;
+import ai.labs.persistence.IDatabaseLifecycle;
+import ai.labs.persistence.IIndexManager;
+import ai.labs.persistence.IndexDefinition;
+import ai.labs.persistence.mongo.ConsistencySettings;
+import ai.labs.persistence.mongo.DatabaseLifecycle;
+import ai.labs.persistence.mongo.MongoIndexManager;
+import ai.labs.persistence.mongo.ResourceCacheFactory;
+import ai.labs.runtime.IMetricsProvider;
 import ai.labs.runtime.bootstrap.AbstractBaseModule;
 import ai.labs.utilities.RuntimeUtilities;
 import com.google.inject.Provides;
+import com.google.inject.Scopes;
+import com.google.inject.multibindings.Multibinder;
 import com.mongodb.*;
+import com.mongodb.async.client.MongoClientSettings;
+import com.mongodb.async.client.MongoClients;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.connection.*;
+import com.mongodb.connection.netty.NettyStreamFactoryFactory;
+import com.mongodb.selector.LatencyMinimizingServerSelector;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -12,12 +28,15 @@ import java.io.InputStream;
 import java.net.UnknownHostException;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author ginccc
  */
 public class PersistenceModule extends AbstractBaseModule {
     private final InputStream configFile;
+    private final DatabaseLifecycle databaseLifecycle = new DatabaseLifecycle();
 
     public PersistenceModule(InputStream configFile) {
         this.configFile = configFile;
@@ -25,7 +44,51 @@ public class PersistenceModule extends AbstractBaseModule {
 
     @Override
     protected void configure() {
-        registerConfigFiles(this.configFile);
+        Properties properties = registerConfigFiles(this.configFile);
+        bind(ConsistencySettings.class).toInstance(new ConsistencySettings(properties));
+        bind(IDatabaseLifecycle.class).toInstance(databaseLifecycle);
+        databaseLifecycle.registerShutdownHook();
+
+        // further indexes are contributed by the modules of the stores
+        Multibinder<IndexDefinition> indexDefinitions = Multibinder.newSetBinder(binder(), IndexDefinition.class);
+        DescriptorStore.INDEXES.forEach(index -> indexDefinitions.addBinding().toInstance(index));
+        bind(IIndexManager.class).to(MongoIndexManager.class).in(Scopes.SINGLETON);
+
+        bind(ResourceCacheFactory.class).in(Scopes.SINGLETON);
+        Multibinder.newSetBinder(binder(), IMetricsProvider.class).addBinding().to(ResourceCacheFactory.class);
+    }
+
+    @Provides
+    @Singleton
+    public MongoClientOptions provideMongoClientOptions(@Named("mongodb.readPreference") String readPreference,
+                                                        @Named("mongodb.readConcern") String readConcern,
+                                                        @Named("mongodb.writeConcern") String writeConcern,
+                                                        @Named("mongodb.connectionsPerHost") Integer connectionsPerHost,
+                                                        @Named("mongodb.connectTimeout") Integer connectTimeout,
+                                                        @Named("mongodb.heartbeatConnectTimeout") Integer heartbeatConnectTimeout,
+                                                        @Named("mongodb.heartbeatFrequency") Integer heartbeatFrequency,
+                                                        @Named("mongodb.heartbeatSocketTimeout") Integer heartbeatSocketTimeout,
+                                                        @Named("mongodb.localThreshold") Integer localThreshold,
+                                                        @Named("mongodb.maxConnectionIdleTime") Integer maxConnectionIdleTime,
+                                                        @Named("mongodb.maxConnectionLifeTime") Integer maxConnectionLifeTime,
+                                                        @Named("mongodb.maxWaitTime") Integer maxWaitTime,
+                                                        @Named("mongodb.minConnectionsPerHost") Integer minConnectionsPerHost,
+                                                        @Named("mongodb.minHeartbeatFrequency") Integer minHeartbeatFrequency,
+                                                        @Named("mongodb.requiredReplicaSetName") String requiredReplicaSetName,
+                                                        @Named("mongodb.serverSelectionTimeout") Integer serverSelectionTimeout,
+                                                        @Named("mongodb.socketTimeout") Integer socketTimeout,
+                                                        @Named("mongodb.sslEnabled") Boolean sslEnabled,
+                                                        @Named("mongodb.threadsAllowedToBlockForConnectionMultiplier") Integer threadsAllowedToBlockForConnectionMultiplier) {
+        return buildMongoClientOptions(
+                ConsistencySettings.parseWriteConcern(writeConcern),
+                ConsistencySettings.parseReadPreference(readPreference),
+                ConsistencySettings.parseReadConcern(readConcern),
+                connectionsPerHost, connectTimeout, heartbeatConnectTimeout,
+                heartbeatFrequency, heartbeatSocketTimeout, localThreshold,
+                maxConnectionIdleTime, maxConnectionLifeTime, maxWaitTime,
+                minConnectionsPerHost, minHeartbeatFrequency, requiredReplicaSetName,
+                serverSelectionTimeout, socketTimeout,
+                sslEnabled, threadsAllowedToBlockForConnectionMultiplier);
     }
 
     @Provides
@@ -36,35 +99,12 @@ public class PersistenceModule extends AbstractBaseModule {
                                         @Named("mongodb.source") String source,
                                         @Named("mongodb.username") String username,
                                         @Named("mongodb.password") String password,
-                                        @Named("mongodb.connectionsPerHost") Integer connectionsPerHost,
-                                        @Named("mongodb.connectTimeout") Integer connectTimeout,
-                                        @Named("mongodb.heartbeatConnectTimeout") Integer heartbeatConnectTimeout,
-                                        @Named("mongodb.heartbeatFrequency") Integer heartbeatFrequency,
-                                        @Named("mongodb.heartbeatSocketTimeout") Integer heartbeatSocketTimeout,
-                                        @Named("mongodb.localThreshold") Integer localThreshold,
-                                        @Named("mongodb.maxConnectionIdleTime") Integer maxConnectionIdleTime,
-                                        @Named("mongodb.maxConnectionLifeTime") Integer maxConnectionLifeTime,
-                                        @Named("mongodb.maxWaitTime") Integer maxWaitTime,
-                                        @Named("mongodb.minConnectionsPerHost") Integer minConnectionsPerHost,
-                                        @Named("mongodb.minHeartbeatFrequency") Integer minHeartbeatFrequency,
-                                        @Named("mongodb.requiredReplicaSetName") String requiredReplicaSetName,
-                                        @Named("mongodb.serverSelectionTimeout") Integer serverSelectionTimeout,
-                                        @Named("mongodb.socketTimeout") Integer socketTimeout,
-                                        @Named("mongodb.sslEnabled") Boolean sslEnabled,
-                                        @Named("mongodb.threadsAllowedToBlockForConnectionMultiplier") Integer threadsAllowedToBlockForConnectionMultiplier) {
+                                        MongoClientOptions mongoClientOptions) {
         try {
 
             List<ServerAddress> seeds = hostsToServerAddress(hosts, port);
 
             MongoClient mongoClient;
-            MongoClientOptions mongoClientOptions = buildMongoClientOptions(
-                    WriteConcern.MAJORITY, ReadPreference.nearest(),
-                    connectionsPerHost, connectTimeout, heartbeatConnectTimeout,
-                    heartbeatFrequency, heartbeatSocketTimeout, localThreshold,
-                    maxConnectionIdleTime, maxConnectionLifeTime, maxWaitTime,
-                    minConnectionsPerHost, minHeartbeatFrequency, requiredReplicaSetName,
-                    serverSelectionTimeout, socketTimeout,
-                    sslEnabled, threadsAllowedToBlockForConnectionMultiplier);
             if ("".equals(username) || "".equals(password)) {
                 mongoClient = new MongoClient(seeds, mongoClientOptions);
             } else {
@@ -72,7 +112,76 @@ public class PersistenceModule extends AbstractBaseModule {
                 mongoClient = new MongoClient(seeds, credential, mongoClientOptions);
             }
 
-            registerMongoClientShutdownHook(mongoClient);
+            databaseLifecycle.closeOnShutdown("MongoClient", mongoClient::close);
+
+            return mongoClient.getDatabase(database);
+        } catch (UnknownHostException e) {
+            throw new RuntimeException(e.getLocalizedMessage(), e);
+        }
+    }
+
+    /**
+     * Client of the async driver, configured with the same options as the synchronous one. It does not block
+     * any thread while waiting for the database, its callbacks are invoked by the threads of the driver.
+     */
+    @Provides
+    @Singleton
+    public com.mongodb.async.client.MongoDatabase provideAsyncMongoDB(@Named("mongodb.hosts") String hosts,
+                                                                      @Named("mongodb.port") Integer port,
+                                                                      @Named("mongodb.database") String database,
+                                                                      @Named("mongodb.source") String source,
+                                                                      @Named("mongodb.username") String username,
+                                                                      @Named("mongodb.password") String password,
+                                                                      MongoClientOptions mongoClientOptions) {
+        try {
+            ClusterSettings clusterSettings = ClusterSettings.builder().
+                    hosts(hostsToServerAddress(hosts, port)).
+                    requiredReplicaSetName(mongoClientOptions.getRequiredReplicaSetName()).
+                    serverSelectionTimeout(mongoClientOptions.getServerSelectionTimeout(), TimeUnit.MILLISECONDS).
+                    serverSelector(new LatencyMinimizingServerSelector(
+                            mongoClientOptions.getLocalThreshold(), TimeUnit.MILLISECONDS)).
+                    build();
+
+            MongoClientSettings.Builder builder = MongoClientSettings.builder().
+                    clusterSettings(clusterSettings).
+                    connectionPoolSettings(ConnectionPoolSettings.builder().
+                            maxSize(mongoClientOptions.getConnectionsPerHost()).
+                            minSize(mongoClientOptions.getMinConnectionsPerHost()).
+                            maxWaitQueueSize(mongoClientOptions.getConnectionsPerHost() *
+                                    mongoClientOptions.getThreadsAllowedToBlockForConnectionMultiplier()).
+                            maxWaitTime(mongoClientOptions.getMaxWaitTime(), TimeUnit.MILLISECONDS).
+                            maxConnectionIdleTime(mongoClientOptions.getMaxConnectionIdleTime(), TimeUnit.MILLISECONDS).
+                            maxConnectionLifeTime(mongoClientOptions.getMaxConnectionLifeTime(), TimeUnit.MILLISECONDS).
+                            build()).
+                    socketSettings(SocketSettings.builder().
+                            connectTimeout(mongoClientOptions.getConnectTimeout(), TimeUnit.MILLISECONDS).
+                            readTimeout(mongoClientOptions.getSocketTimeout(), TimeUnit.MILLISECONDS).
+                            build()).
+                    heartbeatSocketSettings(SocketSettings.builder().
+                            connectTimeout(mongoClientOptions.getHeartbeatConnectTimeout(), TimeUnit.MILLISECONDS).
+                            readTimeout(mongoClientOptions.getHeartbeatSocketTimeout(), TimeUnit.MILLISECONDS).
+                            build()).
+                    serverSettings(ServerSettings.builder().
+                            heartbeatFrequency(mongoClientOptions.getHeartbeatFrequency(), TimeUnit.MILLISECONDS).
+                            minHeartbeatFrequency(mongoClientOptions.getMinHeartbeatFrequency(), TimeUnit.MILLISECONDS).
+                            build()).
+                    sslSettings(SslSettings.builder().
+                            enabled(mongoClientOptions.isSslEnabled()).
+                            invalidHostNameAllowed(mongoClientOptions.isSslInvalidHostNameAllowed()).
+                            build()).
+                    readPreference(mongoClientOptions.getReadPreference()).
+                    readConcern(mongoClientOptions.getReadConcern()).
+                    writeConcern(mongoClientOptions.getWriteConcern());
+            if (mongoClientOptions.isSslEnabled()) {
+                // asynchronous socket channels of the JDK do not support SSL
+                builder.streamFactoryFactory(NettyStreamFactoryFactory.builder().build());
+            }
+            if (!"".equals(username) && !"".equals(password)) {
+                builder.credential(MongoCredential.createCredential(username, source, password.toCharArray()));
+            }
+
+            com.mongodb.async.client.MongoClient mongoClient = MongoClients.create(builder.build());
+            databaseLifecycle.closeOnShutdown("AsyncMongoClient", mongoClient::close);
 
             return mongoClient.getDatabase(database);
         } catch (UnknownHostException e) {
@@ -81,6 +190,7 @@ public class PersistenceModule extends AbstractBaseModule {
     }
 
     private MongoClientOptions buildMongoClientOptions(WriteConcern writeConcern, ReadPreference readPreference,
+                                                       ReadConcern readConcern,
                                                        Integer connectionsPerHost, Integer connectTimeout,
                                                        Integer heartbeatConnectTimeout, Integer heartbeatFrequency,
                                                        Integer heartbeatSocketTimeout, Integer localThreshold,
@@ -93,6 +203,7 @@ public class PersistenceModule extends AbstractBaseModule {
         MongoClientOptions.Builder builder = MongoClientOptions.builder();
         builder.writeConcern(writeConcern);
         builder.readPreference(readPreference);
+        builder.readConcern(readConcern);
         builder.connectionsPerHost(connectionsPerHost);
         builder.connectTimeout(connectTimeout);
         builder.heartbeatConnectTimeout(heartbeatConnectTimeout);
@@ -129,18 +240,4 @@ public class PersistenceModule extends AbstractBaseModule {
 
         return ret;
     }
-
-    private void registerMongoClientShutdownHook(final MongoClient mongoClient) {
-        Runtime.getRuntime().addShutdownHook(new Thread("ShutdownHook_MongoClient") {
-            @Override
-            public void run() {
-                try {
-                    mongoClient.close();
-                } catch (Throwable e) {
-                    String message = "MongoClient did not stop as expected.";
-                    System.out.println(message);
-                }
-            }
-        });
-    }
 }
@@ -0,0 +1,36 @@
+package ai.labs.persistence.mongo;
+
+import com.mongodb.async.SingleResultCallback;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * @author ginccc
+ */
+public final class AsyncUtilities {
+    private AsyncUtilities() {
+        // utility class
+    }
+
+    /**
+     * Bridges the callback of an operation of the async MongoDB driver to a future. The future is completed
+     * by a thread of the driver, thus dependent stages doing more than trivial work should be run async.
+     */
+    public static <T> CompletableFuture<T> toFuture(Consumer<SingleResultCallback<T>> operation) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            operation.accept((result, t) -> {
+                if (t != null) {
+                    future.completeExceptionally(t);
+                } else {
+                    future.complete(result);
+                }
+            });
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+}
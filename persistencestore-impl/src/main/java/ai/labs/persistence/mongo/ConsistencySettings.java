@@ -0,0 +1,119 @@
+package ai.labs.persistence.mongo;
+
+import ai.labs.utilities.RuntimeUtilities;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadConcernLevel;
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.MongoCollection;
+
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * Read preference, read concern and write concern of a store, optionally narrowed to a class of operations
+ * (e.g. listing), configured as mongodb.[store].[operationClass].{readPreference|readConcern|writeConcern}.
+ * A scope without own settings falls back to the settings of its store, a store without own settings keeps the
+ * settings of the client (mongodb.readPreference, mongodb.readConcern and mongodb.writeConcern).
+ *
+ * @author ginccc
+ */
+public class ConsistencySettings {
+    private static final String PREFIX = "mongodb.";
+    private static final String READ_PREFERENCE = "readPreference";
+    private static final String READ_CONCERN = "readConcern";
+    private static final String WRITE_CONCERN = "writeConcern";
+
+    private final Properties properties;
+
+    public ConsistencySettings(Properties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * @param scope store, optionally followed by the operation class, e.g. "descriptors", "listing"
+     */
+    public <T> MongoCollection<T> apply(MongoCollection<T> collection, String... scope) {
+        String readPreference = lookup(READ_PREFERENCE, scope);
+        if (readPreference != null) {
+            collection = collection.withReadPreference(parseReadPreference(readPreference));
+        }
+
+        String readConcern = lookup(READ_CONCERN, scope);
+        if (readConcern != null) {
+            collection = collection.withReadConcern(parseReadConcern(readConcern));
+        }
+
+        String writeConcern = lookup(WRITE_CONCERN, scope);
+        if (writeConcern != null) {
+            collection = collection.withWriteConcern(parseWriteConcern(writeConcern));
+        }
+
+        return collection;
+    }
+
+    /**
+     * @see #apply(MongoCollection, String...)
+     */
+    public <T> com.mongodb.async.client.MongoCollection<T> apply(com.mongodb.async.client.MongoCollection<T> collection,
+                                                                  String... scope) {
+        String readPreference = lookup(READ_PREFERENCE, scope);
+        if (readPreference != null) {
+            collection = collection.withReadPreference(parseReadPreference(readPreference));
+        }
+
+        String readConcern = lookup(READ_CONCERN, scope);
+        if (readConcern != null) {
+            collection = collection.withReadConcern(parseReadConcern(readConcern));
+        }
+
+        String writeConcern = lookup(WRITE_CONCERN, scope);
+        if (writeConcern != null) {
+            collection = collection.withWriteConcern(parseWriteConcern(writeConcern));
+        }
+
+        return collection;
+    }
+
+    /**
+     * @param readPreference name of the read preference, e.g. primary, nearest or secondaryPreferred
+     */
+    public static ReadPreference parseReadPreference(String readPreference) {
+        return ReadPreference.valueOf(readPreference.trim());
+    }
+
+    /**
+     * @param readConcern level of the read concern, e.g. local or majority; empty for the server's default
+     */
+    public static ReadConcern parseReadConcern(String readConcern) {
+        if (RuntimeUtilities.isNullOrEmpty(readConcern.trim())) {
+            return ReadConcern.DEFAULT;
+        }
+
+        return new ReadConcern(ReadConcernLevel.fromString(readConcern.trim()));
+    }
+
+    /**
+     * @param writeConcern name of the write concern, e.g. majority, w1 or journaled
+     */
+    public static WriteConcern parseWriteConcern(String writeConcern) {
+        WriteConcern parsed = WriteConcern.valueOf(writeConcern.trim());
+        if (parsed == null) {
+            throw new IllegalArgumentException("Unknown write concern: " + writeConcern);
+        }
+
+        return parsed;
+    }
+
+    private String lookup(String setting, String... scope) {
+        for (int length = scope.length; length > 0; length--) {
+            String key = PREFIX + String.join(".", Arrays.asList(scope).subList(0, length)) + "." + setting;
+            String value = properties.getProperty(key);
+            if (value != null) {
+                return value;
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,58 @@
+package ai.labs.persistence.mongo;
+
+import ai.labs.persistence.IDatabaseLifecycle;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Single shutdown hook of the database. JVM shutdown hooks run concurrently and in no particular order, thus
+ * a separate hook of a step, which still writes to the database, might run after the clients have been closed.
+ * This hook runs all steps registered by {@link #beforeShutdown(String, Runnable)} first, then closes the clients.
+ *
+ * @author ginccc
+ */
+@Slf4j
+public class DatabaseLifecycle implements IDatabaseLifecycle {
+    private final List<ShutdownStep> beforeShutdown = new CopyOnWriteArrayList<>();
+    private final List<ShutdownStep> closeClients = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void beforeShutdown(String name, Runnable step) {
+        beforeShutdown.add(new ShutdownStep(name, step));
+    }
+
+    public void closeOnShutdown(String clientName, Runnable closeClient) {
+        closeClients.add(new ShutdownStep(clientName, closeClient));
+    }
+
+    public void registerShutdownHook() {
+        Runtime.getRuntime().addShutdownHook(new Thread("ShutdownHook_Database") {
+            @Override
+            public void run() {
+                shutdown();
+            }
+        });
+    }
+
+    void shutdown() {
+        beforeShutdown.forEach(ShutdownStep::run);
+        closeClients.forEach(ShutdownStep::run);
+    }
+
+    @AllArgsConstructor
+    private static class ShutdownStep {
+        private final String name;
+        private final Runnable step;
+
+        private void run() {
+            try {
+                step.run();
+            } catch (Throwable e) {
+                log.error(name + " did not stop as expected.", e);
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package ai.labs.persistence.mongo;
 
 import ai.labs.persistence.IResourceStorage;
 import ai.labs.persistence.IResourceStore;
+import ai.labs.persistence.model.ResourceCacheStatistics;
 import ai.labs.utilities.RuntimeUtilities;
 
 import java.io.IOException;
@@ -29,9 +30,18 @@ public class HistorizedResourceStore<T> implements IResourceStore<T> {
     private static final String HISTORY_POSTFIX = ".history";
 
     IResourceStorage<T> resourceStorage;
+    final ResourceCache<T> resourceCache;
 
     public HistorizedResourceStore(IResourceStorage<T> resourceStore) {
+        this(resourceStore, null);
+    }
+
+    /**
+     * @param resourceCache serves repeated reads of the same id and version from memory, null disables caching
+     */
+    public HistorizedResourceStore(IResourceStorage<T> resourceStore, ResourceCache<T> resourceCache) {
         this.resourceStorage = resourceStore;
+        this.resourceCache = resourceCache;
     }
 
     @Override
@@ -51,6 +61,7 @@ public class HistorizedResourceStore<T> implements IResourceStore<T> {
             Integer newVersion = resource.getVersion() + 1;
             IResourceStorage.IResource newResource = resourceStorage.newResource(resource.getId(), newVersion, content);
             resourceStorage.store(newResource);
+            invalidateCache(id, version);
             return newVersion;
         } catch (IOException e) {
             throw new IResourceStore.ResourceStoreException(e.getLocalizedMessage(), e);
@@ -84,6 +95,7 @@ public class HistorizedResourceStore<T> implements IResourceStore<T> {
         resourceStorage.store(historyResource);
 
         resourceStorage.remove(id);
+        invalidateCache(id, version);
     }
 
     private void checkIfFoundAndLatest(String id, Integer version, IResourceStorage.IResource resource) throws ResourceNotFoundException, ResourceModifiedException {
@@ -101,6 +113,9 @@ public class HistorizedResourceStore<T> implements IResourceStore<T> {
     @Override
     public synchronized void deleteAllPermanently(String id) {
         resourceStorage.removeAllPermanently(id);
+        if (resourceCache != null) {
+            resourceCache.invalidateAll(id);
+        }
     }
 
     @Override
@@ -131,16 +146,14 @@ public class HistorizedResourceStore<T> implements IResourceStore<T> {
         RuntimeUtilities.checkNotNull(id, "id");
         RuntimeUtilities.checkNotNull(version, "version");
 
-        IResourceStorage.IResource<T> current = resourceStorage.read(id, version);
+        IResourceStorage.IResource<T> current = resourceCache != null ? resourceCache.get(id, version) : null;
 
         if (current == null) {
-            IResourceStorage.IHistoryResource historyResource = resourceStorage.readHistory(id, version);
-
-            if (historyResource == null || historyResource.isDeleted()) {
-                throw createResourceNotFoundException(id, version);
+            long readGeneration = resourceCache != null ? resourceCache.getGeneration() : 0;
+            current = readFromStorage(id, version);
+            if (resourceCache != null) {
+                resourceCache.put(id, version, current, readGeneration);
             }
-
-            current = historyResource;
         }
 
         try {
@@ -152,5 +165,32 @@ public class HistorizedResourceStore<T> implements IResourceStore<T> {
         }
     }
 
+    /**
+     * @return statistics of the read cache, null if caching is disabled for this store
+     */
+    public ResourceCacheStatistics getCacheStatistics() {
+        return resourceCache != null ? resourceCache.getStatistics() : null;
+    }
+
+    void invalidateCache(String id, Integer version) {
+        if (resourceCache != null) {
+            resourceCache.invalidate(id, version);
+        }
+    }
 
+    private IResourceStorage.IResource<T> readFromStorage(String id, Integer version) throws ResourceNotFoundException {
+        IResourceStorage.IResource<T> current = resourceStorage.read(id, version);
+
+        if (current == null) {
+            IResourceStorage.IHistoryResource<T> historyResource = resourceStorage.readHistory(id, version);
+
+            if (historyResource == null || historyResource.isDeleted()) {
+                throw createResourceNotFoundException(id, version);
+            }
+
+            current = historyResource;
+        }
+
+        return current;
+    }
 }
@@ -15,6 +15,10 @@ public class ModifiableHistorizedResourceStore<T> extends HistorizedResourceStor
         this.resourceStorage = resourceStore;
     }
 
+    public ModifiableHistorizedResourceStore(IResourceStorage<T> resourceStore, ResourceCache<T> resourceCache) {
+        super(resourceStore, resourceCache);
+    }
+
     public Integer set(String id, Integer version, T content) throws ResourceStoreException, ResourceNotFoundException {
         RuntimeUtilities.checkNotNull(id, "id");
         RuntimeUtilities.checkNotNull(version, "version");
@@ -33,11 +37,13 @@ public class ModifiableHistorizedResourceStore<T> extends HistorizedResourceStor
                 IResourceStorage.IResource<T> updatedResource = resourceStorage.newResource(id, version, content);
                 IResourceStorage.IHistoryResource<T> updatedHistorizedResource = resourceStorage.newHistoryResourceFor(updatedResource, false);
                 resourceStorage.store(updatedHistorizedResource);
+                invalidateCache(id, version);
                 return version;
             } else {
                 //it's a update request for the current resource, so we update the current resource
                 IResourceStorage.IResource<T> updatedResource = resourceStorage.newResource(id, version, content);
                 resourceStorage.store(updatedResource);
+                invalidateCache(id, version);
                 return version;
             }
         } catch (IOException e) {
@@ -53,6 +59,7 @@ public class ModifiableHistorizedResourceStore<T> extends HistorizedResourceStor
         try {
             IResourceStorage.IResource currentResource = resourceStorage.newResource(id, version, content);
             resourceStorage.store(currentResource);
+            invalidateCache(id, version);
             return currentResource;
         } catch (IOException e) {
             throw new IResourceStore.ResourceStoreException(e.getLocalizedMessage(), e);
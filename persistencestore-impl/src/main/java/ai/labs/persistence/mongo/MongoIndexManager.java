@@ -0,0 +1,134 @@
+package ai.labs.persistence.mongo;
+
+import ai.labs.persistence.IIndexManager;
+import ai.labs.persistence.IndexDefinition;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Reconciles the indexes declared by the stores with the ones existing in MongoDB. Indexes, which are not
+ * declared, are only reported, never dropped, as they might have been created manually by an operator.
+ *
+ * @author ginccc
+ */
+@Slf4j
+public class MongoIndexManager implements IIndexManager {
+    private static final String ID_INDEX = "_id_";
+
+    private final MongoDatabase database;
+    private final Set<IndexDefinition> indexDefinitions;
+    private final boolean manageIndexes;
+
+    @Inject
+    public MongoIndexManager(MongoDatabase database, Set<IndexDefinition> indexDefinitions,
+                             @Named("mongodb.manageIndexes") Boolean manageIndexes) {
+        this.database = database;
+        this.indexDefinitions = indexDefinitions;
+        this.manageIndexes = manageIndexes;
+    }
+
+    @Override
+    public void reconcileIndexes() {
+        if (!manageIndexes) {
+            log.info("Management of MongoDB indexes is disabled.");
+            return;
+        }
+
+        Map<String, List<IndexDefinition>> indexesPerCollection = indexDefinitions.stream().
+                collect(Collectors.groupingBy(IndexDefinition::getCollection, TreeMap::new, Collectors.toList()));
+        indexesPerCollection.forEach(this::reconcileIndexes);
+    }
+
+    private void reconcileIndexes(String collectionName, List<IndexDefinition> definitions) {
+        try {
+            MongoCollection<Document> collection = database.getCollection(collectionName);
+            Map<String, Document> existingIndexes = new HashMap<>();
+            for (Document existingIndex : collection.listIndexes().into(new LinkedList<>())) {
+                existingIndexes.put(existingIndex.getString("name"), existingIndex);
+            }
+
+            for (IndexDefinition definition : definitions) {
+                Document existingIndex = existingIndexes.remove(definition.getName());
+                if (existingIndex == null) {
+                    createIndex(collection, definition);
+                    log.info("Created index {} on collection {}.", definition.getName(), collectionName);
+                } else if (!isEqual(definition, existingIndex)) {
+                    collection.dropIndex(definition.getName());
+                    createIndex(collection, definition);
+                    log.info("Recreated index {} on collection {}, as its definition has changed.",
+                            definition.getName(), collectionName);
+                }
+            }
+
+            existingIndexes.remove(ID_INDEX);
+            for (String undeclaredIndex : existingIndexes.keySet()) {
+                log.warn("Index {} on collection {} is not declared by any store.", undeclaredIndex, collectionName);
+            }
+
+            reportUnusedIndexes(collection, collectionName);
+        } catch (MongoException e) {
+            log.error(String.format("Could not reconcile indexes of collection %s.", collectionName), e);
+        }
+    }
+
+    private static void createIndex(MongoCollection<Document> collection, IndexDefinition definition) {
+        IndexOptions indexOptions = new IndexOptions().
+                name(definition.getName()).
+                background(true).
+                unique(definition.isUnique());
+        if (!definition.getPartialFilter().isEmpty()) {
+            indexOptions.partialFilterExpression(new Document(definition.getPartialFilter()));
+        }
+
+        collection.createIndex(new Document(new LinkedHashMap<>(definition.getKeys())), indexOptions);
+    }
+
+    private static boolean isEqual(IndexDefinition definition, Document existingIndex) {
+        Document existingKeys = existingIndex.get("key", new Document());
+        if (!new ArrayList<>(definition.getKeys().keySet()).equals(new ArrayList<>(existingKeys.keySet()))) {
+            return false;
+        }
+
+        for (Map.Entry<String, Integer> key : definition.getKeys().entrySet()) {
+            Object existingDirection = existingKeys.get(key.getKey());
+            if (!(existingDirection instanceof Number) ||
+                    Math.signum(((Number) existingDirection).doubleValue()) != Math.signum(key.getValue())) {
+                return false;
+            }
+        }
+
+        return definition.isUnique() == existingIndex.getBoolean("unique", false) &&
+                new Document(definition.getPartialFilter()).equals(
+                        existingIndex.get("partialFilterExpression", new Document()));
+    }
+
+    private static void reportUnusedIndexes(MongoCollection<Document> collection, String collectionName) {
+        List<Document> indexStats;
+        try {
+            indexStats = collection.aggregate(Collections.singletonList(new Document("$indexStats", new Document()))).
+                    into(new LinkedList<>());
+        } catch (MongoException e) {
+            log.debug("Could not read index statistics of collection {}.", collectionName, e);
+            return;
+        }
+
+        for (Document indexStat : indexStats) {
+            String name = indexStat.getString("name");
+            Document accesses = indexStat.get("accesses", new Document());
+            Object ops = accesses.get("ops");
+            if (!ID_INDEX.equals(name) && ops instanceof Number && ((Number) ops).longValue() == 0) {
+                log.info("Index {} on collection {} has not been used since {}.",
+                        name, collectionName, accesses.get("since"));
+            }
+        }
+    }
+}
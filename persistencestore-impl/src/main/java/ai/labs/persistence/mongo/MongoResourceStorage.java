@@ -31,12 +31,26 @@ public class MongoResourceStorage<T> implements IResourceStorage<T> {
     public MongoResourceStorage(MongoDatabase database, String collectionName,
                                 IDocumentBuilder documentBuilder,
                                 Class<T> documentType) {
+        this(database, collectionName, documentBuilder, documentType, null);
+    }
+
+    /**
+     * @param consistencySettings applied to the current and the history collection, scoped by the collection name
+     */
+    public MongoResourceStorage(MongoDatabase database, String collectionName,
+                                IDocumentBuilder documentBuilder,
+                                Class<T> documentType,
+                                ConsistencySettings consistencySettings) {
         this.documentType = documentType;
         RuntimeUtilities.checkNotNull(database, "database");
 
         this.currentCollection = database.getCollection(collectionName);
         this.historyCollection = database.getCollection(collectionName + HISTORY_POSTFIX);
-        //this.historyCollection.createIndex(Indexes.ascending(ID_FIELD, VERSION_FIELD));
+        if (consistencySettings != null) {
+            this.currentCollection = consistencySettings.apply(currentCollection, collectionName);
+            this.historyCollection = consistencySettings.apply(historyCollection, collectionName);
+        }
+        // the history is keyed by {_id, _version}, thus the default _id index serves all of its queries
         this.documentBuilder = documentBuilder;
     }
 
@@ -0,0 +1,110 @@
+package ai.labs.persistence.mongo;
+
+import ai.labs.caching.ICache;
+import ai.labs.caching.ICacheFactory;
+import ai.labs.persistence.IResourceStorage;
+import ai.labs.persistence.model.ResourceCacheStatistics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Resources read by {@link HistorizedResourceStore}, keyed by id and version. A version of a resource never
+ * changes once it has been superseded, only the current version is invalidated on update and delete (and any
+ * version on set and permanent deletion).
+ * <p>
+ * The stored resources are never handed out, each read deserializes a new instance, thus callers may modify
+ * what they read without affecting the cache. An entry is only stored if no invalidation happened while it has
+ * been read from the database.
+ *
+ * @author ginccc
+ */
+public class ResourceCache<T> {
+    private static final String CACHE_NAME = "ai.labs.resources";
+
+    private final String resourceType;
+    private final ICache<String, Map<Integer, IResourceStorage.IResource<T>>> cache;
+    private final ReadWriteLock invalidationLock = new ReentrantReadWriteLock();
+    private volatile long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * @param resourceType distinguishes the resources of different stores sharing the cache, e.g. collection name
+     */
+    public ResourceCache(ICacheFactory cacheFactory, String resourceType) {
+        this.resourceType = resourceType;
+        this.cache = cacheFactory.getCache(CACHE_NAME);
+    }
+
+    IResourceStorage.IResource<T> get(String id, Integer version) {
+        Map<Integer, IResourceStorage.IResource<T>> versions = cache.get(createKey(id));
+        IResourceStorage.IResource<T> resource = versions != null ? versions.get(version) : null;
+        (resource != null ? hits : misses).incrementAndGet();
+        return resource;
+    }
+
+    /**
+     * @return current generation, to be passed to {@link #put} for resources read afterwards
+     */
+    long getGeneration() {
+        return generation;
+    }
+
+    void put(String id, Integer version, IResourceStorage.IResource<T> resource, long readGeneration) {
+        invalidationLock.readLock().lock();
+        try {
+            if (readGeneration == generation) {
+                cache.computeIfAbsent(createKey(id), key -> new ConcurrentHashMap<>()).put(version, resource);
+            }
+        } finally {
+            invalidationLock.readLock().unlock();
+        }
+    }
+
+    void invalidate(String id, Integer version) {
+        invalidate(() -> {
+            Map<Integer, IResourceStorage.IResource<T>> versions = cache.get(createKey(id));
+            if (versions != null) {
+                versions.remove(version);
+            }
+        });
+    }
+
+    void invalidateAll(String id) {
+        invalidate(() -> cache.remove(createKey(id)));
+    }
+
+    public ResourceCacheStatistics getStatistics() {
+        int cachedResources = 0;
+        String keyPrefix = resourceType + ":";
+        for (Map.Entry<String, Map<Integer, IResourceStorage.IResource<T>>> entry : cache.entrySet()) {
+            if (entry.getKey().startsWith(keyPrefix)) {
+                cachedResources += entry.getValue().size();
+            }
+        }
+
+        return new ResourceCacheStatistics(resourceType, cachedResources,
+                hits.get(), misses.get(), invalidations.get());
+    }
+
+    private void invalidate(Runnable invalidation) {
+        invalidationLock.writeLock().lock();
+        try {
+            generation++;
+            invalidation.run();
+            invalidations.incrementAndGet();
+        } finally {
+            invalidationLock.writeLock().unlock();
+        }
+    }
+
+    private String createKey(String id) {
+        return resourceType + ":" + id;
+    }
+}
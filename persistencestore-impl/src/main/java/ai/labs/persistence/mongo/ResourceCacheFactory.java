@@ -0,0 +1,41 @@
+package ai.labs.persistence.mongo;
+
+import ai.labs.caching.ICacheFactory;
+import ai.labs.persistence.model.ResourceCacheStatistics;
+import ai.labs.runtime.IMetricsProvider;
+
+import javax.inject.Inject;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the {@link ResourceCache}s of the stores and serves their statistics (resourceCaches).
+ *
+ * @author ginccc
+ */
+public class ResourceCacheFactory implements IMetricsProvider {
+    private final ICacheFactory cacheFactory;
+    private final List<ResourceCache<?>> resourceCaches = new CopyOnWriteArrayList<>();
+
+    @Inject
+    public ResourceCacheFactory(ICacheFactory cacheFactory) {
+        this.cacheFactory = cacheFactory;
+    }
+
+    public <T> ResourceCache<T> createResourceCache(String resourceType) {
+        ResourceCache<T> resourceCache = new ResourceCache<>(cacheFactory, resourceType);
+        resourceCaches.add(resourceCache);
+        return resourceCache;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "resourceCaches";
+    }
+
+    @Override
+    public List<ResourceCacheStatistics> getMetrics() {
+        return resourceCaches.stream().map(ResourceCache::getStatistics).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,109 @@
+package ai.labs.persistence;
+
+import ai.labs.group.IGroupStore;
+import ai.labs.permission.IAuthorization;
+import ai.labs.permission.IPermissionStore;
+import ai.labs.permission.model.AuthorizedSubjects;
+import ai.labs.permission.model.AuthorizedUser;
+import ai.labs.permission.model.Permissions;
+import ai.labs.serialization.IDocumentBuilder;
+import ai.labs.user.IUserStore;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.*;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author ginccc
+ */
+public class ResourceFilterTest {
+    private static final String FIELD_LAST_MODIFIED = "lastModifiedOn";
+    private MongoCollection<Document> collection;
+    private IPermissionStore permissionStore;
+    private ResourceFilter<String> resourceFilter;
+
+    @Before
+    public void setUp() throws Exception {
+        collection = mock(MongoCollection.class);
+        permissionStore = mock(IPermissionStore.class);
+        IDocumentBuilder documentBuilder = mock(IDocumentBuilder.class);
+        when(documentBuilder.build(any(Map.class), eq(String.class))).
+                then(invocation -> invocation.<Map>getArgument(0).get("name"));
+
+        resourceFilter = new ResourceFilter<>(collection, mock(IResourceStore.class), permissionStore,
+                mock(IUserStore.class), mock(IGroupStore.class), documentBuilder, String.class);
+    }
+
+    @Test
+    public void readResourcesResolvesPermissionsPerBatch() throws Exception {
+        //setup
+        Document permitted1 = createDescriptor("permitted1", 3);
+        Document denied = createDescriptor("denied", 2);
+        Document permitted2 = createDescriptor("permitted2", 1);
+        FindIterable<Document> firstBatch = createResults(permitted1, denied);
+        FindIterable<Document> secondBatch = createResults(permitted2);
+        when(collection.find(any(Bson.class))).thenReturn(firstBatch, secondBatch);
+
+        Map<String, Permissions> permissions = new HashMap<>();
+        permissions.put(permitted1.get("_id").toString(), createPermissions());
+        permissions.put(denied.get("_id").toString(), new Permissions());
+        when(permissionStore.readPermissions(anyCollection())).thenReturn(permissions);
+
+        //test
+        List<String> resources = resourceFilter.readResources(new IResourceFilter.QueryFilters[0],
+                0, 2, FIELD_LAST_MODIFIED);
+
+        //assert
+        Assert.assertEquals(Arrays.asList("permitted1", "permitted2"), resources);
+        verify(permissionStore, times(2)).readPermissions(anyCollection());
+        verify(permissionStore, never()).readPermissions(anyString());
+        verify(firstBatch).skip(0);
+        verify(secondBatch, never()).skip(anyInt());
+
+        ArgumentCaptor<Bson> queries = ArgumentCaptor.forClass(Bson.class);
+        verify(collection, times(2)).find(queries.capture());
+        List<Document> keysetQuery = ((Document) queries.getAllValues().get(1)).get("$and", List.class);
+        Assert.assertEquals("{ \"$or\" : [{ \"lastModifiedOn\" : { \"$lt\" : { \"$date\" : 2 } } }, " +
+                        "{ \"lastModifiedOn\" : { \"$date\" : 2 }, \"_id\" : { \"$lt\" : { \"$oid\" : \"" +
+                        denied.get("_id") + "\" } } }] }",
+                keysetQuery.get(1).toJson());
+    }
+
+    private static Document createDescriptor(String name, long lastModifiedOn) {
+        Document descriptor = new Document("_id", new ObjectId());
+        descriptor.put("name", name);
+        descriptor.put(FIELD_LAST_MODIFIED, new Date(lastModifiedOn));
+        return descriptor;
+    }
+
+    private static Permissions createPermissions() {
+        Permissions permissions = new Permissions();
+        AuthorizedSubjects authorizedSubjects = new AuthorizedSubjects();
+        authorizedSubjects.getUsers().add(new AuthorizedUser(null, null));
+        permissions.getPermissions().put(IAuthorization.Type.READ, authorizedSubjects);
+        return permissions;
+    }
+
+    private static FindIterable<Document> createResults(Document... results) {
+        FindIterable<Document> findIterable = mock(FindIterable.class);
+        when(findIterable.sort(any())).thenReturn(findIterable);
+        when(findIterable.skip(anyInt())).thenReturn(findIterable);
+        when(findIterable.limit(anyInt())).thenReturn(findIterable);
+        when(findIterable.into(any())).then(invocation -> {
+            Collection<Document> target = invocation.getArgument(0);
+            target.addAll(Arrays.asList(results));
+            return target;
+        });
+        return findIterable;
+    }
+}
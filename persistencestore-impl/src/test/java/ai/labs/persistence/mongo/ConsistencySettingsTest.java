@@ -0,0 +1,58 @@
+package ai.labs.persistence.mongo;
+
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Properties;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author ginccc
+ */
+public class ConsistencySettingsTest {
+    private ConsistencySettings consistencySettings;
+    private MongoCollection<Document> collection;
+
+    @Before
+    public void setUp() {
+        Properties properties = new Properties();
+        properties.setProperty("mongodb.descriptors.writeConcern", "w1");
+        properties.setProperty("mongodb.descriptors.readPreference", "primary");
+        properties.setProperty("mongodb.descriptors.listing.readPreference", "secondaryPreferred");
+        properties.setProperty("mongodb.descriptors.listing.readConcern", "local");
+        consistencySettings = new ConsistencySettings(properties);
+
+        collection = mock(MongoCollection.class);
+        when(collection.withReadPreference(any())).thenReturn(collection);
+        when(collection.withReadConcern(any())).thenReturn(collection);
+        when(collection.withWriteConcern(any())).thenReturn(collection);
+    }
+
+    @Test
+    public void applyOperationClassFallsBackToStore() {
+        //test
+        consistencySettings.apply(collection, "descriptors", "listing");
+
+        //assert
+        verify(collection).withReadPreference(ReadPreference.secondaryPreferred());
+        verify(collection).withReadConcern(ReadConcern.LOCAL);
+        verify(collection).withWriteConcern(WriteConcern.W1);
+    }
+
+    @Test
+    public void applyKeepsSettingsOfClientIfNotConfigured() {
+        //test
+        consistencySettings.apply(collection, "conversationmemories");
+
+        //assert
+        verifyZeroInteractions(collection);
+    }
+}
@@ -0,0 +1,32 @@
+package ai.labs.persistence.mongo;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * @author ginccc
+ */
+public class DatabaseLifecycleTest {
+    @Test
+    public void stepsRunBeforeClientsAreClosed() {
+        //setup
+        List<String> shutdownOrder = new LinkedList<>();
+        DatabaseLifecycle databaseLifecycle = new DatabaseLifecycle();
+        databaseLifecycle.closeOnShutdown("MongoClient", () -> shutdownOrder.add("MongoClient"));
+        databaseLifecycle.beforeShutdown("flush", () -> {
+            shutdownOrder.add("flush");
+            throw new IllegalStateException("flush failed");
+        });
+        databaseLifecycle.beforeShutdown("archive", () -> shutdownOrder.add("archive"));
+
+        //test
+        databaseLifecycle.shutdown();
+
+        //assert
+        Assert.assertEquals(Arrays.asList("flush", "archive", "MongoClient"), shutdownOrder);
+    }
+}
@@ -0,0 +1,83 @@
+package ai.labs.persistence.mongo;
+
+import ai.labs.persistence.IndexDefinition;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.ListIndexesIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexOptions;
+import org.bson.Document;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.*;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author ginccc
+ */
+public class MongoIndexManagerTest {
+    private static final String COLLECTION = "conversationmemories";
+    private MongoDatabase database;
+    private MongoCollection<Document> collection;
+
+    @Before
+    public void setUp() {
+        database = mock(MongoDatabase.class);
+        collection = mock(MongoCollection.class);
+        when(database.getCollection(COLLECTION)).thenReturn(collection);
+        AggregateIterable<Document> indexStats = mock(AggregateIterable.class);
+        when(indexStats.into(any())).then(invocation -> invocation.getArgument(0));
+        when(collection.aggregate(anyList())).thenReturn(indexStats);
+    }
+
+    @Test
+    public void reconcileIndexes() {
+        //setup
+        Document existingIndex = new Document("name", "botId_botVersion").
+                append("key", new Document("botId", 1.0).append("botVersion", 1.0));
+        Document changedIndex = new Document("name", "conversationState").
+                append("key", new Document("conversationState", 1));
+        Document undeclaredIndex = new Document("name", "manual").append("key", new Document("manual", 1));
+        ListIndexesIterable<Document> existingIndexes = mock(ListIndexesIterable.class);
+        when(existingIndexes.into(any())).then(invocation -> {
+            Collection<Document> target = invocation.getArgument(0);
+            target.addAll(Arrays.asList(existingIndex, changedIndex, undeclaredIndex));
+            return target;
+        });
+        when(collection.listIndexes()).thenReturn(existingIndexes);
+
+        Set<IndexDefinition> indexDefinitions = new HashSet<>(Arrays.asList(
+                IndexDefinition.on(COLLECTION, "botId_botVersion").ascending("botId").ascending("botVersion"),
+                IndexDefinition.on(COLLECTION, "conversationState").ascending("conversationState").
+                        partial("deleted", false),
+                IndexDefinition.on(COLLECTION, "lastModifiedOn").descending("lastModifiedOn")));
+
+        //test
+        new MongoIndexManager(database, indexDefinitions, true).reconcileIndexes();
+
+        //assert
+        verify(collection).dropIndex("conversationState");
+        verify(collection, never()).dropIndex("manual");
+        ArgumentCaptor<IndexOptions> indexOptions = ArgumentCaptor.forClass(IndexOptions.class);
+        verify(collection, times(2)).createIndex(any(), indexOptions.capture());
+        List<String> createdIndexes = new LinkedList<>();
+        indexOptions.getAllValues().forEach(options -> createdIndexes.add(options.getName()));
+        Collections.sort(createdIndexes);
+        Assert.assertEquals(Arrays.asList("conversationState", "lastModifiedOn"), createdIndexes);
+    }
+
+    @Test
+    public void reconcileIndexesDisabled() {
+        //test
+        new MongoIndexManager(database, Collections.singleton(
+                IndexDefinition.on(COLLECTION, "botId").ascending("botId")), false).reconcileIndexes();
+
+        //assert
+        verifyZeroInteractions(database);
+    }
+}
@@ -0,0 +1,40 @@
+package ai.labs.persistence.mongo;
+
+import ai.labs.caching.ICache;
+import ai.labs.caching.ICacheFactory;
+import ai.labs.persistence.model.ResourceCacheStatistics;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author ginccc
+ */
+public class ResourceCacheFactoryTest {
+    @Test
+    public void metricsContainStatisticsOfEachCreatedCache() {
+        //setup
+        ICacheFactory cacheFactory = mock(ICacheFactory.class);
+        ICache<Object, Object> cache = mock(ICache.class);
+        when(cacheFactory.getCache(anyString())).thenReturn(cache);
+        ResourceCacheFactory resourceCacheFactory = new ResourceCacheFactory(cacheFactory);
+        resourceCacheFactory.<String>createResourceCache("bots").get("id", 1);
+        resourceCacheFactory.<String>createResourceCache("packages");
+
+        //test
+        List<ResourceCacheStatistics> metrics = resourceCacheFactory.getMetrics();
+
+        //assert
+        Assert.assertEquals("resourceCaches", resourceCacheFactory.getMetricsName());
+        Assert.assertEquals(2, metrics.size());
+        Assert.assertEquals("bots", metrics.get(0).getResourceType());
+        Assert.assertEquals(1, metrics.get(0).getMisses());
+        Assert.assertEquals("packages", metrics.get(1).getResourceType());
+        Assert.assertEquals(0, metrics.get(1).getMisses());
+    }
+}
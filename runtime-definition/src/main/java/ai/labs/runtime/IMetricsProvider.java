@@ -0,0 +1,19 @@
+package ai.labs.runtime;
+
+/**
+ * Metrics of a component, served by the metrics endpoint (/administration/metrics). Providers are contributed
+ * by the modules of the components with a Multibinder of this interface.
+ *
+ * @author ginccc
+ */
+public interface IMetricsProvider {
+    /**
+     * @return name of the metrics, unique among all providers
+     */
+    String getMetricsName();
+
+    /**
+     * @return current metrics, serialized as JSON
+     */
+    Object getMetrics();
+}
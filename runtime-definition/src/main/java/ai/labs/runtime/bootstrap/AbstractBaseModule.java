@@ -23,7 +23,13 @@ public abstract class AbstractBaseModule extends AbstractModule {
         this.configFiles = configFiles;
     }
 
-    protected void registerConfigFiles(InputStream... configFiles) {
+    /**
+     * binds all properties of the given config files as @Named constants
+     *
+     * @return all properties bound
+     */
+    protected Properties registerConfigFiles(InputStream... configFiles) {
+        Properties registeredProperties = new Properties();
         try {
             /**
              * Allow *.properties config to be overridden by system properties
@@ -38,9 +44,12 @@ public abstract class AbstractBaseModule extends AbstractModule {
                     }
                 });
                 Names.bindProperties(binder(), properties);
+                registeredProperties.putAll(properties);
             }
         } catch (IOException e) {
             log.error(e.getLocalizedMessage(), e);
         }
+
+        return registeredProperties;
     }
 }
@@ -1,5 +1,6 @@
 package ai.labs.runtime.client.configuration;
 
+import ai.labs.lifecycle.PackageConfigurationException;
 import ai.labs.runtime.service.ServiceException;
 
 import java.net.URI;
@@ -12,6 +13,23 @@ public interface IResourceClientLibrary {
 
     <T> T getResource(URI uri, Class<T> clazz) throws ServiceException;
 
+    /**
+     * Fetches the resource and compiles it into the state a lifecycle task is working with.
+     * Resources are immutable per version, thus the compiled state of resources referenced with a version
+     * is cached and shared by all packages referencing the same resource.
+     *
+     * @param uri      of the resource, including its version
+     * @param clazz    type of the resource as it is stored in the configuration repository
+     * @param compiler creates the task state out of the resource, only called on a cache miss
+     * @return the compiled task state
+     */
+    <T, C> C getCompiledResource(URI uri, Class<T> clazz, IResourceCompiler<T, C> compiler)
+            throws ServiceException, PackageConfigurationException;
+
+    interface IResourceCompiler<T, C> {
+        C compile(T resource) throws PackageConfigurationException;
+    }
+
     class ResourceClientLibraryException extends RuntimeException {
         public ResourceClientLibraryException(String message, Exception e) {
             super(message, e);
@@ -1,5 +1,8 @@
 package ai.labs.runtime.client.configuration;
 
+import ai.labs.caching.ICache;
+import ai.labs.caching.ICacheFactory;
+import ai.labs.lifecycle.PackageConfigurationException;
 import ai.labs.resources.rest.behavior.IRestBehaviorStore;
 import ai.labs.resources.rest.http.IRestHttpCallsStore;
 import ai.labs.resources.rest.output.IRestOutputStore;
@@ -16,18 +19,26 @@ import java.util.HashMap;
 import java.util.Map;
 
 /**
+ * Compiled resources of a fixed version are cached in the size bounded cache ai.labs.resources.compiled,
+ * thus resources of bots, which have been undeployed or redeployed with a new version, are evicted eventually.
+ *
  * @author ginccc
  */
 public class ResourceClientLibrary implements IResourceClientLibrary {
+    private static final String CACHE_NAME = "ai.labs.resources.compiled";
+
     private final IRestInterfaceFactory restInterfaceFactory;
     private final String apiServerURI;
     private Map<String, IResourceService> restInterfaces;
+    private final ICache<String, Object> compiledResources;
 
     @Inject
     public ResourceClientLibrary(IRestInterfaceFactory restInterfaceFactory,
+                                 ICacheFactory cacheFactory,
                                  @Named("system.apiServerURI") String apiServerURI) {
         this.restInterfaceFactory = restInterfaceFactory;
         this.apiServerURI = apiServerURI;
+        this.compiledResources = cacheFactory.getCache(CACHE_NAME);
         init();
     }
 
@@ -99,6 +110,32 @@ public class ResourceClientLibrary implements IResourceClientLibrary {
         return null;
     }
 
+    @Override
+    public <T, C> C getCompiledResource(URI uri, Class<T> clazz, IResourceCompiler<T, C> compiler)
+            throws ServiceException, PackageConfigurationException {
+        URIUtilities.ResourceId resourceId = URIUtilities.extractResourceId(uri);
+        if (resourceId.getVersion() < 0) {
+            // without a version the referenced resource may change, thus it is never cached
+            return compiler.compile(getResource(uri, clazz));
+        }
+
+        String cacheKey = createCacheKey(uri.getHost(), resourceId, clazz);
+        C compiledResource = (C) compiledResources.get(cacheKey);
+        if (compiledResource == null) {
+            compiledResource = compiler.compile(getResource(uri, clazz));
+            C existingResource = (C) compiledResources.putIfAbsent(cacheKey, compiledResource);
+            if (existingResource != null) {
+                compiledResource = existingResource;
+            }
+        }
+
+        return compiledResource;
+    }
+
+    private static String createCacheKey(String type, URIUtilities.ResourceId resourceId, Class<?> clazz) {
+        return type + "/" + resourceId.getId() + "?version=" + resourceId.getVersion() + "#" + clazz.getName();
+    }
+
     private interface IResourceService {
         Object read(String id, Integer version) throws ServiceException;
     }
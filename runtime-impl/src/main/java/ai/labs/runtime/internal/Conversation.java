@@ -1,5 +1,6 @@
 package ai.labs.runtime.internal;
 
+import ai.labs.lifecycle.Deadline;
 import ai.labs.lifecycle.IConversation;
 import ai.labs.lifecycle.ILifecycleManager;
 import ai.labs.lifecycle.LifecycleException;
@@ -51,7 +52,7 @@ public class Conversation implements IConversation {
     @Override
     public void init() throws LifecycleException {
         setConversationState(ConversationState.READY);
-        executePackages(new LinkedList<>());
+        executePackages(new LinkedList<>(), Deadline.NONE);
     }
 
     private void setConversationState(ConversationState conversationState) {
@@ -63,7 +64,7 @@ public class Conversation implements IConversation {
     }
 
     @Override
-    public void say(final String message, final Map<String, Context> contexts)
+    public void say(final String message, final Map<String, Context> contexts, final Deadline deadline)
             throws LifecycleException, ConversationNotReadyException {
         if (getConversationState() == ConversationState.IN_PROGRESS) {
             String errorMessage = "Conversation is currently IN_PROGRESS! Please try again later!";
@@ -95,7 +96,7 @@ public class Conversation implements IConversation {
             data.addAll(contextData);
 
             //execute input processing
-            executePackages(data);
+            executePackages(data, deadline);
 
 
             IConversationMemory.IWritableConversationStep currentStep = conversationMemory.getCurrentStep();
@@ -123,13 +124,13 @@ public class Conversation implements IConversation {
         }
     }
 
-    private void executePackages(List<IData> data) throws LifecycleException {
+    private void executePackages(List<IData> data, Deadline deadline) throws LifecycleException {
         for (IExecutablePackage executablePackage : executablePackages) {
             conversationMemory.setCurrentContext(executablePackage.getName());
             data.stream().filter(Objects::nonNull).
                     forEach(datum -> conversationMemory.getCurrentStep().storeData(datum));
             ILifecycleManager lifecycleManager = executablePackage.getLifecycleManager();
-            lifecycleManager.executeLifecycle(conversationMemory);
+            lifecycleManager.executeLifecycle(conversationMemory, deadline);
         }
     }
 }
@@ -37,6 +37,16 @@ public class RuntimeUtilities {
         }
     }
 
+    public static void checkPositive(Integer integer, String name) {
+        checkNotNull(integer, name);
+
+        if (integer <= 0) {
+            String message = "Argument (%s) must be a positive integer.";
+            message = String.format(message, name);
+            throw new IllegalArgumentException(message);
+        }
+    }
+
     public static boolean isNullOrEmpty(Object obj) {
         if (obj == null) {
             return true;
@@ -1,6 +1,7 @@
 package ai.labs.templateengine.bootstrap;
 
 import ai.labs.lifecycle.ILifecycleTask;
+import ai.labs.runtime.IMetricsProvider;
 import ai.labs.runtime.bootstrap.AbstractBaseModule;
 import ai.labs.templateengine.IMemoryTemplateConverter;
 import ai.labs.templateengine.ITemplatingEngine;
@@ -12,7 +13,9 @@ import ai.labs.templateengine.impl.TextTemplateEngine;
 import com.google.inject.Provides;
 import com.google.inject.Scopes;
 import com.google.inject.multibindings.MapBinder;
+import com.google.inject.multibindings.Multibinder;
 import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.cache.StandardCacheManager;
 import org.thymeleaf.templatemode.TemplateMode;
 import org.thymeleaf.templateresolver.StringTemplateResolver;
 
@@ -22,9 +25,13 @@ import javax.inject.Singleton;
  * @author ginccc
  */
 public class TemplateEngineModule extends AbstractBaseModule {
+    private static final int TEMPLATE_CACHE_MAX_SIZE = 1000;
+
     @Override
     protected void configure() {
-        bind(ITemplatingEngine.class).to(TemplatingEngine.class).in(Scopes.SINGLETON);
+        bind(TemplatingEngine.class).in(Scopes.SINGLETON);
+        bind(ITemplatingEngine.class).to(TemplatingEngine.class);
+        Multibinder.newSetBinder(binder(), IMetricsProvider.class).addBinding().to(TemplatingEngine.class);
         bind(IMemoryTemplateConverter.class).to(MemoryTemplateConverter.class).in(Scopes.SINGLETON);
 
         MapBinder<String, ILifecycleTask> lifecycleTaskPlugins
@@ -48,8 +55,15 @@ public class TemplateEngineModule extends AbstractBaseModule {
         TemplateEngine templateEngine = new TemplateEngine();
         StringTemplateResolver templateResolver = new StringTemplateResolver();
         templateResolver.setTemplateMode(templateMode);
+        // the template text itself is the cache key, so a parsed template never becomes stale
+        templateResolver.setCacheable(true);
         templateEngine.addTemplateResolver(templateResolver);
 
+        StandardCacheManager cacheManager = new StandardCacheManager();
+        cacheManager.setTemplateCacheMaxSize(TEMPLATE_CACHE_MAX_SIZE);
+        cacheManager.setTemplateCacheEnableCounters(true);
+        templateEngine.setCacheManager(cacheManager);
+
         return templateEngine;
     }
 }
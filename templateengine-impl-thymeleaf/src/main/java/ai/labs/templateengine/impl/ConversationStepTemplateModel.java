@@ -0,0 +1,123 @@
+package ai.labs.templateengine.impl;
+
+import ai.labs.memory.IConversationMemory;
+import ai.labs.memory.IData;
+
+import java.util.*;
+
+/**
+ * Template model of a single conversation step, which resolves a value only once a template dereferences it
+ * and memoizes it for the lifetime of this model. Keys are the prefixes of the data keys in the step
+ * (e.g. "output" for "output:text:greet"), except for the explicit root keys (e.g. "httpCalls"), which
+ * resolve to a nested model keyed by the remainder of the data key (e.g. "weather" for "httpCalls:weather").
+ * <p>
+ * Values put into this model are kept in the model only, the conversation step is never modified.
+ *
+ * @author ginccc
+ */
+class ConversationStepTemplateModel extends AbstractMap<Object, Object> {
+    private static final Object ABSENT = new Object();
+
+    private final IConversationMemory.IConversationStep conversationStep;
+    private final String rootKey;
+    private final List<String> explicitRootKeys;
+    private final Map<Object, Object> resolved = new HashMap<>();
+    private Set<Entry<Object, Object>> entrySet;
+
+    ConversationStepTemplateModel(IConversationMemory.IConversationStep conversationStep, String... explicitRootKeys) {
+        this(conversationStep, null, Arrays.asList(explicitRootKeys));
+    }
+
+    private ConversationStepTemplateModel(IConversationMemory.IConversationStep conversationStep,
+                                          String rootKey, List<String> explicitRootKeys) {
+        this.conversationStep = conversationStep;
+        this.rootKey = rootKey;
+        this.explicitRootKeys = explicitRootKeys;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+
+        Object value = resolved.get(key);
+        if (value == null) {
+            value = rootKey != null ? resolveExplicitEntry((String) key) : resolveEntry((String) key);
+            resolved.put(key, value != null ? value : ABSENT);
+        }
+
+        return value != ABSENT ? value : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Object put(Object key, Object value) {
+        Object previous = get(key);
+        resolved.put(key, value != null ? value : ABSENT);
+        entrySet = null;
+        return previous;
+    }
+
+    @Override
+    public Set<Entry<Object, Object>> entrySet() {
+        if (entrySet == null) {
+            Set<Object> keys = new LinkedHashSet<>();
+            for (String dataKey : conversationStep.getAllKeys()) {
+                if (rootKey != null) {
+                    if (dataKey.startsWith(rootKey + ":")) {
+                        keys.add(dataKey.substring(rootKey.length() + 1));
+                    }
+                } else {
+                    int separator = dataKey.indexOf(":");
+                    keys.add(separator >= 0 ? dataKey.substring(0, separator) : dataKey);
+                }
+            }
+            keys.addAll(resolved.keySet());
+
+            Map<Object, Object> entries = new LinkedHashMap<>();
+            for (Object key : keys) {
+                Object value = get(key);
+                if (value != null) {
+                    entries.put(key, value);
+                }
+            }
+            entrySet = Collections.unmodifiableSet(entries.entrySet());
+        }
+
+        return entrySet;
+    }
+
+    private Object resolveEntry(String key) {
+        if (explicitRootKeys.contains(key)) {
+            if (conversationStep.getAllData(key + ":").isEmpty()) {
+                return null;
+            }
+
+            return new ConversationStepTemplateModel(conversationStep, key, Collections.emptyList());
+        }
+
+        if (key.contains(":") || explicitRootKeys.stream().anyMatch(key::startsWith)) {
+            return null;
+        }
+
+        IData<Object> latestData = null;
+        for (IData<Object> data : conversationStep.<Object>getAllData(key)) {
+            String dataKey = data.getKey();
+            if (dataKey.length() == key.length() || dataKey.charAt(key.length()) == ':') {
+                latestData = data;
+            }
+        }
+
+        return latestData != null ? latestData.getResult() : null;
+    }
+
+    private Object resolveExplicitEntry(String key) {
+        IData<Object> data = conversationStep.getData(rootKey + ":" + key);
+        return data != null ? data.getResult() : null;
+    }
+}
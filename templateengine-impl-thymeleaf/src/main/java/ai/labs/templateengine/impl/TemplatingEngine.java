@@ -1,21 +1,24 @@
 package ai.labs.templateengine.impl;
 
+import ai.labs.runtime.IMetricsProvider;
 import ai.labs.templateengine.ITemplatingEngine;
 import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.cache.ICache;
+import org.thymeleaf.cache.StandardCache;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.exceptions.TemplateInputException;
 
 import javax.inject.Inject;
-import java.util.Arrays;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
 
 /**
+ * Provides the hits and misses of the parsed template cache per template mode as metrics (templateCache).
+ *
  * @author ginccc
  */
-public class TemplatingEngine implements ITemplatingEngine {
-    private static final List<String> templatingControlChars = Arrays.asList("${", "*{", "#{", "@{", "~{", "th:");
+public class TemplatingEngine implements ITemplatingEngine, IMetricsProvider {
     private final TextTemplateEngine textTemplateEngine;
     private final HtmlTemplateEngine htmlTemplateEngine;
 
@@ -37,10 +40,10 @@ public class TemplatingEngine implements ITemplatingEngine {
     public String processTemplate(String template,
                                   Map<String, Object> dynamicAttributesMap,
                                   TemplateMode templateMode) throws TemplateEngineException {
-        final Context ctx = new Context(Locale.ENGLISH);
-        dynamicAttributesMap.forEach(ctx::setVariable);
         try {
             if (containsTemplatingControlCharacters(template)) {
+                final Context ctx = new Context(Locale.ENGLISH);
+                dynamicAttributesMap.forEach(ctx::setVariable);
                 return getTemplateEngine(templateMode).process(template, ctx);
             } else {
                 return template;
@@ -52,8 +55,67 @@ public class TemplatingEngine implements ITemplatingEngine {
         }
     }
 
-    private boolean containsTemplatingControlCharacters(String template) {
-        return templatingControlChars.parallelStream().anyMatch(template::contains);
+    /**
+     * single scan for any of "${", "*{", "#{", "@{", "~{" or "th:"
+     */
+    static boolean containsTemplatingControlCharacters(String template) {
+        for (int i = 0, length = template.length() - 1; i < length; i++) {
+            char c = template.charAt(i);
+            char next = template.charAt(i + 1);
+            switch (c) {
+                case '$':
+                case '*':
+                case '#':
+                case '@':
+                case '~':
+                    if (next == '{') {
+                        return true;
+                    }
+                    break;
+                case 't':
+                    if (next == 'h' && i + 2 <= length && template.charAt(i + 2) == ':') {
+                        return true;
+                    }
+                    break;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return hits of the parsed template cache of the given template mode, -1 if the cache does not count them
+     */
+    public long getTemplateCacheHitCount(TemplateMode templateMode) {
+        ICache<?, ?> templateCache = getTemplateEngine(templateMode).getCacheManager().getTemplateCache();
+        return templateCache instanceof StandardCache ? ((StandardCache<?, ?>) templateCache).getHitCount() : -1;
+    }
+
+    /**
+     * @return misses (thus parsed templates) of the parsed template cache of the given template mode,
+     * -1 if the cache does not count them
+     */
+    public long getTemplateCacheMissCount(TemplateMode templateMode) {
+        ICache<?, ?> templateCache = getTemplateEngine(templateMode).getCacheManager().getTemplateCache();
+        return templateCache instanceof StandardCache ? ((StandardCache<?, ?>) templateCache).getMissCount() : -1;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "templateCache";
+    }
+
+    @Override
+    public Map<TemplateMode, Map<String, Long>> getMetrics() {
+        Map<TemplateMode, Map<String, Long>> metrics = new LinkedHashMap<>();
+        for (TemplateMode templateMode : TemplateMode.values()) {
+            Map<String, Long> templateCacheMetrics = new LinkedHashMap<>();
+            templateCacheMetrics.put("hits", getTemplateCacheHitCount(templateMode));
+            templateCacheMetrics.put("misses", getTemplateCacheMissCount(templateMode));
+            metrics.put(templateMode, templateCacheMetrics);
+        }
+
+        return metrics;
     }
 
     private TemplateEngine getTemplateEngine(TemplateMode templateMode) {
@@ -0,0 +1,91 @@
+package ai.labs.templateengine.impl;
+
+import ai.labs.memory.IConversationMemory;
+import ai.labs.memory.IData;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author ginccc
+ */
+public class MemoryTemplateConverterTest {
+    private IConversationMemory memory;
+    private IConversationMemory.IWritableConversationStep currentStep;
+    private MemoryTemplateConverter memoryTemplateConverter;
+
+    @Before
+    public void setUp() {
+        memory = mock(IConversationMemory.class);
+        currentStep = mock(IConversationMemory.IWritableConversationStep.class);
+        when(memory.getCurrentStep()).thenReturn(currentStep);
+        IConversationMemory.IConversationStepStack previousSteps = mock(IConversationMemory.IConversationStepStack.class);
+        when(memory.getPreviousSteps()).thenReturn(previousSteps);
+
+        Map<String, IData> data = new LinkedHashMap<>();
+        data.put("actions", createData("actions", Collections.singletonList("greet")));
+        data.put("actionsX", createData("actionsX", "other"));
+        data.put("output:text:greet", createData("output:text:greet", "Hello"));
+        data.put("httpCalls:weather", createData("httpCalls:weather", "sunny"));
+        when(currentStep.getAllKeys()).thenReturn(data.keySet());
+        when(currentStep.getData(anyString())).then(invocation -> data.get(invocation.<String>getArgument(0)));
+        when(currentStep.getAllData(anyString())).then(invocation -> {
+            String prefix = invocation.getArgument(0);
+            List<IData> ret = new LinkedList<>();
+            data.forEach((key, value) -> {
+                if (key.startsWith(prefix)) {
+                    ret.add(value);
+                }
+            });
+            return ret;
+        });
+
+        memoryTemplateConverter = new MemoryTemplateConverter();
+    }
+
+    @Test
+    public void convertMemoryForTemplatingResolvesLazily() {
+        //test
+        Map<String, Object> memoryForTemplate = memoryTemplateConverter.convertMemoryForTemplating(memory);
+        Map<Object, Object> current = (Map<Object, Object>) memoryForTemplate.get("current");
+
+        //assert
+        verify(currentStep, never()).getAllData(anyString());
+        Assert.assertEquals(Collections.singletonList("greet"), current.get("actions"));
+        Assert.assertEquals("Hello", current.get("output"));
+        Assert.assertNull(current.get("httpCalls:weather"));
+        Assert.assertEquals("sunny", ((Map<Object, Object>) current.get("httpCalls")).get("weather"));
+        Assert.assertNull(current.get("unknown"));
+        Assert.assertTrue(((Map<Object, Object>) memoryForTemplate.get("last")).isEmpty());
+
+        //test
+        current.get("actions");
+        current.get("unknown");
+
+        //assert
+        verify(currentStep, times(1)).getAllData("actions");
+        verify(currentStep, times(1)).getAllData("unknown");
+    }
+
+    @Test
+    public void convertMemoryForTemplatingIteratesAllEntries() {
+        //test
+        Map<String, Object> memoryForTemplate = memoryTemplateConverter.convertMemoryForTemplating(memory);
+        Map<Object, Object> current = (Map<Object, Object>) memoryForTemplate.get("current");
+
+        //assert
+        Assert.assertEquals(new HashSet<>(Arrays.asList("actions", "actionsX", "output", "httpCalls")), current.keySet());
+    }
+
+    private static IData createData(String key, Object result) {
+        IData data = mock(IData.class);
+        when(data.getKey()).thenReturn(key);
+        when(data.getResult()).thenReturn(result);
+        return data;
+    }
+}
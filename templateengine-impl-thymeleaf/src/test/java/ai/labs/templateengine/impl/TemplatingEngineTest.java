@@ -10,12 +10,13 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.HashMap;
+import java.util.Map;
 
 /**
  * @author ginccc
  */
 public class TemplatingEngineTest {
-    private ITemplatingEngine templatingEngine;
+    private TemplatingEngine templatingEngine;
 
     @Before
     public void setup() {
@@ -52,6 +53,38 @@ public class TemplatingEngineTest {
         Assert.assertEquals("Some kind of string having a testValue", result);
     }
 
+    @Test
+    public void processTemplateParsesTemplateOnlyOnce() throws Exception {
+        //setup
+        String template = "Hello [[${value}]]";
+        HashMap<String, Object> dynamicAttributesMap = new HashMap<>();
+
+        //test
+        dynamicAttributesMap.put("value", "first");
+        String first = templatingEngine.processTemplate(template, dynamicAttributesMap);
+        dynamicAttributesMap.put("value", "second");
+        String second = templatingEngine.processTemplate(template, dynamicAttributesMap);
+
+        //assert
+        Assert.assertEquals("Hello first", first);
+        Assert.assertEquals("Hello second", second);
+        Assert.assertEquals(1, templatingEngine.getTemplateCacheMissCount(ITemplatingEngine.TemplateMode.TEXT));
+        Assert.assertEquals(1, templatingEngine.getTemplateCacheHitCount(ITemplatingEngine.TemplateMode.TEXT));
+        Map<String, Long> metrics = templatingEngine.getMetrics().get(ITemplatingEngine.TemplateMode.TEXT);
+        Assert.assertEquals(Long.valueOf(1), metrics.get("hits"));
+        Assert.assertEquals(Long.valueOf(1), metrics.get("misses"));
+    }
+
+    @Test
+    public void containsTemplatingControlCharacters() {
+        Assert.assertTrue(TemplatingEngine.containsTemplatingControlCharacters("a ${b}"));
+        Assert.assertTrue(TemplatingEngine.containsTemplatingControlCharacters("#{b}"));
+        Assert.assertTrue(TemplatingEngine.containsTemplatingControlCharacters("<p th:text=\"x\">"));
+        Assert.assertFalse(TemplatingEngine.containsTemplatingControlCharacters("costs $ {5} with"));
+        Assert.assertFalse(TemplatingEngine.containsTemplatingControlCharacters("the th"));
+        Assert.assertFalse(TemplatingEngine.containsTemplatingControlCharacters(""));
+    }
+
     @Getter
     @Setter
     @AllArgsConstructor
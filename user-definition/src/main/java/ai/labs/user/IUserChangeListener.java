@@ -0,0 +1,13 @@
+package ai.labs.user;
+
+/**
+ * Notified after a user or group has been written, e.g. to invalidate state derived from it.
+ * Implementations are registered via a Guice Multibinder.
+ *
+ * @author ginccc
+ */
+public interface IUserChangeListener {
+    void onUserChanged(String userId);
+
+    void onGroupChanged(String groupId);
+}
@@ -4,12 +4,15 @@ import ai.labs.group.IGroupStore;
 import ai.labs.group.impl.mongo.GroupStore;
 import ai.labs.group.impl.rest.RestGroupStore;
 import ai.labs.group.rest.IRestGroupStore;
+import ai.labs.persistence.IndexDefinition;
 import ai.labs.runtime.bootstrap.AbstractBaseModule;
+import ai.labs.user.IUserChangeListener;
 import ai.labs.user.IUserStore;
 import ai.labs.user.impl.mongo.UserStore;
 import ai.labs.user.impl.rest.RestUserStore;
 import ai.labs.user.rest.IRestUserStore;
 import com.google.inject.Scopes;
+import com.google.inject.multibindings.Multibinder;
 
 /**
  * @author ginccc
@@ -17,10 +20,16 @@ import com.google.inject.Scopes;
 public class UserModule extends AbstractBaseModule {
     @Override
     protected void configure() {
+        // listeners are contributed by other modules, e.g. to invalidate caches
+        Multibinder.newSetBinder(binder(), IUserChangeListener.class);
+
         bind(IGroupStore.class).to(GroupStore.class).in(Scopes.SINGLETON);
         bind(IUserStore.class).to(UserStore.class).in(Scopes.SINGLETON);
 
         bind(IRestGroupStore.class).to(RestGroupStore.class);
         bind(IRestUserStore.class).to(RestUserStore.class);
+
+        Multibinder<IndexDefinition> indexDefinitions = Multibinder.newSetBinder(binder(), IndexDefinition.class);
+        UserStore.INDEXES.forEach(index -> indexDefinitions.addBinding().toInstance(index));
     }
 }
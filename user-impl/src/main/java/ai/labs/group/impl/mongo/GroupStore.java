@@ -3,7 +3,9 @@ package ai.labs.group.impl.mongo;
 import ai.labs.group.IGroupStore;
 import ai.labs.group.model.Group;
 import ai.labs.persistence.IResourceStore;
+import ai.labs.persistence.mongo.ConsistencySettings;
 import ai.labs.serialization.IJsonSerialization;
+import ai.labs.user.IUserChangeListener;
 import com.mongodb.BasicDBObject;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
@@ -13,6 +15,7 @@ import org.bson.types.ObjectId;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.util.Set;
 
 /**
  * @author ginccc
@@ -22,11 +25,14 @@ public class GroupStore implements IGroupStore {
     private static final String COLLECTION_GROUPS = "groups";
     private final MongoCollection<Document> collection;
     private final IJsonSerialization jsonSerialization;
+    private final Set<IUserChangeListener> userChangeListeners;
 
     @Inject
-    public GroupStore(MongoDatabase database, IJsonSerialization jsonSerialization) {
-        collection = database.getCollection(COLLECTION_GROUPS);
+    public GroupStore(MongoDatabase database, IJsonSerialization jsonSerialization,
+                      Set<IUserChangeListener> userChangeListeners, ConsistencySettings consistencySettings) {
+        collection = consistencySettings.apply(database.getCollection(COLLECTION_GROUPS), COLLECTION_GROUPS);
         this.jsonSerialization = jsonSerialization;
+        this.userChangeListeners = userChangeListeners;
     }
 
     public Group readGroup(String groupId) throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException {
@@ -58,6 +64,7 @@ public class GroupStore implements IGroupStore {
             document.put("_id", new ObjectId(groupId));
 
             collection.insertOne(document);
+            notifyGroupChanged(groupId);
         } catch (IOException e) {
             throw new IResourceStore.ResourceStoreException(e.getLocalizedMessage(), e);
         }
@@ -70,7 +77,9 @@ public class GroupStore implements IGroupStore {
 
         collection.insertOne(document);
 
-        return document.get("_id").toString();
+        String groupId = document.get("_id").toString();
+        notifyGroupChanged(groupId);
+        return groupId;
     }
 
     private String serialize(Group group) throws IResourceStore.ResourceStoreException {
@@ -85,5 +94,10 @@ public class GroupStore implements IGroupStore {
     @Override
     public void deleteGroup(String groupId) {
         collection.deleteOne(new BasicDBObject("_id", new ObjectId(groupId)));
+        notifyGroupChanged(groupId);
+    }
+
+    private void notifyGroupChanged(String groupId) {
+        userChangeListeners.forEach(listener -> listener.onGroupChanged(groupId));
     }
 }
@@ -1,7 +1,10 @@
 package ai.labs.user.impl.mongo;
 
 import ai.labs.persistence.IResourceStore;
+import ai.labs.persistence.IndexDefinition;
+import ai.labs.persistence.mongo.ConsistencySettings;
 import ai.labs.serialization.IJsonSerialization;
+import ai.labs.user.IUserChangeListener;
 import ai.labs.user.IUserStore;
 import ai.labs.user.model.User;
 import ai.labs.utilities.SecurityUtilities;
@@ -14,6 +17,9 @@ import org.bson.types.ObjectId;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 
 /**
  * @author ginccc
@@ -21,13 +27,20 @@ import java.io.IOException;
 @Slf4j
 public class UserStore implements IUserStore {
     private static final String COLLECTION_USERS = "users";
+
+    public static final List<IndexDefinition> INDEXES = Collections.singletonList(
+            IndexDefinition.on(COLLECTION_USERS, "username").ascending("username"));
+
     private final MongoCollection<Document> collection;
     private IJsonSerialization jsonSerialization;
+    private final Set<IUserChangeListener> userChangeListeners;
 
     @Inject
-    public UserStore(MongoDatabase database, IJsonSerialization jsonSerialization) {
-        collection = database.getCollection(COLLECTION_USERS);
+    public UserStore(MongoDatabase database, IJsonSerialization jsonSerialization,
+                     Set<IUserChangeListener> userChangeListeners, ConsistencySettings consistencySettings) {
+        collection = consistencySettings.apply(database.getCollection(COLLECTION_USERS), COLLECTION_USERS);
         this.jsonSerialization = jsonSerialization;
+        this.userChangeListeners = userChangeListeners;
     }
 
     @Override
@@ -76,6 +89,7 @@ public class UserStore implements IUserStore {
         document.put("_id", new ObjectId(userId));
 
         collection.insertOne(document);
+        notifyUserChanged(userId);
     }
 
     @Override
@@ -88,7 +102,9 @@ public class UserStore implements IUserStore {
 
         collection.insertOne(document);
 
-        return document.get("_id").toString();
+        String userId = document.get("_id").toString();
+        notifyUserChanged(userId);
+        return userId;
     }
 
     private String serialize(User user) throws IResourceStore.ResourceStoreException {
@@ -103,5 +119,10 @@ public class UserStore implements IUserStore {
     @Override
     public void deleteUser(String userId) {
         collection.deleteOne(new BasicDBObject("_id", new ObjectId(userId)));
+        notifyUserChanged(userId);
+    }
+
+    private void notifyUserChanged(String userId) {
+        userChangeListeners.forEach(listener -> listener.onUserChanged(userId));
     }
 }
@@ -0,0 +1,148 @@
+package ai.labs.server;
+
+import ai.labs.caching.ICache;
+import ai.labs.caching.ICacheFactory;
+import ai.labs.user.IUserChangeListener;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Credentials, which have been verified against the user store, kept for a limited time per username.
+ * Passwords are never stored, only a keyed digest of them (the key is generated per instance).
+ * <p>
+ * All entries of a user are invalidated as soon as the user has been written. An entry is only stored if no
+ * invalidation happened while the user has been read, thus a concurrent password change is never overwritten by
+ * the old password. The time of the last write is remembered for the lifetime of session tokens, so tokens issued
+ * before are rejected as well.
+ * <p>
+ * Invalidation is node-local: writes are only observed on this instance, which is sufficient for session tokens as
+ * they are only valid on the instance which issued them (see {@link SessionTokens}). On other instances, a changed
+ * password stays valid until their entry expires (webServer.credentialCache.timeToLiveInSeconds).
+ *
+ * @author ginccc
+ */
+public class CredentialCache implements IUserChangeListener {
+    private static final String CACHE_NAME = "ai.labs.users.credentials";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final ICache<String, VerifiedCredential> cache;
+    private final long timeToLiveInSeconds;
+    private final long sessionTokenTimeToLiveInMillis;
+    private final byte[] digestKey = new byte[32];
+    private final Map<String, Long> userChangedAt = new ConcurrentHashMap<>();
+    private final ReadWriteLock invalidationLock = new ReentrantReadWriteLock();
+    private volatile long generation;
+
+    @Inject
+    public CredentialCache(ICacheFactory cacheFactory,
+                           @Named("webServer.credentialCache.timeToLiveInSeconds") Long timeToLiveInSeconds,
+                           @Named("webServer.sessionToken.timeToLiveInSeconds") Long sessionTokenTimeToLiveInSeconds) {
+        this.cache = cacheFactory.getCache(CACHE_NAME);
+        this.timeToLiveInSeconds = timeToLiveInSeconds;
+        this.sessionTokenTimeToLiveInMillis = TimeUnit.SECONDS.toMillis(sessionTokenTimeToLiveInSeconds);
+        new SecureRandom().nextBytes(digestKey);
+    }
+
+    /**
+     * @return the verified credential of this username, if the given password matches the one verified before
+     */
+    VerifiedCredential get(String username, String password) {
+        VerifiedCredential verifiedCredential = cache.get(username);
+        if (verifiedCredential != null &&
+                MessageDigest.isEqual(verifiedCredential.getPasswordDigest(), digest(password))) {
+            return verifiedCredential;
+        }
+
+        return null;
+    }
+
+    /**
+     * @return current generation, to be passed to {@link #put} for users read afterwards
+     */
+    long getGeneration() {
+        return generation;
+    }
+
+    void put(String userId, String username, String displayName, String password, long readGeneration) {
+        if (timeToLiveInSeconds > 0) {
+            VerifiedCredential verifiedCredential =
+                    new VerifiedCredential(userId, username, displayName, digest(password));
+            invalidationLock.readLock().lock();
+            try {
+                if (readGeneration == generation) {
+                    cache.put(username, verifiedCredential, timeToLiveInSeconds, TimeUnit.SECONDS);
+                }
+            } finally {
+                invalidationLock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * @return false if the user has been written after the given time
+     */
+    boolean isUnchangedSince(String userId, long issuedAt) {
+        Long changedAt = userChangedAt.get(userId);
+        return changedAt == null || changedAt < issuedAt;
+    }
+
+    @Override
+    public void onUserChanged(String userId) {
+        long now = System.currentTimeMillis();
+        userChangedAt.put(userId, now);
+        userChangedAt.values().removeIf(changedAt -> changedAt < now - sessionTokenTimeToLiveInMillis);
+
+        invalidationLock.writeLock().lock();
+        try {
+            generation++;
+            for (Map.Entry<String, VerifiedCredential> entry : cache.entrySet()) {
+                if (entry.getValue().getUserId().equals(userId)) {
+                    cache.remove(entry.getKey(), entry.getValue());
+                }
+            }
+        } finally {
+            invalidationLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onGroupChanged(String groupId) {
+        //group memberships are not part of the credentials
+    }
+
+    private byte[] digest(String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(digestKey, HMAC_ALGORITHM));
+            return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e.getLocalizedMessage(), e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    static class VerifiedCredential implements Serializable {
+        private final String userId;
+        private final String username;
+        private final String displayName;
+        private final byte[] passwordDigest;
+    }
+}
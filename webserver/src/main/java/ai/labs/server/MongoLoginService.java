@@ -10,6 +10,8 @@ import org.eclipse.jetty.security.AbstractLoginService;
 import org.eclipse.jetty.security.DefaultIdentityService;
 import org.eclipse.jetty.security.IdentityService;
 import org.eclipse.jetty.security.LoginService;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Response;
 import org.eclipse.jetty.server.UserIdentity;
 import org.eclipse.jetty.util.security.Credential;
 
@@ -19,16 +21,27 @@ import javax.servlet.ServletRequest;
 import java.security.Principal;
 
 /**
+ * Authenticates against the user store. Verified credentials are cached for a limited time, thus repeated
+ * requests of the same user do not hit the store. If enabled, a signed session token is issued on each login
+ * with a password (response header {@value #SESSION_TOKEN_HEADER}), which is accepted instead of the password
+ * until it expires.
+ *
  * @author ginccc
  */
 @Slf4j
 public class MongoLoginService implements LoginService {
+    static final String SESSION_TOKEN_HEADER = "X-Session-Token";
+
     private final IUserStore userStore;
+    private final CredentialCache credentialCache;
+    private final SessionTokens sessionTokens;
     private IdentityService identityService = new DefaultIdentityService();
 
     @Inject
-    public MongoLoginService(IUserStore userStore) {
+    public MongoLoginService(IUserStore userStore, CredentialCache credentialCache, SessionTokens sessionTokens) {
         this.userStore = userStore;
+        this.credentialCache = credentialCache;
+        this.sessionTokens = sessionTokens;
     }
 
     @Override
@@ -39,16 +52,38 @@ public class MongoLoginService implements LoginService {
     @Override
     public UserIdentity login(String username, Object credentials, ServletRequest request) {
         try {
-            Credential credential = Credential.getCredential((String) credentials);
-            User user = lookupUser(username, credential);
-            if (user != null) {
-                UserIdentity userIdentity = createUserIdentity(username, credential);
-                AbstractLoginService.UserPrincipal principal = (AbstractLoginService.UserPrincipal) userIdentity.getUserPrincipal();
-                if (principal.authenticate(credentials)) {
-                    bindUserDataToThread(user);
-                    ThreadContext.bind(userIdentity.getSubject());
-                    return userIdentity;
+            String password = (String) credentials;
+            Credential credential = Credential.getCredential(password);
+            String userId, displayName;
+
+            SessionTokens.SessionToken sessionToken = sessionTokens.verify(password);
+            CredentialCache.VerifiedCredential verifiedCredential;
+            if (sessionToken != null && sessionToken.getUsername().equals(username) &&
+                    credentialCache.isUnchangedSince(sessionToken.getUserId(), sessionToken.getIssuedAt())) {
+                userId = sessionToken.getUserId();
+                displayName = sessionToken.getDisplayName();
+            } else if ((verifiedCredential = credentialCache.get(username, password)) != null) {
+                userId = verifiedCredential.getUserId();
+                displayName = verifiedCredential.getDisplayName();
+                issueSessionToken(username, userId, displayName, request);
+            } else {
+                long readGeneration = credentialCache.getGeneration();
+                userId = userStore.searchUser(username);
+                User user = lookupUser(userId, credential);
+                if (user == null) {
+                    return null;
                 }
+                displayName = user.getDisplayName();
+                credentialCache.put(userId, username, displayName, password, readGeneration);
+                issueSessionToken(username, userId, displayName, request);
+            }
+
+            UserIdentity userIdentity = createUserIdentity(username, credential);
+            AbstractLoginService.UserPrincipal principal = (AbstractLoginService.UserPrincipal) userIdentity.getUserPrincipal();
+            if (principal.authenticate(credentials)) {
+                bindUserDataToThread(userId, username, displayName);
+                ThreadContext.bind(userIdentity.getSubject());
+                return userIdentity;
             }
         } catch (IResourceStore.ResourceStoreException e) {
             log.error("Could not process login.", e);
@@ -59,15 +94,24 @@ public class MongoLoginService implements LoginService {
         return null;
     }
 
-    private void bindUserDataToThread(User user) throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException {
-        String username = user.getUsername();
-        ThreadContext.put("currentuser:userid", userStore.searchUser(username));
-        ThreadContext.put("currentuser:displayname", user.getDisplayName());
+    private void issueSessionToken(String username, String userId, String displayName, ServletRequest request) {
+        if (sessionTokens.isEnabled()) {
+            Request baseRequest = Request.getBaseRequest(request);
+            Response response = baseRequest != null ? baseRequest.getResponse() : null;
+            if (response != null) {
+                response.setHeader(SESSION_TOKEN_HEADER, sessionTokens.issue(username, userId, displayName));
+            }
+        }
+    }
+
+    private void bindUserDataToThread(String userId, String username, String displayName) {
+        ThreadContext.put("currentuser:userid", userId);
+        ThreadContext.put("currentuser:displayname", displayName);
         ThreadContext.put("currentuser:username", username);
     }
 
-    private User lookupUser(String username, Credential credential) throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException {
-        User user = userStore.readUser(userStore.searchUser(username));
+    private User lookupUser(String userId, Credential credential) throws IResourceStore.ResourceStoreException, IResourceStore.ResourceNotFoundException {
+        User user = userStore.readUser(userId);
         String hashedPassword = SecurityUtilities.hashPassword(credential.toString(), user.getSalt());
         if (hashedPassword.equals(user.getPassword())) {
             return user;
@@ -0,0 +1,116 @@
+package ai.labs.server;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short-lived session tokens, signed with HMAC-SHA256. A token carries username, userId, display name and the time
+ * it has been issued at, it can be passed instead of the password to skip the lookup of the user in the store.
+ * <p>
+ * The secret is generated randomly per instance, thus tokens are only valid on the instance which issued them.
+ * This is deliberate: writes of users are only observed by the instance handling them (see {@link CredentialCache}),
+ * a token accepted by other instances would stay valid there after a password change or deletion of its user.
+ * Clients of multiple instances have to log in with their password on each of them.
+ *
+ * @author ginccc
+ */
+public class SessionTokens {
+    static final String TOKEN_PREFIX = "session:";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String SEPARATOR = ".";
+
+    private final boolean enabled;
+    private final long timeToLiveInMillis;
+    private final byte[] secret;
+
+    @Inject
+    public SessionTokens(@Named("webServer.sessionToken.enabled") Boolean enabled,
+                         @Named("webServer.sessionToken.timeToLiveInSeconds") Long timeToLiveInSeconds) {
+        this.enabled = enabled;
+        this.timeToLiveInMillis = TimeUnit.SECONDS.toMillis(timeToLiveInSeconds);
+        this.secret = new byte[32];
+        new SecureRandom().nextBytes(this.secret);
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    String issue(String username, String userId, String displayName) {
+        String payload = encode(username) + SEPARATOR + encode(userId) + SEPARATOR +
+                encode(displayName != null ? displayName : "") + SEPARATOR + System.currentTimeMillis();
+        return TOKEN_PREFIX + payload + SEPARATOR + encode(sign(payload));
+    }
+
+    /**
+     * @return the content of the token, null if it has not been issued by this service or is expired
+     */
+    SessionToken verify(String token) {
+        if (!enabled || !token.startsWith(TOKEN_PREFIX)) {
+            return null;
+        }
+
+        String[] parts = token.substring(TOKEN_PREFIX.length()).split("\\" + SEPARATOR);
+        if (parts.length != 5) {
+            return null;
+        }
+
+        try {
+            String payload = parts[0] + SEPARATOR + parts[1] + SEPARATOR + parts[2] + SEPARATOR + parts[3];
+            if (!MessageDigest.isEqual(sign(payload), Base64.getUrlDecoder().decode(parts[4]))) {
+                return null;
+            }
+
+            long issuedAt = Long.parseLong(parts[3]);
+            if (System.currentTimeMillis() - issuedAt >= timeToLiveInMillis) {
+                return null;
+            }
+
+            return new SessionToken(decode(parts[0]), decode(parts[1]), decode(parts[2]), issuedAt);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret, HMAC_ALGORITHM));
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e.getLocalizedMessage(), e);
+        }
+    }
+
+    private static String encode(String value) {
+        return encode(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String encode(byte[] value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value);
+    }
+
+    private static String decode(String value) {
+        return new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class SessionToken {
+        private final String username;
+        private final String userId;
+        private final String displayName;
+        private final long issuedAt;
+    }
+}
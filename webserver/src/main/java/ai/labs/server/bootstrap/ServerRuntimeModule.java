@@ -2,11 +2,16 @@ package ai.labs.server.bootstrap;
 
 import ai.labs.runtime.SwaggerServletContextListener;
 import ai.labs.runtime.bootstrap.AbstractBaseModule;
+import ai.labs.server.CredentialCache;
 import ai.labs.server.IServerRuntime;
 import ai.labs.server.MongoLoginService;
 import ai.labs.server.ServerRuntime;
+import ai.labs.server.SessionTokens;
+import ai.labs.user.IUserChangeListener;
 import ai.labs.utilities.StringUtilities;
 import com.google.inject.Provides;
+import com.google.inject.Scopes;
+import com.google.inject.multibindings.Multibinder;
 import org.eclipse.jetty.security.LoginService;
 import org.jboss.resteasy.plugins.guice.GuiceResteasyBootstrapServletContextListener;
 import org.jboss.resteasy.plugins.server.servlet.HttpServletDispatcher;
@@ -27,7 +32,10 @@ public class ServerRuntimeModule extends AbstractBaseModule {
     @Override
     protected void configure() {
         registerConfigFiles(configFiles);
-        bind(LoginService.class).to(MongoLoginService.class);
+        bind(CredentialCache.class).in(Scopes.SINGLETON);
+        Multibinder.newSetBinder(binder(), IUserChangeListener.class).addBinding().to(CredentialCache.class);
+        bind(SessionTokens.class).in(Scopes.SINGLETON);
+        bind(LoginService.class).to(MongoLoginService.class).in(Scopes.SINGLETON);
     }
 
     @Provides
@@ -0,0 +1,127 @@
+package ai.labs.server;
+
+import ai.labs.caching.ICache;
+import ai.labs.caching.ICacheFactory;
+import ai.labs.persistence.IResourceStore;
+import ai.labs.runtime.ThreadContext;
+import ai.labs.user.IUserStore;
+import ai.labs.user.model.User;
+import ai.labs.utilities.SecurityUtilities;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Response;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author ginccc
+ */
+public class MongoLoginServiceTest {
+    private static final String USER_ID = "userId";
+    private static final String USERNAME = "username";
+    private static final String PASSWORD = "password";
+    private IUserStore userStore;
+    private CredentialCache credentialCache;
+    private Request request;
+    private Response response;
+    private MongoLoginService mongoLoginService;
+
+    @Before
+    public void setUp() throws Exception {
+        userStore = mock(IUserStore.class);
+        String salt = SecurityUtilities.generateSalt();
+        User user = new User();
+        user.setUsername(USERNAME);
+        user.setPassword(SecurityUtilities.hashPassword(PASSWORD, salt));
+        user.setSalt(salt);
+        user.setDisplayName("Display Name");
+        when(userStore.searchUser(anyString())).thenThrow(new IResourceStore.ResourceNotFoundException("not found"));
+        doReturn(USER_ID).when(userStore).searchUser(USERNAME);
+        when(userStore.readUser(USER_ID)).thenReturn(user);
+
+        ConcurrentHashMap<Object, Object> cacheContent = new ConcurrentHashMap<>();
+        ICache cache = mock(ICache.class, delegatesTo(cacheContent));
+        doAnswer(invocation -> cacheContent.put(invocation.getArgument(0), invocation.getArgument(1))).
+                when(cache).put(any(), any(), anyLong(), any());
+        ICacheFactory cacheFactory = mock(ICacheFactory.class);
+        when(cacheFactory.getCache(anyString())).thenReturn(cache);
+        credentialCache = new CredentialCache(cacheFactory, 300L, 900L);
+
+        request = mock(Request.class);
+        response = mock(Response.class);
+        when(request.getResponse()).thenReturn(response);
+
+        mongoLoginService = new MongoLoginService(userStore, credentialCache, new SessionTokens(true, 900L));
+    }
+
+    @After
+    public void tearDown() {
+        ThreadContext.remove();
+    }
+
+    @Test
+    public void loginVerifiesCredentialsOnlyOnce() throws Exception {
+        //test
+        Assert.assertNotNull(mongoLoginService.login(USERNAME, PASSWORD, request));
+        Assert.assertNotNull(mongoLoginService.login(USERNAME, PASSWORD, request));
+        Assert.assertNull(mongoLoginService.login(USERNAME, "wrongPassword", request));
+
+        //assert
+        verify(userStore, times(2)).readUser(USER_ID);
+        Assert.assertEquals(USER_ID, ThreadContext.get("currentuser:userid"));
+        Assert.assertEquals("Display Name", ThreadContext.get("currentuser:displayname"));
+
+        //test
+        credentialCache.onUserChanged(USER_ID);
+        mongoLoginService.login(USERNAME, PASSWORD, request);
+
+        //assert
+        verify(userStore, times(3)).readUser(USER_ID);
+    }
+
+    @Test
+    public void userChangedDuringLoginIsNotCached() throws Exception {
+        //setup
+        User user = userStore.readUser(USER_ID);
+        doAnswer(invocation -> {
+            credentialCache.onUserChanged(USER_ID);
+            return user;
+        }).when(userStore).readUser(USER_ID);
+
+        //test
+        Assert.assertNotNull(mongoLoginService.login(USERNAME, PASSWORD, request));
+
+        //assert
+        Assert.assertNull(credentialCache.get(USERNAME, PASSWORD));
+    }
+
+    @Test
+    public void loginWithSessionToken() throws Exception {
+        //setup
+        ArgumentCaptor<String> sessionToken = ArgumentCaptor.forClass(String.class);
+        mongoLoginService.login(USERNAME, PASSWORD, request);
+        verify(response).setHeader(eq(MongoLoginService.SESSION_TOKEN_HEADER), sessionToken.capture());
+
+        //test
+        Assert.assertNotNull(mongoLoginService.login(USERNAME, sessionToken.getValue(), request));
+        Assert.assertNull(mongoLoginService.login("otherUser", sessionToken.getValue(), request));
+
+        //assert
+        verify(userStore, times(1)).readUser(USER_ID);
+
+        //test
+        Thread.sleep(1);
+        credentialCache.onUserChanged(USER_ID);
+
+        //assert
+        Assert.assertNull(mongoLoginService.login(USERNAME, sessionToken.getValue(), request));
+    }
+}
@@ -78,7 +78,7 @@ public class XmppEndpoint implements IXmppEndpoint {
     @Inject
     public XmppEndpoint(IBotStore botStore,
                             IBotFactory botFactory,
-                            IHttpClient httpClient,
+                            @Named(IHttpClient.PROFILE_CHANNELS) IHttpClient httpClient,
                             IRestInterfaceFactory restInterfaceFactory,
                             @Named("system.apiServerURI") String apiServerURI,
                             ICacheFactory cacheFactory) {